@@ -36,6 +36,10 @@ public class CallSession {
     @Column(name = "accepted_at")
     private Instant acceptedAt;
 
+    // Límite para contestar una llamada que está sonando; null cuando ya no suena
+    @Column(name = "ring_deadline")
+    private Instant ringDeadline;
+
     @Column(name = "ended_at")
     private Instant endedAt;
 
@@ -101,6 +105,14 @@ public class CallSession {
         this.acceptedAt = acceptedAt;
     }
 
+    public Instant getRingDeadline() {
+        return ringDeadline;
+    }
+
+    public void setRingDeadline(Instant ringDeadline) {
+        this.ringDeadline = ringDeadline;
+    }
+
     public Instant getEndedAt() {
         return endedAt;
     }
@@ -3,7 +3,11 @@ package com.univibe.call.repo;
 import com.univibe.call.model.CallContextType;
 import com.univibe.call.model.CallSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,5 +15,28 @@ public interface CallSessionRepository extends JpaRepository<CallSession, Long>
     Optional<CallSession> findFirstByContextTypeAndContextIdAndActivoTrue(CallContextType contextType, Long contextId);
     Optional<CallSession> findFirstByContextTypeAndActivoTrueAndCreatedByIdAndContextId(CallContextType contextType, Long createdById, Long contextId);
     List<CallSession> findByContextTypeAndContextIdAndActivoTrue(CallContextType contextType, Long contextId);
+
+    /**
+     * Marca la llamada como contestada solo si sigue sonando. Devuelve 0 si otro nodo la
+     * contestó o la dio por perdida antes.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CallSession c SET c.acceptedAt = :acceptedAt, c.ringDeadline = null " +
+           "WHERE c.id = :id AND c.activo = true AND c.acceptedAt IS NULL")
+    int markAccepted(@Param("id") Long id, @Param("acceptedAt") Instant acceptedAt);
+
+    /**
+     * Finaliza la llamada solo si sigue activa, de modo que un único nodo la cierra. Perdida y
+     * duración salen del {@code accepted_at} de la fila, no del que tenga cargado quien llama:
+     * una aceptación en otro nodo justo antes de colgar cuenta.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE call_sessions SET activo = false, ended_at = :endedAt, missed = (accepted_at IS NULL), " +
+           "duration_seconds = CASE WHEN accepted_at IS NULL THEN 0 " +
+           "ELSE GREATEST(CAST(floor(EXTRACT(EPOCH FROM (CAST(:endedAt AS timestamptz) - accepted_at))) AS integer), 0) END, " +
+           "ring_deadline = NULL " +
+           "WHERE id = :id AND activo = true",
+           nativeQuery = true)
+    int finishIfActive(@Param("id") Long id, @Param("endedAt") Instant endedAt);
 }
 
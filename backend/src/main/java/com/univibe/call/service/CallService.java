@@ -9,49 +9,84 @@ import com.univibe.call.model.CallMode;
 import com.univibe.call.model.CallSession;
 import com.univibe.call.repo.CallSessionRepository;
 import com.univibe.chat.service.MessageResponseMapper;
+import com.univibe.common.transaction.AfterCommit;
 import com.univibe.event.model.Event;
 import com.univibe.event.repo.EventRepository;
 import com.univibe.event.service.EventSecurityService;
 import com.univibe.group.model.Group;
 import com.univibe.group.repo.GroupRepository;
-import com.univibe.notification.model.Notification;
-import com.univibe.notification.repo.NotificationRepository;
+import com.univibe.notification.dto.NotificationRequest;
+import com.univibe.notification.model.NotificationSourceType;
+import com.univibe.notification.service.NotificationService;
 import com.univibe.social.model.PrivateMessage;
 import com.univibe.social.repo.FriendshipRepository;
 import com.univibe.social.repo.PrivateMessageRepository;
 import com.univibe.user.model.Role;
 import com.univibe.user.model.User;
 import com.univibe.user.repo.UserRepository;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Ciclo de vida de las llamadas.
+ * <p>
+ * Las llamadas privadas suenan hasta {@code ring_deadline}. El plazo se guarda en la base de
+ * datos y además se programa en una rueda de temporizadores local que cada segundo vence en
+ * un solo UPDATE todas las llamadas sin contestar. Al arrancar se recargan los plazos
+ * pendientes y un barrido periódico recoge los de llamadas creadas en nodos que ya no están.
+ * Contestar, finalizar y dar por perdida una llamada son UPDATE condicionales sobre
+ * {@code activo} / {@code accepted_at}, así que con varios nodos solo uno la finaliza.
+ */
 @Service
 public class CallService {
 
+    private static final Logger log = LoggerFactory.getLogger(CallService.class);
+
+    private static final long RING_TICK_MILLIS = 1_000;
+    private static final int RING_WHEEL_SLOTS = 512;
+
+    private static final String EXPIRE_RINGING_SQL =
+            "UPDATE call_sessions SET activo = false, ended_at = ?, missed = true, duration_seconds = 0, ring_deadline = NULL " +
+            "WHERE activo = true AND accepted_at IS NULL AND ring_deadline <= ? ";
+
     private final CallSessionRepository callSessionRepository;
     private final FriendshipRepository friendshipRepository;
     private final GroupRepository groupRepository;
     private final EventRepository eventRepository;
     private final EventSecurityService eventSecurityService;
     private final UserRepository userRepository;
-    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
     private final PrivateMessageRepository privateMessageRepository;
     private final SimpMessagingTemplate messagingTemplate;
     private final MessageResponseMapper messageResponseMapper;
     private final ObjectMapper objectMapper;
     private final TransactionTemplate transactionTemplate;
+    private final SignalingRoomManager signalingRoomManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ringTimeout;
+    private final long expirySweepSeconds;
+    private final TimerWheel ringTimers = new TimerWheel(RING_TICK_MILLIS, RING_WHEEL_SLOTS);
     private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
 
     public CallService(CallSessionRepository callSessionRepository,
@@ -60,24 +95,39 @@ public class CallService {
                        EventRepository eventRepository,
                        EventSecurityService eventSecurityService,
                        UserRepository userRepository,
-                       NotificationRepository notificationRepository,
+                       NotificationService notificationService,
                        PrivateMessageRepository privateMessageRepository,
                        SimpMessagingTemplate messagingTemplate,
                        MessageResponseMapper messageResponseMapper,
                        ObjectMapper objectMapper,
-                       PlatformTransactionManager transactionManager) {
+                       PlatformTransactionManager transactionManager,
+                       SignalingRoomManager signalingRoomManager,
+                       JdbcTemplate jdbcTemplate,
+                       @Value("${calls.ring-timeout-seconds:15}") long ringTimeoutSeconds,
+                       @Value("${calls.expiry-sweep-seconds:30}") long expirySweepSeconds) {
         this.callSessionRepository = callSessionRepository;
         this.friendshipRepository = friendshipRepository;
         this.groupRepository = groupRepository;
         this.eventRepository = eventRepository;
         this.eventSecurityService = eventSecurityService;
         this.userRepository = userRepository;
-        this.notificationRepository = notificationRepository;
+        this.notificationService = notificationService;
         this.privateMessageRepository = privateMessageRepository;
         this.messagingTemplate = messagingTemplate;
         this.messageResponseMapper = messageResponseMapper;
         this.objectMapper = objectMapper;
         this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.signalingRoomManager = signalingRoomManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ringTimeout = Duration.ofSeconds(ringTimeoutSeconds);
+        this.expirySweepSeconds = expirySweepSeconds;
+    }
+
+    @PostConstruct
+    public void startRingTimers() {
+        scheduler.execute(() -> runSafely(this::loadPendingDeadlines));
+        scheduler.scheduleAtFixedRate(() -> runSafely(this::expireDue), RING_TICK_MILLIS, RING_TICK_MILLIS, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> runSafely(this::sweepOverdue), expirySweepSeconds, expirySweepSeconds, TimeUnit.SECONDS);
     }
 
     @PreDestroy
@@ -88,22 +138,23 @@ public class CallService {
     @Transactional
     public CallSessionResponse createSession(CreateCallRequest request, User user) {
         validarContexto(request, user);
+        // La sesión anterior se cierra como cualquier otra: resumen, END a sus participantes y su sala
         callSessionRepository.findFirstByContextTypeAndContextIdAndActivoTrue(request.contextType(), request.contextId())
-                .ifPresent(session -> {
-                    session.setActivo(false);
-                    callSessionRepository.save(session);
-                });
+                .ifPresent(this::finalizeSession);
 
         CallSession session = new CallSession();
         session.setContextType(request.contextType());
         session.setContextId(request.contextId());
         session.setMode(request.mode() != null ? request.mode() : CallMode.NORMAL);
         session.setCreatedBy(user);
+        if (session.getContextType() == CallContextType.PRIVATE) {
+            session.setRingDeadline(session.getCreatedAt().plus(ringTimeout));
+        }
         CallSession saved = callSessionRepository.save(session);
 
         if (saved.getContextType() == CallContextType.PRIVATE) {
             notifyIncomingCall(saved);
-            scheduleMissedCheck(saved.getId());
+            scheduleRingTimeout(saved.getId(), saved.getRingDeadline());
         }
 
         return toResponse(saved);
@@ -125,11 +176,13 @@ public class CallService {
         if (!puedeUnirse(session, user)) {
             throw new IllegalArgumentException("No puedes unirte a esta llamada");
         }
-        if (session.getAcceptedAt() == null) {
-            session.setAcceptedAt(Instant.now());
-            callSessionRepository.save(session);
+        if (session.getAcceptedAt() != null) {
+            return session;
+        }
+        if (callSessionRepository.markAccepted(sessionId, Instant.now()) > 0) {
+            cancelRingTimeout(sessionId);
         }
-        return session;
+        return callSessionRepository.findById(sessionId).orElseThrow();
     }
 
     @Transactional
@@ -215,17 +268,77 @@ public class CallService {
         }
     }
 
-    private void scheduleMissedCheck(Long sessionId) {
-        scheduler.schedule(() -> {
-            transactionTemplate.execute(status -> {
-                CallSession session = callSessionRepository.findById(sessionId).orElse(null);
-                if (session == null || !session.isActivo() || session.getAcceptedAt() != null) {
-                    return null;
-                }
-                finalizeSession(session);
-                return null;
-            });
-        }, 15, TimeUnit.SECONDS);
+    private void scheduleRingTimeout(Long sessionId, Instant deadline) {
+        synchronized (ringTimers) {
+            ringTimers.schedule(sessionId, deadline.toEpochMilli());
+        }
+    }
+
+    private void cancelRingTimeout(Long sessionId) {
+        synchronized (ringTimers) {
+            ringTimers.cancel(sessionId);
+        }
+    }
+
+    private void loadPendingDeadlines() {
+        jdbcTemplate.query(
+                "SELECT id, ring_deadline FROM call_sessions " +
+                "WHERE activo = true AND accepted_at IS NULL AND ring_deadline IS NOT NULL",
+                rs -> {
+                    scheduleRingTimeout(rs.getLong("id"), rs.getTimestamp("ring_deadline").toInstant());
+                });
+        log.info("Loaded {} pending call ring deadlines", ringTimers.size());
+    }
+
+    private void expireDue() {
+        List<Long> due;
+        synchronized (ringTimers) {
+            due = ringTimers.advance(System.currentTimeMillis());
+        }
+        if (!due.isEmpty()) {
+            expireRinging(due);
+        }
+    }
+
+    private void sweepOverdue() {
+        expireRinging(null);
+    }
+
+    /**
+     * Da por perdidas en un solo UPDATE las llamadas sin contestar cuyo plazo venció: las
+     * indicadas o, con {@code null}, todas. Solo se notifican las filas que este nodo cambió.
+     */
+    private void expireRinging(List<Long> sessionIds) {
+        Instant now = Instant.now();
+        Timestamp nowTs = Timestamp.from(now);
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Long> expired = new LinkedHashMap<>();
+            RowCallbackHandler collect = rs -> {
+                expired.put(rs.getLong("id"), rs.getLong("created_by_id"));
+            };
+            if (sessionIds == null) {
+                jdbcTemplate.query(EXPIRE_RINGING_SQL + "RETURNING id, created_by_id", collect, nowTs, nowTs);
+            } else {
+                jdbcTemplate.query(EXPIRE_RINGING_SQL + "AND id = ANY(?) RETURNING id, created_by_id", collect,
+                        nowTs, nowTs, sessionIds.toArray(new Long[0]));
+            }
+            for (Map.Entry<Long, Long> entry : expired.entrySet()) {
+                notifyCallSummary(entry.getKey());
+                publishCallSignal(entry.getKey(), "END", entry.getValue());
+                AfterCommit.run(() -> signalingRoomManager.closeRoom(entry.getKey()));
+            }
+            if (!expired.isEmpty()) {
+                log.debug("Expired {} unanswered calls", expired.size());
+            }
+        });
+    }
+
+    private void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            log.error("Error processing call ring deadlines", e);
+        }
     }
 
     private void notifyIncomingCall(CallSession session) {
@@ -234,12 +347,13 @@ public class CallService {
         if (receiver == null) {
             return;
         }
-        Notification notification = new Notification();
-        notification.setRecipient(receiver);
-        notification.setTitle("Videollamada entrante");
-        notification.setMessage(caller.getName() + " está iniciando una llamada");
-        notificationRepository.save(notification);
-        messagingTemplate.convertAndSend("/queue/notifications." + receiver.getId(), notification);
+        notificationService.send(NotificationRequest.urgent(
+                receiver.getId(),
+                NotificationSourceType.CALL,
+                session.getId(),
+                "Videollamada entrante",
+                caller.getName() + " está iniciando una llamada"
+        ));
     }
 
     private void notifyCallSummary(Long sessionId) {
@@ -286,25 +400,20 @@ public class CallService {
         if (!session.isActivo()) {
             return session;
         }
-        session.setActivo(false);
-        session.setEndedAt(Instant.now());
-        boolean missed = session.getAcceptedAt() == null;
-        session.setMissed(missed);
-        if (missed) {
-            session.setDurationSeconds(0);
-        } else {
-            int duration = (int) Duration.between(session.getAcceptedAt(), session.getEndedAt()).getSeconds();
-            session.setDurationSeconds(Math.max(duration, 0));
+        Long sessionId = session.getId();
+        Long createdById = session.getCreatedBy().getId();
+        if (callSessionRepository.finishIfActive(sessionId, Instant.now()) > 0) {
+            cancelRingTimeout(sessionId);
+            notifyCallSummary(sessionId);
+            publishCallSignal(sessionId, "END", createdById);
+            AfterCommit.run(() -> signalingRoomManager.closeRoom(sessionId));
         }
-        CallSession saved = callSessionRepository.save(session);
-        notifyCallSummary(saved.getId());
-        publishCallSignal(saved.getId(), "END", session.getCreatedBy().getId());
-        return saved;
+        return callSessionRepository.findById(sessionId).orElseThrow();
     }
 
     private void publishCallSignal(Long sessionId, String type, Long from) {
         try {
-            String payload = objectMapper.writeValueAsString(java.util.Map.of(
+            String payload = objectMapper.writeValueAsString(Map.of(
                     "type", type,
                     "from", from != null ? from : -1L
             ));
@@ -0,0 +1,101 @@
+package com.univibe.call.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas en proceso de la señalización WebRTC.
+ * <p>
+ * La latencia de reenvío va desde que llega la trama hasta que queda en el buffer de envío de
+ * todos los destinatarios. Se agrupa en cubetas de potencias de dos en microsegundos, así que
+ * los percentiles son cotas superiores y registrar una muestra no reserva memoria.
+ */
+public class SignalingMetrics {
+
+    private static final int BUCKETS = 24;
+
+    private final LongAdder relayedFrames = new LongAdder();
+    private final LongAdder deliveredFrames = new LongAdder();
+    private final LongAdder droppedFrames = new LongAdder();
+    private final LongAdder rejectedFrames = new LongAdder();
+    private final LongAdder latencyTotalNanos = new LongAdder();
+    private final LongAccumulator latencyMaxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(BUCKETS);
+
+    public record Snapshot(long relayedFrames,
+                           long deliveredFrames,
+                           long droppedFrames,
+                           long rejectedFrames,
+                           double relayLatencyMeanMicros,
+                           long relayLatencyP50Micros,
+                           long relayLatencyP99Micros,
+                           long relayLatencyMaxMicros,
+                           int activeRooms,
+                           int connectedSessions,
+                           long bufferedBytes) {
+    }
+
+    void recordRelay(long elapsedNanos, int recipients) {
+        relayedFrames.increment();
+        deliveredFrames.add(recipients);
+        latencyTotalNanos.add(elapsedNanos);
+        latencyMaxNanos.accumulate(elapsedNanos);
+        latencyBuckets.incrementAndGet(bucketOf(TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+    }
+
+    void recordDropped(long frames) {
+        if (frames > 0) {
+            droppedFrames.add(frames);
+        }
+    }
+
+    void recordRejected() {
+        rejectedFrames.increment();
+    }
+
+    Snapshot snapshot(int activeRooms, int connectedSessions, long bufferedBytes) {
+        long relayed = relayedFrames.sum();
+        long[] counts = new long[BUCKETS];
+        long samples = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = latencyBuckets.get(i);
+            samples += counts[i];
+        }
+        double mean = relayed == 0 ? 0 : latencyTotalNanos.sum() / 1_000.0 / relayed;
+        return new Snapshot(
+                relayed,
+                deliveredFrames.sum(),
+                droppedFrames.sum(),
+                rejectedFrames.sum(),
+                mean,
+                percentile(counts, samples, 0.50),
+                percentile(counts, samples, 0.99),
+                TimeUnit.NANOSECONDS.toMicros(latencyMaxNanos.get()),
+                activeRooms,
+                connectedSessions,
+                bufferedBytes);
+    }
+
+    // Cubeta i: latencias menores que 2^i µs (la última acumula el resto)
+    private static int bucketOf(long micros) {
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static long percentile(long[] counts, long samples, double quantile) {
+        if (samples == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(samples * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return 1L << i;
+            }
+        }
+        return 1L << (counts.length - 1);
+    }
+}
@@ -0,0 +1,380 @@
+package com.univibe.call.service;
+
+import com.univibe.call.model.CallContextType;
+import com.univibe.call.model.CallMode;
+import com.univibe.call.model.CallSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Salas de señalización WebRTC ({@code /call-signal}).
+ * <p>
+ * Cada conexión se envuelve en un {@link ConcurrentWebSocketSessionDecorator}: los envíos
+ * desde varios hilos se encolan en un buffer acotado por sesión y un cliente lento pierde sus
+ * tramas más antiguas en lugar de bloquear a quien reenvía. La sala guarda el estado de la
+ * llamada validado en el primer join, de modo que las ofertas, respuestas y candidatos ICE se
+ * reenvían sin tocar la base de datos. El reenvío recorre los miembros sin bloqueos; solo el
+ * alta, la baja y el cierre de una sala se serializan sobre su entrada en el mapa.
+ * <p>
+ * Hay dos topologías. En {@link Topology#MESH} cada participante negocia con todos los demás.
+ * En {@link Topology#FORWARDER} (llamadas de grupo o evento en modo conferencia) el creador
+ * de la llamada es el reenviador designado: los demás solo conocen y negocian con él, y él
+ * sabe quién publica medios y quién solo se suscribe. Las tramas con {@code to} se entregan
+ * únicamente a ese usuario.
+ */
+@Component
+public class SignalingRoomManager {
+
+    private static final Logger log = LoggerFactory.getLogger(SignalingRoomManager.class);
+
+    static final String PUBLISH = "publish";
+    static final String UNPUBLISH = "unpublish";
+
+    public enum Topology { MESH, FORWARDER }
+
+    private final int sendTimeLimitMs;
+    private final int bufferSizeLimitBytes;
+    private final Map<Long, Room> rooms = new ConcurrentHashMap<>();
+    private final Map<String, Participant> participants = new ConcurrentHashMap<>();
+    private final SignalingMetrics metrics = new SignalingMetrics();
+
+    public SignalingRoomManager(@Value("${calls.signaling.send-time-limit-ms:5000}") int sendTimeLimitMs,
+                                @Value("${calls.signaling.buffer-size-limit:262144}") int bufferSizeLimitBytes) {
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.bufferSizeLimitBytes = bufferSizeLimitBytes;
+    }
+
+    public Participant connect(WebSocketSession session) {
+        Participant participant = new Participant(session, sendTimeLimitMs, bufferSizeLimitBytes);
+        participants.put(session.getId(), participant);
+        return participant;
+    }
+
+    public Participant participant(WebSocketSession session) {
+        return participants.get(session.getId());
+    }
+
+    /**
+     * Sala en caché de la llamada, si alguien ya se unió y la llamada sigue activa.
+     */
+    public Room cachedRoom(Long callId) {
+        Room room = rooms.get(callId);
+        return room != null && !room.closed ? room : null;
+    }
+
+    /**
+     * Añade al participante (ya validado) a la sala y le presenta a quienes debe conocer según
+     * la topología. Si el participante estaba en otra sala, sale antes de ella.
+     */
+    public void join(Participant participant, CallSession callSession, Long userId) {
+        Room previous = participant.room;
+        if (previous != null && !previous.callId.equals(callSession.getId())) {
+            leave(participant);
+        }
+        Room room = rooms.compute(callSession.getId(), (callId, current) -> {
+            Room target = current != null ? current : new Room(callSession);
+            participant.userId = userId;
+            participant.room = target;
+            target.members.put(participant.sessionId, participant);
+            target.byUser.put(userId, participant);
+            return target;
+        });
+
+        TextMessage joined = joinMessage(userId, room.callId);
+        if (room.topology == Topology.MESH) {
+            for (Participant member : room.members.values()) {
+                if (member != participant) {
+                    member.send(joined);
+                    participant.send(joinMessage(member.userId, room.callId));
+                }
+            }
+            participant.send(topologyMessage(room));
+        } else if (userId.equals(room.forwarderUserId)) {
+            // Llega el reenviador: todos negocian con él y él con todos
+            for (Participant member : room.members.values()) {
+                if (member != participant) {
+                    member.send(joined);
+                    participant.send(joinMessage(member.userId, room.callId));
+                }
+            }
+            broadcast(room, topologyMessage(room));
+        } else {
+            Participant forwarder = room.forwarder();
+            if (forwarder != null) {
+                forwarder.send(joined);
+                participant.send(joinMessage(forwarder.userId, room.callId));
+            }
+            participant.send(topologyMessage(room));
+        }
+    }
+
+    /**
+     * Reenvía la trama según la topología de la sala. El mensaje es inmutable, así que se
+     * comparte entre todos los destinatarios.
+     */
+    public int relay(Participant sender, String type, Long to, TextMessage message, long receivedAtNanos) {
+        Room room = sender.room;
+        if (room == null || room.closed) {
+            metrics.recordRejected();
+            return 0;
+        }
+        boolean fromForwarder = room.topology == Topology.FORWARDER && sender.userId.equals(room.forwarderUserId);
+        boolean topologyChanged = false;
+        if (PUBLISH.equals(type)) {
+            topologyChanged = room.publishers.add(sender.userId);
+        } else if (UNPUBLISH.equals(type)) {
+            topologyChanged = room.publishers.remove(sender.userId);
+        }
+
+        int recipients = 0;
+        if (to != null) {
+            // En modo reenviador un suscriptor solo puede dirigirse al reenviador
+            Participant target = room.byUser.get(to);
+            boolean allowed = room.topology == Topology.MESH || fromForwarder || to.equals(room.forwarderUserId);
+            if (target == null || target == sender || !allowed) {
+                metrics.recordRejected();
+                return 0;
+            }
+            recipients = deliver(target, message);
+        } else if (room.topology == Topology.MESH || fromForwarder) {
+            for (Participant member : room.members.values()) {
+                if (member != sender) {
+                    recipients += deliver(member, message);
+                }
+            }
+        } else {
+            Participant forwarder = room.forwarder();
+            if (forwarder != null) {
+                recipients = deliver(forwarder, message);
+            }
+        }
+        metrics.recordRelay(System.nanoTime() - receivedAtNanos, recipients);
+
+        if (topologyChanged && room.topology == Topology.FORWARDER) {
+            broadcast(room, topologyMessage(room));
+        }
+        return recipients;
+    }
+
+    public void leave(Participant participant) {
+        Room room = participant.room;
+        if (room == null) {
+            return;
+        }
+        participant.room = null;
+        Long userId = participant.userId;
+        rooms.computeIfPresent(room.callId, (callId, current) -> {
+            current.members.remove(participant.sessionId, participant);
+            if (current.byUser.remove(userId, participant) && !userId.equals(current.forwarderUserId)) {
+                current.publishers.remove(userId);
+            }
+            return current.members.isEmpty() ? null : current;
+        });
+        if (room.closed || room.members.isEmpty()) {
+            return;
+        }
+
+        // Avisar a quienes tenían conexión con él para que cierren el peer
+        TextMessage left = leaveMessage(userId, room.callId);
+        if (room.topology == Topology.MESH || userId.equals(room.forwarderUserId)) {
+            broadcast(room, left);
+            if (room.topology == Topology.FORWARDER) {
+                broadcast(room, topologyMessage(room));
+            }
+        } else {
+            Participant forwarder = room.forwarder();
+            if (forwarder != null) {
+                forwarder.send(left);
+            }
+        }
+    }
+
+    public void disconnect(WebSocketSession session) {
+        Participant participant = participants.remove(session.getId());
+        if (participant == null) {
+            return;
+        }
+        leave(participant);
+        metrics.recordDropped(participant.undelivered());
+    }
+
+    /**
+     * Descarta la sala al finalizar la llamada: las tramas que lleguen después se rechazan y el
+     * siguiente join vuelve a validar contra la base de datos.
+     */
+    public void closeRoom(Long callId) {
+        Room room = rooms.remove(callId);
+        if (room != null) {
+            room.closed = true;
+            log.debug("Closed signaling room {} with {} participants", callId, room.members.size());
+        }
+    }
+
+    public SignalingMetrics.Snapshot metrics() {
+        long bufferedBytes = 0;
+        for (Participant participant : participants.values()) {
+            bufferedBytes += participant.session.getBufferSize();
+        }
+        return metrics.snapshot(rooms.size(), participants.size(), bufferedBytes);
+    }
+
+    private int deliver(Participant target, TextMessage message) {
+        if (target.send(message)) {
+            return 1;
+        }
+        metrics.recordDropped(1);
+        return 0;
+    }
+
+    private static void broadcast(Room room, TextMessage message) {
+        for (Participant member : room.members.values()) {
+            member.send(message);
+        }
+    }
+
+    private static TextMessage joinMessage(Long userId, Long callId) {
+        return new TextMessage("{\"type\":\"join\",\"userId\":" + userId + ",\"room\":\"" + callId + "\"}");
+    }
+
+    private static TextMessage leaveMessage(Long userId, Long callId) {
+        return new TextMessage("{\"type\":\"leave\",\"userId\":" + userId + ",\"room\":\"" + callId + "\"}");
+    }
+
+    private static TextMessage topologyMessage(Room room) {
+        StringBuilder json = new StringBuilder(128)
+                .append("{\"type\":\"topology\",\"room\":\"").append(room.callId)
+                .append("\",\"mode\":\"").append(room.topology)
+                .append("\",\"forwarderId\":").append(room.forwarderUserId)
+                .append(",\"forwarderConnected\":").append(room.forwarder() != null)
+                .append(",\"participants\":").append(room.byUser.size())
+                .append(",\"publishers\":[");
+        List<Long> publishers = new ArrayList<>(room.publishers);
+        for (int i = 0; i < publishers.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(publishers.get(i));
+        }
+        return new TextMessage(json.append("]}").toString());
+    }
+
+    public static final class Room {
+        private final Long callId;
+        private final CallSession callSession;
+        private final Topology topology;
+        // Reenviador designado (el creador de la llamada); null en malla
+        private final Long forwarderUserId;
+        private final Map<String, Participant> members = new ConcurrentHashMap<>();
+        private final Map<Long, Participant> byUser = new ConcurrentHashMap<>();
+        private final Set<Long> publishers = ConcurrentHashMap.newKeySet();
+        private volatile boolean closed;
+
+        private Room(CallSession callSession) {
+            this.callId = callSession.getId();
+            this.callSession = callSession;
+            boolean multiParty = callSession.getContextType() == CallContextType.GROUP
+                    || callSession.getContextType() == CallContextType.EVENT;
+            if (multiParty && callSession.getMode() == CallMode.CONFERENCE) {
+                this.topology = Topology.FORWARDER;
+                this.forwarderUserId = callSession.getCreatedBy().getId();
+                this.publishers.add(forwarderUserId);
+            } else {
+                this.topology = Topology.MESH;
+                this.forwarderUserId = null;
+            }
+        }
+
+        public Long getCallId() {
+            return callId;
+        }
+
+        public CallSession getCallSession() {
+            return callSession;
+        }
+
+        public Topology getTopology() {
+            return topology;
+        }
+
+        public Long getForwarderUserId() {
+            return forwarderUserId;
+        }
+
+        public boolean isMember(Participant participant) {
+            return !closed && members.get(participant.sessionId) == participant;
+        }
+
+        private Participant forwarder() {
+            return forwarderUserId != null ? byUser.get(forwarderUserId) : null;
+        }
+    }
+
+    public static final class Participant {
+        private final String sessionId;
+        private final ConcurrentWebSocketSessionDecorator session;
+        // Tramas aceptadas en el buffer y tramas escritas de verdad en el socket
+        private final LongAdder enqueued = new LongAdder();
+        private final LongAdder written = new LongAdder();
+        private volatile Long userId;
+        private volatile Room room;
+
+        private Participant(WebSocketSession session, int sendTimeLimitMs, int bufferSizeLimitBytes) {
+            this.sessionId = session.getId();
+            WebSocketSession counting = new WebSocketSessionDecorator(session) {
+                @Override
+                public void sendMessage(WebSocketMessage<?> message) throws IOException {
+                    super.sendMessage(message);
+                    written.increment();
+                }
+            };
+            this.session = new ConcurrentWebSocketSessionDecorator(counting, sendTimeLimitMs, bufferSizeLimitBytes,
+                    ConcurrentWebSocketSessionDecorator.OverflowStrategy.DROP);
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public Room getRoom() {
+            return room;
+        }
+
+        /**
+         * Encola la trama; devuelve {@code false} si la sesión está cerrada o superó el
+         * tiempo de envío.
+         */
+        public boolean send(TextMessage message) {
+            if (!session.isOpen()) {
+                return false;
+            }
+            try {
+                session.sendMessage(message);
+                enqueued.increment();
+                return true;
+            } catch (IOException | RuntimeException e) {
+                log.debug("Could not send signaling frame to session {}: {}", sessionId, e.getMessage());
+                return false;
+            }
+        }
+
+        // Lo encolado que nunca llegó al socket: desbordes del buffer y lo pendiente al cerrar
+        private long undelivered() {
+            return Math.max(0, enqueued.sum() - written.sum());
+        }
+    }
+}
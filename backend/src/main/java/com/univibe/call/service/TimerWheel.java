@@ -0,0 +1,88 @@
+package com.univibe.call.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rueda de temporizadores (hashed timer wheel) para plazos cortos indexados por id.
+ * <p>
+ * Cada plazo cae en la ranura {@code tick % slots}; al avanzar se recorren solo las ranuras
+ * de los ticks transcurridos, así que programar, cancelar y vencer cuestan O(1) por entrada
+ * sin importar cuántas haya pendientes. Un plazo más lejano que una vuelta completa espera en
+ * su ranura hasta que llega su tick. No es segura para hilos: la usa un único hilo o se
+ * sincroniza desde fuera.
+ */
+class TimerWheel {
+
+    private final long tickMillis;
+    private final List<Map<Long, Long>> slots;
+    // id → tick programado, para poder cancelar o reprogramar sin buscar en la rueda
+    private final Map<Long, Long> scheduled = new HashMap<>();
+    private long currentTick = -1;
+
+    TimerWheel(long tickMillis, int slotCount) {
+        if (tickMillis <= 0 || slotCount <= 0) {
+            throw new IllegalArgumentException("tickMillis and slotCount must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Programa (o reprograma) el plazo del id. Un plazo ya vencido va al tick siguiente al
+     * actual: sale en el primer {@link #advance(long)} que lo alcance.
+     */
+    void schedule(Long id, long deadlineMillis) {
+        cancel(id);
+        long tick = Math.max(Math.floorDiv(deadlineMillis, tickMillis), currentTick + 1);
+        slotOf(tick).put(id, tick);
+        scheduled.put(id, tick);
+    }
+
+    void cancel(Long id) {
+        Long tick = scheduled.remove(id);
+        if (tick != null) {
+            slotOf(tick).remove(id);
+        }
+    }
+
+    int size() {
+        return scheduled.size();
+    }
+
+    /**
+     * Avanza hasta {@code nowMillis} y devuelve los ids cuyo plazo venció.
+     */
+    List<Long> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        List<Long> expired = new ArrayList<>();
+        // Primera vuelta o más de una vuelta sin avanzar: basta con recorrer cada ranura una vez
+        long from = Math.max(currentTick + 1, targetTick - slots.size() + 1);
+        if (currentTick < 0) {
+            from = targetTick - slots.size() + 1;
+        }
+        for (long tick = from; tick <= targetTick; tick++) {
+            Iterator<Map.Entry<Long, Long>> entries = slotOf(tick).entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<Long, Long> entry = entries.next();
+                if (entry.getValue() <= targetTick) {
+                    entries.remove();
+                    scheduled.remove(entry.getKey());
+                    expired.add(entry.getKey());
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return expired;
+    }
+
+    private Map<Long, Long> slotOf(long tick) {
+        return slots.get((int) Math.floorMod(tick, (long) slots.size()));
+    }
+}
@@ -4,9 +4,12 @@ import com.univibe.call.dto.CallSessionResponse;
 import com.univibe.call.dto.CreateCallRequest;
 import com.univibe.call.model.CallContextType;
 import com.univibe.call.service.CallService;
+import com.univibe.call.service.SignalingMetrics;
+import com.univibe.call.service.SignalingRoomManager;
 import com.univibe.user.model.User;
 import com.univibe.user.repo.UserRepository;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,10 +19,12 @@ public class CallRestController {
 
     private final CallService callService;
     private final UserRepository userRepository;
+    private final SignalingRoomManager signalingRoomManager;
 
-    public CallRestController(CallService callService, UserRepository userRepository) {
+    public CallRestController(CallService callService, UserRepository userRepository, SignalingRoomManager signalingRoomManager) {
         this.callService = callService;
         this.userRepository = userRepository;
+        this.signalingRoomManager = signalingRoomManager;
     }
 
     @PostMapping
@@ -52,6 +57,12 @@ public class CallRestController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/signaling/metrics")
+    @PreAuthorize("hasAnyRole('ADMIN','SERVER')")
+    public SignalingMetrics.Snapshot signalingMetrics() {
+        return signalingRoomManager.metrics();
+    }
+
     private User resolveUser(Authentication auth) {
         String email = (String) auth.getPrincipal();
         return userRepository.findByEmail(email).orElseThrow();
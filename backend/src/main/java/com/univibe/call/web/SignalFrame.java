@@ -0,0 +1,78 @@
+package com.univibe.call.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Cabecera de una trama de señalización: solo los campos que necesita el servidor para
+ * validar y enrutar ({@code type}, {@code room}, {@code userId} del join y destinatario
+ * {@code to}).
+ * <p>
+ * Se lee con el parser en streaming y se deja de leer en cuanto están los campos necesarios;
+ * el SDP y los candidatos ICE no se materializan nunca, porque el cuerpo se reenvía tal cual.
+ */
+record SignalFrame(String type, Long room, Long userId, Long to) {
+
+    static final String JOIN = "join";
+
+    boolean isJoin() {
+        return JOIN.equals(type);
+    }
+
+    /**
+     * Devuelve {@code null} si la trama no es un objeto JSON con {@code type} y {@code room}.
+     */
+    static SignalFrame parse(JsonFactory jsonFactory, String payload) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            String type = null;
+            Long room = null;
+            Long userId = null;
+            Long to = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "type" -> type = readType(parser, value);
+                    case "room" -> room = readId(parser, value);
+                    case "userId" -> userId = readId(parser, value);
+                    case "to" -> to = readId(parser, value);
+                    default -> parser.skipChildren();
+                }
+                if (type != null && room != null && (JOIN.equals(type) ? userId != null : to != null)) {
+                    break;
+                }
+            }
+            return type != null && room != null ? new SignalFrame(type, room, userId, to) : null;
+        }
+    }
+
+    private static String readType(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    // Los clientes envían los ids como texto ("42") o como número
+    private static Long readId(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        if (value == JsonToken.VALUE_STRING) {
+            try {
+                return Long.parseLong(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
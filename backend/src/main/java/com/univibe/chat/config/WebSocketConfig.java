@@ -1,5 +1,6 @@
 package com.univibe.chat.config;
 
+import com.univibe.support.web.SupportSubscriptionInterceptor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.simp.config.ChannelRegistration;
@@ -13,9 +14,12 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final WebSocketAuthInterceptor authInterceptor;
+    private final SupportSubscriptionInterceptor supportSubscriptionInterceptor;
 
-    public WebSocketConfig(@Lazy WebSocketAuthInterceptor authInterceptor) {
+    public WebSocketConfig(@Lazy WebSocketAuthInterceptor authInterceptor,
+                           @Lazy SupportSubscriptionInterceptor supportSubscriptionInterceptor) {
         this.authInterceptor = authInterceptor;
+        this.supportSubscriptionInterceptor = supportSubscriptionInterceptor;
     }
 
     @Override
@@ -34,6 +38,6 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(authInterceptor);
+        registration.interceptors(authInterceptor, supportSubscriptionInterceptor);
     }
 }
@@ -0,0 +1,29 @@
+package com.univibe.chat.dto;
+
+import com.univibe.reaction.dto.MessageReactionDTO;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Copia de un mensaje de chat de evento o de grupo tal como se guarda en un tramo archivado:
+ * lo mismo que devuelve el historial, con el autor y las reacciones congelados al archivar.
+ */
+public record ArchivedMessage(
+        Long id,
+        Long authorId,
+        String authorName,
+        String authorEmail,
+        String authorProfilePictureUrl,
+        String content,
+        String fileUrl,
+        String fileType,
+        String fileName,
+        Instant createdAt,
+        Long fileId,
+        String filePreview,
+        Long stickerId,
+        String stickerPreview,
+        List<MessageReactionDTO> reactions
+) {
+}
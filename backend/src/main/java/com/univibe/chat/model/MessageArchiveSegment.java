@@ -0,0 +1,59 @@
+package com.univibe.chat.model;
+
+import com.univibe.reaction.model.MessageContextType;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Tramo archivado de un chat: hasta {@code chat.archive.segment-size} mensajes consecutivos de
+ * un evento o grupo, serializados como JSON comprimido con gzip. Se escribe y se lee por JDBC
+ * (MessageArchiveService); la entidad se mantiene para que Hibernate valide la tabla al arrancar.
+ */
+@Entity
+@Table(name = "message_archive_segments", indexes = {
+    @Index(name = "idx_message_archive_context", columnList = "context_type, context_id, first_message_id")
+})
+public class MessageArchiveSegment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "context_type", nullable = false, length = 30)
+    private MessageContextType contextType;
+
+    @Column(name = "context_id", nullable = false)
+    private Long contextId;
+
+    @Column(name = "first_message_id", nullable = false)
+    private Long firstMessageId;
+
+    @Column(name = "last_message_id", nullable = false)
+    private Long lastMessageId;
+
+    @Column(name = "first_created_at", nullable = false)
+    private Instant firstCreatedAt;
+
+    @Column(name = "last_created_at", nullable = false)
+    private Instant lastCreatedAt;
+
+    @Column(name = "message_count", nullable = false)
+    private int messageCount;
+
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] payload;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt = Instant.now();
+
+    public Long getId() { return id; }
+    public MessageContextType getContextType() { return contextType; }
+    public Long getContextId() { return contextId; }
+    public Long getFirstMessageId() { return firstMessageId; }
+    public Long getLastMessageId() { return lastMessageId; }
+    public Instant getFirstCreatedAt() { return firstCreatedAt; }
+    public Instant getLastCreatedAt() { return lastCreatedAt; }
+    public int getMessageCount() { return messageCount; }
+    public byte[] getPayload() { return payload; }
+    public Instant getArchivedAt() { return archivedAt; }
+}
@@ -0,0 +1,432 @@
+package com.univibe.chat.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.univibe.chat.dto.ArchivedMessage;
+import com.univibe.chat.dto.ChatMessageResponse;
+import com.univibe.chat.model.ChatMessage;
+import com.univibe.common.cache.LruCache;
+import com.univibe.common.dto.PageResponse;
+import com.univibe.group.dto.GroupMessageResponse;
+import com.univibe.group.model.GroupMessage;
+import com.univibe.reaction.dto.MessageReactionDTO;
+import com.univibe.reaction.model.MessageContextType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Almacenamiento caliente/archivado de los chats de eventos y grupos.
+ * <p>
+ * Los mensajes recientes viven en {@code chat_messages} / {@code group_messages}. Los chats que
+ * ya no cambian (eventos finalizados, mensajes de grupo antiguos) se mueven a
+ * {@code message_archive_segments} en tramos de {@code chat.archive.segment-size} mensajes
+ * consecutivos, serializados como JSON con gzip y con autor y reacciones ya resueltos. Cada
+ * tramo se escribe y los mensajes originales se borran en la misma transacción, así que un
+ * mensaje está siempre en un único sitio.
+ * <p>
+ * El historial pagina sobre la concatenación "tramos archivados + tabla caliente": los tramos
+ * siempre son anteriores a lo que queda en caliente, de modo que una página puede tomar la cola
+ * del archivo y el principio de la tabla sin que el cliente note la diferencia. Los mensajes
+ * archivados son de solo lectura (ya no admiten reacciones).
+ * <p>
+ * Un tramo no se modifica en sitio: al borrar un usuario ({@link #removeUsers}) se sustituye por
+ * otro con id nuevo, así que la caché por id nunca sirve un contenido que ya no existe.
+ */
+@Service
+public class MessageArchiveService {
+
+    private static final int CACHED_SEGMENTS = 64;
+    private static final int HISTORY_ATTEMPTS = 3;
+    private static final TypeReference<List<ArchivedMessage>> SEGMENT_TYPE = new TypeReference<>() {};
+    private static final Comparator<MessageReactionDTO> MOST_REACTED_FIRST =
+            Comparator.comparingInt((MessageReactionDTO dto) -> dto.userIds().size()).reversed();
+
+    /**
+     * Tabla caliente de cada tipo de chat y columnas por las que se une al contexto y al autor.
+     */
+    public enum Source {
+        EVENT_CHAT(MessageContextType.EVENT_CHAT, "chat_messages", "event_id", "user_id"),
+        GROUP_CHAT(MessageContextType.GROUP_CHAT, "group_messages", "group_id", "sender_id");
+
+        private final MessageContextType contextType;
+        private final String table;
+        private final String contextColumn;
+        private final String authorColumn;
+
+        Source(MessageContextType contextType, String table, String contextColumn, String authorColumn) {
+            this.contextType = contextType;
+            this.table = table;
+            this.contextColumn = contextColumn;
+            this.authorColumn = authorColumn;
+        }
+    }
+
+    private record SegmentRef(long id, int messageCount, long startOffset) {
+    }
+
+    private record StoredSegment(String contextType, long contextId, Instant archivedAt, byte[] payload) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MessageResponseMapper messageResponseMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int segmentSize;
+    private final LruCache<Long, List<ArchivedMessage>> segmentCache = new LruCache<>(CACHED_SEGMENTS);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public MessageArchiveService(JdbcTemplate jdbcTemplate,
+                                 ObjectMapper objectMapper,
+                                 MessageResponseMapper messageResponseMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${chat.archive.segment-size:500}") int segmentSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.messageResponseMapper = messageResponseMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.segmentSize = Math.max(segmentSize, 1);
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public PageResponse<ChatMessageResponse> eventHistory(Long eventId, Pageable pageable) {
+        return history(Source.EVENT_CHAT, eventId, pageable,
+                "select m from ChatMessage m where m.event.id = :contextId order by m.createdAt asc, m.id asc",
+                ChatMessage.class, messageResponseMapper::toChatResponse, messageResponseMapper::toChatResponse);
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public PageResponse<GroupMessageResponse> groupHistory(Long groupId, Pageable pageable) {
+        return history(Source.GROUP_CHAT, groupId, pageable,
+                "select m from GroupMessage m where m.group.id = :contextId order by m.createdAt asc, m.id asc",
+                GroupMessage.class, messageResponseMapper::toGroupResponse, messageResponseMapper::toGroupResponse);
+    }
+
+    /**
+     * Archiva los mensajes del contexto anteriores a {@code before} (todos si es null), un tramo
+     * por transacción. Devuelve cuántos mensajes se movieron.
+     */
+    public int archive(Source source, Long contextId, Instant before) {
+        int total = 0;
+        int moved;
+        do {
+            Integer segment = transactionTemplate.execute(status -> archiveSegment(source, contextId, before));
+            moved = segment != null ? segment : 0;
+            total += moved;
+        } while (moved == segmentSize);
+        return total;
+    }
+
+    private int archiveSegment(Source source, Long contextId, Instant before) {
+        List<Object> args = new ArrayList<>();
+        args.add(contextId);
+        if (before != null) {
+            args.add(Timestamp.from(before));
+        }
+        args.add(segmentSize);
+        // FOR UPDATE: nadie puede tocar el tramo entre que se copia y se borra
+        List<ArchivedMessage> messages = jdbcTemplate.query(
+                "SELECT m.id, m.content, m.file_url, m.file_type, m.file_name, m.created_at, " +
+                "       m.file_asset_id, fa.preview_base64 AS file_preview, " +
+                "       m.sticker_id, sfa.preview_base64 AS sticker_preview, " +
+                "       u.id AS author_id, u.name AS author_name, u.email AS author_email, " +
+                "       u.profile_picture_url AS author_picture " +
+                "FROM " + source.table + " m " +
+                "JOIN users u ON u.id = m." + source.authorColumn + " " +
+                "LEFT JOIN file_assets fa ON fa.id = m.file_asset_id " +
+                "LEFT JOIN stickers s ON s.id = m.sticker_id " +
+                "LEFT JOIN file_assets sfa ON sfa.id = s.file_asset_id " +
+                "WHERE m." + source.contextColumn + " = ? " +
+                (before != null ? "AND m.created_at < ? " : "") +
+                "ORDER BY m.id LIMIT ? FOR UPDATE OF m",
+                (rs, rowNum) -> new ArchivedMessage(
+                        rs.getLong("id"),
+                        rs.getLong("author_id"),
+                        rs.getString("author_name"),
+                        rs.getString("author_email"),
+                        rs.getString("author_picture"),
+                        rs.getString("content"),
+                        rs.getString("file_url"),
+                        rs.getString("file_type"),
+                        rs.getString("file_name"),
+                        rs.getTimestamp("created_at").toInstant(),
+                        rs.getObject("file_asset_id", Long.class),
+                        rs.getString("file_preview"),
+                        rs.getObject("sticker_id", Long.class),
+                        rs.getString("sticker_preview"),
+                        List.of()),
+                args.toArray());
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        Long[] ids = messages.stream().map(ArchivedMessage::id).toArray(Long[]::new);
+        Map<Long, List<MessageReactionDTO>> reactions = reactionsFor(source.contextType, ids);
+        List<ArchivedMessage> snapshot = messages.stream()
+                .map(m -> new ArchivedMessage(m.id(), m.authorId(), m.authorName(), m.authorEmail(),
+                        m.authorProfilePictureUrl(), m.content(), m.fileUrl(), m.fileType(), m.fileName(),
+                        m.createdAt(), m.fileId(), m.filePreview(), m.stickerId(), m.stickerPreview(),
+                        reactions.getOrDefault(m.id(), List.of())))
+                .toList();
+
+        insertSegment(source.contextType.name(), contextId, snapshot, Instant.now());
+        jdbcTemplate.update("DELETE FROM message_reactions WHERE message_type = ? AND message_id = ANY(?)",
+                source.contextType.name(), ids);
+        jdbcTemplate.update("DELETE FROM " + source.table + " WHERE id = ANY(?)", (Object) ids);
+        return snapshot.size();
+    }
+
+    /**
+     * Quita de los tramos archivados los mensajes y las reacciones de los usuarios, igual que el
+     * borrado de cuenta los quita de las tablas calientes. Cada tramo afectado se reescribe en su
+     * propia transacción (o se borra si se queda vacío), así que repetirlo tras una interrupción
+     * continúa donde quedó. Devuelve cuántos tramos cambiaron.
+     */
+    public int removeUsers(Long[] userIds) {
+        Set<Long> removed = Set.of(userIds);
+        int changed = 0;
+        for (Long segmentId : candidateSegments(userIds)) {
+            Boolean rewritten = transactionTemplate.execute(status -> removeUsersFromSegment(segmentId, removed));
+            if (Boolean.TRUE.equals(rewritten)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Tramos que {@link #removeUsers} revisaría: los que nombran a alguno de los usuarios y los
+     * archivados antes de registrar {@code user_ids}.
+     */
+    public long countSegmentsToReview(Long[] userIds) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM message_archive_segments WHERE user_ids && ? OR user_ids IS NULL",
+                Long.class, (Object) userIds);
+        return count != null ? count : 0;
+    }
+
+    private List<Long> candidateSegments(Long[] userIds) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM message_archive_segments WHERE user_ids && ? OR user_ids IS NULL ORDER BY id",
+                Long.class, (Object) userIds);
+    }
+
+    private boolean removeUsersFromSegment(Long segmentId, Set<Long> removed) {
+        List<StoredSegment> rows = jdbcTemplate.query(
+                "SELECT context_type, context_id, archived_at, payload FROM message_archive_segments WHERE id = ? FOR UPDATE",
+                (rs, rowNum) -> new StoredSegment(rs.getString("context_type"), rs.getLong("context_id"),
+                        rs.getTimestamp("archived_at").toInstant(), rs.getBytes("payload")),
+                segmentId);
+        if (rows.isEmpty()) {
+            // Otro borrado lo reescribió o se purgó su evento o grupo mientras tanto
+            return false;
+        }
+        StoredSegment stored = rows.get(0);
+        List<ArchivedMessage> messages = decompress(stored.payload(), segmentId);
+        List<ArchivedMessage> kept = messages.stream()
+                .filter(message -> !removed.contains(message.authorId()))
+                .map(message -> withoutReactionsOf(message, removed))
+                .toList();
+        if (kept.equals(messages)) {
+            // Tramo antiguo sin rastro de estos usuarios: se anota quién aparece para no volver a abrirlo
+            jdbcTemplate.update("UPDATE message_archive_segments SET user_ids = ? WHERE id = ? AND user_ids IS NULL",
+                    usersOf(messages), segmentId);
+            return false;
+        }
+
+        jdbcTemplate.update("DELETE FROM message_archive_segments WHERE id = ?", segmentId);
+        if (!kept.isEmpty()) {
+            insertSegment(stored.contextType(), stored.contextId(), kept, stored.archivedAt());
+        }
+        segmentCache.remove(segmentId);
+        return true;
+    }
+
+    private ArchivedMessage withoutReactionsOf(ArchivedMessage m, Set<Long> removed) {
+        List<MessageReactionDTO> reactions = m.reactions().stream()
+                .map(r -> new MessageReactionDTO(r.emoji(),
+                        r.userIds().stream().filter(userId -> !removed.contains(userId)).toList()))
+                .filter(r -> !r.userIds().isEmpty())
+                .sorted(MOST_REACTED_FIRST)
+                .toList();
+        if (reactions.equals(m.reactions())) {
+            return m;
+        }
+        return new ArchivedMessage(m.id(), m.authorId(), m.authorName(), m.authorEmail(),
+                m.authorProfilePictureUrl(), m.content(), m.fileUrl(), m.fileType(), m.fileName(),
+                m.createdAt(), m.fileId(), m.filePreview(), m.stickerId(), m.stickerPreview(), reactions);
+    }
+
+    private void insertSegment(String contextType, Long contextId, List<ArchivedMessage> messages, Instant archivedAt) {
+        ArchivedMessage first = messages.get(0);
+        ArchivedMessage last = messages.get(messages.size() - 1);
+        jdbcTemplate.update(
+                "INSERT INTO message_archive_segments (context_type, context_id, first_message_id, last_message_id, " +
+                "first_created_at, last_created_at, message_count, payload, archived_at, user_ids) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                contextType, contextId, first.id(), last.id(),
+                Timestamp.from(first.createdAt()), Timestamp.from(last.createdAt()),
+                messages.size(), compress(messages), Timestamp.from(archivedAt), usersOf(messages));
+    }
+
+    // Autores y quienes reaccionaron: todo usuario cuyo borrado obliga a reescribir el tramo
+    private static Long[] usersOf(List<ArchivedMessage> messages) {
+        Set<Long> users = new TreeSet<>();
+        for (ArchivedMessage message : messages) {
+            users.add(message.authorId());
+            message.reactions().forEach(reaction -> users.addAll(reaction.userIds()));
+        }
+        return users.toArray(Long[]::new);
+    }
+
+    // Mismo orden que MessageResponseMapper: los emojis con más reacciones primero
+    private Map<Long, List<MessageReactionDTO>> reactionsFor(MessageContextType type, Long[] ids) {
+        Map<Long, Map<String, List<Long>>> grouped = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT message_id, emoji, user_id FROM message_reactions " +
+                "WHERE message_type = ? AND message_id = ANY(?) ORDER BY id",
+                rs -> {
+                    grouped.computeIfAbsent(rs.getLong("message_id"), k -> new LinkedHashMap<>())
+                            .computeIfAbsent(rs.getString("emoji"), k -> new ArrayList<>())
+                            .add(rs.getLong("user_id"));
+                },
+                type.name(), ids);
+        Map<Long, List<MessageReactionDTO>> result = new HashMap<>();
+        grouped.forEach((messageId, byEmoji) -> result.put(messageId, byEmoji.entrySet().stream()
+                .map(entry -> new MessageReactionDTO(entry.getKey(), entry.getValue()))
+                .sorted(MOST_REACTED_FIRST)
+                .toList()));
+        return result;
+    }
+
+    /**
+     * Concatena los tramos archivados y los mensajes vivos. Las lecturas comparten la instantánea
+     * REPEATABLE READ de la transacción, así que un archivado o una reescritura concurrente no
+     * descuadra la lista de tramos, el recuento y los payloads. Si aun así falta un tramo (llamada
+     * dentro de una transacción ajena con otro aislamiento), se vuelve a listar.
+     */
+    private <E, T> PageResponse<T> history(Source source, Long contextId, Pageable pageable,
+                                           String hotQuery, Class<E> entityType,
+                                           Function<E, T> hotMapper, Function<ArchivedMessage, T> archivedMapper) {
+        for (int attempt = 1; ; attempt++) {
+            PageResponse<T> page = tryHistory(source, contextId, pageable, hotQuery, entityType, hotMapper, archivedMapper);
+            if (page != null) {
+                return page;
+            }
+            if (attempt == HISTORY_ATTEMPTS) {
+                throw new IllegalStateException("El historial cambió durante la lectura; vuelve a intentarlo");
+            }
+        }
+    }
+
+    // null si un tramo listado ya no existe al leerlo
+    private <E, T> PageResponse<T> tryHistory(Source source, Long contextId, Pageable pageable,
+                                              String hotQuery, Class<E> entityType,
+                                              Function<E, T> hotMapper, Function<ArchivedMessage, T> archivedMapper) {
+        int size = pageable.getPageSize();
+        long offset = pageable.getOffset();
+        long end = offset + size;
+
+        List<SegmentRef> segments = segmentsOf(source, contextId);
+        long archived = segments.isEmpty() ? 0
+                : segments.get(segments.size() - 1).startOffset() + segments.get(segments.size() - 1).messageCount();
+        Long hot = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM " + source.table + " WHERE " + source.contextColumn + " = ?", Long.class, contextId);
+        long total = archived + (hot != null ? hot : 0);
+
+        List<T> content = new ArrayList<>(size);
+        if (offset < archived) {
+            for (SegmentRef segment : segments) {
+                long segmentEnd = segment.startOffset() + segment.messageCount();
+                if (segmentEnd <= offset || segment.startOffset() >= end) {
+                    continue;
+                }
+                List<ArchivedMessage> messages = segmentCache.computeIfAbsent(segment.id(), this::loadSegment);
+                if (messages == null) {
+                    return null;
+                }
+                int from = (int) Math.max(offset - segment.startOffset(), 0);
+                int to = (int) Math.min(end - segment.startOffset(), messages.size());
+                messages.subList(from, to).forEach(message -> content.add(archivedMapper.apply(message)));
+            }
+        }
+        if (end > archived) {
+            entityManager.createQuery(hotQuery, entityType)
+                    .setParameter("contextId", contextId)
+                    .setFirstResult((int) Math.max(offset - archived, 0))
+                    .setMaxResults((int) (end - Math.max(offset, archived)))
+                    .getResultList()
+                    .forEach(message -> content.add(hotMapper.apply(message)));
+        }
+
+        int totalPages = (int) Math.ceil(total / (double) size);
+        return new PageResponse<>(content, total, totalPages, pageable.getPageNumber(), size);
+    }
+
+    private List<SegmentRef> segmentsOf(Source source, Long contextId) {
+        List<SegmentRef> segments = new ArrayList<>();
+        long[] offset = {0};
+        jdbcTemplate.query(
+                "SELECT id, message_count FROM message_archive_segments " +
+                "WHERE context_type = ? AND context_id = ? ORDER BY first_message_id",
+                rs -> {
+                    int count = rs.getInt("message_count");
+                    segments.add(new SegmentRef(rs.getLong("id"), count, offset[0]));
+                    offset[0] += count;
+                },
+                source.contextType.name(), contextId);
+        return segments;
+    }
+
+    // null si el tramo ya no existe (reescrito o borrado); LruCache no guarda los null
+    private List<ArchivedMessage> loadSegment(Long segmentId) {
+        List<byte[]> payload = jdbcTemplate.query(
+                "SELECT payload FROM message_archive_segments WHERE id = ?", (rs, rowNum) -> rs.getBytes(1), segmentId);
+        return payload.isEmpty() ? null : decompress(payload.get(0), segmentId);
+    }
+
+    private List<ArchivedMessage> decompress(byte[] payload, Long segmentId) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return List.copyOf(objectMapper.readValue(in, SEGMENT_TYPE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Tramo de archivo ilegible: " + segmentId, e);
+        }
+    }
+
+    private byte[] compress(List<ArchivedMessage> messages) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            objectMapper.writeValue(out, messages);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,110 @@
+package com.univibe.chat.service;
+
+import com.univibe.chat.service.MessageArchiveService.Source;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mueve periódicamente al archivo los chats que ya no cambian: el chat completo de los eventos
+ * finalizados hace más de {@code chat.archive.event-grace-days} días y, en los grupos, los
+ * mensajes con más de {@code chat.archive.group-after-days} días. Cada pasada procesa como
+ * mucho {@code chat.archive.contexts-per-run} eventos y otros tantos grupos; lo que quede se
+ * recoge en la siguiente.
+ */
+@Component
+public class MessageArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageArchiver.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MessageArchiveService archiveService;
+    private final boolean enabled;
+    private final long intervalMinutes;
+    private final Duration eventGrace;
+    private final Duration groupRetention;
+    private final int contextsPerRun;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    public MessageArchiver(JdbcTemplate jdbcTemplate,
+                           MessageArchiveService archiveService,
+                           @Value("${chat.archive.enabled:true}") boolean enabled,
+                           @Value("${chat.archive.interval-minutes:60}") long intervalMinutes,
+                           @Value("${chat.archive.event-grace-days:7}") long eventGraceDays,
+                           @Value("${chat.archive.group-after-days:180}") long groupAfterDays,
+                           @Value("${chat.archive.contexts-per-run:50}") int contextsPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveService = archiveService;
+        this.enabled = enabled;
+        this.intervalMinutes = intervalMinutes;
+        this.eventGrace = Duration.ofDays(eventGraceDays);
+        this.groupRetention = Duration.ofDays(groupAfterDays);
+        this.contextsPerRun = contextsPerRun;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::runSafely, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runSafely() {
+        try {
+            runOnce();
+        } catch (Exception e) {
+            log.error("Error archiving chat messages", e);
+        }
+    }
+
+    void runOnce() {
+        Instant now = Instant.now();
+
+        List<Long> events = jdbcTemplate.queryForList(
+                "SELECT e.id FROM events e " +
+                "WHERE e.status = 'FINISHED' AND COALESCE(e.end_time, e.start_time) < ? " +
+                "AND EXISTS (SELECT 1 FROM chat_messages m WHERE m.event_id = e.id) " +
+                "ORDER BY COALESCE(e.end_time, e.start_time) LIMIT ?",
+                Long.class, Timestamp.from(now.minus(eventGrace)), contextsPerRun);
+        long eventMessages = 0;
+        for (Long eventId : events) {
+            eventMessages += archiveService.archive(Source.EVENT_CHAT, eventId, null);
+        }
+
+        Instant groupCutoff = now.minus(groupRetention);
+        List<Long> groups = jdbcTemplate.queryForList(
+                "SELECT DISTINCT group_id FROM group_messages WHERE created_at < ? LIMIT ?",
+                Long.class, Timestamp.from(groupCutoff), contextsPerRun);
+        long groupMessages = 0;
+        for (Long groupId : groups) {
+            groupMessages += archiveService.archive(Source.GROUP_CHAT, groupId, groupCutoff);
+        }
+
+        if (eventMessages > 0 || groupMessages > 0) {
+            log.info("Archived {} messages from {} events and {} messages from {} groups",
+                    eventMessages, events.size(), groupMessages, groups.size());
+        }
+    }
+}
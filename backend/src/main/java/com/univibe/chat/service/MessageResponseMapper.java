@@ -1,5 +1,6 @@
 package com.univibe.chat.service;
 
+import com.univibe.chat.dto.ArchivedMessage;
 import com.univibe.chat.dto.ChatMessageResponse;
 import com.univibe.chat.dto.UserInfo;
 import com.univibe.chat.model.ChatMessage;
@@ -73,6 +74,40 @@ public class MessageResponseMapper {
         );
     }
 
+    public ChatMessageResponse toChatResponse(ArchivedMessage message) {
+        return new ChatMessageResponse(
+                message.id(),
+                archivedAuthor(message),
+                message.content(),
+                message.fileUrl(),
+                message.fileType(),
+                message.fileName(),
+                message.createdAt(),
+                message.fileId(),
+                message.filePreview(),
+                message.stickerId(),
+                message.stickerPreview(),
+                message.reactions()
+        );
+    }
+
+    public GroupMessageResponse toGroupResponse(ArchivedMessage message) {
+        return new GroupMessageResponse(
+                message.id(),
+                archivedAuthor(message),
+                message.content(),
+                message.fileUrl(),
+                message.fileType(),
+                message.fileName(),
+                message.createdAt(),
+                message.fileId(),
+                message.filePreview(),
+                message.stickerId(),
+                message.stickerPreview(),
+                message.reactions()
+        );
+    }
+
     public PrivateMessageResponse toPrivateResponse(PrivateMessage message) {
         com.univibe.social.dto.UserInfo senderInfo = new com.univibe.social.dto.UserInfo(
                 message.getSender().getId(),
@@ -105,6 +140,15 @@ public class MessageResponseMapper {
         );
     }
 
+    private UserInfo archivedAuthor(ArchivedMessage message) {
+        return new UserInfo(
+                message.authorId(),
+                message.authorName(),
+                message.authorEmail(),
+                message.authorProfilePictureUrl()
+        );
+    }
+
     private List<MessageReactionDTO> buildReactions(MessageContextType type, Long messageId) {
         Map<String, List<Long>> grouped = reactionRepository.findByMessageTypeAndMessageId(type, messageId).stream()
                 .collect(Collectors.groupingBy(
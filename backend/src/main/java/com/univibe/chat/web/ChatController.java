@@ -5,6 +5,7 @@ import com.univibe.chat.dto.ChatMessageRequest;
 import com.univibe.chat.dto.ChatMessageResponse;
 import com.univibe.chat.model.ChatMessage;
 import com.univibe.chat.repo.ChatMessageRepository;
+import com.univibe.chat.service.MessageArchiveService;
 import com.univibe.chat.service.MessageResponseMapper;
 import com.univibe.common.dto.PageResponse;
 import com.univibe.event.model.Event;
@@ -38,6 +39,7 @@ public class ChatController {
     private final StickerService stickerService;
     private final ObjectMapper objectMapper;
     private final MessageResponseMapper messageResponseMapper;
+    private final MessageArchiveService messageArchiveService;
 
     public ChatController(
             SimpMessagingTemplate messagingTemplate,
@@ -47,7 +49,8 @@ public class ChatController {
             ObjectMapper objectMapper,
             FileStorageService fileStorageService,
             StickerService stickerService,
-            MessageResponseMapper messageResponseMapper) {
+            MessageResponseMapper messageResponseMapper,
+            MessageArchiveService messageArchiveService) {
         this.messagingTemplate = messagingTemplate;
         this.eventRepository = eventRepository;
         this.chatMessageRepository = chatMessageRepository;
@@ -56,6 +59,7 @@ public class ChatController {
         this.fileStorageService = fileStorageService;
         this.stickerService = stickerService;
         this.messageResponseMapper = messageResponseMapper;
+        this.messageArchiveService = messageArchiveService;
     }
 
     @MessageMapping("/chat.{eventId}.send")
@@ -117,7 +121,7 @@ public class ChatController {
     public PageResponse<ChatMessageResponse> getMessages(
             @PathVariable Long eventId,
             @PageableDefault(size = 50, sort = "createdAt", direction = Sort.Direction.ASC) Pageable pageable) {
-        var page = chatMessageRepository.findByEventIdOrderByCreatedAtAsc(eventId, pageable);
-        return PageResponse.from(page.map(messageResponseMapper::toChatResponse));
+        // Los chats de eventos finalizados pueden estar archivados; el historial lee de ambos sitios
+        return messageArchiveService.eventHistory(eventId, pageable);
     }
 }
@@ -0,0 +1,57 @@
+package com.univibe.common.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * {@link LruCache} con caducidad: cada entrada vale durante {@code ttl} desde que se guardó.
+ * Las caducadas se descartan al leerlas; mientras tanto ocupan sitio hasta que el orden LRU
+ * las expulsa, así que el tamaño sigue acotado por {@code maxEntries}.
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final LruCache<K, Entry<V>> entries;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public ExpiringLruCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    public ExpiringLruCache(int maxEntries, Duration ttl, Clock clock) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        this.entries = new LruCache<>(maxEntries);
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!clock.instant().isBefore(entry.expiresAt())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public void put(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.instant().plus(ttl)));
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.univibe.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Con AOT, spring.flyway.enabled queda fijado al compilar. Para el arranque de entrenamiento del
+ * archivo CDS, que no tiene base de datos, la migración se desactiva con schema.migrate-on-startup.
+ */
+@Configuration
+public class FlywayConfig {
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${schema.migrate-on-startup:true}") boolean migrateOnStartup) {
+        return flyway -> {
+            if (migrateOnStartup) {
+                flyway.migrate();
+            }
+        };
+    }
+}
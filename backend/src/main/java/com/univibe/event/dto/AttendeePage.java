@@ -0,0 +1,14 @@
+package com.univibe.event.dto;
+
+import java.util.List;
+
+/**
+ * Tramo de asistentes en orden de inscripción. Para el siguiente se pasa {@code afterId =
+ * nextAfterId} mientras {@code hasMore} sea true; {@code count} es el total de inscritos.
+ */
+public record AttendeePage(
+        List<RegisteredUserResponse> content,
+        Long nextAfterId,
+        boolean hasMore,
+        long count
+) {}
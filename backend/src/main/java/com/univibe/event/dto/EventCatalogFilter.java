@@ -0,0 +1,19 @@
+package com.univibe.event.dto;
+
+import com.univibe.event.model.EventStatus;
+import com.univibe.event.model.EventVisibility;
+
+/**
+ * Criterios del catálogo de eventos.
+ * Si {@code visibility} es null y {@code includeAll} es false, solo se listan los eventos
+ * públicos y los creados por {@code viewerId}.
+ */
+public record EventCatalogFilter(
+        EventStatus status,
+        String category,
+        String search,
+        EventVisibility visibility,
+        boolean includeAll,
+        Long viewerId
+) {
+}
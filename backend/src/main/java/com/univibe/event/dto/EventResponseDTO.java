@@ -4,6 +4,7 @@ import com.univibe.event.model.Event;
 import com.univibe.event.model.EventStatus;
 import com.univibe.event.model.EventVisibility;
 import com.univibe.user.model.User;
+import org.hibernate.Hibernate;
 
 import java.time.Instant;
 import java.util.Set;
@@ -40,47 +41,15 @@ public class EventResponseDTO {
         this.visibility = event.getVisibility();
         this.maxCapacity = event.getMaxCapacity();
         
-        // Convertir User a DTO de forma segura
+        // createdBy es EAGER; unproxy cubre el caso en que llegue como referencia de Hibernate
         if (event.getCreatedBy() != null) {
-            User user = event.getCreatedBy();
-            try {
-                // Si es un proxy, intentar inicializarlo primero
-                if (user instanceof org.hibernate.proxy.HibernateProxy) {
-                    org.hibernate.proxy.HibernateProxy proxy = (org.hibernate.proxy.HibernateProxy) user;
-                    // Intentar inicializar el proxy
-                    org.hibernate.Hibernate.initialize(user);
-                    if (!proxy.getHibernateLazyInitializer().isUninitialized()) {
-                        user = (User) proxy.getHibernateLazyInitializer().getImplementation();
-                        this.createdBy = new UserSummaryDTO(
-                            user.getId(),
-                            user.getName(),
-                            user.getEmail(),
-                            user.getProfilePictureUrl()
-                        );
-                    } else {
-                        // Si no se puede inicializar, usar solo el ID si está disponible
-                        try {
-                            Long id = (Long) proxy.getHibernateLazyInitializer().getIdentifier();
-                            this.createdBy = new UserSummaryDTO(id, null, null, null);
-                        } catch (Exception e) {
-                            this.createdBy = null;
-                        }
-                    }
-                } else {
-                    // No es un proxy, usar directamente
-                    this.createdBy = new UserSummaryDTO(
-                        user.getId(),
-                        user.getName(),
-                        user.getEmail(),
-                        user.getProfilePictureUrl()
-                    );
-                }
-            } catch (Exception e) {
-                // Si algo falla, establecer a null
-                this.createdBy = null;
-            }
-        } else {
-            this.createdBy = null;
+            User user = (User) Hibernate.unproxy(event.getCreatedBy());
+            this.createdBy = new UserSummaryDTO(
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                user.getProfilePictureUrl()
+            );
         }
     }
 
@@ -0,0 +1,197 @@
+package com.univibe.event.service;
+
+import com.univibe.event.dto.EventCatalogFilter;
+import com.univibe.event.dto.EventResponseDTO;
+import com.univibe.event.dto.UserSummaryDTO;
+import com.univibe.event.model.EventStatus;
+import com.univibe.event.model.EventVisibility;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Modelo de lectura del catálogo de eventos.
+ * <p>
+ * Cada fila se proyecta directamente a {@link EventResponseDTO} con los datos del creador
+ * (LEFT JOIN users), las etiquetas y el indicador {@code group_restricted} (EXISTS sobre
+ * group_events), de modo que una página del catálogo son exactamente dos consultas:
+ * datos y conteo. Los filtros usan los índices de V30__event_catalog_search.sql y el SQL
+ * solo incluye los predicados de los filtros presentes.
+ */
+@Service
+public class EventCatalogService {
+
+    private static final String TS_CONFIG = "'spanish'";
+
+    private static final String SELECT_DTO = """
+            SELECT e.id, e.title, e.category, e.description, e.faculty, e.career, e.status,
+                   e.start_time, e.end_time, e.visibility, e.max_capacity,
+                   u.id AS creator_id, u.name AS creator_name, u.email AS creator_email,
+                   u.profile_picture_url AS creator_picture,
+                   EXISTS (SELECT 1 FROM group_events ge WHERE ge.event_id = e.id) AS group_restricted,
+                   ARRAY(SELECT t.tag FROM event_tags t WHERE t.event_id = e.id) AS tags
+            FROM events e
+            LEFT JOIN users u ON u.id = e.created_by_id""";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "startTime", "e.start_time",
+            "endTime", "e.end_time",
+            "title", "e.title",
+            "category", "e.category",
+            "status", "e.status",
+            "id", "e.id"
+    );
+
+    private static final RowMapper<EventResponseDTO> ROW_MAPPER = EventCatalogService::mapRow;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public EventCatalogService(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<EventResponseDTO> search(EventCatalogFilter filter, Pageable pageable) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = buildWhere(filter, params);
+        boolean ranked = params.hasValue("search");
+
+        StringBuilder sql = new StringBuilder(SELECT_DTO).append(where).append(" ORDER BY ");
+        if (ranked) {
+            sql.append("ts_rank_cd(e.search_vector, websearch_to_tsquery(").append(TS_CONFIG).append(", :search))")
+               .append(" + similarity(lower(e.title), :searchLower) DESC, ");
+        }
+        sql.append(buildOrderBy(pageable.getSort()));
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT :limit OFFSET :offset");
+            params.addValue("limit", pageable.getPageSize());
+            params.addValue("offset", pageable.getOffset());
+        }
+
+        List<EventResponseDTO> content = jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+        Long total = jdbcTemplate.queryForObject("SELECT count(*) FROM events e" + where, params, Long.class);
+        return new PageImpl<>(content, pageable, total != null ? total : 0L);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<EventResponseDTO> findById(Long eventId) {
+        List<EventResponseDTO> rows = jdbcTemplate.query(SELECT_DTO + " WHERE e.id = :eventId",
+                new MapSqlParameterSource("eventId", eventId), ROW_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventResponseDTO> findRegisteredBy(Long userId) {
+        return jdbcTemplate.query(SELECT_DTO
+                        + " WHERE e.id IN (SELECT r.event_id FROM registrations r WHERE r.user_id = :userId)"
+                        + " ORDER BY e.start_time ASC, e.id ASC",
+                new MapSqlParameterSource("userId", userId), ROW_MAPPER);
+    }
+
+    private String buildWhere(EventCatalogFilter filter, MapSqlParameterSource params) {
+        List<String> predicates = new ArrayList<>();
+
+        if (filter.visibility() != null) {
+            predicates.add("e.visibility = :visibility");
+            params.addValue("visibility", filter.visibility().name());
+        } else if (!filter.includeAll()) {
+            if (filter.viewerId() != null) {
+                predicates.add("(e.visibility = 'PUBLIC' OR e.created_by_id = :viewerId)");
+                params.addValue("viewerId", filter.viewerId());
+            } else {
+                predicates.add("e.visibility = 'PUBLIC'");
+            }
+        }
+
+        if (filter.status() != null) {
+            predicates.add("e.status = :status");
+            params.addValue("status", filter.status().name());
+        }
+
+        if (StringUtils.hasText(filter.category())) {
+            predicates.add("lower(e.category) = :category");
+            params.addValue("category", filter.category().trim().toLowerCase());
+        }
+
+        if (StringUtils.hasText(filter.search())) {
+            String search = filter.search().trim();
+            predicates.add("(e.search_vector @@ websearch_to_tsquery(" + TS_CONFIG + ", :search)"
+                    + " OR lower(e.title) LIKE :searchLike ESCAPE '\\')");
+            params.addValue("search", search);
+            params.addValue("searchLike", "%" + escapeLike(search.toLowerCase()) + "%");
+            params.addValue("searchLower", search.toLowerCase());
+        }
+
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+
+    private String buildOrderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column != null) {
+                orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+            }
+        }
+        // Desempate estable para que la paginación no repita ni salte filas
+        orders.add("e.id ASC");
+        return String.join(", ", orders);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static EventResponseDTO mapRow(ResultSet rs, int rowNum) throws SQLException {
+        EventResponseDTO dto = new EventResponseDTO();
+        dto.setId(rs.getLong("id"));
+        dto.setTitle(rs.getString("title"));
+        dto.setCategory(rs.getString("category"));
+        dto.setDescription(rs.getString("description"));
+        dto.setFaculty(rs.getString("faculty"));
+        dto.setCareer(rs.getString("career"));
+        String status = rs.getString("status");
+        dto.setStatus(status != null ? EventStatus.valueOf(status) : null);
+        dto.setStartTime(toInstant(rs.getTimestamp("start_time")));
+        dto.setEndTime(toInstant(rs.getTimestamp("end_time")));
+        String visibility = rs.getString("visibility");
+        dto.setVisibility(visibility != null ? EventVisibility.valueOf(visibility) : EventVisibility.PUBLIC);
+        dto.setMaxCapacity(rs.getObject("max_capacity", Integer.class));
+        long creatorId = rs.getLong("creator_id");
+        if (!rs.wasNull()) {
+            dto.setCreatedBy(new UserSummaryDTO(
+                    creatorId,
+                    rs.getString("creator_name"),
+                    rs.getString("creator_email"),
+                    rs.getString("creator_picture")
+            ));
+        }
+        dto.setGroupRestricted(rs.getBoolean("group_restricted"));
+        Array tags = rs.getArray("tags");
+        dto.setTags(tags != null ? new HashSet<>(Arrays.asList((String[]) tags.getArray())) : new HashSet<>());
+        return dto;
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
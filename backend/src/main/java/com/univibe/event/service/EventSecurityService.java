@@ -1,5 +1,6 @@
 package com.univibe.event.service;
 
+import com.univibe.event.dto.EventResponseDTO;
 import com.univibe.event.model.Event;
 import com.univibe.event.model.EventVisibility;
 import com.univibe.group.model.Group;
@@ -34,8 +35,23 @@ public class EventSecurityService {
         if (event.getVisibility() == EventVisibility.PUBLIC) {
             return true;
         }
+        Long creatorId = event.getCreatedBy() != null ? event.getCreatedBy().getId() : null;
+        return canAccessRestrictedEvent(event.getId(), creatorId, isGroupRestricted(event), user);
+    }
+
+    /**
+     * Variante para el modelo de lectura del catálogo: el DTO ya trae el creador y el
+     * indicador groupRestricted, por lo que no hace falta cargar la entidad.
+     */
+    public boolean canAccessEvent(EventResponseDTO event, User user) {
+        if (event.getVisibility() == EventVisibility.PUBLIC) {
+            return true;
+        }
+        Long creatorId = event.getCreatedBy() != null ? event.getCreatedBy().getId() : null;
+        return canAccessRestrictedEvent(event.getId(), creatorId, event.isGroupRestricted(), user);
+    }
 
-        boolean groupRestricted = isGroupRestricted(event);
+    private boolean canAccessRestrictedEvent(Long eventId, Long creatorId, boolean groupRestricted, User user) {
         if (!groupRestricted) {
             return user != null;
         }
@@ -46,19 +62,19 @@ public class EventSecurityService {
         if (user.getRole() == Role.ADMIN || user.getRole() == Role.SERVER) {
             return true;
         }
-        if (event.getCreatedBy() != null && event.getCreatedBy().getId().equals(user.getId())) {
+        if (creatorId != null && creatorId.equals(user.getId())) {
             return true;
         }
-        return isMemberOfLinkedGroup(event, user);
+        return isMemberOfLinkedGroup(eventId, user);
     }
 
     public boolean isGroupRestricted(Event event) {
         return groupEventRepository.existsByEventId(event.getId());
     }
 
-    private boolean isMemberOfLinkedGroup(Event event, User user) {
+    private boolean isMemberOfLinkedGroup(Long eventId, User user) {
         Long userId = user.getId();
-        for (GroupEvent ge : groupEventRepository.findByEventId(event.getId())) {
+        for (GroupEvent ge : groupEventRepository.findByEventId(eventId)) {
             Group group = ge.getGroup();
             if (group.getOwner() != null && group.getOwner().getId().equals(userId)) {
                 return true;
@@ -1,6 +1,7 @@
 package com.univibe.event.web;
 
 import com.univibe.common.dto.PageResponse;
+import com.univibe.common.exception.ForbiddenException;
 import com.univibe.call.model.CallContextType;
 import com.univibe.call.service.CallService;
 import com.univibe.event.dto.*;
@@ -8,40 +9,37 @@ import com.univibe.event.model.Event;
 import com.univibe.event.model.EventStatus;
 import com.univibe.event.model.EventVisibility;
 import com.univibe.event.repo.EventRepository;
+import com.univibe.event.service.EventCatalogService;
 import com.univibe.event.service.EventSecurityService;
-import com.univibe.group.repo.GroupSurveyRepository;
-import com.univibe.registration.model.RegistrationStatus;
+import com.univibe.registration.dto.RegistrationStats;
 import com.univibe.registration.repo.RegistrationRepository;
+import com.univibe.registration.service.AttendeeExportService;
+import com.univibe.registration.service.CheckInService;
+import com.univibe.purge.service.PurgeService;
 import com.univibe.registration.service.QrService;
-import com.univibe.survey.model.Survey;
-import com.univibe.survey.repo.SurveyRepository;
 import com.univibe.user.model.Role;
 import com.univibe.user.model.User;
 import com.univibe.user.repo.UserRepository;
-import org.hibernate.proxy.HibernateProxy;
 
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
-import org.hibernate.Hibernate;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/events")
@@ -50,28 +48,34 @@ public class EventController {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final RegistrationRepository registrationRepository;
-    private final SurveyRepository surveyRepository;
-    private final GroupSurveyRepository groupSurveyRepository;
     private final QrService qrService;
+    private final AttendeeExportService attendeeExportService;
+    private final CheckInService checkInService;
     private final EventSecurityService eventSecurityService;
+    private final EventCatalogService eventCatalogService;
     private final CallService callService;
+    private final PurgeService purgeService;
 
     public EventController(EventRepository eventRepository,
                            UserRepository userRepository,
                            RegistrationRepository registrationRepository,
-                           SurveyRepository surveyRepository,
-                           GroupSurveyRepository groupSurveyRepository,
                            QrService qrService,
+                           AttendeeExportService attendeeExportService,
+                           CheckInService checkInService,
                            EventSecurityService eventSecurityService,
-                           CallService callService) {
+                           EventCatalogService eventCatalogService,
+                           CallService callService,
+                           PurgeService purgeService) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.registrationRepository = registrationRepository;
-        this.surveyRepository = surveyRepository;
-        this.groupSurveyRepository = groupSurveyRepository;
         this.qrService = qrService;
+        this.attendeeExportService = attendeeExportService;
+        this.checkInService = checkInService;
         this.eventSecurityService = eventSecurityService;
+        this.eventCatalogService = eventCatalogService;
         this.callService = callService;
+        this.purgeService = purgeService;
     }
 
     private EventResponseDTO toDto(Event event) {
@@ -119,83 +123,24 @@ public class EventController {
             Authentication auth
     ) {
 
-        Specification<Event> spec = Specification.where(null);
         User currentUser = resolveUser(auth);
         boolean isAdmin = isAdminOrServer(currentUser);
 
-        if (visibility.isPresent()) {
-            EventVisibility requested = visibility.get();
-            if (requested == EventVisibility.PRIVATE && !isAdmin) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Solo administradores pueden listar eventos privados");
-            }
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("visibility"), requested));
-        } else if (!isAdmin) {
-            spec = spec.and((root, query, cb) -> {
-                var isPublic = cb.equal(root.get("visibility"), EventVisibility.PUBLIC);
-                if (currentUser != null) {
-                    var createdBy = root.get("createdBy");
-                    var isCreator = cb.equal(createdBy.get("id"), currentUser.getId());
-                    return cb.or(isPublic, isCreator);
-                }
-                return isPublic;
-            });
-        }
-
-        // Filter by status
-        if (status.isPresent()) {
-            spec = spec.and((root, query, cb) ->
-                    cb.equal(root.get("status"), status.get()));
-        }
-
-        // Filter by category
-        if (category.isPresent() && StringUtils.hasText(category.get())) {
-            String value = category.get().toLowerCase();
-            spec = spec.and((root, query, cb) ->
-                    cb.equal(cb.lower(root.get("category")), value));
+        if (visibility.isPresent() && visibility.get() == EventVisibility.PRIVATE && !isAdmin) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Solo administradores pueden listar eventos privados");
         }
 
-        // Filter by search text (title)
-        if (search.isPresent() && StringUtils.hasText(search.get())) {
-            String value = search.get().toLowerCase();
-            spec = spec.and((root, query, cb) ->
-                    cb.like(cb.lower(root.get("title")), "%" + value + "%"));
-        }
-
-        // Cargar eventos con createdBy usando @EntityGraph
-        Page<Event> page = eventRepository.findAll(spec, pageable);
-        
-        // Inicializar proxies antes de crear DTOs
-        page.getContent().forEach(event -> {
-            if (event.getCreatedBy() != null) {
-                try {
-                    Hibernate.initialize(event.getCreatedBy());
-                    if (event.getCreatedBy() instanceof HibernateProxy) {
-                        HibernateProxy proxy = (HibernateProxy) event.getCreatedBy();
-                        if (!proxy.getHibernateLazyInitializer().isUninitialized()) {
-                            User createdBy = (User) proxy.getHibernateLazyInitializer().getImplementation();
-                            event.setCreatedBy(createdBy);
-                        }
-                    }
-                } catch (Exception e) {
-                    // Si falla, establecer a null
-                    event.setCreatedBy(null);
-                }
-            }
-        });
-        
-        // Convertir Event a EventResponseDTO para evitar problemas con proxies
-        List<EventResponseDTO> dtoList = page.getContent().stream()
-            .map(this::toDto)
-            .collect(Collectors.toList());
-        
-        // Crear un PageResponse con los DTOs
-        return new PageResponse<>(
-            dtoList,
-            page.getTotalElements(),
-            page.getTotalPages(),
-            page.getNumber(),
-            page.getSize()
+        EventCatalogFilter filter = new EventCatalogFilter(
+                status.orElse(null),
+                category.orElse(null),
+                search.orElse(null),
+                visibility.orElse(null),
+                isAdmin,
+                currentUser != null ? currentUser.getId() : null
         );
+
+        // Búsqueda por texto completo y filtros indexados, proyectada directamente a DTO
+        return PageResponse.from(eventCatalogService.search(filter, pageable));
     }
 
     @GetMapping("/registered")
@@ -207,11 +152,7 @@ public class EventController {
         String email = (String) auth.getPrincipal();
         User user = userRepository.findByEmail(email).orElseThrow();
 
-        List<com.univibe.registration.model.Registration> registrations = registrationRepository.findByUserId(user.getId());
-        List<EventResponseDTO> events = registrations.stream()
-                .map(com.univibe.registration.model.Registration::getEvent)
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        List<EventResponseDTO> events = eventCatalogService.findRegisteredBy(user.getId());
 
         return new PageResponse<>(
                 events,
@@ -232,30 +173,12 @@ public class EventController {
     @GetMapping("/{eventId}")
     @Transactional(readOnly = true)
     public EventResponseDTO getById(@PathVariable Long eventId, Authentication auth) {
-        // Cargar evento con createdBy usando @EntityGraph
-        Event event = eventRepository.findById(eventId).orElseThrow();
-        // Inicializar proxy antes de crear DTO
-        if (event.getCreatedBy() != null) {
-            try {
-                Hibernate.initialize(event.getCreatedBy());
-                if (event.getCreatedBy() instanceof HibernateProxy) {
-                    HibernateProxy proxy = (HibernateProxy) event.getCreatedBy();
-                    if (!proxy.getHibernateLazyInitializer().isUninitialized()) {
-                        User createdBy = (User) proxy.getHibernateLazyInitializer().getImplementation();
-                        event.setCreatedBy(createdBy);
-                    }
-                }
-            } catch (Exception e) {
-                event.setCreatedBy(null);
-            }
-        }
+        EventResponseDTO event = eventCatalogService.findById(eventId).orElseThrow();
         User requester = resolveUser(auth);
         if (!eventSecurityService.canAccessEvent(event, requester)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Este evento es privado. Únete al grupo correspondiente para acceder.");
         }
-
-        // Convertir a DTO para evitar problemas con proxies
-        return toDto(event);
+        return event;
     }
 
     @PostMapping
@@ -291,6 +214,8 @@ public class EventController {
         event.setMaxCapacity(req.getMaxCapacity());
         
         Event savedEvent = eventRepository.save(event);
+        // El QR de registro es determinista: se deja renderizado en caché desde la creación
+        qrService.precompute(qrService.generateEventRegistrationPayload(savedEvent.getId()));
         return ResponseEntity.ok(toDto(savedEvent));
     }
 
@@ -301,6 +226,7 @@ public class EventController {
         callService.endSessionsForContext(CallContextType.EVENT, eventId.longValue());
         event.setStatus(EventStatus.LIVE);
         Event savedEvent = eventRepository.save(event);
+        checkInService.warm(savedEvent);
         return toDto(savedEvent);
     }
 
@@ -311,6 +237,7 @@ public class EventController {
         callService.endSessionsForContext(CallContextType.EVENT, eventId.longValue());
         event.setStatus(EventStatus.FINISHED);
         Event savedEvent = eventRepository.save(event);
+        checkInService.evict(eventId);
         return toDto(savedEvent);
     }
 
@@ -357,7 +284,6 @@ public class EventController {
 
     @DeleteMapping("/{eventId}")
     @PreAuthorize("hasRole('ADMIN')")
-    @Transactional
     public ResponseEntity<?> delete(@PathVariable Long eventId) {
         Event event = eventRepository.findById(eventId).orElseThrow();
 
@@ -370,21 +296,16 @@ public class EventController {
                 .body(Map.of("error", "No se puede eliminar este evento porque ya finalizó."));
         }
 
-        List<Survey> surveys = surveyRepository.findByEventId(eventId);
-        if (!surveys.isEmpty()) {
-            List<Long> surveyIds = surveys.stream().map(Survey::getId).toList();
-            groupSurveyRepository.deleteBySurveyIdIn(surveyIds);
-            surveyRepository.deleteAll(surveys);
-            surveyRepository.flush();
-        }
-
-        registrationRepository.deleteByEventId(eventId);
-        eventRepository.delete(event);
+        // Chat, reacciones, archivos, encuestas, inscripciones... en lotes
+        purgeService.purge(PurgeService.Target.EVENT, eventId, false);
         return ResponseEntity.ok(Map.of("message", "Evento eliminado exitosamente"));
     }
 
     @GetMapping("/{eventId}/registrations")
-    public ResponseEntity<?> getRegistrations(@PathVariable Long eventId, Authentication auth) {
+    public ResponseEntity<?> getRegistrations(@PathVariable Long eventId,
+                                              @RequestParam(required = false) Long afterId,
+                                              @RequestParam(defaultValue = "50") int size,
+                                              Authentication auth) {
         String email = (String) auth.getPrincipal();
         User user = userRepository.findByEmail(email).orElseThrow();
         Event event = eventRepository.findById(eventId).orElseThrow();
@@ -393,24 +314,48 @@ public class EventController {
         boolean isCreator = event.getCreatedBy() != null && event.getCreatedBy().getId().equals(user.getId());
 
         if (isAdminOrServer || isCreator) {
-            // Mostrar nombres y correos para admin/server/creador
-            List<RegisteredUserResponse> registrations = registrationRepository.findByEventId(eventId).stream()
-                .map(r -> new RegisteredUserResponse(
-                    r.getUser().getId(),
-                    r.getUser().getName(),
-                    r.getUser().getEmail(),
-                    r.getStatus().toString(),
-                    r.getCheckedInAt()
-                ))
-                .collect(Collectors.toList());
-            return ResponseEntity.ok(registrations);
+            // Nombres y correos para admin/server/creador, por tramos; la lista completa va por /export
+            return ResponseEntity.ok(attendeeExportService.page(eventId, afterId, size));
         } else {
             // Solo mostrar cantidad para usuarios normales
-            long count = registrationRepository.findByEventId(eventId).size();
+            long count = registrationRepository.countByEventId(eventId);
             return ResponseEntity.ok(Map.of("count", count));
         }
     }
 
+    @GetMapping("/{eventId}/registrations/export")
+    public ResponseEntity<StreamingResponseBody> exportRegistrations(@PathVariable Long eventId,
+                                                                     @RequestParam(defaultValue = "csv") String format,
+                                                                     Authentication auth) {
+        String email = (String) auth.getPrincipal();
+        User user = userRepository.findByEmail(email).orElseThrow();
+        Event event = eventRepository.findById(eventId).orElseThrow();
+
+        boolean isAdminOrServer = user.getRole() == Role.ADMIN || user.getRole() == Role.SERVER;
+        boolean isCreator = event.getCreatedBy() != null && event.getCreatedBy().getId().equals(user.getId());
+        if (!isAdminOrServer && !isCreator) {
+            throw new ForbiddenException("Solo el creador del evento o un administrador pueden exportar los asistentes");
+        }
+
+        // La respuesta se escribe por páginas mientras se envía, sin cargar la lista completa. Los
+        // errores se lanzan: Spring solo hace streaming si el tipo declarado es StreamingResponseBody
+        if ("ndjson".equalsIgnoreCase(format)) {
+            StreamingResponseBody body = out -> attendeeExportService.writeNdjson(eventId, out);
+            return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"event-" + eventId + "-attendees.ndjson\"")
+                .body(body);
+        }
+        if (!"csv".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Formato no soportado. Usa csv o ndjson");
+        }
+        StreamingResponseBody body = out -> attendeeExportService.writeCsv(eventId, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"event-" + eventId + "-attendees.csv\"")
+            .body(body);
+    }
+
     @GetMapping("/{eventId}/stats")
     @PreAuthorize("hasAnyRole('ADMIN','SERVER')")
     public ResponseEntity<?> getStats(@PathVariable Long eventId, Authentication auth) {
@@ -427,17 +372,14 @@ public class EventController {
                 .body(Map.of("error", "Solo el creador del evento o un administrador pueden ver las estadísticas"));
         }
 
-        long totalRegistrations = registrationRepository.findByEventId(eventId).size();
-        long checkedInCount = registrationRepository.countByEventIdAndStatus(eventId, RegistrationStatus.CHECKED_IN);
-        long pendingCheckInCount = registrationRepository.countByEventIdAndStatus(eventId, RegistrationStatus.REGISTERED);
-        
-        java.time.Instant lastCheckInAt = registrationRepository.findByEventId(eventId).stream()
-            .filter(r -> r.getCheckedInAt() != null)
-            .map(r -> r.getCheckedInAt())
-            .max(java.time.Instant::compareTo)
-            .orElse(null);
+        RegistrationStats aggregate = registrationRepository.aggregateByEventId(eventId);
 
-        EventStatsResponse stats = new EventStatsResponse(totalRegistrations, checkedInCount, pendingCheckInCount, lastCheckInAt);
+        EventStatsResponse stats = new EventStatsResponse(
+            aggregate.getTotal(),
+            aggregate.getCheckedIn(),
+            aggregate.getPending(),
+            aggregate.getLastCheckInAt()
+        );
         return ResponseEntity.ok(stats);
     }
 
@@ -0,0 +1,32 @@
+package com.univibe.gamification.event;
+
+import com.univibe.user.model.User;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event fired when a post is deleted, with the likes it had at that moment
+ */
+public class PostDeletedEvent extends ApplicationEvent {
+    private final User user;
+    private final Long postId;
+    private final int likes;
+    
+    public PostDeletedEvent(Object source, User user, Long postId, int likes) {
+        super(source);
+        this.user = user;
+        this.postId = postId;
+        this.likes = likes;
+    }
+    
+    public User getUser() {
+        return user;
+    }
+    
+    public Long getPostId() {
+        return postId;
+    }
+    
+    public int getLikes() {
+        return likes;
+    }
+}
@@ -3,22 +3,24 @@ package com.univibe.gamification.listener;
 import com.univibe.gamification.event.*;
 import com.univibe.gamification.repo.UserAchievementRepository;
 import com.univibe.gamification.service.AchievementService;
-import com.univibe.social.repo.FriendshipRepository;
+import com.univibe.gamification.service.UserStatsService;
 import com.univibe.group.repo.GroupRepository;
 import com.univibe.social.repo.PostRepository;
-import com.univibe.social.repo.StoryRepository;
-import com.univibe.registration.repo.RegistrationRepository;
 import com.univibe.user.model.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalTime;
 
 /**
- * Listens to application events and triggers achievement checks
+ * Listens to application events and triggers achievement checks. Counters come from
+ * {@code user_stats}, already updated by {@link UserStatsEventListener} for the same event.
+ * Handlers that read those counters run after the publisher's commit, so they see the change
+ * that triggered them.
  */
 @Component
 public class AchievementEventListener {
@@ -26,39 +28,32 @@ public class AchievementEventListener {
     private static final Logger logger = LoggerFactory.getLogger(AchievementEventListener.class);
     
     private final AchievementService achievementService;
-    private final RegistrationRepository registrationRepository;
+    private final UserStatsService userStatsService;
     private final PostRepository postRepository;
-    private final StoryRepository storyRepository;
-    private final FriendshipRepository friendshipRepository;
     private final GroupRepository groupRepository;
     private final UserAchievementRepository userAchievementRepository;
     
     public AchievementEventListener(
             AchievementService achievementService,
-            RegistrationRepository registrationRepository,
+            UserStatsService userStatsService,
             PostRepository postRepository,
-            StoryRepository storyRepository,
-            FriendshipRepository friendshipRepository,
             GroupRepository groupRepository,
             UserAchievementRepository userAchievementRepository) {
         this.achievementService = achievementService;
-        this.registrationRepository = registrationRepository;
+        this.userStatsService = userStatsService;
         this.postRepository = postRepository;
-        this.storyRepository = storyRepository;
-        this.friendshipRepository = friendshipRepository;
         this.groupRepository = groupRepository;
         this.userAchievementRepository = userAchievementRepository;
     }
     
     @Async
-    @EventListener
+    @TransactionalEventListener(fallbackExecution = true)
     public void onEventRegistration(EventRegistrationEvent event) {
         User user = event.getUser();
         logger.debug("Processing event registration for user: {}", user.getEmail());
         
         try {
-            // Count total events attended
-            long eventsAttended = registrationRepository.countByUser(user);
+            long eventsAttended = userStatsService.get(user.getId()).getEventsAttended();
             
             // PARTICIPATION_FIRST_EVENT
             if (eventsAttended == 1) {
@@ -91,14 +86,13 @@ public class AchievementEventListener {
     }
     
     @Async
-    @EventListener
+    @TransactionalEventListener(fallbackExecution = true)
     public void onPostCreated(PostCreatedEvent event) {
         User user = event.getUser();
         logger.debug("Processing post creation for user: {}", user.getEmail());
         
         try {
-            // Count total posts
-            long postsCreated = postRepository.countByUser(user);
+            long postsCreated = userStatsService.get(user.getId()).getPosts();
             
             // INTERACTION_FIRST_POST
             if (postsCreated == 1) {
@@ -147,8 +141,7 @@ public class AchievementEventListener {
         logger.debug("Processing like received for user: {}", user.getEmail());
         
         try {
-            // Count total likes received
-            long totalLikes = postRepository.countTotalLikesByUser(user);
+            long totalLikes = userStatsService.get(user.getId()).getLikesReceived();
             
             // INTERACTION_INFLUENCER (100 likes)
             achievementService.checkAndAwardAchievement(user, "INTERACTION_INFLUENCER", (int) totalLikes);
@@ -171,14 +164,13 @@ public class AchievementEventListener {
     }
     
     @Async
-    @EventListener
+    @TransactionalEventListener(fallbackExecution = true)
     public void onFriendAdded(FriendAddedEvent event) {
         User user = event.getUser();
         logger.debug("Processing friend added for user: {}", user.getEmail());
         
         try {
-            // Count total friends
-            long friendCount = friendshipRepository.countByUser(user);
+            long friendCount = userStatsService.get(user.getId()).getFriends();
             
             // PROFILE_SOCIAL_BUTTERFLY (10 friends)
             achievementService.checkAndAwardAchievement(user, "PROFILE_SOCIAL_BUTTERFLY", (int) friendCount);
@@ -219,7 +211,7 @@ public class AchievementEventListener {
             achievementService.checkAndAwardAchievement(user, "PROFILE_COMMUNITY_LEADER", (int) groupsOwned);
             
             // PROFILE_COMMUNITY_PILLAR (50 friends + 10 groups)
-            long friendCount = friendshipRepository.countByUser(user);
+            long friendCount = userStatsService.get(user.getId()).getFriends();
             if (friendCount >= 50 && groupsOwned >= 10) {
                 achievementService.awardAchievementByCode(user, "PROFILE_COMMUNITY_PILLAR");
             }
@@ -247,14 +239,13 @@ public class AchievementEventListener {
     }
     
     @Async
-    @EventListener
+    @TransactionalEventListener(fallbackExecution = true)
     public void onStoryCreated(StoryCreatedEvent event) {
         User user = event.getUser();
         logger.debug("Processing story created for user: {}", user.getEmail());
         
         try {
-            // Count stories
-            long storiesCreated = storyRepository.countByUser(user);
+            long storiesCreated = userStatsService.get(user.getId()).getStories();
             
             // CREATIVITY_FIRST_STORY
             if (storiesCreated == 1) {
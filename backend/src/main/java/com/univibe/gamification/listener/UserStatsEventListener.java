@@ -0,0 +1,63 @@
+package com.univibe.gamification.listener;
+
+import com.univibe.gamification.event.*;
+import com.univibe.gamification.service.UserStatsService;
+import com.univibe.gamification.service.UserStatsService.Counter;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps {@code user_stats} in sync with the domain events. Runs synchronously and before the
+ * achievement listener, which reads the counters after the publisher commits, so achievement
+ * checks see the change that triggered them. Likes are counted by {@code PostLikeService}
+ * itself.
+ * <p>
+ * Every publisher of these events runs in a transaction, so the update commits or rolls back
+ * with the action. Errors are not swallowed: PostgreSQL has already aborted that transaction
+ * by the time the exception surfaces, and letting it propagate rolls the action back with its
+ * real cause instead of failing later at commit with a misleading one. Writes that bypass the
+ * events (cascading purges, manual SQL) are corrected by {@code UserStatsReconciler}.
+ */
+@Component
+public class UserStatsEventListener {
+
+    private final UserStatsService userStatsService;
+
+    public UserStatsEventListener(UserStatsService userStatsService) {
+        this.userStatsService = userStatsService;
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPostCreated(PostCreatedEvent event) {
+        userStatsService.adjust(event.getUser().getId(), Counter.POSTS, 1);
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPostDeleted(PostDeletedEvent event) {
+        userStatsService.adjust(event.getUser().getId(), Counter.POSTS, -1);
+        userStatsService.adjust(event.getUser().getId(), Counter.LIKES_RECEIVED, -event.getLikes());
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onFriendAdded(FriendAddedEvent event) {
+        // Se publica una vez por cada lado de la amistad
+        userStatsService.adjust(event.getUser().getId(), Counter.FRIENDS, 1);
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onEventRegistration(EventRegistrationEvent event) {
+        userStatsService.adjust(event.getUser().getId(), Counter.EVENTS_ATTENDED, 1);
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onStoryCreated(StoryCreatedEvent event) {
+        userStatsService.adjust(event.getUser().getId(), Counter.STORIES, 1);
+    }
+}
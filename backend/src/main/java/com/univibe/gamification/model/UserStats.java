@@ -0,0 +1,43 @@
+package com.univibe.gamification.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Contadores por usuario mantenidos a partir de los eventos de dominio (ver
+ * {@link com.univibe.gamification.service.UserStatsService}). Solo lectura desde JPA: las
+ * escrituras son incrementos atómicos en SQL.
+ */
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long posts;
+
+    @Column(name = "likes_received", nullable = false)
+    private long likesReceived;
+
+    @Column(nullable = false)
+    private long friends;
+
+    @Column(name = "events_attended", nullable = false)
+    private long eventsAttended;
+
+    @Column(nullable = false)
+    private long stories;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt = Instant.now();
+
+    public Long getUserId() { return userId; }
+    public long getPosts() { return posts; }
+    public long getLikesReceived() { return likesReceived; }
+    public long getFriends() { return friends; }
+    public long getEventsAttended() { return eventsAttended; }
+    public long getStories() { return stories; }
+    public Instant getUpdatedAt() { return updatedAt; }
+}
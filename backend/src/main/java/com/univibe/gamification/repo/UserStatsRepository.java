@@ -0,0 +1,7 @@
+package com.univibe.gamification.repo;
+
+import com.univibe.gamification.model.UserStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+}
@@ -0,0 +1,88 @@
+package com.univibe.gamification.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recorre periódicamente {@code user_stats} por lotes de {@code user-stats.reconcile.batch-size}
+ * filas y corrige los contadores que no coinciden con las tablas de origen. Los eventos mantienen
+ * los contadores al día; esta pasada recoge lo que se escribe por otros caminos (borrados en
+ * cascada, SQL manual) para que la desviación no se acumule.
+ */
+@Component
+public class UserStatsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(UserStatsReconciler.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserStatsService userStatsService;
+    private final boolean enabled;
+    private final long intervalMinutes;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    public UserStatsReconciler(JdbcTemplate jdbcTemplate,
+                               UserStatsService userStatsService,
+                               @Value("${user-stats.reconcile.enabled:true}") boolean enabled,
+                               @Value("${user-stats.reconcile.interval-minutes:360}") long intervalMinutes,
+                               @Value("${user-stats.reconcile.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userStatsService = userStatsService;
+        this.enabled = enabled;
+        this.intervalMinutes = intervalMinutes;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::runSafely, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runSafely() {
+        try {
+            runOnce();
+        } catch (Exception e) {
+            log.error("Error reconciling user_stats", e);
+        }
+    }
+
+    void runOnce() {
+        long afterId = 0;
+        long corrected = 0;
+        while (true) {
+            List<Long> userIds = jdbcTemplate.queryForList(
+                    "SELECT user_id FROM user_stats WHERE user_id > ? ORDER BY user_id LIMIT ?",
+                    Long.class, afterId, batchSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            corrected += userStatsService.reconcile(userIds);
+            afterId = userIds.get(userIds.size() - 1);
+        }
+        if (corrected > 0) {
+            log.warn("Corrected {} drifted user_stats rows", corrected);
+        }
+    }
+}
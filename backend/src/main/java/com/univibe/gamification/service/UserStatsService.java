@@ -0,0 +1,120 @@
+package com.univibe.gamification.service;
+
+import com.univibe.gamification.model.UserStats;
+import com.univibe.gamification.repo.UserStatsRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Modelo de lectura {@code user_stats}: una fila por usuario con sus contadores, mantenida con
+ * incrementos atómicos desde los eventos de gamificación. Las vistas de perfil y las
+ * comprobaciones de logros leen esa fila en lugar de contar publicaciones, likes o amistades.
+ * <p>
+ * Si un usuario aún no tiene fila (usuarios anteriores a la tabla, o una base creada por
+ * Hibernate sin la migración), se siembra contando las tablas de origen; como los eventos se
+ * publican después de guardar, la siembra ya incluye el cambio que la provocó.
+ * {@link UserStatsReconciler} repasa periódicamente las filas con {@link #reconcile(List)}.
+ */
+@Service
+public class UserStatsService {
+
+    public enum Counter {
+        POSTS("posts"),
+        LIKES_RECEIVED("likes_received"),
+        FRIENDS("friends"),
+        EVENTS_ATTENDED("events_attended"),
+        STORIES("stories");
+
+        private final String column;
+
+        Counter(String column) {
+            this.column = column;
+        }
+    }
+
+    // Recuento real desde las tablas de origen para el usuario "u"; lo usan la siembra y la
+    // reconciliación. Solo cuentan los check-ins ya procesados por CheckInService, porque el
+    // contador se suma al reclamarlos.
+    private static final String ACTUAL_COUNTS =
+            "(SELECT count(*) FROM posts p WHERE p.user_id = u.id) AS posts, " +
+            "(SELECT count(*) FROM post_likes pl JOIN posts p ON p.id = pl.post_id WHERE p.user_id = u.id) AS likes_received, " +
+            "(SELECT count(*) FROM friendships f WHERE f.user1_id = u.id OR f.user2_id = u.id) AS friends, " +
+            "(SELECT count(*) FROM registrations r WHERE r.user_id = u.id AND r.status = 'CHECKED_IN' AND r.points_awarded) AS events_attended, " +
+            "(SELECT count(*) FROM stories s WHERE s.user_id = u.id) AS stories";
+
+    private static final String SEED_SQL =
+            "INSERT INTO user_stats (user_id, posts, likes_received, friends, events_attended, stories, updated_at) " +
+            "SELECT u.id, " + ACTUAL_COUNTS + ", now() " +
+            "FROM users u WHERE u.id = ? " +
+            "ON CONFLICT (user_id) DO NOTHING";
+
+    private static final String LOCK_SQL =
+            "SELECT user_id FROM user_stats WHERE user_id = ANY(?) ORDER BY user_id FOR UPDATE";
+
+    private static final String RECONCILE_SQL =
+            "UPDATE user_stats st SET posts = a.posts, likes_received = a.likes_received, friends = a.friends, " +
+            "events_attended = a.events_attended, stories = a.stories, updated_at = now() " +
+            "FROM (SELECT u.id AS user_id, " + ACTUAL_COUNTS + " FROM users u WHERE u.id = ANY(?)) a " +
+            "WHERE st.user_id = a.user_id " +
+            "AND (st.posts, st.likes_received, st.friends, st.events_attended, st.stories) " +
+            "IS DISTINCT FROM (a.posts, a.likes_received, a.friends, a.events_attended, a.stories)";
+
+    private final UserStatsRepository userStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserStatsService(UserStatsRepository userStatsRepository, JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager) {
+        this.userStatsRepository = userStatsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public UserStats get(Long userId) {
+        return userStatsRepository.findById(userId).orElseGet(() -> {
+            jdbcTemplate.update(SEED_SQL, userId);
+            return userStatsRepository.findById(userId)
+                    .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+        });
+    }
+
+    /**
+     * Suma {@code delta} (negativo para restar) al contador. Nunca baja de cero.
+     */
+    public void adjust(Long userId, Counter counter, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        String sql = "UPDATE user_stats SET " + counter.column + " = GREATEST(" + counter.column + " + ?, 0), " +
+                "updated_at = now() WHERE user_id = ?";
+        if (jdbcTemplate.update(sql, delta, userId) == 0) {
+            // Sin fila: la siembra cuenta el estado actual, que ya refleja este cambio. Si otro
+            // hilo la sembró a la vez, no se inserta nada y su recuento también lo incluye.
+            jdbcTemplate.update(SEED_SQL, userId);
+        }
+    }
+
+    /**
+     * Recalcula desde las tablas de origen las filas de {@code userIds} y corrige las que se
+     * hayan desviado (escrituras que no pasan por los eventos, como los borrados en cascada).
+     * Las filas se bloquean antes de contar: una transacción que ya ajustó un contador termina
+     * antes del recuento, y las que llegan después esperan y suman sobre el valor corregido.
+     *
+     * @return filas corregidas
+     */
+    public int reconcile(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = userIds.toArray(new Long[0]);
+        Integer corrected = transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForList(LOCK_SQL, Long.class, (Object) ids);
+            return jdbcTemplate.update(RECONCILE_SQL, (Object) ids);
+        });
+        return corrected != null ? corrected : 0;
+    }
+}
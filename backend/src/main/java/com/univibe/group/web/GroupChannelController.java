@@ -1,6 +1,7 @@
 package com.univibe.group.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.univibe.chat.service.MessageArchiveService;
 import com.univibe.chat.service.MessageResponseMapper;
 import com.univibe.common.dto.PageResponse;
 import com.univibe.event.model.Event;
@@ -58,6 +59,7 @@ public class GroupChannelController {
     private final FileStorageService fileStorageService;
     private final StickerService stickerService;
     private final MessageResponseMapper messageResponseMapper;
+    private final MessageArchiveService messageArchiveService;
 
     public GroupChannelController(
             GroupRepository groupRepository,
@@ -73,7 +75,8 @@ public class GroupChannelController {
             EventSecurityService eventSecurityService,
             FileStorageService fileStorageService,
             StickerService stickerService,
-            MessageResponseMapper messageResponseMapper) {
+            MessageResponseMapper messageResponseMapper,
+            MessageArchiveService messageArchiveService) {
         this.groupRepository = groupRepository;
         this.groupMessageRepository = groupMessageRepository;
         this.groupAnnouncementRepository = groupAnnouncementRepository;
@@ -88,6 +91,7 @@ public class GroupChannelController {
         this.fileStorageService = fileStorageService;
         this.stickerService = stickerService;
         this.messageResponseMapper = messageResponseMapper;
+        this.messageArchiveService = messageArchiveService;
     }
 
     // Verificar que el usuario puede enviar mensajes al grupo
@@ -177,8 +181,8 @@ public class GroupChannelController {
             throw new org.springframework.security.access.AccessDeniedException("Not a member of this group");
         }
 
-        var page = groupMessageRepository.findByGroupIdOrderByCreatedAtAsc(groupId, pageable);
-        return PageResponse.from(page.map(messageResponseMapper::toGroupResponse));
+        // Los mensajes antiguos pueden estar archivados; el historial los concatena con los recientes
+        return messageArchiveService.groupHistory(groupId, pageable);
     }
 
     @PostMapping("/announcements")
@@ -9,6 +9,7 @@ import com.univibe.group.model.GroupJoinRequestStatus;
 import com.univibe.group.model.GroupPrivacy;
 import com.univibe.group.repo.GroupJoinRequestRepository;
 import com.univibe.group.repo.GroupRepository;
+import com.univibe.purge.service.PurgeService;
 import com.univibe.user.model.User;
 import com.univibe.user.repo.UserRepository;
 import jakarta.validation.constraints.NotBlank;
@@ -27,8 +28,6 @@ import java.util.Optional;
 import org.springframework.util.StringUtils;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
 
 @RestController
 @RequestMapping("/api/groups")
@@ -38,20 +37,20 @@ public class GroupController {
     private final UserRepository userRepository;
     private final GroupJoinRequestRepository joinRequestRepository;
     private final ApplicationEventPublisher publisher;
-
-    @PersistenceContext
-    private EntityManager entityManager;
+    private final PurgeService purgeService;
 
     public GroupController(
             GroupRepository groupRepository,
             UserRepository userRepository,
             GroupJoinRequestRepository joinRequestRepository,
-            ApplicationEventPublisher publisher
+            ApplicationEventPublisher publisher,
+            PurgeService purgeService
     ) {
         this.groupRepository = groupRepository;
         this.userRepository = userRepository;
         this.joinRequestRepository = joinRequestRepository;
         this.publisher = publisher;
+        this.purgeService = purgeService;
     }
 
     @GetMapping
@@ -261,32 +260,9 @@ public class GroupController {
 
     @DeleteMapping("/{groupId}")
     @PreAuthorize("hasRole('ADMIN')")
-    @Transactional
     public ResponseEntity<?> deleteGroup(@PathVariable Long groupId) {
-        Group group = groupRepository.findById(groupId).orElseThrow();
-        
-        // Eliminar todas las dependencias antes de eliminar el grupo
-        // Esto evita violaciones de restricciones de clave foránea
-        entityManager.createNativeQuery("DELETE FROM group_announcements WHERE group_id = :groupId")
-                .setParameter("groupId", groupId)
-                .executeUpdate();
-        entityManager.createNativeQuery("DELETE FROM group_messages WHERE group_id = :groupId")
-                .setParameter("groupId", groupId)
-                .executeUpdate();
-        entityManager.createNativeQuery("DELETE FROM group_events WHERE group_id = :groupId")
-                .setParameter("groupId", groupId)
-                .executeUpdate();
-        entityManager.createNativeQuery("DELETE FROM group_surveys WHERE group_id = :groupId")
-                .setParameter("groupId", groupId)
-                .executeUpdate();
-        entityManager.createNativeQuery("DELETE FROM group_join_requests WHERE group_id = :groupId")
-                .setParameter("groupId", groupId)
-                .executeUpdate();
-        entityManager.createNativeQuery("DELETE FROM group_members WHERE group_id = :groupId")
-                .setParameter("groupId", groupId)
-                .executeUpdate();
-        
-        groupRepository.delete(group);
+        // Mensajes, reacciones, archivos del chat, anuncios, miembros... en lotes
+        purgeService.purge(PurgeService.Target.GROUP, groupId, false);
         return ResponseEntity.ok(Map.of("message", "Grupo eliminado exitosamente"));
     }
 }
@@ -4,6 +4,7 @@ import com.univibe.event.model.Event;
 import com.univibe.event.repo.EventRepository;
 import com.univibe.registration.repo.RegistrationRepository;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,6 +17,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 
+@Lazy
 @RestController
 @RequestMapping("/api/integration/googlecalendar")
 public class GoogleCalendarController {
@@ -1,7 +1,10 @@
 package com.univibe.integration.googlecalendar;
 
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
+// Integración poco usada: se crea al primer uso, no en el arranque
+@Lazy
 @Service
 public class GoogleCalendarService {
     public void syncEventCreation(Long userId, Long eventId) {
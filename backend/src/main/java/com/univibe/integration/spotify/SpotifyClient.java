@@ -0,0 +1,189 @@
+package com.univibe.integration.spotify;
+
+import com.univibe.common.cache.ExpiringLruCache;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * Cliente de la Web API de Spotify con credenciales de aplicación (client credentials).
+ * Un único token compartido: si caduca mientras llegan varias peticiones, solo una de ellas lo
+ * pide y las demás esperan a esa misma respuesta. Las búsquedas y los metadatos de canciones se
+ * guardan en memoria, porque publicaciones e historias repiten las mismas canciones una y otra vez.
+ */
+@Lazy
+@Service
+public class SpotifyClient {
+
+    private static final Logger log = LoggerFactory.getLogger(SpotifyClient.class);
+
+    private static final int MAX_SEARCH_LIMIT = 50;
+    // Peticiones que esperan conexión libre; el resto falla enseguida en vez de acumularse
+    private static final int MAX_PENDING_ACQUIRES = 500;
+    private static final long TOKEN_EXPIRY_MARGIN_SECONDS = 60;
+    private static final Pattern TRACK_ID = Pattern.compile("[A-Za-z0-9]{1,64}");
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final String clientId;
+    private final String clientSecret;
+    private final String apiUrl;
+    private final String accountsUrl;
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final ExpiringLruCache<SearchKey, Map<String, Object>> searchCache;
+    private final ExpiringLruCache<String, Map<String, Object>> trackCache;
+    private final AtomicReference<Mono<AccessToken>> token = new AtomicReference<>();
+
+    @Autowired
+    public SpotifyClient(@Value("${spotify.client-id:}") String clientId,
+                         @Value("${spotify.client-secret:}") String clientSecret,
+                         @Value("${spotify.api-url:https://api.spotify.com/v1}") String apiUrl,
+                         @Value("${spotify.accounts-url:https://accounts.spotify.com}") String accountsUrl,
+                         @Value("${spotify.max-connections:20}") int maxConnections,
+                         @Value("${spotify.connect-timeout-ms:2000}") int connectTimeoutMillis,
+                         @Value("${spotify.response-timeout-ms:5000}") long responseTimeoutMillis,
+                         @Value("${spotify.cache.max-entries:1000}") int cacheEntries,
+                         @Value("${spotify.cache.search-ttl-minutes:10}") long searchTtlMinutes,
+                         @Value("${spotify.cache.track-ttl-minutes:360}") long trackTtlMinutes) {
+        this(clientId, clientSecret, apiUrl, accountsUrl, maxConnections, connectTimeoutMillis, responseTimeoutMillis,
+                cacheEntries, searchTtlMinutes, trackTtlMinutes, Clock.systemUTC());
+    }
+
+    SpotifyClient(String clientId, String clientSecret, String apiUrl, String accountsUrl,
+                  int maxConnections, int connectTimeoutMillis, long responseTimeoutMillis,
+                  int cacheEntries, long searchTtlMinutes, long trackTtlMinutes, Clock clock) {
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.apiUrl = apiUrl;
+        this.accountsUrl = accountsUrl;
+        this.connectionProvider = ConnectionProvider.builder("spotify")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(MAX_PENDING_ACQUIRES)
+                .pendingAcquireTimeout(Duration.ofMillis(responseTimeoutMillis))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMillis));
+        this.webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        this.searchCache = new ExpiringLruCache<>(cacheEntries, Duration.ofMinutes(searchTtlMinutes), clock);
+        this.trackCache = new ExpiringLruCache<>(cacheEntries, Duration.ofMinutes(trackTtlMinutes), clock);
+    }
+
+    public boolean isConfigured() {
+        return !clientId.isBlank() && !clientSecret.isBlank();
+    }
+
+    public Mono<Map<String, Object>> searchTracks(String query, int limit) {
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.isEmpty()) {
+            throw new IllegalArgumentException("La búsqueda no puede estar vacía");
+        }
+        int size = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        SearchKey key = new SearchKey(trimmed.toLowerCase(Locale.ROOT), size);
+        Map<String, Object> cached = searchCache.get(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return get(apiUrl + "/search?q={q}&type=track&limit={limit}", trimmed, size)
+                .doOnNext(body -> searchCache.put(key, body));
+    }
+
+    public Mono<Map<String, Object>> getTrack(String trackId) {
+        if (trackId == null || !TRACK_ID.matcher(trackId).matches()) {
+            throw new IllegalArgumentException("Identificador de canción no válido");
+        }
+        Map<String, Object> cached = trackCache.get(trackId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return get(apiUrl + "/tracks/{id}", trackId)
+                .doOnNext(body -> trackCache.put(trackId, body));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.dispose();
+    }
+
+    private Mono<Map<String, Object>> get(String uriTemplate, Object... uriVariables) {
+        Mono<AccessToken> source = tokenSource();
+        return source.flatMap(current -> request(uriTemplate, uriVariables, current)
+                .onErrorResume(WebClientResponseException.Unauthorized.class, e -> {
+                    // Token revocado o caducado antes de lo anunciado: se descarta y se reintenta una vez
+                    token.compareAndSet(source, null);
+                    return tokenSource().flatMap(fresh -> request(uriTemplate, uriVariables, fresh));
+                }));
+    }
+
+    private Mono<Map<String, Object>> request(String uriTemplate, Object[] uriVariables, AccessToken accessToken) {
+        return webClient.get()
+                .uri(uriTemplate, uriVariables)
+                .headers(headers -> headers.setBearerAuth(accessToken.value()))
+                .retrieve()
+                .bodyToMono(JSON_OBJECT);
+    }
+
+    // Mono compartido: mientras haya una petición de token en curso todas esperan a la misma, y
+    // el valor se reutiliza hasta poco antes de caducar. Los errores no se guardan.
+    private Mono<AccessToken> tokenSource() {
+        Mono<AccessToken> current = token.get();
+        if (current != null) {
+            return current;
+        }
+        Mono<AccessToken> fresh = requestToken()
+                .cache(AccessToken::validFor, error -> Duration.ZERO, () -> Duration.ZERO);
+        return token.compareAndSet(null, fresh) ? fresh : tokenSource();
+    }
+
+    private Mono<AccessToken> requestToken() {
+        return webClient.post()
+                .uri(accountsUrl + "/api/token")
+                .headers(headers -> headers.setBasicAuth(clientId, clientSecret))
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("grant_type", "client_credentials"))
+                .retrieve()
+                .bodyToMono(JSON_OBJECT)
+                .map(body -> {
+                    Object value = body.get("access_token");
+                    if (!(value instanceof String accessToken)) {
+                        throw new IllegalStateException("Spotify no devolvió un access_token");
+                    }
+                    long expiresIn = body.get("expires_in") instanceof Number n ? n.longValue() : 3600;
+                    log.debug("Nuevo token de Spotify, válido {} s", expiresIn);
+                    return new AccessToken(accessToken,
+                            Duration.ofSeconds(Math.max(expiresIn - TOKEN_EXPIRY_MARGIN_SECONDS, 0)));
+                });
+    }
+
+    private record AccessToken(String value, Duration validFor) {
+    }
+
+    private record SearchKey(String query, int limit) {
+    }
+}
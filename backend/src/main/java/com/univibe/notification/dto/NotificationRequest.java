@@ -0,0 +1,43 @@
+package com.univibe.notification.dto;
+
+import com.univibe.notification.model.NotificationSourceType;
+
+/**
+ * Petición de notificación. Todos los productores pasan por
+ * {@code NotificationService.send(NotificationRequest)}.
+ * <p>
+ * {@code sourceType}/{@code sourceId} identifican el origen (conversación, llamada, logro) y
+ * se guardan en la fila. Las peticiones colapsables del mismo origen para el mismo
+ * destinatario se agrupan mientras siguen en el buffer: una ráfaga produce una sola fila cuyo
+ * mensaje se construye con {@code collapsedMessage} ({@code %1$d} = cantidad, {@code %2$s} =
+ * último mensaje). Las urgentes (p. ej. una llamada entrante) se entregan en el acto.
+ */
+public record NotificationRequest(Long recipientId,
+                                  String title,
+                                  String message,
+                                  NotificationSourceType sourceType,
+                                  Long sourceId,
+                                  boolean collapsible,
+                                  String collapsedMessage,
+                                  boolean urgent,
+                                  boolean sendEmail) {
+
+    public static NotificationRequest of(Long recipientId, NotificationSourceType sourceType, Long sourceId,
+                                         String title, String message) {
+        return new NotificationRequest(recipientId, title, message, sourceType, sourceId, false, null, false, false);
+    }
+
+    public static NotificationRequest urgent(Long recipientId, NotificationSourceType sourceType, Long sourceId,
+                                             String title, String message) {
+        return new NotificationRequest(recipientId, title, message, sourceType, sourceId, false, null, true, false);
+    }
+
+    public static NotificationRequest collapsible(Long recipientId, NotificationSourceType sourceType, Long sourceId,
+                                                  String title, String message, String collapsedMessage) {
+        return new NotificationRequest(recipientId, title, message, sourceType, sourceId, true, collapsedMessage, false, false);
+    }
+
+    public NotificationRequest withEmail() {
+        return new NotificationRequest(recipientId, title, message, sourceType, sourceId, collapsible, collapsedMessage, urgent, true);
+    }
+}
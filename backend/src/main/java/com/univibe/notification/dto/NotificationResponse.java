@@ -0,0 +1,21 @@
+package com.univibe.notification.dto;
+
+import com.univibe.notification.model.NotificationSourceType;
+
+import java.time.Instant;
+
+/**
+ * Frame enviado por /queue/notifications.{userId}. {@code count} indica cuántas
+ * notificaciones del mismo origen se agruparon en esta y {@code unreadCount} el total de no
+ * leídas del destinatario tras la entrega.
+ */
+public record NotificationResponse(Long id,
+                                   String title,
+                                   String message,
+                                   NotificationSourceType sourceType,
+                                   Long sourceId,
+                                   boolean readFlag,
+                                   Instant createdAt,
+                                   int count,
+                                   long unreadCount) {
+}
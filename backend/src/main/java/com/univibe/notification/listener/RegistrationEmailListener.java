@@ -2,22 +2,46 @@ package com.univibe.notification.listener;
 
 import com.univibe.common.event.RegistrationCreatedEvent;
 import com.univibe.notification.service.MailService;
-import org.springframework.context.event.EventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Encola el correo de confirmación cuando la inscripción ya está confirmada. Un fallo al
+ * preparar o encolar el correo se registra y no afecta a la inscripción.
+ */
 @Component
 public class RegistrationEmailListener {
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationEmailListener.class);
+
     private final MailService mailService;
-    public RegistrationEmailListener(MailService mailService) { this.mailService = mailService; }
+    private final TransactionTemplate transactionTemplate;
+
+    public RegistrationEmailListener(MailService mailService, PlatformTransactionManager transactionManager) {
+        this.mailService = mailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Tras el commit la conexión del productor sigue ligada al hilo: el outbox necesita la suya
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
-    @EventListener
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void onRegistration(RegistrationCreatedEvent event) {
-        String subject = "✅ Registro confirmado: " + event.getEventTitle();
-        String htmlContent = mailService.createEventRegistrationEmail(
-            event.getEventTitle(), 
-            event.getEventStartTime().toString(),
-            "Estudiante" // Podemos mejorar esto con el nombre real del usuario
-        );
-        mailService.sendHtmlEmail(event.getUserEmail(), subject, htmlContent);
+        try {
+            String subject = "✅ Registro confirmado: " + event.getEventTitle();
+            String htmlContent = mailService.createEventRegistrationEmail(
+                event.getEventTitle(),
+                event.getEventStartTime() != null ? event.getEventStartTime().toString() : "Por confirmar",
+                "Estudiante" // Podemos mejorar esto con el nombre real del usuario
+            );
+            transactionTemplate.executeWithoutResult(status ->
+                    mailService.sendHtmlEmail(event.getUserEmail(), subject, htmlContent));
+        } catch (Exception e) {
+            logger.error("Failed to enqueue registration email for {}", event.getUserEmail(), e);
+        }
     }
 }
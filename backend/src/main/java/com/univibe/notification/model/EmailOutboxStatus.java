@@ -0,0 +1,7 @@
+package com.univibe.notification.model;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
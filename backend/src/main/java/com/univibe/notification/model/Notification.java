@@ -5,13 +5,17 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_recipient_read_id", columnList = "recipient_id, read_flag, id"),
+    @Index(name = "idx_notifications_recipient_source", columnList = "recipient_id, source_type, source_id")
+})
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @ManyToOne(optional = false)
+    @JoinColumn(name = "recipient_id")
     private User recipient;
 
     @Column(nullable = false)
@@ -20,6 +24,14 @@ public class Notification {
     @Column(nullable = false)
     private String message;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source_type", length = 40)
+    private NotificationSourceType sourceType;
+
+    @Column(name = "source_id")
+    private Long sourceId;
+
+    @Column(name = "read_flag")
     private boolean readFlag = false;
     private Instant createdAt = Instant.now();
 
@@ -31,6 +43,10 @@ public class Notification {
     public void setTitle(String title) { this.title = title; }
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
+    public NotificationSourceType getSourceType() { return sourceType; }
+    public void setSourceType(NotificationSourceType sourceType) { this.sourceType = sourceType; }
+    public Long getSourceId() { return sourceId; }
+    public void setSourceId(Long sourceId) { this.sourceId = sourceId; }
     public boolean isReadFlag() { return readFlag; }
     public void setReadFlag(boolean readFlag) { this.readFlag = readFlag; }
     public Instant getCreatedAt() { return createdAt; }
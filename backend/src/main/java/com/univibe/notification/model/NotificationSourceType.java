@@ -0,0 +1,12 @@
+package com.univibe.notification.model;
+
+/**
+ * Origen de una notificación. Junto con {@code sourceId} identifica la conversación, llamada
+ * o logro que la generó, para poder marcarlas como leídas sin buscar por título.
+ */
+public enum NotificationSourceType {
+    PRIVATE_MESSAGE, // sourceId = id del remitente
+    CALL,            // sourceId = id de la sesión de llamada
+    ACHIEVEMENT,     // sourceId = id del logro
+    ADMIN            // enviada manualmente por un administrador
+}
@@ -1,6 +1,7 @@
 package com.univibe.notification.repo;
 
 import com.univibe.notification.model.Notification;
+import com.univibe.notification.model.NotificationSourceType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -13,15 +14,21 @@ import java.util.List;
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByRecipientIdOrderByCreatedAtDesc(Long recipientId);
     Page<Notification> findByRecipientId(Long recipientId, Pageable pageable);
-    
-    @Query("SELECT n FROM Notification n WHERE n.recipient.id = :recipientId AND n.title LIKE :titlePattern AND n.readFlag = false")
-    List<Notification> findUnreadByRecipientIdAndTitlePattern(@Param("recipientId") Long recipientId, @Param("titlePattern") String titlePattern);
-    
+
+    boolean existsByIdAndRecipientId(Long id, Long recipientId);
+
     @Modifying
-    @Query("UPDATE Notification n SET n.readFlag = true WHERE n.id = :id AND n.recipient.id = :recipientId")
+    @Query("UPDATE Notification n SET n.readFlag = true WHERE n.id = :id AND n.recipient.id = :recipientId AND n.readFlag = false")
     int markAsRead(@Param("id") Long id, @Param("recipientId") Long recipientId);
-    
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.readFlag = true WHERE n.recipient.id = :recipientId AND n.readFlag = false AND n.id <= :maxId")
+    int markAllAsReadUpTo(@Param("recipientId") Long recipientId, @Param("maxId") Long maxId);
+
     @Modifying(clearAutomatically = true)
-    @Query("UPDATE Notification n SET n.readFlag = true WHERE n.recipient.id = :recipientId AND n.title LIKE :titlePattern AND n.readFlag = false")
-    int markAsReadByTitlePattern(@Param("recipientId") Long recipientId, @Param("titlePattern") String titlePattern);
+    @Query("UPDATE Notification n SET n.readFlag = true WHERE n.recipient.id = :recipientId AND n.sourceType = :sourceType " +
+           "AND n.sourceId = :sourceId AND n.readFlag = false")
+    int markAsReadBySource(@Param("recipientId") Long recipientId,
+                           @Param("sourceType") NotificationSourceType sourceType,
+                           @Param("sourceId") Long sourceId);
 }
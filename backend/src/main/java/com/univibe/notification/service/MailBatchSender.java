@@ -0,0 +1,79 @@
+package com.univibe.notification.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Envía un lote de correos del outbox en una sola sesión SMTP: {@code JavaMailSender.send(MimeMessage...)}
+ * abre una conexión y la reutiliza para todo el lote. Devuelve los fallos por id de outbox,
+ * de modo que un destinatario rechazado no hace fallar al resto.
+ */
+@Component
+public class MailBatchSender {
+
+    static final String FROM = "noreply@univibe.com";
+
+    private final JavaMailSender mailSender;
+
+    public MailBatchSender(JavaMailSender mailSender) {
+        this.mailSender = mailSender;
+    }
+
+    public Map<Long, Exception> send(List<OutboxEmail> emails) {
+        Map<Long, Exception> failures = new HashMap<>();
+        // MimeMessage no redefine equals/hashCode: el mapa es por identidad y conserva el orden del lote
+        Map<MimeMessage, Long> idsByMessage = new LinkedHashMap<>();
+        for (OutboxEmail email : emails) {
+            try {
+                idsByMessage.put(toMimeMessage(email), email.id());
+            } catch (MessagingException e) {
+                failures.put(email.id(), e);
+            }
+        }
+        if (idsByMessage.isEmpty()) {
+            return failures;
+        }
+
+        MimeMessage[] messages = idsByMessage.keySet().toArray(new MimeMessage[0]);
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                idsByMessage.values().forEach(id -> failures.put(id, e));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> {
+                    Long id = idsByMessage.get(message);
+                    if (id != null) {
+                        failures.put(id, cause);
+                    }
+                });
+            }
+        } catch (MailException e) {
+            idsByMessage.values().forEach(id -> failures.put(id, e));
+        }
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(OutboxEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setTo(email.recipient());
+        helper.setSubject(email.subject());
+        helper.setText(email.htmlBody(), true); // true = HTML
+        helper.setFrom(FROM);
+        return message;
+    }
+
+    public record OutboxEmail(Long id, String recipient, String subject, String htmlBody, int attempts) {
+    }
+}
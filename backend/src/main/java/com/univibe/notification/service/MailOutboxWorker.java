@@ -0,0 +1,183 @@
+package com.univibe.notification.service;
+
+import com.univibe.notification.service.MailBatchSender.OutboxEmail;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drena el outbox de correos con un pool propio de hilos (no el executor compartido).
+ * <p>
+ * Cada hilo reclama un lote con {@code FOR UPDATE SKIP LOCKED}, alargando
+ * {@code next_attempt_at} como arrendamiento: si el proceso muere a mitad de envío, el lote
+ * vuelve a estar disponible al vencer. Los fallos se reintentan con backoff exponencial hasta
+ * {@code maxAttempts}; después la fila queda en FAILED con el último error. El total de envíos
+ * por minuto está limitado para no superar la cuota del proveedor SMTP.
+ */
+@Component
+public class MailOutboxWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(MailOutboxWorker.class);
+
+    private static final long LEASE_SECONDS = 300;
+    private static final long BASE_BACKOFF_SECONDS = 30;
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+
+    private static final String CLAIM_BATCH = """
+            UPDATE email_outbox
+            SET attempts = attempts + 1, next_attempt_at = now() + make_interval(secs => ?)
+            WHERE id IN (
+                SELECT id FROM email_outbox
+                WHERE status = 'PENDING' AND next_attempt_at <= now()
+                ORDER BY next_attempt_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id, recipient, subject, html_body, attempts""";
+
+    private static final RowMapper<OutboxEmail> ROW_MAPPER = (rs, rowNum) -> new OutboxEmail(
+            rs.getLong("id"),
+            rs.getString("recipient"),
+            rs.getString("subject"),
+            rs.getString("html_body"),
+            rs.getInt("attempts")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MailBatchSender batchSender;
+    private final int workers;
+    private final int batchSize;
+    private final int perMinute;
+    private final int maxAttempts;
+    private final long pollIntervalMillis;
+    private final ScheduledExecutorService executor;
+
+    private long windowStart;
+    private int sentInWindow;
+
+    public MailOutboxWorker(JdbcTemplate jdbcTemplate,
+                            MailBatchSender batchSender,
+                            @Value("${mail.outbox.workers:2}") int workers,
+                            @Value("${mail.outbox.batch-size:20}") int batchSize,
+                            @Value("${mail.outbox.per-minute:120}") int perMinute,
+                            @Value("${mail.outbox.max-attempts:6}") int maxAttempts,
+                            @Value("${mail.outbox.poll-interval-ms:2000}") long pollIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSender = batchSender;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.perMinute = perMinute;
+        this.maxAttempts = maxAttempts;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.executor = Executors.newScheduledThreadPool(workers);
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workers; i++) {
+            executor.scheduleWithFixedDelay(this::drainSafely, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainSafely() {
+        try {
+            // Se sigue drenando mientras haya lotes completos y cupo en el minuto actual
+            while (drainBatch() == batchSize) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error draining email outbox", e);
+        }
+    }
+
+    private int drainBatch() {
+        int permits = reservePermits(batchSize);
+        if (permits == 0) {
+            return 0;
+        }
+        List<OutboxEmail> claimed = jdbcTemplate.query(CLAIM_BATCH, ROW_MAPPER, LEASE_SECONDS, permits);
+        releasePermits(permits - claimed.size());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Exception> failures = batchSender.send(claimed);
+
+        List<Object[]> sent = new ArrayList<>();
+        List<Object[]> retries = new ArrayList<>();
+        List<Object[]> failed = new ArrayList<>();
+        for (OutboxEmail email : claimed) {
+            Exception error = failures.get(email.id());
+            if (error == null) {
+                sent.add(new Object[]{email.id()});
+            } else if (email.attempts() >= maxAttempts) {
+                log.warn("Giving up on email {} to {} after {} attempts: {}", email.id(), email.recipient(), email.attempts(), error.getMessage());
+                failed.add(new Object[]{describe(error), email.id()});
+            } else {
+                retries.add(new Object[]{backoffSeconds(email.attempts()), describe(error), email.id()});
+            }
+        }
+        if (!sent.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE email_outbox SET status = 'SENT', sent_at = now(), last_error = NULL WHERE id = ?", sent);
+        }
+        if (!retries.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE email_outbox SET next_attempt_at = now() + make_interval(secs => ?), last_error = ? WHERE id = ?", retries);
+        }
+        if (!failed.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE email_outbox SET status = 'FAILED', last_error = ? WHERE id = ?", failed);
+        }
+        return claimed.size();
+    }
+
+    private static long backoffSeconds(int attempts) {
+        long backoff = BASE_BACKOFF_SECONDS << Math.min(Math.max(attempts - 1, 0), 16);
+        return Math.min(backoff, MAX_BACKOFF_SECONDS);
+    }
+
+    private synchronized int reservePermits(int wanted) {
+        long now = System.currentTimeMillis();
+        if (now - windowStart >= 60_000) {
+            windowStart = now;
+            sentInWindow = 0;
+        }
+        int granted = Math.min(wanted, perMinute - sentInWindow);
+        if (granted <= 0) {
+            return 0;
+        }
+        sentInWindow += granted;
+        return granted;
+    }
+
+    private synchronized void releasePermits(int unused) {
+        sentInWindow = Math.max(0, sentInWindow - unused);
+    }
+
+    private static String describe(Exception error) {
+        String message = error.getMessage();
+        return error.getClass().getSimpleName() + (message != null ? ": " + message : "");
+    }
+}
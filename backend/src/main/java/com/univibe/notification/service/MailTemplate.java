@@ -0,0 +1,59 @@
+package com.univibe.notification.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plantilla con marcadores {@code {{nombre}}} que se compila una sola vez en una lista de
+ * segmentos literales y marcadores; renderizar es solo concatenar, sin volver a analizar
+ * el texto como hace {@code String.formatted}.
+ */
+final class MailTemplate {
+
+    private final List<String> literals;
+    private final List<String> placeholders;
+    private final int estimatedLength;
+
+    private MailTemplate(List<String> literals, List<String> placeholders, int estimatedLength) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        this.estimatedLength = estimatedLength;
+    }
+
+    static MailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int start = source.indexOf("{{", position);
+            if (start < 0) {
+                break;
+            }
+            int end = source.indexOf("}}", start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Marcador sin cerrar en la plantilla en la posición " + start);
+            }
+            literals.add(source.substring(position, start));
+            placeholders.add(source.substring(start + 2, end).trim());
+            position = end + 2;
+        }
+        literals.add(source.substring(position));
+        return new MailTemplate(List.copyOf(literals), List.copyOf(placeholders), source.length());
+    }
+
+    String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(estimatedLength + 256);
+        for (int i = 0; i < placeholders.size(); i++) {
+            out.append(literals.get(i));
+            String name = placeholders.get(i);
+            String value = values.get(name);
+            if (value == null) {
+                throw new IllegalArgumentException("Falta el valor para el marcador {{" + name + "}}");
+            }
+            out.append(value);
+        }
+        out.append(literals.get(literals.size() - 1));
+        return out.toString();
+    }
+}
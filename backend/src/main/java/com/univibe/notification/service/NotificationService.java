@@ -1,77 +1,393 @@
 package com.univibe.notification.service;
 
+import com.univibe.common.transaction.AfterCommit;
 import com.univibe.gamification.model.Achievement;
-import com.univibe.notification.model.Notification;
+import com.univibe.notification.dto.NotificationRequest;
+import com.univibe.notification.dto.NotificationResponse;
+import com.univibe.notification.model.NotificationSourceType;
 import com.univibe.notification.repo.NotificationRepository;
 import com.univibe.user.model.User;
+import com.univibe.user.repo.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pipeline de entrega de notificaciones.
+ * <p>
+ * Las peticiones entran en un buffer acotado en memoria. Las que comparten destinatario y
+ * {@code collapseKey} se agrupan durante la ventana de colapso ("5 mensajes nuevos"), y cada
+ * destinatario tiene un token bucket: lo que excede el límite se queda en el buffer (y sigue
+ * agrupándose) hasta que haya tokens. Un hilo de fondo persiste cada lote con un único batch
+ * JDBC (junto con los correos del outbox) y después envía los frames por WebSocket. Las
+ * peticiones urgentes no esperan.
+ */
 @Service
 public class NotificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
 
+    private static final long FLUSH_INTERVAL_MILLIS = 250;
+    // Longitud de notifications.title y notifications.message
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private static final String ALLOCATE_IDS =
+            "SELECT nextval(pg_get_serial_sequence('notifications', 'id')) FROM generate_series(1, ?)";
+    private static final String INSERT_NOTIFICATION =
+            "INSERT INTO notifications (id, recipient_id, title, message, source_type, source_id, read_flag, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, false, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
     private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final UnreadNotificationCounter unreadCounter;
     private final SimpMessagingTemplate messagingTemplate;
     private final MailService mailService;
+    private final TransactionTemplate transactionTemplate;
+    private final RecipientRateLimiter rateLimiter;
+    private final long collapseWindowMillis;
+    private final int bufferCapacity;
 
-    public NotificationService(NotificationRepository notificationRepository, SimpMessagingTemplate messagingTemplate, MailService mailService) {
+    // Orden de inserción = orden de entrega; protegido por su propio monitor
+    private final Map<BufferKey, PendingNotification> buffer = new LinkedHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    public NotificationService(JdbcTemplate jdbcTemplate,
+                               NotificationRepository notificationRepository,
+                               UserRepository userRepository,
+                               UnreadNotificationCounter unreadCounter,
+                               SimpMessagingTemplate messagingTemplate,
+                               MailService mailService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${notifications.collapse-window-ms:3000}") long collapseWindowMillis,
+                               @Value("${notifications.buffer-capacity:10000}") int bufferCapacity,
+                               @Value("${notifications.rate-limit.burst:10}") int burst,
+                               @Value("${notifications.rate-limit.per-minute:30}") int perMinute) {
+        this.jdbcTemplate = jdbcTemplate;
         this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.unreadCounter = unreadCounter;
         this.messagingTemplate = messagingTemplate;
         this.mailService = mailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Las entregas urgentes pueden ejecutarse en afterCommit de la transacción del productor
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rateLimiter = new RecipientRateLimiter(burst, perMinute);
+        this.collapseWindowMillis = collapseWindowMillis;
+        this.bufferCapacity = bufferCapacity;
     }
 
-    @Transactional
-    public Notification send(User recipient, String title, String message, boolean sendEmail) {
-        Notification n = new Notification();
-        n.setRecipient(recipient);
-        n.setTitle(title);
-        n.setMessage(message);
-        notificationRepository.save(n);
-        
-        // Send via WebSocket in real-time
+    @PostConstruct
+    public void startFlusher() {
+        scheduler.scheduleWithFixedDelay(() -> flushSafely(false), FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdownScheduler() {
+        scheduler.shutdown();
         try {
-            messagingTemplate.convertAndSend("/queue/notifications." + recipient.getId(), n);
-        } catch (Exception e) {
-            logger.error("Failed to send WebSocket notification to user {}", recipient.getId(), e);
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        
-        // Send via email if enabled
-        if (sendEmail) {
-            try {
-                if (recipient.getEmail() != null && !recipient.getEmail().isBlank()) {
-                    String htmlContent = mailService.createNotificationEmail(
-                        title,
-                        message,
-                        recipient.getName() != null ? recipient.getName() : "Usuario"
-                    );
-                    mailService.sendHtmlEmail(recipient.getEmail(), title, htmlContent);
-                }
-            } catch (Exception e) {
-                logger.error("Failed to send email notification to user {}", recipient.getId(), e);
-            }
+        // Al apagar se entrega todo lo pendiente, sin ventana ni límite
+        flushSafely(true);
+    }
+
+    /**
+     * Punto de entrada único para enviar notificaciones. Si hay una transacción activa, la
+     * petición se encola tras el commit para no notificar cambios que acaben en rollback.
+     *
+     * @throws IllegalArgumentException si el título o el mensaje faltan o no caben en la fila
+     */
+    public void send(NotificationRequest request) {
+        requireText("title", request.title());
+        requireText("message", request.message());
+        AfterCommit.run(() -> accept(request));
+    }
+
+    public long unreadCount(Long userId) {
+        return unreadCounter.get(userId);
+    }
+
+    /**
+     * Marca una notificación como leída. Devuelve false si no existe o no es del usuario.
+     */
+    @Transactional
+    public boolean markAsRead(Long userId, Long notificationId) {
+        int updated = notificationRepository.markAsRead(notificationId, userId);
+        if (updated > 0) {
+            AfterCommit.run(() -> unreadCounter.decrement(userId, updated));
+            return true;
         }
-        
-        return n;
+        return notificationRepository.existsByIdAndRecipientId(notificationId, userId);
+    }
+
+    /**
+     * Marca como leídas todas las notificaciones del usuario con id menor o igual a {@code maxId}.
+     */
+    @Transactional
+    public int markAllAsReadUpTo(Long userId, Long maxId) {
+        int updated = notificationRepository.markAllAsReadUpTo(userId, maxId);
+        AfterCommit.run(() -> unreadCounter.decrement(userId, updated));
+        return updated;
     }
 
     @Transactional
+    public int markAsReadBySource(Long userId, NotificationSourceType sourceType, Long sourceId) {
+        int updated = notificationRepository.markAsReadBySource(userId, sourceType, sourceId);
+        AfterCommit.run(() -> unreadCounter.decrement(userId, updated));
+        return updated;
+    }
+
     public void notifyAchievementUnlocked(User user, Achievement achievement) {
         String title = "🏆 Achievement Unlocked: " + achievement.getName();
         String message = "Congratulations! You've unlocked the '" + achievement.getName() + "' achievement and earned " + achievement.getPoints() + " points!";
-        
-        // Send notification (no email for achievements to avoid spam, unless we want it)
-        send(user, title, message, false);
-        
-        // We could also send a specific "achievement" event via WebSocket for special frontend effects
+
+        // Sin email para logros, para no saturar la bandeja de entrada
+        send(NotificationRequest.of(user.getId(), NotificationSourceType.ACHIEVEMENT, achievement.getId(), title, message));
+
+        // Evento específico de logro para los efectos del frontend
         try {
             messagingTemplate.convertAndSend("/queue/achievements." + user.getId(), achievement);
         } catch (Exception e) {
             logger.error("Failed to send achievement WebSocket event to user {}", user.getId(), e);
         }
     }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private static void requireText(String field, String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("El campo " + field + " es obligatorio");
+        }
+        if (value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("El campo " + field + " no puede superar " + MAX_TEXT_LENGTH + " caracteres");
+        }
+    }
+
+    private void accept(NotificationRequest request) {
+        long now = System.currentTimeMillis();
+        if (request.urgent()) {
+            rateLimiter.consume(request.recipientId(), now);
+            deliverSafely(List.of(new PendingNotification(request, now)));
+            return;
+        }
+        String collapseKey = request.collapsible()
+                ? request.sourceType() + ":" + request.sourceId()
+                : "#" + sequence.incrementAndGet();
+        BufferKey key = new BufferKey(request.recipientId(), collapseKey);
+        synchronized (buffer) {
+            PendingNotification existing = buffer.get(key);
+            if (existing != null) {
+                existing.merge(request);
+                return;
+            }
+            if (buffer.size() >= bufferCapacity) {
+                long total = dropped.incrementAndGet();
+                logger.warn("Notification buffer full ({} entries), dropping notification for user {} (dropped so far: {})",
+                        bufferCapacity, request.recipientId(), total);
+                return;
+            }
+            buffer.put(key, new PendingNotification(request, now));
+        }
+    }
+
+    private void flushSafely(boolean drain) {
+        try {
+            flush(drain);
+        } catch (Exception e) {
+            logger.error("Error flushing notification buffer", e);
+        }
+    }
+
+    private void flush(boolean drain) {
+        long now = System.currentTimeMillis();
+        List<PendingNotification> ready = new ArrayList<>();
+        synchronized (buffer) {
+            Iterator<PendingNotification> it = buffer.values().iterator();
+            while (it.hasNext()) {
+                PendingNotification pending = it.next();
+                boolean windowElapsed = !pending.collapsible || now - pending.firstQueuedAt >= collapseWindowMillis;
+                if (drain || (windowElapsed && rateLimiter.tryAcquire(pending.recipientId, now))) {
+                    it.remove();
+                    ready.add(pending);
+                }
+            }
+        }
+        rateLimiter.evictIdle(now);
+        if (!ready.isEmpty()) {
+            deliver(ready);
+        }
+    }
+
+    private void deliverSafely(List<PendingNotification> batch) {
+        try {
+            deliver(batch);
+        } catch (Exception e) {
+            logger.error("Failed to deliver urgent notification", e);
+        }
+    }
+
+    private void deliver(List<PendingNotification> batch) {
+        // Ids reservados de antemano para poder insertar en batch y enviarlos en el frame
+        List<Long> ids = jdbcTemplate.queryForList(ALLOCATE_IDS, Long.class, batch.size());
+        Instant createdAt = Instant.now();
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            PendingNotification pending = batch.get(i);
+            rows.add(new Object[]{ids.get(i), pending.recipientId, pending.title, pending.body(),
+                    pending.sourceType != null ? pending.sourceType.name() : null, pending.sourceId,
+                    Timestamp.from(createdAt)});
+        }
+        // Las filas y los correos del outbox se confirman juntos
+        List<Integer> persisted;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, rows);
+                enqueueEmails(batch);
+            });
+            persisted = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                persisted.add(i);
+            }
+        } catch (Exception e) {
+            // Una fila inválida no debe llevarse al resto del lote: se reintenta fila a fila
+            logger.warn("Batch insert of {} notifications failed, retrying one by one", batch.size(), e);
+            persisted = insertOneByOne(batch, rows);
+        }
+
+        for (int i : persisted) {
+            unreadCounter.increment(batch.get(i).recipientId);
+        }
+        for (int i : persisted) {
+            PendingNotification pending = batch.get(i);
+            try {
+                NotificationResponse response = new NotificationResponse(ids.get(i), pending.title, pending.body(),
+                        pending.sourceType, pending.sourceId, false, createdAt, pending.count,
+                        unreadCounter.get(pending.recipientId));
+                messagingTemplate.convertAndSend("/queue/notifications." + pending.recipientId, response);
+            } catch (Exception e) {
+                logger.error("Failed to send WebSocket notification to user {}", pending.recipientId, e);
+            }
+        }
+    }
+
+    /**
+     * Inserta cada fila (con su correo) en su propia transacción. Devuelve los índices que se
+     * guardaron; las que fallan se descartan y cuentan en {@link #getDroppedCount()}.
+     */
+    private List<Integer> insertOneByOne(List<PendingNotification> batch, List<Object[]> rows) {
+        List<Integer> persisted = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            PendingNotification pending = batch.get(i);
+            Object[] row = rows.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update(INSERT_NOTIFICATION, row);
+                    enqueueEmails(List.of(pending));
+                });
+                persisted.add(i);
+            } catch (Exception e) {
+                long total = dropped.incrementAndGet();
+                logger.error("Dropping notification for user {} after insert failure (dropped so far: {})",
+                        pending.recipientId, total, e);
+            }
+        }
+        return persisted;
+    }
+
+    private void enqueueEmails(List<PendingNotification> batch) {
+        Set<Long> recipientIds = batch.stream()
+                .filter(pending -> pending.sendEmail)
+                .map(pending -> pending.recipientId)
+                .collect(Collectors.toSet());
+        if (recipientIds.isEmpty()) {
+            return;
+        }
+        Map<Long, User> recipients = userRepository.findAllById(recipientIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        for (int i = 0; i < batch.size(); i++) {
+            PendingNotification pending = batch.get(i);
+            User recipient = recipients.get(pending.recipientId);
+            if (!pending.sendEmail || recipient == null || recipient.getEmail() == null || recipient.getEmail().isBlank()) {
+                continue;
+            }
+            String htmlContent = mailService.createNotificationEmail(
+                pending.title,
+                pending.body(),
+                recipient.getName() != null ? recipient.getName() : "Usuario"
+            );
+            mailService.sendHtmlEmail(recipient.getEmail(), pending.title, htmlContent);
+        }
+    }
+
+    private record BufferKey(Long recipientId, String collapseKey) {
+    }
+
+    private static final class PendingNotification {
+        private final Long recipientId;
+        private final NotificationSourceType sourceType;
+        private final Long sourceId;
+        private final boolean collapsible;
+        private final String collapsedMessage;
+        private final long firstQueuedAt;
+        private String title;
+        private String message;
+        private boolean sendEmail;
+        private int count = 1;
+
+        private PendingNotification(NotificationRequest request, long now) {
+            this.recipientId = request.recipientId();
+            this.sourceType = request.sourceType();
+            this.sourceId = request.sourceId();
+            this.collapsible = request.collapsible();
+            this.collapsedMessage = request.collapsedMessage();
+            this.firstQueuedAt = now;
+            this.title = request.title();
+            this.message = request.message();
+            this.sendEmail = request.sendEmail();
+        }
+
+        private void merge(NotificationRequest request) {
+            title = request.title();
+            message = request.message();
+            sendEmail |= request.sendEmail();
+            count++;
+        }
+
+        private String body() {
+            return count > 1 && collapsedMessage != null
+                    ? String.format(collapsedMessage, count, message)
+                    : message;
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package com.univibe.notification.service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Token bucket por destinatario. Lo usa solo {@link NotificationService}; los métodos están
+ * sincronizados porque el hilo de flush y las entregas urgentes lo comparten.
+ */
+class RecipientRateLimiter {
+
+    private final int capacity;
+    private final double tokensPerMilli;
+    private final Map<Long, Bucket> buckets = new HashMap<>();
+
+    RecipientRateLimiter(int capacity, int perMinute) {
+        this.capacity = capacity;
+        this.tokensPerMilli = perMinute / 60_000.0;
+    }
+
+    synchronized boolean tryAcquire(Long recipientId, long nowMillis) {
+        Bucket bucket = refill(recipientId, nowMillis);
+        if (bucket.tokens < 1) {
+            return false;
+        }
+        bucket.tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Consume un token aunque el bucket esté vacío (entregas urgentes): cuentan para el
+     * límite pero nunca se retienen.
+     */
+    synchronized void consume(Long recipientId, long nowMillis) {
+        Bucket bucket = refill(recipientId, nowMillis);
+        bucket.tokens -= 1;
+    }
+
+    /**
+     * Descarta los buckets que ya se rellenaron por completo: equivalen a uno nuevo.
+     */
+    synchronized void evictIdle(long nowMillis) {
+        Iterator<Bucket> it = buckets.values().iterator();
+        while (it.hasNext()) {
+            Bucket bucket = it.next();
+            if (bucket.tokens + (nowMillis - bucket.updatedAt) * tokensPerMilli >= capacity) {
+                it.remove();
+            }
+        }
+    }
+
+    private Bucket refill(Long recipientId, long nowMillis) {
+        Bucket bucket = buckets.computeIfAbsent(recipientId, id -> new Bucket(capacity, nowMillis));
+        bucket.tokens = Math.min(capacity, bucket.tokens + (nowMillis - bucket.updatedAt) * tokensPerMilli);
+        bucket.updatedAt = nowMillis;
+        return bucket;
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
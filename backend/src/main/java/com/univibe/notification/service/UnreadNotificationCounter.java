@@ -0,0 +1,108 @@
+package com.univibe.notification.service;
+
+import com.univibe.common.cache.LruCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador de notificaciones no leídas por usuario.
+ * <p>
+ * El primer acceso carga el valor con un COUNT sobre {@code (recipient_id, read_flag, id)}; a
+ * partir de ahí se mantiene en memoria con los inserts y los marcados como leídas. Las
+ * actualizaciones de usuarios que no están en caché se ignoran (se cargarán al pedirlos) y una
+ * reconciliación periódica vuelve a contar en la base de datos los usuarios en caché para
+ * corregir cualquier desvío por carreras entre la carga y una escritura.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(UnreadNotificationCounter.class);
+
+    private static final int MAX_CACHED_USERS = 50_000;
+    private static final int RECONCILE_CHUNK = 1_000;
+    private static final long RECONCILE_INTERVAL_MINUTES = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LruCache<Long, AtomicLong> counts = new LruCache<>(MAX_CACHED_USERS);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    public UnreadNotificationCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void startReconciler() {
+        scheduler.scheduleWithFixedDelay(this::reconcileSafely, RECONCILE_INTERVAL_MINUTES, RECONCILE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdownScheduler() {
+        scheduler.shutdownNow();
+    }
+
+    public long get(Long userId) {
+        return counts.computeIfAbsent(userId, this::load).get();
+    }
+
+    public void increment(Long userId) {
+        AtomicLong count = counts.get(userId);
+        if (count != null) {
+            count.incrementAndGet();
+        }
+    }
+
+    public void decrement(Long userId, long delta) {
+        AtomicLong count = counts.get(userId);
+        if (count != null && delta > 0) {
+            count.updateAndGet(current -> Math.max(0, current - delta));
+        }
+    }
+
+    private AtomicLong load(Long userId) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM notifications WHERE recipient_id = ? AND read_flag = false",
+                Long.class, userId);
+        return new AtomicLong(count != null ? count : 0L);
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Error reconciling unread notification counters", e);
+        }
+    }
+
+    private void reconcile() {
+        List<Long> userIds = counts.keys();
+        for (int from = 0; from < userIds.size(); from += RECONCILE_CHUNK) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + RECONCILE_CHUNK, userIds.size()));
+            Map<Long, Long> actual = new HashMap<>();
+            jdbcTemplate.query(
+                    "SELECT recipient_id, count(*) AS unread FROM notifications " +
+                    "WHERE recipient_id = ANY(?) AND read_flag = false GROUP BY recipient_id",
+                    rs -> {
+                        actual.put(rs.getLong("recipient_id"), rs.getLong("unread"));
+                    },
+                    (Object) chunk.toArray(new Long[0]));
+            for (Long userId : chunk) {
+                AtomicLong count = counts.get(userId);
+                if (count != null) {
+                    count.set(actual.getOrDefault(userId, 0L));
+                }
+            }
+        }
+    }
+}
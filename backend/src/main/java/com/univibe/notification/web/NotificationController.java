@@ -1,6 +1,8 @@
 package com.univibe.notification.web;
 
 import com.univibe.common.dto.PageResponse;
+import com.univibe.notification.dto.NotificationRequest;
+import com.univibe.notification.model.NotificationSourceType;
 import com.univibe.notification.model.Notification;
 import com.univibe.notification.repo.NotificationRepository;
 import com.univibe.notification.service.NotificationService;
@@ -45,33 +47,51 @@ public class NotificationController {
 
     @PostMapping("/{userId}")
     @PreAuthorize("hasAnyRole('ADMIN','SERVER')")
-    public Notification send(
+    public ResponseEntity<?> send(
             @PathVariable Long userId, 
             @RequestParam String title, 
             @RequestParam String message,
             @RequestParam(required = false, defaultValue = "false") boolean sendEmail) {
         User recipient = userRepository.findById(userId).orElseThrow();
-        return notificationService.send(recipient, title, message, sendEmail);
+        NotificationRequest request = NotificationRequest.of(recipient.getId(), NotificationSourceType.ADMIN, null, title, message);
+        notificationService.send(sendEmail ? request.withEmail() : request);
+        return ResponseEntity.accepted().body(Map.of("message", "Notification queued"));
+    }
+
+    @GetMapping("/unread-count")
+    public Map<String, Long> unreadCount(Authentication auth) {
+        var requester = userRepository.findByEmail((String) auth.getPrincipal()).orElseThrow();
+        return Map.of("count", notificationService.unreadCount(requester.getId()));
     }
 
     @PutMapping("/{notificationId}/read")
     public ResponseEntity<?> markAsRead(@PathVariable Long notificationId, Authentication auth) {
         var requester = userRepository.findByEmail((String) auth.getPrincipal()).orElseThrow();
-        int updated = notificationRepository.markAsRead(notificationId, requester.getId());
-        if (updated > 0) {
+        if (notificationService.markAsRead(requester.getId(), notificationId)) {
             return ResponseEntity.ok(Map.of("message", "Notification marked as read"));
         }
         return ResponseEntity.notFound().build();
     }
 
-    @PutMapping("/mark-message-notifications-read/{senderName}")
-    @org.springframework.transaction.annotation.Transactional
-    public ResponseEntity<?> markMessageNotificationsAsRead(@PathVariable String senderName, Authentication auth) {
+    @PutMapping("/read-up-to/{notificationId}")
+    public ResponseEntity<?> markAllAsReadUpTo(@PathVariable Long notificationId, Authentication auth) {
+        var requester = userRepository.findByEmail((String) auth.getPrincipal()).orElseThrow();
+        int updated = notificationService.markAllAsReadUpTo(requester.getId(), notificationId);
+        return ResponseEntity.ok(Map.of(
+            "count", updated,
+            "unreadCount", notificationService.unreadCount(requester.getId())
+        ));
+    }
+
+    @PutMapping("/read-by-source")
+    public ResponseEntity<?> markAsReadBySource(@RequestParam NotificationSourceType sourceType,
+                                                @RequestParam Long sourceId,
+                                                Authentication auth) {
         var requester = userRepository.findByEmail((String) auth.getPrincipal()).orElseThrow();
-        // Decodificar el nombre del usuario (puede venir codificado desde la URL)
-        String decodedSenderName = java.net.URLDecoder.decode(senderName, java.nio.charset.StandardCharsets.UTF_8);
-        String titlePattern = "Nuevo mensaje de " + decodedSenderName + "%";
-        int updated = notificationRepository.markAsReadByTitlePattern(requester.getId(), titlePattern);
-        return ResponseEntity.ok(Map.of("message", "Notifications marked as read", "count", updated));
+        int updated = notificationService.markAsReadBySource(requester.getId(), sourceType, sourceId);
+        return ResponseEntity.ok(Map.of(
+            "count", updated,
+            "unreadCount", notificationService.unreadCount(requester.getId())
+        ));
     }
 }
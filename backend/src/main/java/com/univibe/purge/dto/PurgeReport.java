@@ -0,0 +1,23 @@
+package com.univibe.purge.dto;
+
+import com.univibe.purge.service.PurgeService;
+
+import java.util.List;
+
+/**
+ * Resultado de un borrado en cascada (o de su simulación con {@code dryRun}).
+ * <p>
+ * {@code steps} sigue el orden de ejecución; {@code scope} indica a qué raíz pertenece el paso
+ * (al borrar un usuario también se borran sus grupos y eventos).
+ */
+public record PurgeReport(
+        PurgeService.Target target,
+        Long id,
+        boolean dryRun,
+        List<Step> steps,
+        long totalRows,
+        long elapsedMs
+) {
+    public record Step(PurgeService.Target scope, String table, String action, long rows) {
+    }
+}
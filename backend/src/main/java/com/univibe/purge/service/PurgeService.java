@@ -0,0 +1,347 @@
+package com.univibe.purge.service;
+
+import com.univibe.chat.service.MessageArchiveService;
+import com.univibe.common.exception.NotFoundException;
+import com.univibe.common.transaction.AfterCommit;
+import com.univibe.purge.dto.PurgeReport;
+import com.univibe.registration.service.CheckInService;
+import com.univibe.registration.service.QrService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Borrado en cascada de grupos, eventos y usuarios.
+ * <p>
+ * Cada raíz tiene un plan: la lista ordenada de tablas dependientes (mensajes, reacciones,
+ * archivos del chat, inscripciones, encuestas...) con la condición que las une a la raíz. Los
+ * pasos se ejecutan por conjuntos, nunca fila a fila, y los DELETE van en lotes de
+ * {@code purge.batch-size} filas, cada uno en su propia transacción, para no mantener locks ni
+ * generar una transacción gigante al borrar un chat con miles de mensajes. Como cada lote se
+ * confirma por separado, un borrado interrumpido deja la raíz a medias; volver a lanzarlo
+ * continúa donde quedó porque todos los pasos son idempotentes.
+ * <p>
+ * Los tramos archivados de chats ajenos no se pueden filtrar en SQL (van comprimidos): al borrar
+ * un usuario, {@link MessageArchiveService#removeUsers} los reescribe sin sus mensajes ni sus
+ * reacciones antes de ejecutar el plan, y el informe lo refleja como un paso UPDATE sobre
+ * {@code message_archive_segments}.
+ * <p>
+ * Al terminar se descartan las cachés en memoria de lo borrado: el índice de check-in de cada
+ * evento afectado y las imágenes QR de sus inscripciones.
+ * <p>
+ * Con {@code dryRun} solo se cuentan las filas de cada paso. Los conteos son independientes
+ * entre sí: una fila alcanzable por dos caminos (p. ej. el mensaje de un usuario en el chat de
+ * su propio evento) aparece en ambos.
+ */
+@Service
+public class PurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(PurgeService.class);
+
+    public enum Target {
+        GROUP("groups"),
+        EVENT("events"),
+        USER("users");
+
+        private final String table;
+
+        Target(String table) {
+            this.table = table;
+        }
+    }
+
+    /**
+     * Un paso del plan. Todos los {@code ?} de {@code set} y {@code where} reciben el mismo
+     * array de ids raíz. Los UPDATE recalculan contadores o sueltan referencias y se ejecutan
+     * de una vez; los DELETE se trocean.
+     */
+    private record Step(String table, String set, String where) {
+        static Step delete(String table, String where) {
+            return new Step(table, null, where);
+        }
+
+        static Step update(String table, String set, String where) {
+            return new Step(table, set, where);
+        }
+
+        boolean isDelete() {
+            return set == null;
+        }
+
+        int placeholders() {
+            return countPlaceholders((set != null ? set : "") + where);
+        }
+
+        // El conteo de dryRun solo usa el WHERE
+        int wherePlaceholders() {
+            return countPlaceholders(where);
+        }
+
+        private static int countPlaceholders(String sql) {
+            return (int) sql.chars().filter(c -> c == '?').count();
+        }
+    }
+
+    // Un archivo solo se borra si ningún sticker ni mensaje que sobreviva lo sigue usando
+    private static final String UNREFERENCED_FILE =
+            "NOT EXISTS (SELECT 1 FROM stickers s WHERE s.file_asset_id = file_assets.id) " +
+            "AND NOT EXISTS (SELECT 1 FROM chat_messages m WHERE m.file_asset_id = file_assets.id) " +
+            "AND NOT EXISTS (SELECT 1 FROM group_messages m WHERE m.file_asset_id = file_assets.id) " +
+            "AND NOT EXISTS (SELECT 1 FROM private_messages m WHERE m.file_asset_id = file_assets.id)";
+
+    private static final List<Step> EVENT_PLAN = List.of(
+            // Los asistentes pierden la asistencia a los eventos borrados
+            Step.update("user_stats",
+                    "events_attended = (SELECT count(*) FROM registrations r WHERE r.user_id = user_stats.user_id " +
+                    "AND r.status = 'CHECKED_IN' AND r.points_awarded AND r.event_id <> ALL(?))",
+                    "user_id IN (SELECT r.user_id FROM registrations r WHERE r.event_id = ANY(?) AND r.status = 'CHECKED_IN')"),
+            Step.delete("message_reactions",
+                    "message_type = 'EVENT_CHAT' AND message_id IN (SELECT m.id FROM chat_messages m WHERE m.event_id = ANY(?))"),
+            Step.delete("chat_messages", "event_id = ANY(?)"),
+            Step.delete("message_archive_segments", "context_type = 'EVENT_CHAT' AND context_id = ANY(?)"),
+            Step.delete("file_assets", "scope = 'EVENT_CHAT' AND scope_id = ANY(?) AND " + UNREFERENCED_FILE),
+            Step.delete("survey_answers",
+                    "question_id IN (SELECT q.id FROM survey_questions q JOIN surveys s ON s.id = q.survey_id WHERE s.event_id = ANY(?))"),
+            Step.delete("survey_questions", "survey_id IN (SELECT s.id FROM surveys s WHERE s.event_id = ANY(?))"),
+            Step.delete("group_surveys", "survey_id IN (SELECT s.id FROM surveys s WHERE s.event_id = ANY(?))"),
+            Step.delete("surveys", "event_id = ANY(?)"),
+            Step.delete("group_events", "event_id = ANY(?)"),
+            Step.delete("registrations", "event_id = ANY(?)"),
+            Step.delete("call_sessions", "context_type = 'EVENT' AND context_id = ANY(?)"),
+            Step.delete("event_tags", "event_id = ANY(?)"),
+            Step.delete("events", "id = ANY(?)")
+    );
+
+    private static final List<Step> GROUP_PLAN = List.of(
+            Step.delete("message_reactions",
+                    "message_type = 'GROUP_CHAT' AND message_id IN (SELECT m.id FROM group_messages m WHERE m.group_id = ANY(?))"),
+            Step.delete("group_messages", "group_id = ANY(?)"),
+            Step.delete("message_archive_segments", "context_type = 'GROUP_CHAT' AND context_id = ANY(?)"),
+            Step.delete("file_assets", "scope = 'GROUP_CHAT' AND scope_id = ANY(?) AND " + UNREFERENCED_FILE),
+            Step.delete("group_announcements", "group_id = ANY(?)"),
+            Step.delete("group_events", "group_id = ANY(?)"),
+            Step.delete("group_surveys", "group_id = ANY(?)"),
+            Step.delete("group_join_requests", "group_id = ANY(?)"),
+            Step.delete("group_members", "group_id = ANY(?)"),
+            Step.delete("call_sessions", "context_type = 'GROUP' AND context_id = ANY(?)"),
+            Step.delete("groups", "id = ANY(?)")
+    );
+
+    // Se ejecuta después de borrar los grupos y eventos propios del usuario
+    private static final List<Step> USER_PLAN = List.of(
+            // Contadores de terceros que dependen del usuario borrado
+            Step.update("posts",
+                    "likes_count = (SELECT count(*) FROM post_likes l WHERE l.post_id = posts.id AND l.user_id <> ALL(?))",
+                    "id IN (SELECT l.post_id FROM post_likes l WHERE l.user_id = ANY(?))"),
+            Step.update("user_stats",
+                    "likes_received = (SELECT count(*) FROM post_likes l JOIN posts p ON p.id = l.post_id " +
+                    "WHERE p.user_id = user_stats.user_id AND l.user_id <> ALL(?))",
+                    "user_id IN (SELECT p.user_id FROM post_likes l JOIN posts p ON p.id = l.post_id WHERE l.user_id = ANY(?))"),
+            Step.update("user_stats",
+                    "friends = (SELECT count(*) FROM friendships f WHERE (f.user1_id = user_stats.user_id OR f.user2_id = user_stats.user_id) " +
+                    "AND f.user1_id <> ALL(?) AND f.user2_id <> ALL(?))",
+                    "user_id IN (SELECT f.user2_id FROM friendships f WHERE f.user1_id = ANY(?) " +
+                    "UNION SELECT f.user1_id FROM friendships f WHERE f.user2_id = ANY(?))"),
+            // Referencias de mensajes ajenos a stickers y archivos del usuario
+            Step.update("chat_messages", "sticker_id = NULL",
+                    "sticker_id IN (SELECT s.id FROM stickers s WHERE s.owner_id = ANY(?))"),
+            Step.update("group_messages", "sticker_id = NULL",
+                    "sticker_id IN (SELECT s.id FROM stickers s WHERE s.owner_id = ANY(?))"),
+            Step.update("private_messages", "sticker_id = NULL",
+                    "sticker_id IN (SELECT s.id FROM stickers s WHERE s.owner_id = ANY(?))"),
+            Step.update("chat_messages", "file_asset_id = NULL",
+                    "file_asset_id IN (SELECT f.id FROM file_assets f WHERE f.uploader_id = ANY(?))"),
+            Step.update("group_messages", "file_asset_id = NULL",
+                    "file_asset_id IN (SELECT f.id FROM file_assets f WHERE f.uploader_id = ANY(?))"),
+            Step.update("private_messages", "file_asset_id = NULL",
+                    "file_asset_id IN (SELECT f.id FROM file_assets f WHERE f.uploader_id = ANY(?))"),
+            Step.update("reports", "reviewed_by_id = NULL", "reviewed_by_id = ANY(?)"),
+            // Mensajería
+            Step.delete("message_reactions", "user_id = ANY(?)"),
+            Step.delete("message_reactions",
+                    "message_type = 'EVENT_CHAT' AND message_id IN (SELECT m.id FROM chat_messages m WHERE m.user_id = ANY(?))"),
+            Step.delete("message_reactions",
+                    "message_type = 'GROUP_CHAT' AND message_id IN (SELECT m.id FROM group_messages m WHERE m.sender_id = ANY(?))"),
+            Step.delete("message_reactions",
+                    "message_type = 'PRIVATE_CHAT' AND message_id IN (SELECT m.id FROM private_messages m " +
+                    "WHERE m.sender_id = ANY(?) OR m.receiver_id = ANY(?))"),
+            Step.delete("chat_messages", "user_id = ANY(?)"),
+            Step.delete("group_messages", "sender_id = ANY(?)"),
+            Step.delete("group_announcements", "sender_id = ANY(?)"),
+            Step.delete("private_messages", "sender_id = ANY(?) OR receiver_id = ANY(?)"),
+            Step.delete("stickers", "owner_id = ANY(?)"),
+            Step.delete("file_assets", "uploader_id = ANY(?)"),
+            // Red social
+            Step.delete("post_likes", "user_id = ANY(?)"),
+            Step.delete("post_likes", "post_id IN (SELECT p.id FROM posts p WHERE p.user_id = ANY(?))"),
+            Step.delete("post_comments", "user_id = ANY(?)"),
+            Step.delete("post_comments", "post_id IN (SELECT p.id FROM posts p WHERE p.user_id = ANY(?))"),
+            Step.delete("posts", "user_id = ANY(?)"),
+            Step.delete("stories", "user_id = ANY(?)"),
+            Step.delete("friend_requests", "sender_id = ANY(?) OR receiver_id = ANY(?)"),
+            Step.delete("friendships", "user1_id = ANY(?) OR user2_id = ANY(?)"),
+            Step.delete("reports", "reported_by_id = ANY(?)"),
+            // Grupos y eventos ajenos en los que participa
+            Step.delete("group_events", "shared_by_id = ANY(?)"),
+            Step.delete("group_surveys", "shared_by_id = ANY(?)"),
+            Step.delete("group_join_requests", "user_id = ANY(?)"),
+            Step.delete("group_members", "user_id = ANY(?)"),
+            Step.delete("registrations", "user_id = ANY(?)"),
+            Step.delete("survey_answers", "respondent_id = ANY(?)"),
+            Step.delete("call_sessions", "created_by_id = ANY(?)"),
+            // Soporte, notificaciones y datos propios
+            Step.delete("support_messages",
+                    "sender_id = ANY(?) OR ticket_id IN (SELECT t.id FROM support_tickets t WHERE t.requester_id = ANY(?))"),
+            Step.delete("support_tickets", "requester_id = ANY(?)"),
+            Step.delete("notifications", "recipient_id = ANY(?)"),
+            Step.delete("user_achievements", "user_id = ANY(?)"),
+            Step.delete("user_stats", "user_id = ANY(?)"),
+            Step.delete("user_preferences", "user_id = ANY(?)"),
+            Step.delete("users", "id = ANY(?)")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MessageArchiveService messageArchiveService;
+    private final CheckInService checkInService;
+    private final QrService qrService;
+    private final TransactionTemplate batchTransaction;
+    private final int batchSize;
+
+    public PurgeService(JdbcTemplate jdbcTemplate,
+                        MessageArchiveService messageArchiveService,
+                        CheckInService checkInService,
+                        QrService qrService,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${purge.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.messageArchiveService = messageArchiveService;
+        this.checkInService = checkInService;
+        this.qrService = qrService;
+        // Cada lote se confirma aunque quien llama tenga una transacción abierta
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Borra la raíz y todo lo que depende de ella, o solo cuenta las filas si {@code dryRun}.
+     * Al borrar un usuario se borran antes los grupos de los que es dueño y los eventos que creó.
+     */
+    public PurgeReport purge(Target target, Long id, boolean dryRun) {
+        Integer exists = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM " + target.table + " WHERE id = ?", Integer.class, id);
+        if (exists == null || exists == 0) {
+            throw new NotFoundException("No existe " + target.name().toLowerCase() + " con id " + id);
+        }
+
+        long start = System.currentTimeMillis();
+        List<PurgeReport.Step> steps = new ArrayList<>();
+        Long[] ownedGroups = target == Target.USER
+                ? jdbcTemplate.queryForList("SELECT id FROM groups WHERE owner_id = ?", Long.class, id).toArray(Long[]::new)
+                : new Long[0];
+        Long[] createdEvents = target == Target.USER
+                ? jdbcTemplate.queryForList("SELECT id FROM events WHERE created_by_id = ?", Long.class, id).toArray(Long[]::new)
+                : new Long[0];
+        Runnable evictCaches = dryRun ? null
+                : cacheEviction(target == Target.EVENT ? new Long[]{id} : createdEvents, target == Target.USER ? id : null);
+        if (target == Target.USER) {
+            run(Target.GROUP, GROUP_PLAN, ownedGroups, dryRun, steps);
+            run(Target.EVENT, EVENT_PLAN, createdEvents, dryRun, steps);
+            // Antes que el plan: si se interrumpe, el usuario sigue existiendo y se puede relanzar
+            Long[] users = {id};
+            long segments = dryRun ? messageArchiveService.countSegmentsToReview(users) : messageArchiveService.removeUsers(users);
+            steps.add(new PurgeReport.Step(Target.USER, "message_archive_segments", "UPDATE", segments));
+            run(Target.USER, USER_PLAN, users, dryRun, steps);
+        } else {
+            run(target, target == Target.GROUP ? GROUP_PLAN : EVENT_PLAN, new Long[]{id}, dryRun, steps);
+        }
+
+        long total = steps.stream()
+                .filter(step -> step.action().equals("DELETE"))
+                .mapToLong(PurgeReport.Step::rows)
+                .sum();
+        long elapsed = System.currentTimeMillis() - start;
+        if (!dryRun) {
+            log.info("Purged {} {}: {} rows deleted in {} ms", target, id, total, elapsed);
+            AfterCommit.run(evictCaches);
+        }
+        return new PurgeReport(target, id, dryRun, steps, total, elapsed);
+    }
+
+    /**
+     * Recoge, antes de borrar, qué cachés quedarán obsoletas: los eventos borrados y aquellos en
+     * los que estaba inscrito el usuario borrado, con el QR de registro de cada evento borrado y
+     * el QR personal de cada inscripción que desaparece.
+     */
+    private Runnable cacheEviction(Long[] events, Long userId) {
+        Set<Long> eventIds = new HashSet<>(Arrays.asList(events));
+        Set<String> payloads = new HashSet<>();
+        for (Long eventId : events) {
+            payloads.add(qrService.generateEventRegistrationPayload(eventId));
+        }
+        jdbcTemplate.query(
+                "SELECT event_id, qr_code FROM registrations WHERE event_id = ANY(?) OR user_id = ?",
+                rs -> {
+                    eventIds.add(rs.getLong("event_id"));
+                    if (rs.getString("qr_code") != null) {
+                        payloads.add(rs.getString("qr_code"));
+                    }
+                },
+                events, userId);
+        return () -> {
+            eventIds.forEach(checkInService::evict);
+            qrService.evict(payloads);
+        };
+    }
+
+    private void run(Target scope, List<Step> plan, Long[] ids, boolean dryRun, List<PurgeReport.Step> results) {
+        if (ids.length == 0) {
+            return;
+        }
+        for (Step step : plan) {
+            Object[] args = new Object[dryRun ? step.wherePlaceholders() : step.placeholders()];
+            Arrays.fill(args, ids);
+            long rows = dryRun ? count(step, args) : execute(step, args);
+            results.add(new PurgeReport.Step(scope, step.table(), step.isDelete() ? "DELETE" : "UPDATE", rows));
+        }
+    }
+
+    private long count(Step step, Object[] args) {
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM " + step.table() + " WHERE " + step.where(), Long.class, args);
+        return rows != null ? rows : 0;
+    }
+
+    private long execute(Step step, Object[] args) {
+        if (!step.isDelete()) {
+            Integer updated = batchTransaction.execute(status -> jdbcTemplate.update(
+                    "UPDATE " + step.table() + " SET " + step.set() + " WHERE " + step.where(), args));
+            return updated != null ? updated : 0;
+        }
+
+        // ctid permite trocear también las tablas de unión sin columna id
+        String sql = "DELETE FROM " + step.table() + " WHERE ctid = ANY(ARRAY(" +
+                "SELECT ctid FROM " + step.table() + " WHERE " + step.where() + " LIMIT ?))";
+        Object[] batchArgs = Arrays.copyOf(args, args.length + 1);
+        batchArgs[args.length] = batchSize;
+        long total = 0;
+        int deleted;
+        do {
+            Integer batch = batchTransaction.execute(status -> jdbcTemplate.update(sql, batchArgs));
+            deleted = batch != null ? batch : 0;
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+}
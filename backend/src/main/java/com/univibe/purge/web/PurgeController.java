@@ -0,0 +1,43 @@
+package com.univibe.purge.web;
+
+import com.univibe.purge.dto.PurgeReport;
+import com.univibe.purge.service.PurgeService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Borrado en cascada para administradores. {@code GET} devuelve el plan con los conteos sin
+ * tocar nada; {@code DELETE} lo ejecuta (también acepta {@code dryRun=true}).
+ */
+@RestController
+@RequestMapping("/api/admin/purge")
+@PreAuthorize("hasRole('ADMIN')")
+public class PurgeController {
+
+    private final PurgeService purgeService;
+
+    public PurgeController(PurgeService purgeService) {
+        this.purgeService = purgeService;
+    }
+
+    @GetMapping("/{target}/{id}")
+    public ResponseEntity<PurgeReport> plan(@PathVariable String target, @PathVariable Long id) {
+        return ResponseEntity.ok(purgeService.purge(parse(target), id, true));
+    }
+
+    @DeleteMapping("/{target}/{id}")
+    public ResponseEntity<PurgeReport> purge(@PathVariable String target,
+                                             @PathVariable Long id,
+                                             @RequestParam(defaultValue = "false") boolean dryRun) {
+        return ResponseEntity.ok(purgeService.purge(parse(target), id, dryRun));
+    }
+
+    private static PurgeService.Target parse(String target) {
+        try {
+            return PurgeService.Target.valueOf(target.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Tipo no soportado: " + target + " (GROUP, EVENT o USER)");
+        }
+    }
+}
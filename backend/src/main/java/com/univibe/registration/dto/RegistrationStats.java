@@ -0,0 +1,13 @@
+package com.univibe.registration.dto;
+
+import java.time.Instant;
+
+/**
+ * Proyección agregada de las inscripciones de un evento (una sola consulta).
+ */
+public interface RegistrationStats {
+    long getTotal();
+    long getCheckedIn();
+    long getPending();
+    Instant getLastCheckInAt();
+}
@@ -1,5 +1,6 @@
 package com.univibe.registration.repo;
 
+import com.univibe.registration.dto.RegistrationStats;
 import com.univibe.registration.model.Registration;
 import com.univibe.registration.model.RegistrationStatus;
 import com.univibe.user.model.User;
@@ -21,6 +22,15 @@ public interface RegistrationRepository extends JpaRepository<Registration, Long
     
     long countByEventIdAndStatus(Long eventId, RegistrationStatus status);
 
+    long countByEventId(Long eventId);
+
+    @Query("SELECT COUNT(r) AS total, " +
+           "COALESCE(SUM(CASE WHEN r.status = com.univibe.registration.model.RegistrationStatus.CHECKED_IN THEN 1 ELSE 0 END), 0) AS checkedIn, " +
+           "COALESCE(SUM(CASE WHEN r.status = com.univibe.registration.model.RegistrationStatus.REGISTERED THEN 1 ELSE 0 END), 0) AS pending, " +
+           "MAX(r.checkedInAt) AS lastCheckInAt " +
+           "FROM Registration r WHERE r.event.id = :eventId")
+    RegistrationStats aggregateByEventId(@Param("eventId") Long eventId);
+
     @Modifying
     @Query("DELETE FROM Registration r WHERE r.event.id = :eventId")
     void deleteByEventId(@Param("eventId") Long eventId);
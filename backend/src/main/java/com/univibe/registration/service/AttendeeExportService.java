@@ -0,0 +1,141 @@
+package com.univibe.registration.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.univibe.event.dto.AttendeePage;
+import com.univibe.event.dto.RegisteredUserResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lectura de asistentes de un evento sin materializar entidades Registration/User.
+ * La exportación recorre las inscripciones por páginas (keyset sobre registrations.id)
+ * y escribe cada página en el flujo de salida antes de pedir la siguiente, así que la
+ * memoria usada no depende del tamaño del evento.
+ */
+@Service
+public class AttendeeExportService {
+
+    public static final int PAGE_SIZE = 500;
+    public static final int MAX_LIST_PAGE_SIZE = 100;
+
+    private static final String SELECT_ATTENDEES = """
+            SELECT r.id AS registration_id, u.id AS user_id, u.name, u.email, r.status, r.checked_in_at
+            FROM registrations r
+            JOIN users u ON u.id = r.user_id
+            WHERE r.event_id = ?""";
+
+    private static final RowMapper<RegisteredUserResponse> ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp checkedInAt = rs.getTimestamp("checked_in_at");
+        return new RegisteredUserResponse(
+                rs.getLong("user_id"),
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getString("status"),
+                checkedInAt != null ? checkedInAt.toInstant() : null
+        );
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public AttendeeExportService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Un tramo de asistentes tras la inscripción {@code afterId}, con el mismo keyset que la
+     * exportación. Se pide una fila de más para saber si hay otro tramo.
+     */
+    public AttendeePage page(Long eventId, Long afterId, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_LIST_PAGE_SIZE));
+        List<Long> registrationIds = new ArrayList<>();
+        RowMapper<RegisteredUserResponse> mapper = (rs, rowNum) -> {
+            registrationIds.add(rs.getLong("registration_id"));
+            return ROW_MAPPER.mapRow(rs, rowNum);
+        };
+        List<RegisteredUserResponse> rows = jdbcTemplate.query(
+                SELECT_ATTENDEES + " AND r.id > ? ORDER BY r.id LIMIT ?", mapper, eventId, afterId != null ? afterId : 0L, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<RegisteredUserResponse> content = hasMore ? rows.subList(0, limit) : rows;
+        Long nextAfterId = content.isEmpty() ? afterId : registrationIds.get(content.size() - 1);
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM registrations WHERE event_id = ?", Long.class, eventId);
+        return new AttendeePage(List.copyOf(content), nextAfterId, hasMore, count != null ? count : 0L);
+    }
+
+    public void writeCsv(Long eventId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,name,email,status,checkedInAt\n");
+        forEachPage(eventId, page -> {
+            for (RegisteredUserResponse attendee : page) {
+                writer.write(attendee.getId() + ","
+                        + csv(attendee.getName()) + ","
+                        + csv(attendee.getEmail()) + ","
+                        + attendee.getStatus() + ","
+                        + (attendee.getCheckedInAt() != null ? attendee.getCheckedInAt().toString() : "")
+                        + "\n");
+            }
+            writer.flush();
+        });
+        writer.flush();
+    }
+
+    public void writeNdjson(Long eventId, OutputStream out) throws IOException {
+        forEachPage(eventId, page -> {
+            for (RegisteredUserResponse attendee : page) {
+                out.write(objectMapper.writeValueAsBytes(attendee));
+                out.write('\n');
+            }
+            out.flush();
+        });
+    }
+
+    private void forEachPage(Long eventId, PageConsumer consumer) throws IOException {
+        long[] lastRegistrationId = {0L};
+        RowMapper<RegisteredUserResponse> mapper = (rs, rowNum) -> {
+            lastRegistrationId[0] = rs.getLong("registration_id");
+            return ROW_MAPPER.mapRow(rs, rowNum);
+        };
+        String sql = SELECT_ATTENDEES + " AND r.id > ? ORDER BY r.id LIMIT ?";
+        while (true) {
+            List<RegisteredUserResponse> page = jdbcTemplate.query(sql, mapper, eventId, lastRegistrationId[0], PAGE_SIZE);
+            if (page.isEmpty()) {
+                return;
+            }
+            consumer.accept(page);
+            if (page.size() < PAGE_SIZE) {
+                return;
+            }
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        // Las hojas de cálculo evalúan como fórmula lo que empieza por estos caracteres
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface PageConsumer {
+        void accept(List<RegisteredUserResponse> page) throws IOException;
+    }
+}
@@ -0,0 +1,325 @@
+package com.univibe.registration.service;
+
+import com.univibe.event.model.Event;
+import com.univibe.event.model.EventStatus;
+import com.univibe.event.repo.EventRepository;
+import com.univibe.gamification.event.EventRegistrationEvent;
+import com.univibe.registration.dto.CheckInResponse;
+import com.univibe.registration.model.RegistrationStatus;
+import com.univibe.user.model.User;
+import com.univibe.user.repo.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Motor de check-in para la entrada de eventos.
+ * <p>
+ * Mantiene por evento un índice en memoria userId → estado de la inscripción, que se
+ * precarga cuando el evento pasa a LIVE. Los duplicados se rechazan desde el índice sin ir a
+ * la base de datos y el check-in en sí es un UPDATE condicional
+ * ({@code WHERE status = 'REGISTERED'}), así que dos escaneos simultáneos del mismo QR no
+ * pueden registrar dos entradas. Los puntos, los logros y el contador en vivo
+ * ({@code /topic/events.{id}.checkins}) se procesan por lotes en segundo plano: el lote se
+ * reclama en la base de datos ({@code points_awarded}) en la misma transacción que suma los
+ * puntos, así que si algo falla o el proceso se reinicia los check-ins siguen pendientes y se
+ * procesan en la siguiente pasada.
+ */
+@Service
+public class CheckInService {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckInService.class);
+
+    private static final int ATTENDANCE_POINTS = 1;
+    private static final long ON_TIME_WINDOW_SECONDS = 15 * 60;
+    private static final long FLUSH_INTERVAL_MILLIS = 500;
+
+    private static final int CLAIM_BATCH_SIZE = 500;
+
+    private static final String CHECK_IN_SQL =
+            "UPDATE registrations SET status = 'CHECKED_IN', checked_in_at = ? " +
+            "WHERE event_id = ? AND user_id = ? AND status = 'REGISTERED'";
+
+    // SKIP LOCKED: con varias instancias cada una reclama filas distintas
+    private static final String CLAIM_SQL =
+            "UPDATE registrations r SET points_awarded = true FROM events e " +
+            "WHERE e.id = r.event_id AND r.id IN (" +
+            "  SELECT id FROM registrations WHERE status = 'CHECKED_IN' AND NOT points_awarded " +
+            "  ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING r.event_id, r.user_id, " +
+            "  (e.start_time IS NULL OR r.checked_in_at < e.start_time + ? * interval '1 second') AS on_time";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, EventIndex> indexes = new ConcurrentHashMap<>();
+    // Aviso de que hay check-ins sin procesar; empieza en true para recoger los que dejó un reinicio
+    private final AtomicBoolean pending = new AtomicBoolean(true);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    public CheckInService(JdbcTemplate jdbcTemplate,
+                          EventRepository eventRepository,
+                          UserRepository userRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          SimpMessagingTemplate messagingTemplate,
+                          PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.messagingTemplate = messagingTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Con la aplicación lista y no en @PostConstruct: los @EventListener de gamificación se
+    // registran al final del arranque y un lote recuperado antes publicaría eventos sin oyentes
+    @EventListener(ApplicationReadyEvent.class)
+    public void startFlusher() {
+        scheduler.scheduleWithFixedDelay(this::flushSafely, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdownScheduler() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+    }
+
+    /**
+     * Precarga el índice de inscripciones del evento. Se llama al pasar el evento a LIVE.
+     */
+    public void warm(Event event) {
+        indexes.put(event.getId(), loadIndex(event));
+    }
+
+    public void evict(Long eventId) {
+        indexes.remove(eventId);
+    }
+
+    /**
+     * Mantiene el índice al día cuando alguien se inscribe con el evento ya en curso.
+     */
+    public void onRegistered(Long eventId, Long userId) {
+        EventIndex index = indexes.get(eventId);
+        if (index != null && index.states.putIfAbsent(userId, RegistrationStatus.REGISTERED) == null) {
+            index.total.incrementAndGet();
+        }
+    }
+
+    /**
+     * Check-in con el QR personal del participante (userId:eventId).
+     */
+    public CheckInResponse checkInWithQr(Long userId, Long eventId) {
+        String notRegistered = "No se encontró un registro asociado a este QR.";
+        return checkIn(resolveIndex(eventId, notRegistered), userId, notRegistered);
+    }
+
+    /**
+     * Check-in del propio usuario con la contraseña del evento.
+     */
+    public CheckInResponse checkInWithPassword(Long userId, Long eventId, String password) {
+        String notRegistered = "Debes estar registrado al evento para hacer check-in";
+        EventIndex index = resolveIndex(eventId, notRegistered);
+        if (index.status != EventStatus.LIVE) {
+            throw new IllegalStateException("El evento debe estar en curso (LIVE) para hacer check-in");
+        }
+        if (!password.equals(index.checkInPassword)) {
+            throw new IllegalArgumentException("Contraseña de check-in incorrecta");
+        }
+        return checkIn(index, userId, notRegistered);
+    }
+
+    private CheckInResponse checkIn(EventIndex index, Long userId, String notRegisteredMessage) {
+        RegistrationStatus known = index.states.get(userId);
+        if (known == RegistrationStatus.CHECKED_IN) {
+            throw new IllegalStateException("Already checked in");
+        }
+
+        Instant now = Instant.now();
+        int updated = jdbcTemplate.update(CHECK_IN_SQL, Timestamp.from(now), index.eventId, userId);
+        if (updated == 0) {
+            // Sin fila en REGISTERED: o ya hizo check-in (otro escaneo ganó la carrera) o no está inscrito
+            List<String> current = jdbcTemplate.queryForList(
+                    "SELECT status FROM registrations WHERE event_id = ? AND user_id = ?",
+                    String.class, index.eventId, userId);
+            if (current.isEmpty()) {
+                throw new IllegalStateException(notRegisteredMessage);
+            }
+            RegistrationStatus status = RegistrationStatus.valueOf(current.get(0));
+            index.states.put(userId, status);
+            if (status == RegistrationStatus.CHECKED_IN) {
+                throw new IllegalStateException("Already checked in");
+            }
+            throw new IllegalStateException("La inscripción no permite check-in (" + status + ")");
+        }
+
+        index.states.put(userId, RegistrationStatus.CHECKED_IN);
+        index.checkedIn.incrementAndGet();
+        pending.set(true);
+        return new CheckInResponse(RegistrationStatus.CHECKED_IN, now);
+    }
+
+    private EventIndex resolveIndex(Long eventId, String notRegisteredMessage) {
+        EventIndex index = indexes.get(eventId);
+        if (index != null) {
+            return index;
+        }
+        // Un evento inexistente no puede tener inscripciones: mismo error que sin registro
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalStateException(notRegisteredMessage));
+        if (event.getStatus() != EventStatus.LIVE) {
+            // Fuera de la ventana LIVE no se precarga nada: el UPDATE condicional basta
+            return new EventIndex(event.getId(), event.getStatus(), event.getCheckInPassword());
+        }
+        // Evento LIVE sin índice (p. ej. tras un reinicio): se precarga en el primer escaneo
+        return indexes.computeIfAbsent(eventId, id -> loadIndex(event));
+    }
+
+    private EventIndex loadIndex(Event event) {
+        EventIndex index = new EventIndex(event.getId(), event.getStatus(), event.getCheckInPassword());
+        jdbcTemplate.query("SELECT user_id, status FROM registrations WHERE event_id = ?", rs -> {
+            RegistrationStatus status = RegistrationStatus.valueOf(rs.getString("status"));
+            index.states.put(rs.getLong("user_id"), status);
+            index.total.incrementAndGet();
+            if (status == RegistrationStatus.CHECKED_IN) {
+                index.checkedIn.incrementAndGet();
+            }
+        }, event.getId());
+        return index;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Error processing check-in side effects", e);
+        }
+    }
+
+    private void flush() {
+        if (!pending.getAndSet(false)) {
+            return;
+        }
+        try {
+            while (awardBatch() == CLAIM_BATCH_SIZE) {
+                // Lote lleno: puede quedar más
+            }
+        } catch (RuntimeException e) {
+            // La transacción se deshizo y las filas siguen sin reclamar: se reintenta en la siguiente pasada
+            pending.set(true);
+            throw e;
+        }
+    }
+
+    /**
+     * Reclama un lote de check-ins sin procesar, suma los puntos con un solo UPDATE y publica
+     * los eventos de gamificación, todo en una transacción. Devuelve cuántos reclamó.
+     */
+    private int awardBatch() {
+        List<ClaimedCheckIn> batch = transactionTemplate.execute(status -> {
+            List<ClaimedCheckIn> claimed = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new ClaimedCheckIn(
+                    rs.getLong("event_id"), rs.getLong("user_id"), rs.getBoolean("on_time")),
+                    CLAIM_BATCH_SIZE, ON_TIME_WINDOW_SECONDS);
+            if (claimed.isEmpty()) {
+                return claimed;
+            }
+
+            Map<Long, Integer> pointsByUser = new HashMap<>();
+            for (ClaimedCheckIn checkIn : claimed) {
+                pointsByUser.merge(checkIn.userId(), ATTENDANCE_POINTS, Integer::sum);
+            }
+            jdbcTemplate.batchUpdate(
+                    "UPDATE users SET points = points + ? WHERE id = ?",
+                    pointsByUser.entrySet().stream()
+                            .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                            .collect(Collectors.toList()));
+
+            // El contador de user_stats se actualiza dentro de esta transacción; los logros, tras el commit
+            Map<Long, User> users = userRepository.findAllById(pointsByUser.keySet()).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            for (ClaimedCheckIn checkIn : claimed) {
+                User user = users.get(checkIn.userId());
+                if (user != null) {
+                    eventPublisher.publishEvent(new EventRegistrationEvent(this, user, checkIn.eventId(), checkIn.onTime()));
+                }
+            }
+            return claimed;
+        });
+
+        Set<Long> eventIds = new HashSet<>();
+        batch.forEach(checkIn -> eventIds.add(checkIn.eventId()));
+        eventIds.forEach(this::publishCounter);
+        return batch.size();
+    }
+
+    private void publishCounter(Long eventId) {
+        EventIndex index = indexes.get(eventId);
+        long checkedIn;
+        long total;
+        if (index != null) {
+            checkedIn = index.checkedIn.get();
+            total = index.total.get();
+        } else {
+            Map<String, Object> counts = jdbcTemplate.queryForMap(
+                    "SELECT count(*) AS total, count(*) FILTER (WHERE status = 'CHECKED_IN') AS checked_in " +
+                    "FROM registrations WHERE event_id = ?", eventId);
+            checkedIn = ((Number) counts.get("checked_in")).longValue();
+            total = ((Number) counts.get("total")).longValue();
+        }
+        messagingTemplate.convertAndSend("/topic/events." + eventId + ".checkins", Map.of(
+                "eventId", eventId,
+                "checkedIn", checkedIn,
+                "total", total
+        ));
+    }
+
+    private record ClaimedCheckIn(Long eventId, Long userId, boolean onTime) {
+    }
+
+    private static final class EventIndex {
+        private final Long eventId;
+        private final EventStatus status;
+        private final String checkInPassword;
+        private final Map<Long, RegistrationStatus> states = new ConcurrentHashMap<>();
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong checkedIn = new AtomicLong();
+
+        private EventIndex(Long eventId, EventStatus status, String checkInPassword) {
+            this.eventId = eventId;
+            this.status = status;
+            this.checkInPassword = checkInPassword;
+        }
+    }
+}
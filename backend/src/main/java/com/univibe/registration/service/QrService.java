@@ -5,24 +5,68 @@ import com.google.zxing.WriterException;
 import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
+import com.univibe.common.cache.LruCache;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
 
+/**
+ * Generación de códigos QR. Los payloads son deterministas (userId:eventId, REGISTER:eventId),
+ * así que cada imagen se renderiza una sola vez y se sirve desde una caché LRU acotada
+ * indexada por formato, tamaño y payload.
+ */
 @Service
 public class QrService {
+
+    public static final int DEFAULT_SIZE = 256;
+    public static final int MIN_SIZE = 64;
+    public static final int MAX_SIZE = 1024;
+    private static final int CACHE_ENTRIES = 2048;
+
+    public enum Format { PNG, SVG }
+
+    public record QrImage(byte[] data, String etag) {
+    }
+
+    private record CacheKey(Format format, int size, String payload) {
+    }
+
+    private final LruCache<CacheKey, QrImage> cache = new LruCache<>(CACHE_ENTRIES);
+
     public String generateBase64Png(String payload) {
-        try {
-            QRCodeWriter qrCodeWriter = new QRCodeWriter();
-            BitMatrix matrix = qrCodeWriter.encode(payload, BarcodeFormat.QR_CODE, 256, 256);
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            MatrixToImageWriter.writeToStream(matrix, "PNG", baos);
-            return Base64.getEncoder().encodeToString(baos.toByteArray());
-        } catch (WriterException | IOException e) {
-            throw new RuntimeException("Failed to generate QR", e);
+        return Base64.getEncoder().encodeToString(render(payload, Format.PNG, DEFAULT_SIZE).data());
+    }
+
+    public QrImage render(String payload, Format format, int size) {
+        int clamped = Math.max(MIN_SIZE, Math.min(MAX_SIZE, size));
+        return cache.computeIfAbsent(new CacheKey(format, clamped, payload), this::renderUncached);
+    }
+
+    /**
+     * Renderiza por adelantado el PNG por defecto (p. ej. el QR de registro al crear un evento).
+     */
+    public void precompute(String payload) {
+        render(payload, Format.PNG, DEFAULT_SIZE);
+    }
+
+    /**
+     * Descarta las imágenes en caché de estos payloads, en todos los formatos y tamaños.
+     */
+    public void evict(Collection<String> payloads) {
+        Set<String> stale = new HashSet<>(payloads);
+        for (CacheKey key : cache.keys()) {
+            if (stale.contains(key.payload())) {
+                cache.remove(key);
+            }
         }
     }
 
@@ -36,4 +80,68 @@ public class QrService {
         String raw = "REGISTER:" + eventId;
         return Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
     }
+
+    private QrImage renderUncached(CacheKey key) {
+        try {
+            QRCodeWriter qrCodeWriter = new QRCodeWriter();
+            byte[] data;
+            if (key.format() == Format.SVG) {
+                // Tamaño 0: un píxel por módulo; el escalado lo hace el navegador
+                BitMatrix modules = qrCodeWriter.encode(key.payload(), BarcodeFormat.QR_CODE, 0, 0);
+                data = toSvg(modules, key.size());
+            } else {
+                BitMatrix matrix = qrCodeWriter.encode(key.payload(), BarcodeFormat.QR_CODE, key.size(), key.size());
+                data = toPng(matrix);
+            }
+            return new QrImage(data, etag(key));
+        } catch (WriterException | IOException e) {
+            throw new RuntimeException("Failed to generate QR", e);
+        }
+    }
+
+    private static byte[] toPng(BitMatrix matrix) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MatrixToImageWriter.writeToStream(matrix, "PNG", baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * SVG con un único path: cada tramo horizontal de módulos oscuros es un subpath
+     * rectangular, lo que deja el archivo muy por debajo del PNG equivalente.
+     */
+    private static byte[] toSvg(BitMatrix matrix, int size) {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        StringBuilder path = new StringBuilder();
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            while (x < width) {
+                if (!matrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && matrix.get(x, y)) {
+                    x++;
+                }
+                path.append('M').append(start).append(' ').append(y)
+                    .append('h').append(x - start).append("v1h").append(start - x).append('z');
+            }
+        }
+        String svg = "<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 " + width + " " + height + "\""
+                + " width=\"" + size + "\" height=\"" + size + "\" shape-rendering=\"crispEdges\">"
+                + "<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/>"
+                + "<path fill=\"#000\" d=\"" + path + "\"/></svg>";
+        return svg.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String etag(CacheKey key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((key.format() + ":" + key.size() + ":" + key.payload()).getBytes(StandardCharsets.UTF_8));
+            return "\"qr-" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
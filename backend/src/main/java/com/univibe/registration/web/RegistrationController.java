@@ -1,13 +1,12 @@
 package com.univibe.registration.web;
 
+import com.univibe.common.transaction.AfterCommit;
 import com.univibe.event.model.Event;
 import com.univibe.event.service.EventSecurityService;
 import com.univibe.event.repo.EventRepository;
-import com.univibe.gamification.service.GamificationService;
-import com.univibe.gamification.event.EventRegistrationEvent;
 import com.univibe.registration.model.Registration;
-import com.univibe.registration.model.RegistrationStatus;
 import com.univibe.registration.repo.RegistrationRepository;
+import com.univibe.registration.service.CheckInService;
 import com.univibe.registration.service.QrService;
 import com.univibe.registration.dto.RegistrationResponse;
 import com.univibe.registration.dto.CheckInRequest;
@@ -16,12 +15,14 @@ import com.univibe.user.model.User;
 import com.univibe.user.repo.UserRepository;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -36,16 +37,16 @@ public class RegistrationController {
     private final EventRepository eventRepository;
     private final QrService qrService;
     private final ApplicationEventPublisher eventPublisher;
-    private final GamificationService gamificationService;
+    private final CheckInService checkInService;
     private final EventSecurityService eventSecurityService;
 
-    public RegistrationController(RegistrationRepository registrationRepository, UserRepository userRepository, EventRepository eventRepository, QrService qrService, ApplicationEventPublisher eventPublisher, GamificationService gamificationService, EventSecurityService eventSecurityService) {
+    public RegistrationController(RegistrationRepository registrationRepository, UserRepository userRepository, EventRepository eventRepository, QrService qrService, ApplicationEventPublisher eventPublisher, CheckInService checkInService, EventSecurityService eventSecurityService) {
         this.registrationRepository = registrationRepository;
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
         this.qrService = qrService;
         this.eventPublisher = eventPublisher;
-        this.gamificationService = gamificationService;
+        this.checkInService = checkInService;
         this.eventSecurityService = eventSecurityService;
     }
 
@@ -78,6 +79,7 @@ public class RegistrationController {
     }
 
     @PostMapping("/scan")
+    @Transactional
     public RegistrationResponse scanEventQr(@RequestBody Map<String, String> body, Authentication auth) {
         String email = (String) auth.getPrincipal();
         User user = userRepository.findByEmail(email).orElseThrow();
@@ -119,12 +121,15 @@ public class RegistrationController {
         r.setEvent(event);
         r.setQrCode(userPayload);
         registrationRepository.save(r);
+        // El índice en memoria solo debe ver la inscripción si se confirma
+        AfterCommit.run(() -> checkInService.onRegistered(eventId, user.getId()));
         eventPublisher.publishEvent(new com.univibe.common.event.RegistrationCreatedEvent(user.getEmail(), event.getTitle(), event.getStartTime()));
         
         return new RegistrationResponse(r.getId(), qrBase64, r.getStatus().name(), r.getCheckedInAt());
     }
 
     @PostMapping(value = "/events/{eventId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Transactional
     public RegistrationResponse register(Authentication auth, @PathVariable Long eventId) {
         String email = (String) auth.getPrincipal();
         User user = userRepository.findByEmail(email).orElseThrow();
@@ -146,6 +151,8 @@ public class RegistrationController {
         r.setEvent(event);
         r.setQrCode(payload);
         registrationRepository.save(r);
+        // El índice en memoria solo debe ver la inscripción si se confirma
+        AfterCommit.run(() -> checkInService.onRegistered(eventId, user.getId()));
         eventPublisher.publishEvent(new com.univibe.common.event.RegistrationCreatedEvent(user.getEmail(), event.getTitle(), event.getStartTime()));
 
         return new RegistrationResponse(r.getId(), qrBase64, r.getStatus().name(), r.getCheckedInAt());
@@ -173,14 +180,64 @@ public class RegistrationController {
         ));
     }
 
-    @PostMapping("/check-in")
-    public CheckInResponse checkIn(@RequestBody CheckInRequest body, Authentication auth) {
+    @GetMapping("/events/{eventId}/image")
+    public ResponseEntity<?> getRegistrationQrImage(@PathVariable Long eventId,
+                                                    @RequestParam(defaultValue = "png") String format,
+                                                    @RequestParam(defaultValue = "256") int size,
+                                                    Authentication auth) {
+        String email = (String) auth.getPrincipal();
+        User user = userRepository.findByEmail(email).orElseThrow();
+        Optional<Registration> registration = registrationRepository.findByUserIdAndEventId(user.getId(), eventId);
+        if (registration.isEmpty()) {
+            return ResponseEntity.status(org.springframework.http.HttpStatus.NOT_FOUND)
+                .body(Map.of("message", "Not registered"));
+        }
+        QrService.Format qrFormat = parseFormat(format);
+        return qrImageResponse(qrService.render(registration.get().getQrCode(), qrFormat, size), qrFormat);
+    }
+
+    @GetMapping("/events/{eventId}/qr/image")
+    public ResponseEntity<?> getEventRegistrationQrImage(@PathVariable Long eventId,
+                                                         @RequestParam(defaultValue = "png") String format,
+                                                         @RequestParam(defaultValue = "256") int size,
+                                                         Authentication auth) {
         String email = (String) auth.getPrincipal();
         User user = userRepository.findByEmail(email).orElseThrow();
-        Long userId = user.getId();
-        Long eventId;
-        Registration r;
+        Event event = eventRepository.findById(eventId).orElseThrow();
+        ensureUserCanAccess(event, user);
+
+        if (event.getStatus() == com.univibe.event.model.EventStatus.FINISHED) {
+            return ResponseEntity.status(org.springframework.http.HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", "No se puede registrar a eventos finalizados"));
+        }
+
+        QrService.Format qrFormat = parseFormat(format);
+        String payload = qrService.generateEventRegistrationPayload(eventId);
+        return qrImageResponse(qrService.render(payload, qrFormat, size), qrFormat);
+    }
+
+    private QrService.Format parseFormat(String format) {
+        try {
+            return QrService.Format.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Formato de QR no soportado. Usa png o svg");
+        }
+    }
 
+    // La URL no identifica al usuario y el QR de inscripción deja de servir al finalizar el evento:
+    // sin caché fresca, el navegador revalida siempre con el ETag y Spring responde 304 si coincide
+    private ResponseEntity<byte[]> qrImageResponse(QrService.QrImage image, QrService.Format format) {
+        MediaType contentType = format == QrService.Format.SVG ? MediaType.valueOf("image/svg+xml") : MediaType.IMAGE_PNG;
+        return ResponseEntity.ok()
+            .contentType(contentType)
+            .eTag(image.etag())
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .varyBy(HttpHeaders.AUTHORIZATION)
+            .body(image.data());
+    }
+
+    @PostMapping("/check-in")
+    public CheckInResponse checkIn(@RequestBody CheckInRequest body, Authentication auth) {
         // Verificar si es check-in con QR o con contraseña
         if (body.getPayload() != null && !body.getPayload().trim().isEmpty()) {
             // Check-in con QR (método original)
@@ -201,6 +258,8 @@ public class RegistrationController {
                 throw new IllegalArgumentException("Formato de QR inválido. Asegúrate de escanear el código personal generado al registrarse.");
             }
 
+            Long userId;
+            Long eventId;
             try {
                 userId = Long.parseLong(parts[0]);
                 eventId = Long.parseLong(parts[1]);
@@ -208,49 +267,14 @@ public class RegistrationController {
                 throw new IllegalArgumentException("El QR escaneado no corresponde a un registro válido.");
             }
 
-            r = registrationRepository.findByUserIdAndEventId(userId, eventId)
-                .orElseThrow(() -> new IllegalStateException("No se encontró un registro asociado a este QR."));
+            return checkInService.checkInWithQr(userId, eventId);
         } else if (body.getEventId() != null && body.getPassword() != null) {
             // Check-in con contraseña
-            eventId = body.getEventId();
-            com.univibe.event.model.Event event = eventRepository.findById(eventId).orElseThrow();
-            
-            // Verificar que el evento esté LIVE
-            if (event.getStatus() != com.univibe.event.model.EventStatus.LIVE) {
-                throw new IllegalStateException("El evento debe estar en curso (LIVE) para hacer check-in");
-            }
-            
-            // Verificar la contraseña
-            if (!body.getPassword().equals(event.getCheckInPassword())) {
-                throw new IllegalArgumentException("Contraseña de check-in incorrecta");
-            }
-            
-            // Buscar el registro del usuario
-            r = registrationRepository.findByUserIdAndEventId(userId, eventId)
-                .orElseThrow(() -> new IllegalStateException("Debes estar registrado al evento para hacer check-in"));
+            String email = (String) auth.getPrincipal();
+            User user = userRepository.findByEmail(email).orElseThrow();
+            return checkInService.checkInWithPassword(user.getId(), body.getEventId(), body.getPassword());
         } else {
             throw new IllegalArgumentException("Debe proporcionar payload (QR) o eventId + password");
         }
-
-        if (r.getStatus() == RegistrationStatus.CHECKED_IN) {
-            throw new IllegalStateException("Already checked in");
-        }
-        r.setStatus(RegistrationStatus.CHECKED_IN);
-        r.setCheckedInAt(Instant.now());
-        registrationRepository.save(r);
-        
-        // Otorgar 1 punto por asistir al evento
-        gamificationService.addPoints(userId, 1);
-        
-        // Publish event for achievements
-        // Check if on time (within 15 minutes of start time)
-        com.univibe.event.model.Event event = r.getEvent();
-        boolean isOnTime = true;
-        if (event.getStartTime() != null) {
-            isOnTime = r.getCheckedInAt().isBefore(event.getStartTime().plusSeconds(15 * 60));
-        }
-        eventPublisher.publishEvent(new EventRegistrationEvent(this, user, eventId, isOnTime));
-        
-        return new CheckInResponse(r.getStatus(), r.getCheckedInAt());
     }
 }
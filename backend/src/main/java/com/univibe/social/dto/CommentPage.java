@@ -0,0 +1,13 @@
+package com.univibe.social.dto;
+
+import java.util.List;
+
+/**
+ * Tramo de comentarios en orden cronológico. Para el siguiente se pasa {@code afterId =
+ * nextAfterId} mientras {@code hasMore} sea true.
+ */
+public record CommentPage(
+        List<CommentView> content,
+        Long nextAfterId,
+        boolean hasMore
+) {}
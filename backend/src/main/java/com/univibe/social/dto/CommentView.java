@@ -0,0 +1,21 @@
+package com.univibe.social.dto;
+
+import java.time.Instant;
+
+/**
+ * Comentario con su autor, proyectado en la misma consulta (sin cargar entidades).
+ */
+public record CommentView(
+        Long id,
+        String content,
+        Instant createdAt,
+        Author user
+) {
+    public record Author(Long id, String name, String profilePictureUrl) {
+    }
+
+    // Constructor plano para la proyección JPQL "SELECT new ..."
+    public CommentView(Long id, String content, Instant createdAt, Long userId, String userName, String profilePictureUrl) {
+        this(id, content, createdAt, new Author(userId, userName, profilePictureUrl != null ? profilePictureUrl : ""));
+    }
+}
@@ -0,0 +1,28 @@
+package com.univibe.social.dto;
+
+import com.univibe.social.model.Report;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Elemento de la cola de moderación: todos los reportes de un mismo objetivo
+ * {@code (type, targetId)} en un estado, con su prioridad y los reportes más recientes.
+ */
+public record ModerationItem(
+        Report.ReportType type,
+        Long targetId,
+        Report.ReportStatus status,
+        long reportCount,
+        long reporterCount,
+        Instant firstReportedAt,
+        Instant lastReportedAt,
+        double priority,
+        List<Sample> recentReports
+) {
+    public record Sample(Long id, String reason, String details, Instant createdAt, Reporter reportedBy) {
+    }
+
+    public record Reporter(Long id, String name, String email) {
+    }
+}
@@ -8,8 +8,13 @@ public class UserProfileResponse {
     private String qrCodeBase64;
     private String profilePictureUrl;
     private long totalLikes;
+    private long postsCount;
+    private long friendsCount;
+    private long eventsAttended;
+    private long storiesCount;
 
-    public UserProfileResponse(Long id, String name, String email, int points, String qrCodeBase64, String profilePictureUrl, long totalLikes) {
+    public UserProfileResponse(Long id, String name, String email, int points, String qrCodeBase64, String profilePictureUrl,
+                               long totalLikes, long postsCount, long friendsCount, long eventsAttended, long storiesCount) {
         this.id = id;
         this.name = name;
         this.email = email;
@@ -17,6 +22,10 @@ public class UserProfileResponse {
         this.qrCodeBase64 = qrCodeBase64;
         this.profilePictureUrl = profilePictureUrl;
         this.totalLikes = totalLikes;
+        this.postsCount = postsCount;
+        this.friendsCount = friendsCount;
+        this.eventsAttended = eventsAttended;
+        this.storiesCount = storiesCount;
     }
 
     public Long getId() { return id; }
@@ -26,6 +35,10 @@ public class UserProfileResponse {
     public String getQrCodeBase64() { return qrCodeBase64; }
     public String getProfilePictureUrl() { return profilePictureUrl; }
     public long getTotalLikes() { return totalLikes; }
+    public long getPostsCount() { return postsCount; }
+    public long getFriendsCount() { return friendsCount; }
+    public long getEventsAttended() { return eventsAttended; }
+    public long getStoriesCount() { return storiesCount; }
 }
 
 
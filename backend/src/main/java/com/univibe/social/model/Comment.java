@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "post_comments")
+@Table(name = "post_comments", indexes = {
+        @Index(name = "idx_post_comments_post_id_id", columnList = "post_id, id")
+})
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,6 +29,8 @@ public class Post {
     @Column(columnDefinition = "TEXT")
     private String musicUrl;
 
+    // Solo para el mapeo de post_likes: los likes se gestionan en PostLikeService y el total
+    // está desnormalizado en likes_count, así que no hace falta inicializar la colección
     @ManyToMany
     @JoinTable(
         name = "post_likes",
@@ -37,6 +39,9 @@ public class Post {
     )
     private Set<User> likedBy = new HashSet<>();
 
+    @Column(name = "likes_count", nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    private int likesCount = 0;
+
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<com.univibe.social.model.Comment> comments = new HashSet<>();
 
@@ -60,6 +65,7 @@ public class Post {
     public void setMusicUrl(String musicUrl) { this.musicUrl = musicUrl; }
     public Set<User> getLikedBy() { return likedBy; }
     public void setLikedBy(Set<User> likedBy) { this.likedBy = likedBy; }
+    public int getLikesCount() { return likesCount; }
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
@@ -5,7 +5,10 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "reports")
+@Table(name = "reports", indexes = {
+        @Index(name = "idx_reports_status", columnList = "status"),
+        @Index(name = "idx_reports_type_target", columnList = "type, target_id")
+})
 public class Report {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -15,7 +18,7 @@ public class Report {
     @Column(nullable = false)
     private ReportType type;
 
-    @Column(nullable = false)
+    @Column(name = "target_id", nullable = false)
     private Long targetId;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
@@ -1,17 +1,33 @@
 package com.univibe.social.repo;
 
+import com.univibe.social.dto.CommentView;
 import com.univibe.social.model.Comment;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    Page<Comment> findByPostIdOrderByCreatedAtAsc(Long postId, Pageable pageable);
-    
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.post.id = :postId")
     long countByPostId(@Param("postId") Long postId);
+
+    // Paginación por clave sobre (post_id, id) con el autor en la misma consulta
+    @Query("SELECT new com.univibe.social.dto.CommentView(c.id, c.content, c.createdAt, u.id, u.name, u.profilePictureUrl) " +
+           "FROM Comment c JOIN c.user u " +
+           "WHERE c.post.id = :postId AND c.id > :afterId ORDER BY c.id ASC")
+    List<CommentView> findViewsAfter(@Param("postId") Long postId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Conteo de comentarios de toda una página del feed en una consulta agrupada
+    @Query("SELECT c.post.id AS postId, COUNT(c) AS total FROM Comment c WHERE c.post.id IN :postIds GROUP BY c.post.id")
+    List<PostCommentCount> countByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    interface PostCommentCount {
+        Long getPostId();
+        long getTotal();
+    }
 }
 
 
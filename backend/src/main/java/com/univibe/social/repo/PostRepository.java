@@ -17,7 +17,7 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     long countByUserAndMediaUrlIsNotNull(User user);
     long countByUserAndMusicUrlIsNotNull(User user);
     
-    @Query("SELECT COALESCE(SUM(SIZE(p.likedBy)), 0) FROM Post p WHERE p.user = :user")
+    @Query("SELECT COALESCE(SUM(p.likesCount), 0) FROM Post p WHERE p.user = :user")
     long countTotalLikesByUser(@Param("user") User user);
 }
 
@@ -3,10 +3,13 @@ package com.univibe.social.repo;
 import com.univibe.social.model.Report;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface ReportRepository extends JpaRepository<Report, Long> {
+    @EntityGraph(attributePaths = {"reportedBy", "reviewedBy"})
     Page<Report> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    @EntityGraph(attributePaths = {"reportedBy", "reviewedBy"})
     Page<Report> findByStatusOrderByCreatedAtDesc(Report.ReportStatus status, Pageable pageable);
 }
 
@@ -0,0 +1,62 @@
+package com.univibe.social.service;
+
+import com.univibe.common.exception.NotFoundException;
+import com.univibe.social.dto.CommentPage;
+import com.univibe.social.dto.CommentView;
+import com.univibe.social.repo.CommentRepository;
+import com.univibe.social.repo.PostRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lectura de comentarios: tramos por clave ({@code id > afterId}) con el autor proyectado en la
+ * misma consulta y conteos por lotes para las páginas del feed.
+ */
+@Service
+public class CommentReadService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+
+    public CommentReadService(CommentRepository commentRepository, PostRepository postRepository) {
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public CommentPage comments(Long postId, Long afterId, int size) {
+        if (!postRepository.existsById(postId)) {
+            throw new NotFoundException("Publicación no encontrada");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Uno de más para saber si hay otro tramo
+        List<CommentView> rows = commentRepository.findViewsAfter(
+                postId, afterId != null ? afterId : 0L, PageRequest.of(0, limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<CommentView> content = hasMore ? rows.subList(0, limit) : rows;
+        Long nextAfterId = content.isEmpty() ? afterId : content.get(content.size() - 1).id();
+        return new CommentPage(List.copyOf(content), nextAfterId, hasMore);
+    }
+
+    /**
+     * Número de comentarios por publicación; las que no tienen comentarios no aparecen.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> countsFor(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        commentRepository.countByPostIds(postIds).forEach(row -> counts.put(row.getPostId(), row.getTotal()));
+        return counts;
+    }
+}
@@ -0,0 +1,125 @@
+package com.univibe.social.service;
+
+import com.univibe.common.exception.NotFoundException;
+import com.univibe.common.transaction.AfterCommit;
+import com.univibe.gamification.event.LikeReceivedEvent;
+import com.univibe.gamification.service.UserStatsService;
+import com.univibe.gamification.service.UserStatsService.Counter;
+import com.univibe.user.repo.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Likes de publicaciones sin cargar {@code Post.likedBy}.
+ * <p>
+ * Dar y quitar like son un {@code INSERT ... ON CONFLICT DO NOTHING} y un {@code DELETE} sobre
+ * {@code post_likes}; solo si cambian una fila se ajusta {@code posts.likes_count} con un
+ * {@code UPDATE ... RETURNING}, así que dos clics simultáneos no pierden actualizaciones y el
+ * contador no se desvía. {@code user_stats.likes_received} del dueño se ajusta en la misma
+ * transacción; {@link LikeReceivedEvent} (solo logros) se publica tras el commit y una única
+ * vez por like nuevo: repetir un like existente no hace nada.
+ */
+@Service
+public class PostLikeService {
+
+    public record LikeResult(boolean liked, int likesCount) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final UserStatsService userStatsService;
+    private final ApplicationEventPublisher publisher;
+
+    public PostLikeService(JdbcTemplate jdbcTemplate, UserRepository userRepository,
+                           UserStatsService userStatsService, ApplicationEventPublisher publisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.userStatsService = userStatsService;
+        this.publisher = publisher;
+    }
+
+    @Transactional
+    public LikeResult toggle(Long postId, Long userId) {
+        Long ownerId = ownerOf(postId);
+        int removed = jdbcTemplate.update("DELETE FROM post_likes WHERE post_id = ? AND user_id = ?", postId, userId);
+        if (removed > 0) {
+            return new LikeResult(false, applyDelta(postId, ownerId, -1));
+        }
+        return insert(postId, ownerId, userId);
+    }
+
+    @Transactional
+    public LikeResult like(Long postId, Long userId) {
+        return insert(postId, ownerOf(postId), userId);
+    }
+
+    @Transactional
+    public LikeResult unlike(Long postId, Long userId) {
+        Long ownerId = ownerOf(postId);
+        int removed = jdbcTemplate.update("DELETE FROM post_likes WHERE post_id = ? AND user_id = ?", postId, userId);
+        if (removed == 0) {
+            return new LikeResult(false, currentCount(postId));
+        }
+        return new LikeResult(false, applyDelta(postId, ownerId, -1));
+    }
+
+    /**
+     * Ids de {@code postIds} a los que el usuario dio like, en una sola consulta.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> likedPostIds(Long userId, Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Set.of();
+        }
+        List<Long> liked = jdbcTemplate.queryForList(
+                "SELECT post_id FROM post_likes WHERE user_id = ? AND post_id = ANY(?)",
+                Long.class, userId, postIds.toArray(new Long[0]));
+        return new HashSet<>(liked);
+    }
+
+    private LikeResult insert(Long postId, Long ownerId, Long userId) {
+        int inserted = jdbcTemplate.update(
+                "INSERT INTO post_likes (post_id, user_id) VALUES (?, ?) ON CONFLICT (post_id, user_id) DO NOTHING",
+                postId, userId);
+        if (inserted == 0) {
+            return new LikeResult(true, currentCount(postId));
+        }
+        return new LikeResult(true, applyDelta(postId, ownerId, 1));
+    }
+
+    private int applyDelta(Long postId, Long ownerId, int delta) {
+        Integer count = jdbcTemplate.queryForObject(
+                "UPDATE posts SET likes_count = GREATEST(likes_count + ?, 0) WHERE id = ? RETURNING likes_count",
+                Integer.class, delta, postId);
+        int likesCount = count != null ? count : 0;
+        userStatsService.adjust(ownerId, Counter.LIKES_RECEIVED, delta);
+        if (delta > 0) {
+            AfterCommit.run(() -> {
+                // Los listeners de logros usan datos del dueño fuera de esta sesión: entidad completa
+                userRepository.findById(ownerId).ifPresent(owner ->
+                        publisher.publishEvent(new LikeReceivedEvent(this, owner, postId, likesCount)));
+            });
+        }
+        return likesCount;
+    }
+
+    private int currentCount(Long postId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT likes_count FROM posts WHERE id = ?", Integer.class, postId);
+        return count != null ? count : 0;
+    }
+
+    private Long ownerOf(Long postId) {
+        List<Long> owner = jdbcTemplate.queryForList("SELECT user_id FROM posts WHERE id = ?", Long.class, postId);
+        if (owner.isEmpty()) {
+            throw new NotFoundException("Publicación no encontrada");
+        }
+        return owner.get(0);
+    }
+}
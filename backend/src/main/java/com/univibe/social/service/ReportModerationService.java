@@ -0,0 +1,159 @@
+package com.univibe.social.service;
+
+import com.univibe.common.dto.PageResponse;
+import com.univibe.social.dto.ModerationItem;
+import com.univibe.social.model.Report;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cola de moderación de reportes agrupada por objetivo.
+ * <p>
+ * Los reportes de un mismo {@code (type, target_id)} y estado forman un único elemento. Su
+ * prioridad combina cuántas personas distintas lo reportaron (los reportes repetidos de una
+ * misma persona cuentan la mitad) con la recencia del último reporte, que decae a la mitad
+ * cada {@code moderation.priority-half-life-hours}. Para cada elemento de la página se
+ * devuelven los últimos reportes con el autor ya unido, y las transiciones de estado se
+ * aplican a todos los reportes del objetivo en un solo UPDATE (índice
+ * {@code idx_reports_type_target}).
+ */
+@Service
+public class ReportModerationService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int SAMPLES_PER_ITEM = 5;
+
+    private static final String GROUPED =
+            "SELECT r.type, r.target_id, count(*) AS report_count, " +
+            "count(DISTINCT r.reported_by_id) AS reporter_count, " +
+            "min(r.created_at) AS first_reported_at, max(r.created_at) AS last_reported_at " +
+            "FROM reports r WHERE r.status = ? ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double halfLifeHours;
+
+    public ReportModerationService(JdbcTemplate jdbcTemplate,
+                                   @Value("${moderation.priority-half-life-hours:24}") double halfLifeHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.halfLifeHours = halfLifeHours;
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<ModerationItem> queue(Report.ReportStatus status, Report.ReportType type, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(page, 0);
+        String typeFilter = type != null ? "AND r.type = ? " : "";
+        List<Object> args = new ArrayList<>();
+        args.add(status.name());
+        if (type != null) {
+            args.add(type.name());
+        }
+
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM (" + GROUPED + typeFilter + "GROUP BY r.type, r.target_id) g",
+                Long.class, args.toArray());
+        long totalElements = total != null ? total : 0;
+        int totalPages = (int) Math.ceil(totalElements / (double) pageSize);
+        if (totalElements <= (long) pageNumber * pageSize) {
+            return new PageResponse<>(List.of(), totalElements, totalPages, pageNumber, pageSize);
+        }
+
+        List<Object> pageArgs = new ArrayList<>();
+        pageArgs.add(Timestamp.from(Instant.now()));
+        pageArgs.add(halfLifeHours);
+        pageArgs.addAll(args);
+        pageArgs.add(pageSize);
+        pageArgs.add((long) pageNumber * pageSize);
+        List<ModerationItem> groups = jdbcTemplate.query(
+                "SELECT g.*, " +
+                "(g.reporter_count + 0.5 * (g.report_count - g.reporter_count)) * " +
+                "power(0.5, greatest(extract(epoch FROM (CAST(? AS timestamp) - g.last_reported_at)), 0) / 3600.0 / ?) AS priority " +
+                "FROM (" + GROUPED + typeFilter + "GROUP BY r.type, r.target_id) g " +
+                "ORDER BY priority DESC, g.last_reported_at DESC, g.type, g.target_id " +
+                "LIMIT ? OFFSET ?",
+                (rs, rowNum) -> new ModerationItem(
+                        Report.ReportType.valueOf(rs.getString("type")),
+                        rs.getLong("target_id"),
+                        status,
+                        rs.getLong("report_count"),
+                        rs.getLong("reporter_count"),
+                        rs.getTimestamp("first_reported_at").toInstant(),
+                        rs.getTimestamp("last_reported_at").toInstant(),
+                        rs.getDouble("priority"),
+                        List.of()),
+                pageArgs.toArray());
+
+        Map<String, List<ModerationItem.Sample>> samples = samplesFor(status, groups);
+        List<ModerationItem> content = groups.stream()
+                .map(item -> new ModerationItem(item.type(), item.targetId(), item.status(), item.reportCount(),
+                        item.reporterCount(), item.firstReportedAt(), item.lastReportedAt(), item.priority(),
+                        samples.getOrDefault(key(item.type().name(), item.targetId()), List.of())))
+                .toList();
+        return new PageResponse<>(content, totalElements, totalPages, pageNumber, pageSize);
+    }
+
+    /**
+     * Pasa a {@code to} todos los reportes del objetivo que estén en alguno de {@code from}.
+     * Devuelve cuántos cambiaron.
+     */
+    @Transactional
+    public int transition(Report.ReportType type, Long targetId, Collection<Report.ReportStatus> from,
+                          Report.ReportStatus to, Long reviewerId) {
+        if (to == Report.ReportStatus.PENDING) {
+            throw new IllegalArgumentException("No se puede volver a PENDING");
+        }
+        String[] fromStatuses = from.stream().map(Enum::name).toArray(String[]::new);
+        if (fromStatuses.length == 0) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+                "UPDATE reports SET status = ?, reviewed_at = ?, reviewed_by_id = ? " +
+                "WHERE type = ? AND target_id = ? AND status = ANY(?)",
+                to.name(), Timestamp.from(Instant.now()), reviewerId, type.name(), targetId, fromStatuses);
+    }
+
+    private Map<String, List<ModerationItem.Sample>> samplesFor(Report.ReportStatus status, List<ModerationItem> groups) {
+        if (groups.isEmpty()) {
+            return Map.of();
+        }
+        String[] types = groups.stream().map(item -> item.type().name()).toArray(String[]::new);
+        Long[] targets = groups.stream().map(ModerationItem::targetId).toArray(Long[]::new);
+        Map<String, List<ModerationItem.Sample>> samples = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT * FROM (" +
+                "  SELECT r.id, r.type, r.target_id, r.reason, r.details, r.created_at, " +
+                "         u.id AS reporter_id, u.name AS reporter_name, u.email AS reporter_email, " +
+                "         row_number() OVER (PARTITION BY r.type, r.target_id ORDER BY r.created_at DESC, r.id DESC) AS rn " +
+                "  FROM reports r JOIN users u ON u.id = r.reported_by_id " +
+                "  WHERE r.status = ? AND (r.type, r.target_id) IN (SELECT * FROM unnest(CAST(? AS varchar[]), CAST(? AS bigint[])))" +
+                ") s WHERE s.rn <= ? ORDER BY s.type, s.target_id, s.rn",
+                rs -> {
+                    samples.computeIfAbsent(key(rs.getString("type"), rs.getLong("target_id")), k -> new ArrayList<>())
+                            .add(new ModerationItem.Sample(
+                                    rs.getLong("id"),
+                                    rs.getString("reason"),
+                                    rs.getString("details"),
+                                    rs.getTimestamp("created_at").toInstant(),
+                                    new ModerationItem.Reporter(
+                                            rs.getLong("reporter_id"),
+                                            rs.getString("reporter_name"),
+                                            rs.getString("reporter_email"))));
+                },
+                status.name(), types, targets, SAMPLES_PER_ITEM);
+        return samples;
+    }
+
+    private static String key(String type, Long targetId) {
+        return type + ":" + targetId;
+    }
+}
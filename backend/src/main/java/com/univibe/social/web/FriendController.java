@@ -10,6 +10,7 @@ import com.univibe.user.repo.UserRepository;
 import com.univibe.gamification.event.FriendAddedEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -91,6 +92,7 @@ public class FriendController {
     }
 
     @PostMapping("/requests/{requestId}/accept")
+    @Transactional
     public Map<String, Object> acceptFriendRequest(@PathVariable Long requestId, Authentication auth) {
         String email = (String) auth.getPrincipal();
         User user = userRepository.findByEmail(email).orElseThrow();
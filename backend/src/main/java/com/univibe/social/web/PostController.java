@@ -6,21 +6,27 @@ import com.univibe.social.model.Comment;
 import com.univibe.social.model.Post;
 import com.univibe.social.repo.CommentRepository;
 import com.univibe.social.repo.PostRepository;
+import com.univibe.social.dto.CommentPage;
+import com.univibe.social.service.CommentReadService;
+import com.univibe.social.service.PostLikeService;
 import com.univibe.user.model.User;
 import com.univibe.user.repo.UserRepository;
-import com.univibe.gamification.event.LikeReceivedEvent;
 import com.univibe.gamification.event.PostCreatedEvent;
+import com.univibe.gamification.event.PostDeletedEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -31,15 +37,22 @@ public class PostController {
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
     private final ApplicationEventPublisher publisher;
+    private final PostLikeService postLikeService;
+    private final CommentReadService commentReadService;
 
-    public PostController(PostRepository postRepository, UserRepository userRepository, CommentRepository commentRepository, ApplicationEventPublisher publisher) {
+    public PostController(PostRepository postRepository, UserRepository userRepository, CommentRepository commentRepository,
+                          ApplicationEventPublisher publisher, PostLikeService postLikeService,
+                          CommentReadService commentReadService) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.commentRepository = commentRepository;
         this.publisher = publisher;
+        this.postLikeService = postLikeService;
+        this.commentReadService = commentReadService;
     }
 
     @PostMapping
+    @Transactional
     public ResponseEntity<Map<String, Object>> createPost(
             @RequestBody Map<String, String> request,
             Authentication auth) {
@@ -73,8 +86,9 @@ public class PostController {
         responseMap.put("mediaUrl", post.getMediaUrl() != null && !post.getMediaUrl().trim().isEmpty() ? post.getMediaUrl() : null);
         responseMap.put("mediaType", post.getMediaType() != null && !post.getMediaType().trim().isEmpty() ? post.getMediaType() : null);
         responseMap.put("musicUrl", post.getMusicUrl() != null && !post.getMusicUrl().trim().isEmpty() ? post.getMusicUrl() : null);
-        responseMap.put("likesCount", post.getLikedBy().size());
+        responseMap.put("likesCount", post.getLikesCount());
         responseMap.put("isLiked", false);
+        responseMap.put("commentsCount", 0L);
         responseMap.put("createdAt", post.getCreatedAt().toString());
         responseMap.put("user", Map.of(
                 "id", post.getUser().getId(),
@@ -91,6 +105,9 @@ public class PostController {
         User user = userRepository.findByEmail(auth.getName())
                 .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
         Page<Post> posts = postRepository.findAllByOrderByCreatedAtDesc(pageable);
+        List<Long> postIds = posts.map(Post::getId).getContent();
+        Set<Long> liked = postLikeService.likedPostIds(user.getId(), postIds);
+        Map<Long, Long> commentCounts = commentReadService.countsFor(postIds);
         
         PageResponse<Map<String, Object>> response = new PageResponse<>(
                 posts.getContent().stream()
@@ -101,8 +118,9 @@ public class PostController {
                             postMap.put("mediaUrl", p.getMediaUrl() != null && !p.getMediaUrl().trim().isEmpty() ? p.getMediaUrl() : null);
                             postMap.put("mediaType", p.getMediaType() != null && !p.getMediaType().trim().isEmpty() ? p.getMediaType() : null);
                             postMap.put("musicUrl", p.getMusicUrl() != null && !p.getMusicUrl().trim().isEmpty() ? p.getMusicUrl() : null);
-                            postMap.put("likesCount", p.getLikedBy().size());
-                            postMap.put("isLiked", p.getLikedBy().stream().anyMatch(u -> u.getId().equals(user.getId())));
+                            postMap.put("likesCount", p.getLikesCount());
+                            postMap.put("isLiked", liked.contains(p.getId()));
+                            postMap.put("commentsCount", commentCounts.getOrDefault(p.getId(), 0L));
                             postMap.put("createdAt", p.getCreatedAt().toString());
                             postMap.put("user", Map.of(
                                     "id", p.getUser().getId(),
@@ -125,28 +143,32 @@ public class PostController {
     public ResponseEntity<Map<String, Object>> toggleLike(@PathVariable Long id, Authentication auth) {
         User user = userRepository.findByEmail(auth.getName())
                 .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Publicación no encontrada"));
-        
-        boolean isLiked = post.getLikedBy().stream().anyMatch(u -> u.getId().equals(user.getId()));
-        if (isLiked) {
-            post.getLikedBy().removeIf(u -> u.getId().equals(user.getId()));
-        } else {
-            post.getLikedBy().add(user);
-            // Publish event for achievements (only on like)
-            publisher.publishEvent(new LikeReceivedEvent(this, post.getUser(), post.getId(), post.getLikedBy().size()));
-        }
-        
-        post.setUpdatedAt(Instant.now());
-        post = postRepository.save(post);
-        
-        return ResponseEntity.ok(Map.of(
-                "likesCount", post.getLikedBy().size(),
-                "isLiked", !isLiked
-        ));
+        return ResponseEntity.ok(likeResponse(postLikeService.toggle(id, user.getId())));
+    }
+
+    @PutMapping("/{id}/like")
+    public ResponseEntity<Map<String, Object>> like(@PathVariable Long id, Authentication auth) {
+        User user = userRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
+        return ResponseEntity.ok(likeResponse(postLikeService.like(id, user.getId())));
+    }
+
+    @DeleteMapping("/{id}/like")
+    public ResponseEntity<Map<String, Object>> unlike(@PathVariable Long id, Authentication auth) {
+        User user = userRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
+        return ResponseEntity.ok(likeResponse(postLikeService.unlike(id, user.getId())));
+    }
+
+    private static Map<String, Object> likeResponse(PostLikeService.LikeResult result) {
+        return Map.of(
+                "likesCount", result.likesCount(),
+                "isLiked", result.liked()
+        );
     }
 
     @DeleteMapping("/{id}")
+    @Transactional
     public ResponseEntity<Void> deletePost(@PathVariable Long id, Authentication auth) {
         User user = userRepository.findByEmail(auth.getName())
                 .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
@@ -158,7 +180,9 @@ public class PostController {
             return ResponseEntity.status(403).build();
         }
         
+        int likes = post.getLikesCount();
         postRepository.delete(post);
+        publisher.publishEvent(new PostDeletedEvent(this, post.getUser(), post.getId(), likes));
         return ResponseEntity.noContent().build();
     }
 
@@ -169,11 +193,12 @@ public class PostController {
             Authentication auth) {
         User user = userRepository.findByEmail(auth.getName())
                 .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Publicación no encontrada"));
+        if (!postRepository.existsById(id)) {
+            throw new NotFoundException("Publicación no encontrada");
+        }
         
         Comment comment = new Comment();
-        comment.setPost(post);
+        comment.setPost(postRepository.getReferenceById(id));
         comment.setUser(user);
         comment.setContent(request.get("content"));
         comment.setCreatedAt(Instant.now());
@@ -194,35 +219,11 @@ public class PostController {
     }
 
     @GetMapping("/{id}/comments")
-    public ResponseEntity<PageResponse<Map<String, Object>>> getComments(
+    public ResponseEntity<CommentPage> getComments(
             @PathVariable Long id,
-            @PageableDefault(size = 50) Pageable pageable,
-            Authentication auth) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Publicación no encontrada"));
-        
-        Page<Comment> comments = commentRepository.findByPostIdOrderByCreatedAtAsc(id, pageable);
-        
-        PageResponse<Map<String, Object>> response = new PageResponse<>(
-                comments.getContent().stream()
-                        .map(c -> Map.of(
-                                "id", c.getId(),
-                                "content", c.getContent(),
-                                "createdAt", c.getCreatedAt().toString(),
-                                "user", Map.of(
-                                        "id", c.getUser().getId(),
-                                        "name", c.getUser().getName(),
-                                        "profilePictureUrl", c.getUser().getProfilePictureUrl() != null ? c.getUser().getProfilePictureUrl() : ""
-                                )
-                        ))
-                        .collect(Collectors.toList()),
-                comments.getTotalElements(),
-                comments.getTotalPages(),
-                comments.getNumber(),
-                comments.getSize()
-        );
-        
-        return ResponseEntity.ok(response);
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(commentReadService.comments(id, afterId, size));
     }
 
     @DeleteMapping("/{postId}/comments/{commentId}")
@@ -254,6 +255,9 @@ public class PostController {
                 .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
         
         Page<Post> posts = postRepository.findByUserOrderByCreatedAtDesc(targetUser, pageable);
+        List<Long> postIds = posts.map(Post::getId).getContent();
+        Set<Long> liked = postLikeService.likedPostIds(currentUser.getId(), postIds);
+        Map<Long, Long> commentCounts = commentReadService.countsFor(postIds);
         
         PageResponse<Map<String, Object>> response = new PageResponse<>(
                 posts.getContent().stream()
@@ -264,8 +268,9 @@ public class PostController {
                             postMap.put("mediaUrl", p.getMediaUrl() != null && !p.getMediaUrl().trim().isEmpty() ? p.getMediaUrl() : null);
                             postMap.put("mediaType", p.getMediaType() != null && !p.getMediaType().trim().isEmpty() ? p.getMediaType() : null);
                             postMap.put("musicUrl", p.getMusicUrl() != null && !p.getMusicUrl().trim().isEmpty() ? p.getMusicUrl() : null);
-                            postMap.put("likesCount", p.getLikedBy().size());
-                            postMap.put("isLiked", p.getLikedBy().stream().anyMatch(u -> u.getId().equals(currentUser.getId())));
+                            postMap.put("likesCount", p.getLikesCount());
+                            postMap.put("isLiked", liked.contains(p.getId()));
+                            postMap.put("commentsCount", commentCounts.getOrDefault(p.getId(), 0L));
                             postMap.put("createdAt", p.getCreatedAt().toString());
                             postMap.put("user", Map.of(
                                     "id", p.getUser().getId(),
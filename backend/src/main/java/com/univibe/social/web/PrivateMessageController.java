@@ -2,8 +2,9 @@ package com.univibe.social.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.univibe.common.dto.PageResponse;
-import com.univibe.notification.model.Notification;
-import com.univibe.notification.repo.NotificationRepository;
+import com.univibe.notification.dto.NotificationRequest;
+import com.univibe.notification.model.NotificationSourceType;
+import com.univibe.notification.service.NotificationService;
 import com.univibe.chat.service.MessageResponseMapper;
 import com.univibe.social.dto.PrivateMessageRequest;
 import com.univibe.social.dto.PrivateMessageResponse;
@@ -45,7 +46,7 @@ public class PrivateMessageController {
     private final FriendshipRepository friendshipRepository;
     private final SimpMessagingTemplate messagingTemplate;
     private final ObjectMapper objectMapper;
-    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
     private final FileStorageService fileStorageService;
     private final StickerService stickerService;
     private final MessageResponseMapper messageResponseMapper;
@@ -56,7 +57,7 @@ public class PrivateMessageController {
                                     FriendshipRepository friendshipRepository,
                                     SimpMessagingTemplate messagingTemplate,
                                     ObjectMapper objectMapper,
-                                    NotificationRepository notificationRepository,
+                                    NotificationService notificationService,
                                     FileStorageService fileStorageService,
                                     StickerService stickerService,
                                     MessageResponseMapper messageResponseMapper,
@@ -66,7 +67,7 @@ public class PrivateMessageController {
         this.friendshipRepository = friendshipRepository;
         this.messagingTemplate = messagingTemplate;
         this.objectMapper = objectMapper;
-        this.notificationRepository = notificationRepository;
+        this.notificationService = notificationService;
         this.fileStorageService = fileStorageService;
         this.stickerService = stickerService;
         this.messageResponseMapper = messageResponseMapper;
@@ -129,17 +130,18 @@ public class PrivateMessageController {
             PrivateMessage saved = messageRepository.save(message);
             PrivateMessageResponse response = messageResponseMapper.toPrivateResponse(saved);
 
-            // Crear notificación para el receptor
-            Notification notification = new Notification();
-            notification.setRecipient(receiver);
-            notification.setTitle("Nuevo mensaje de " + sender.getName());
-            notification.setMessage(request.getContent().length() > 100 
-                ? request.getContent().substring(0, 100) + "..." 
-                : request.getContent());
-            notificationRepository.save(notification);
-
-            // Enviar notificación por WebSocket
-            messagingTemplate.convertAndSend("/queue/notifications." + receiverId, notification);
+            // Notificación para el receptor: una ráfaga del mismo remitente se agrupa en una sola
+            String preview = request.getContent().length() > 100
+                ? request.getContent().substring(0, 100) + "..."
+                : request.getContent();
+            notificationService.send(NotificationRequest.collapsible(
+                receiverId,
+                NotificationSourceType.PRIVATE_MESSAGE,
+                sender.getId(),
+                "Nuevo mensaje de " + sender.getName(),
+                preview,
+                "%1$d mensajes nuevos. Último: %2$s"
+            ));
 
             // Enviar por WebSocket a ambos usuarios
             messagingTemplate.convertAndSend("/queue/private." + sender.getId(), objectMapper.writeValueAsString(response));
@@ -223,9 +225,14 @@ public class PrivateMessageController {
                 messageRepository.flush();
             }
 
+            // Las notificaciones de esta conversación se marcan por origen, no por título
+            int notificationsMarked = notificationService.markAsReadBySource(
+                user.getId(), NotificationSourceType.PRIVATE_MESSAGE, otherUserId);
+
             return ResponseEntity.ok(Map.of(
                 "success", true,
-                "markedCount", unreadMessages.size()
+                "markedCount", unreadMessages.size(),
+                "notificationsMarked", notificationsMarked
             ));
         } catch (Exception e) {
             e.printStackTrace();
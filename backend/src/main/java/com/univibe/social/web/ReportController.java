@@ -2,8 +2,10 @@ package com.univibe.social.web;
 
 import com.univibe.common.dto.PageResponse;
 import com.univibe.common.exception.NotFoundException;
+import com.univibe.social.dto.ModerationItem;
 import com.univibe.social.model.Report;
 import com.univibe.social.repo.ReportRepository;
+import com.univibe.social.service.ReportModerationService;
 import com.univibe.user.model.User;
 import com.univibe.user.repo.UserRepository;
 import org.springframework.data.domain.Page;
@@ -15,7 +17,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -25,10 +29,13 @@ public class ReportController {
 
     private final ReportRepository reportRepository;
     private final UserRepository userRepository;
+    private final ReportModerationService moderationService;
 
-    public ReportController(ReportRepository reportRepository, UserRepository userRepository) {
+    public ReportController(ReportRepository reportRepository, UserRepository userRepository,
+                            ReportModerationService moderationService) {
         this.reportRepository = reportRepository;
         this.userRepository = userRepository;
+        this.moderationService = moderationService;
     }
 
     private User resolveUser(Authentication auth) {
@@ -39,6 +46,18 @@ public class ReportController {
                 .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
     }
 
+    private static Report.ReportStatus parseStatus(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("El estado es obligatorio");
+        }
+        try {
+            return Report.ReportStatus.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Estado no válido: " + value.trim()
+                    + " (" + Arrays.toString(Report.ReportStatus.values()) + ")");
+        }
+    }
+
     @PostMapping
     public ResponseEntity<Map<String, Object>> createReport(
             @RequestBody Map<String, Object> request,
@@ -133,7 +152,7 @@ public class ReportController {
         Report report = reportRepository.findById(reportId)
                 .orElseThrow(() -> new NotFoundException("Reporte no encontrado"));
         
-        report.setStatus(Report.ReportStatus.valueOf(request.get("status")));
+        report.setStatus(parseStatus(request.get("status")));
         report.setReviewedAt(Instant.now());
         report.setReviewedBy(user);
         
@@ -150,5 +169,50 @@ public class ReportController {
         
         return ResponseEntity.ok(response);
     }
-}
 
+    /**
+     * Cola de moderación: reportes agrupados por objetivo y ordenados por prioridad.
+     */
+    @GetMapping("/queue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PageResponse<ModerationItem>> getQueue(
+            @RequestParam(defaultValue = "PENDING") String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Report.ReportType reportType = type != null && !type.isBlank()
+                ? Report.ReportType.valueOf(type.toUpperCase())
+                : null;
+        return ResponseEntity.ok(moderationService.queue(
+                Report.ReportStatus.valueOf(status.toUpperCase()), reportType, page, size));
+    }
+
+    /**
+     * Cambia de estado todos los reportes de un objetivo. Por defecto solo los pendientes;
+     * {@code from} permite indicar otros estados de origen separados por comas.
+     */
+    @PatchMapping("/targets/{type}/{targetId}/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> updateTargetStatus(
+            @PathVariable String type,
+            @PathVariable Long targetId,
+            @RequestBody Map<String, String> request,
+            Authentication auth) {
+        User user = resolveUser(auth);
+        Report.ReportType reportType = Report.ReportType.valueOf(type.toUpperCase());
+        Report.ReportStatus status = parseStatus(request.get("status"));
+        String from = request.get("from");
+        List<Report.ReportStatus> fromStatuses = from != null && !from.isBlank()
+                ? Arrays.stream(from.split(",")).map(ReportController::parseStatus).toList()
+                : List.of(Report.ReportStatus.PENDING);
+
+        int updated = moderationService.transition(reportType, targetId, fromStatuses, status, user.getId());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("type", reportType.name());
+        response.put("targetId", targetId);
+        response.put("status", status.name());
+        response.put("updated", updated);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,98 +1,61 @@
 package com.univibe.social.web;
 
+import com.univibe.gamification.model.UserStats;
+import com.univibe.gamification.service.UserStatsService;
 import com.univibe.registration.service.QrService;
 import com.univibe.social.dto.UserProfileResponse;
-import com.univibe.social.repo.PostRepository;
+import com.univibe.user.dto.UserSearchResult;
 import com.univibe.user.model.User;
 import com.univibe.user.repo.UserRepository;
+import com.univibe.user.service.UserSearchService;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Base64;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/social")
 public class SocialController {
     private final UserRepository userRepository;
     private final QrService qrService;
-    private final PostRepository postRepository;
+    private final UserStatsService userStatsService;
+    private final UserSearchService userSearchService;
 
-    public SocialController(UserRepository userRepository, QrService qrService, PostRepository postRepository) {
+    public SocialController(UserRepository userRepository, QrService qrService, UserStatsService userStatsService,
+                            UserSearchService userSearchService) {
         this.userRepository = userRepository;
         this.qrService = qrService;
-        this.postRepository = postRepository;
+        this.userStatsService = userStatsService;
+        this.userSearchService = userSearchService;
     }
 
     @GetMapping("/profile/{userId}")
     public UserProfileResponse getProfile(@PathVariable Long userId) {
         User user = userRepository.findById(userId).orElseThrow();
-        // Generar QR con el ID del usuario
-        String qrPayload = String.valueOf(user.getId());
-        String qrBase64 = qrService.generateBase64Png(qrPayload);
-        
-        // Calcular likes totales del usuario
-        long totalLikes = postRepository.findByUserOrderByCreatedAtDesc(user, org.springframework.data.domain.Pageable.unpaged())
-                .getContent()
-                .stream()
-                .mapToLong(post -> post.getLikedBy().size())
-                .sum();
-        
-        return new UserProfileResponse(
-            user.getId(),
-            user.getName(),
-            user.getEmail(),
-            user.getPoints(),
-            qrBase64,
-            user.getProfilePictureUrl(),
-            totalLikes
-        );
+        return toProfile(user);
     }
 
     @GetMapping("/profile/me")
     public UserProfileResponse getMyProfile(Authentication auth) {
         String email = (String) auth.getPrincipal();
         User user = userRepository.findByEmail(email).orElseThrow();
-        String qrPayload = String.valueOf(user.getId());
-        String qrBase64 = qrService.generateBase64Png(qrPayload);
-        
-        // Calcular likes totales del usuario
-        long totalLikes = postRepository.findByUserOrderByCreatedAtDesc(user, org.springframework.data.domain.Pageable.unpaged())
-                .getContent()
-                .stream()
-                .mapToLong(post -> post.getLikedBy().size())
-                .sum();
-        
-        return new UserProfileResponse(
-            user.getId(),
-            user.getName(),
-            user.getEmail(),
-            user.getPoints(),
-            qrBase64,
-            user.getProfilePictureUrl(),
-            totalLikes
-        );
+        return toProfile(user);
     }
 
+    /**
+     * Autocompletado de usuarios para añadir amigos. Acepta {@code q} o, por compatibilidad,
+     * {@code email}; ver {@link UserSearchService}.
+     */
     @GetMapping("/search")
-    public List<Map<String, Object>> searchUsers(@RequestParam String email, Authentication auth) {
+    public List<UserSearchResult> searchUsers(@RequestParam(required = false) String q,
+                                              @RequestParam(required = false) String email,
+                                              @RequestParam(required = false) Integer limit,
+                                              Authentication auth) {
         String requesterEmail = (String) auth.getPrincipal();
         User requester = userRepository.findByEmail(requesterEmail).orElseThrow();
-        
-        return userRepository.findByEmailContainingIgnoreCase(email).stream()
-            .filter(u -> !u.getId().equals(requester.getId()))
-            .map(u -> {
-                Map<String, Object> result = new HashMap<>();
-                result.put("id", u.getId());
-                result.put("name", u.getName());
-                result.put("email", u.getEmail());
-                result.put("profilePictureUrl", u.getProfilePictureUrl() != null ? u.getProfilePictureUrl() : "");
-                return result;
-            })
-            .collect(Collectors.toList());
+        return userSearchService.search(requester.getId(), q != null ? q : email, limit);
     }
 
     @PostMapping("/scan-qr")
@@ -132,5 +95,23 @@ public class SocialController {
             "profilePictureUrl", user.getProfilePictureUrl() != null ? user.getProfilePictureUrl() : ""
         );
     }
-}
 
+    private UserProfileResponse toProfile(User user) {
+        // QR con el ID del usuario (cacheado en QrService) y contadores de user_stats: una fila
+        String qrBase64 = qrService.generateBase64Png(String.valueOf(user.getId()));
+        UserStats stats = userStatsService.get(user.getId());
+        return new UserProfileResponse(
+            user.getId(),
+            user.getName(),
+            user.getEmail(),
+            user.getPoints(),
+            qrBase64,
+            user.getProfilePictureUrl(),
+            stats.getLikesReceived(),
+            stats.getPosts(),
+            stats.getFriends(),
+            stats.getEventsAttended(),
+            stats.getStories()
+        );
+    }
+}
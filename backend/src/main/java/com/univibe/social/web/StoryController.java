@@ -10,6 +10,7 @@ import com.univibe.gamification.event.StoryCreatedEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
@@ -35,6 +36,7 @@ public class StoryController {
     }
 
     @PostMapping
+    @Transactional
     public ResponseEntity<Map<String, Object>> createStory(
             @RequestBody Map<String, String> request,
             Authentication auth) {
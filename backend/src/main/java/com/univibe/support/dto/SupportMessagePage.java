@@ -0,0 +1,13 @@
+package com.univibe.support.dto;
+
+import java.util.List;
+
+/**
+ * Tramo de una conversación en orden cronológico. Para pedir el tramo anterior se usa como
+ * {@code beforeId} el id del primer mensaje; para traer lo nuevo, {@code afterId} con el id del
+ * último. {@code hayMas} indica si quedan mensajes en la dirección pedida.
+ */
+public record SupportMessagePage(
+        List<SupportMessageResponse> mensajes,
+        boolean hayMas
+) {}
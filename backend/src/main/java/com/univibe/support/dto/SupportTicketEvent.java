@@ -0,0 +1,24 @@
+package com.univibe.support.dto;
+
+import com.univibe.support.model.SupportTicketStatus;
+
+import java.time.Instant;
+
+/**
+ * Cambio en un ticket publicado por STOMP en {@code /topic/support.{ticketId}} y en la cola de
+ * administración {@code /topic/support.queue}. {@code mensaje} solo viene en CREATED y MESSAGE.
+ */
+public record SupportTicketEvent(
+        Tipo tipo,
+        Long ticketId,
+        String asunto,
+        SupportTicketStatus estado,
+        Instant updatedAt,
+        SupportMessageResponse mensaje
+) {
+    public enum Tipo {
+        CREATED,
+        MESSAGE,
+        STATUS
+    }
+}
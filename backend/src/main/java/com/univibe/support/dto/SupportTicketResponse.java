@@ -13,7 +13,8 @@ public record SupportTicketResponse(
         Instant createdAt,
         Instant updatedAt,
         SupportUserInfo solicitante,
-        List<SupportMessageResponse> mensajes
+        List<SupportMessageResponse> mensajes,
+        boolean hayMasMensajes
 ) {}
 
 
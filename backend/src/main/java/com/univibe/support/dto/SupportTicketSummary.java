@@ -0,0 +1,21 @@
+package com.univibe.support.dto;
+
+import com.univibe.support.model.SupportTicketStatus;
+
+import java.time.Instant;
+
+/**
+ * Fila de la bandeja de soporte: el ticket con su último mensaje y el total de mensajes, sin
+ * cargar la conversación.
+ */
+public record SupportTicketSummary(
+        Long id,
+        String asunto,
+        String categoria,
+        SupportTicketStatus estado,
+        Instant createdAt,
+        Instant updatedAt,
+        SupportUserInfo solicitante,
+        SupportMessageResponse ultimoMensaje,
+        long totalMensajes
+) {}
@@ -6,7 +6,9 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "support_messages")
+@Table(name = "support_messages", indexes = {
+    @Index(name = "idx_support_messages_ticket_id", columnList = "ticket_id, id")
+})
 public class SupportMessage {
 
     @Id
@@ -14,6 +16,7 @@ public class SupportMessage {
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "ticket_id")
     private SupportTicket ticket;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
@@ -8,7 +8,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "support_tickets")
+@Table(name = "support_tickets", indexes = {
+    @Index(name = "idx_support_tickets_estado_updated", columnList = "estado, updated_at DESC, id DESC"),
+    @Index(name = "idx_support_tickets_requester_updated", columnList = "requester_id, updated_at DESC, id DESC"),
+    @Index(name = "idx_support_tickets_updated", columnList = "updated_at DESC, id DESC")
+})
 public class SupportTicket {
 
     @Id
@@ -16,6 +20,7 @@ public class SupportTicket {
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "requester_id")
     private User requester;
 
     @Column(nullable = false, length = 150)
@@ -25,13 +30,13 @@ public class SupportTicket {
     private String categoria;
 
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @Column(name = "estado", nullable = false)
     private SupportTicketStatus estado = SupportTicketStatus.OPEN;
 
     @Column(nullable = false)
     private Instant createdAt = Instant.now();
 
-    @Column(nullable = false)
+    @Column(name = "updated_at", nullable = false)
     private Instant updatedAt = Instant.now();
 
     @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -87,6 +92,13 @@ public class SupportTicket {
         return updatedAt;
     }
 
+    /**
+     * Sube el ticket en las bandejas aunque no cambie ninguna columna (p. ej. una respuesta).
+     */
+    public void touch() {
+        this.updatedAt = Instant.now();
+    }
+
     public List<SupportMessage> getMensajes() {
         return mensajes;
     }
@@ -1,27 +1,30 @@
 package com.univibe.support.repo;
 
 import com.univibe.support.model.SupportMessage;
-import com.univibe.support.model.SupportTicket;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface SupportMessageRepository extends JpaRepository<SupportMessage, Long> {
-    List<SupportMessage> findByTicketOrderByCreatedAtAsc(SupportTicket ticket);
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
 
+    // Paginación por clave sobre (ticket_id, id): los más recientes primero
+    @Query("SELECT m FROM SupportMessage m JOIN FETCH m.sender " +
+           "WHERE m.ticket.id = :ticketId ORDER BY m.id DESC")
+    List<SupportMessage> findLatestByTicketId(@Param("ticketId") Long ticketId, Pageable pageable);
+
+    @Query("SELECT m FROM SupportMessage m JOIN FETCH m.sender " +
+           "WHERE m.ticket.id = :ticketId AND m.id < :beforeId ORDER BY m.id DESC")
+    List<SupportMessage> findByTicketIdBefore(@Param("ticketId") Long ticketId,
+                                              @Param("beforeId") Long beforeId,
+                                              Pageable pageable);
+
+    // Mensajes posteriores a afterId, en orden cronológico, para clientes que ya tienen el hilo
+    @Query("SELECT m FROM SupportMessage m JOIN FETCH m.sender " +
+           "WHERE m.ticket.id = :ticketId AND m.id > :afterId ORDER BY m.id ASC")
+    List<SupportMessage> findByTicketIdAfter(@Param("ticketId") Long ticketId,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
+}
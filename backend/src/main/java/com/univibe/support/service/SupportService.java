@@ -1,26 +1,74 @@
 package com.univibe.support.service;
 
+import com.univibe.common.dto.PageResponse;
+import com.univibe.common.transaction.AfterCommit;
 import com.univibe.support.dto.*;
 import com.univibe.support.model.SupportMessage;
 import com.univibe.support.model.SupportTicket;
 import com.univibe.support.model.SupportTicketStatus;
 import com.univibe.support.repo.SupportMessageRepository;
 import com.univibe.support.repo.SupportTicketRepository;
+import com.univibe.user.model.Role;
 import com.univibe.user.model.User;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * Tickets de soporte.
+ * <p>
+ * Las bandejas (la del usuario y la de administración) son páginas de resúmenes: cada fila
+ * trae el último mensaje y el número de mensajes en la misma consulta, ordenada por
+ * {@code (updated_at, id)} y filtrable por estado y categoría. La conversación de un ticket
+ * se carga aparte, por tramos de los mensajes más recientes hacia atrás.
+ * <p>
+ * Cada cambio se publica tras el commit en {@code /topic/support.{ticketId}} y en la cola de
+ * administración {@code /topic/support.queue}; los clientes suscritos piden solo los mensajes
+ * posteriores al último que tienen ({@code afterId}) en vez de recargar el hilo.
+ */
 @Service
 public class SupportService {
 
+    public static final int DEFAULT_MESSAGE_PAGE = 50;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final String TICKET_TOPIC_PREFIX = "/topic/support.";
+    public static final String QUEUE_TOPIC = "/topic/support.queue";
+
+    private static final String SUMMARY_SELECT =
+            "SELECT t.id, t.asunto, t.categoria, t.estado, t.created_at, t.updated_at, " +
+            "r.id AS requester_id, r.name AS requester_name, r.email AS requester_email, r.profile_picture_url AS requester_avatar, " +
+            "lm.id AS last_id, lm.contenido AS last_contenido, lm.created_at AS last_created_at, " +
+            "s.id AS sender_id, s.name AS sender_name, s.email AS sender_email, s.profile_picture_url AS sender_avatar, " +
+            "(SELECT count(*) FROM support_messages c WHERE c.ticket_id = t.id) AS total_mensajes " +
+            "FROM support_tickets t " +
+            "JOIN users r ON r.id = t.requester_id " +
+            "LEFT JOIN LATERAL (SELECT m.id, m.contenido, m.created_at, m.sender_id FROM support_messages m " +
+            "                   WHERE m.ticket_id = t.id ORDER BY m.id DESC LIMIT 1) lm ON true " +
+            "LEFT JOIN users s ON s.id = lm.sender_id ";
+
     private final SupportTicketRepository ticketRepository;
     private final SupportMessageRepository messageRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
 
-    public SupportService(SupportTicketRepository ticketRepository, SupportMessageRepository messageRepository) {
+    public SupportService(SupportTicketRepository ticketRepository,
+                          SupportMessageRepository messageRepository,
+                          JdbcTemplate jdbcTemplate,
+                          SimpMessagingTemplate messagingTemplate) {
         this.ticketRepository = ticketRepository;
         this.messageRepository = messageRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.messagingTemplate = messagingTemplate;
     }
 
     @Transactional
@@ -37,68 +85,50 @@ public class SupportService {
         primerMensaje.setSender(requester);
         primerMensaje.setContenido(request.mensaje());
         messageRepository.save(primerMensaje);
-        saved.getMensajes().add(primerMensaje);
 
-        return toResponse(saved, true);
+        SupportMessageResponse mensaje = toMessageResponse(primerMensaje);
+        publicar(saved, SupportTicketEvent.Tipo.CREATED, mensaje);
+        return toResponse(saved, List.of(mensaje), false);
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<SupportTicketSummary> misTickets(User requester, SupportTicketStatus estado, String categoria,
+                                                         int page, int size) {
+        return inbox(requester.getId(), estado, categoria, page, size);
     }
 
     @Transactional(readOnly = true)
-    public List<SupportTicketResponse> misTickets(User requester) {
-        List<SupportTicket> tickets = ticketRepository.findByRequesterOrderByUpdatedAtDesc(requester);
-        // Cargar mensajes para cada ticket
-        return tickets.stream()
-                .map(ticket -> {
-                    // Forzar carga de mensajes y senders dentro de la transacción
-                    if (ticket.getMensajes() != null) {
-                        ticket.getMensajes().forEach(msg -> {
-                            if (msg.getSender() != null) {
-                                msg.getSender().getId();
-                                msg.getSender().getName();
-                            }
-                        });
-                    }
-                    return toResponse(ticket, true); // Incluir mensajes
-                })
-                .toList();
-    }
-
-    public List<SupportTicketResponse> todosLosTickets() {
-        return ticketRepository.findAllByOrderByUpdatedAtDesc().stream()
-                .map(ticket -> toResponse(ticket, false))
-                .toList();
+    public PageResponse<SupportTicketSummary> todosLosTickets(SupportTicketStatus estado, String categoria,
+                                                              int page, int size) {
+        return inbox(null, estado, categoria, page, size);
     }
 
+    /**
+     * Ticket con el tramo más reciente de su conversación.
+     */
     @Transactional(readOnly = true)
     public SupportTicketResponse obtenerTicket(Long ticketId, User requester) {
-        // Verificar permisos primero usando una consulta simple
-        boolean isAdmin = requester.getRole() == com.univibe.user.model.Role.ADMIN 
-                || requester.getRole() == com.univibe.user.model.Role.SERVER;
-        
-        if (!isAdmin) {
-            // Verificar que el ticket pertenezca al usuario usando una consulta simple
-            Long ticketRequesterId = ticketRepository.findRequesterIdById(ticketId)
-                    .orElseThrow(() -> new IllegalArgumentException("Ticket no encontrado"));
-            
-            if (!ticketRequesterId.equals(requester.getId())) {
-                throw new org.springframework.security.access.AccessDeniedException("Forbidden");
-            }
-        }
-        
-        // Cargar el ticket completo con mensajes usando JOIN FETCH
-        SupportTicket ticket = ticketRepository.findByIdWithMessages(ticketId)
+        verificarAcceso(ticketId, requester);
+        SupportTicket ticket = ticketRepository.findWithRequesterById(ticketId)
                 .orElseThrow(() -> new IllegalArgumentException("Ticket no encontrado"));
-        
-        // Forzar carga de mensajes y senders (por si acaso)
-        if (ticket.getMensajes() != null) {
-            ticket.getMensajes().forEach(msg -> {
-                if (msg.getSender() != null) {
-                    msg.getSender().getId();
-                    msg.getSender().getName();
-                }
-            });
+        SupportMessagePage mensajes = mensajes(ticketId, null, DEFAULT_MESSAGE_PAGE);
+        return toResponse(ticket, mensajes.mensajes(), mensajes.hayMas());
+    }
+
+    /**
+     * Mensajes anteriores a {@code beforeId}, posteriores a {@code afterId} o, sin ninguno de
+     * los dos, los más recientes; siempre en orden cronológico.
+     */
+    @Transactional(readOnly = true)
+    public SupportMessagePage obtenerMensajes(Long ticketId, Long beforeId, Long afterId, int size, User requester) {
+        if (beforeId != null && afterId != null) {
+            throw new IllegalArgumentException("Usa beforeId o afterId, no ambos");
         }
-        
-        return toResponse(ticket, true);
+        verificarAcceso(ticketId, requester);
+        if (afterId != null) {
+            return mensajesPosteriores(ticketId, afterId, size);
+        }
+        return mensajes(ticketId, beforeId, size);
     }
 
     @Transactional
@@ -115,41 +145,158 @@ public class SupportService {
         // Si estaba abierto, cambiar a en progreso
         if (ticket.getEstado() == SupportTicketStatus.OPEN) {
             ticket.setEstado(SupportTicketStatus.IN_PROGRESS);
-            ticketRepository.save(ticket);
         }
-        return toMessageResponse(saved);
+        ticket.touch();
+        ticketRepository.save(ticket);
+        SupportMessageResponse response = toMessageResponse(saved);
+        publicar(ticket, SupportTicketEvent.Tipo.MESSAGE, response);
+        return response;
     }
 
     @Transactional
     public SupportTicketResponse actualizarEstado(Long ticketId, SupportTicketStatus estado) {
-        SupportTicket ticket = ticketRepository.findById(ticketId).orElseThrow();
+        SupportTicket ticket = ticketRepository.findWithRequesterById(ticketId).orElseThrow();
         // No permitir cambiar de CLOSED a otro estado
         if (ticket.getEstado() == SupportTicketStatus.CLOSED && estado != SupportTicketStatus.CLOSED) {
             throw new IllegalStateException("No se puede cambiar el estado de un ticket cerrado");
         }
         ticket.setEstado(estado);
+        ticket.touch();
         SupportTicket saved = ticketRepository.save(ticket);
-        return toResponse(saved, false);
-    }
-
-    private SupportTicketResponse toResponse(SupportTicket ticket, boolean includeMessages) {
-        List<SupportMessageResponse> mensajes = List.of();
-        if (includeMessages && ticket.getMensajes() != null) {
-            try {
-                int count = ticket.getMensajes().size();
-                System.out.println("[SupportService] Loading " + count + " messages for ticket " + ticket.getId());
-                mensajes = ticket.getMensajes().stream()
-                        .map(msg -> {
-                            System.out.println("[SupportService] Mapping message " + msg.getId() + " from sender " + (msg.getSender() != null ? msg.getSender().getId() : "null"));
-                            return toMessageResponse(msg);
-                        })
-                        .toList();
-                System.out.println("[SupportService] Mapped " + mensajes.size() + " messages");
-            } catch (Exception e) {
-                System.err.println("[SupportService] Error loading messages: " + e.getMessage());
-                e.printStackTrace();
-            }
+        publicar(saved, SupportTicketEvent.Tipo.STATUS, null);
+        return toResponse(saved, List.of(), false);
+    }
+
+    /**
+     * ¿Puede el usuario seguir el ticket por STOMP? Mismas reglas que {@link #obtenerTicket}.
+     */
+    @Transactional(readOnly = true)
+    public boolean puedeSuscribirse(Long ticketId, Long userId, boolean isAdmin) {
+        if (isAdmin) {
+            return true;
+        }
+        return ticketRepository.findRequesterIdById(ticketId)
+                .map(requesterId -> requesterId.equals(userId))
+                .orElse(false);
+    }
+
+    private void verificarAcceso(Long ticketId, User requester) {
+        boolean isAdmin = requester.getRole() == Role.ADMIN || requester.getRole() == Role.SERVER;
+        if (isAdmin) {
+            return;
+        }
+        Long ticketRequesterId = ticketRepository.findRequesterIdById(ticketId)
+                .orElseThrow(() -> new IllegalArgumentException("Ticket no encontrado"));
+        if (!ticketRequesterId.equals(requester.getId())) {
+            throw new AccessDeniedException("Forbidden");
+        }
+    }
+
+    private SupportMessagePage mensajes(Long ticketId, Long beforeId, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Se pide uno de más para saber si quedan mensajes anteriores
+        PageRequest window = PageRequest.of(0, limit + 1);
+        List<SupportMessage> newestFirst = beforeId == null
+                ? messageRepository.findLatestByTicketId(ticketId, window)
+                : messageRepository.findByTicketIdBefore(ticketId, beforeId, window);
+        boolean hayMas = newestFirst.size() > limit;
+        List<SupportMessageResponse> mensajes = new ArrayList<>(Math.min(newestFirst.size(), limit));
+        for (int i = 0; i < newestFirst.size() && i < limit; i++) {
+            mensajes.add(toMessageResponse(newestFirst.get(i)));
         }
+        Collections.reverse(mensajes);
+        return new SupportMessagePage(mensajes, hayMas);
+    }
+
+    private SupportMessagePage mensajesPosteriores(Long ticketId, Long afterId, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<SupportMessage> oldestFirst = messageRepository.findByTicketIdAfter(ticketId, afterId, PageRequest.of(0, limit + 1));
+        boolean hayMas = oldestFirst.size() > limit;
+        List<SupportMessageResponse> mensajes = new ArrayList<>(Math.min(oldestFirst.size(), limit));
+        for (int i = 0; i < oldestFirst.size() && i < limit; i++) {
+            mensajes.add(toMessageResponse(oldestFirst.get(i)));
+        }
+        return new SupportMessagePage(mensajes, hayMas);
+    }
+
+    private void publicar(SupportTicket ticket, SupportTicketEvent.Tipo tipo, SupportMessageResponse mensaje) {
+        SupportTicketEvent event = new SupportTicketEvent(
+                tipo, ticket.getId(), ticket.getAsunto(), ticket.getEstado(), ticket.getUpdatedAt(), mensaje);
+        AfterCommit.run(() -> {
+            messagingTemplate.convertAndSend(TICKET_TOPIC_PREFIX + event.ticketId(), event);
+            messagingTemplate.convertAndSend(QUEUE_TOPIC, event);
+        });
+    }
+
+    private PageResponse<SupportTicketSummary> inbox(Long requesterId, SupportTicketStatus estado, String categoria,
+                                                     int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(page, 0);
+        StringBuilder where = new StringBuilder("WHERE 1 = 1 ");
+        List<Object> args = new ArrayList<>();
+        if (requesterId != null) {
+            where.append("AND t.requester_id = ? ");
+            args.add(requesterId);
+        }
+        if (estado != null) {
+            where.append("AND t.estado = ? ");
+            args.add(estado.name());
+        }
+        if (categoria != null && !categoria.isBlank()) {
+            where.append("AND t.categoria = ? ");
+            args.add(categoria);
+        }
+
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM support_tickets t " + where, Long.class, args.toArray());
+        List<SupportTicketSummary> content = List.of();
+        if (total != null && total > (long) pageNumber * pageSize) {
+            List<Object> pageArgs = new ArrayList<>(args);
+            pageArgs.add(pageSize);
+            pageArgs.add((long) pageNumber * pageSize);
+            content = jdbcTemplate.query(
+                    SUMMARY_SELECT + where + "ORDER BY t.updated_at DESC, t.id DESC LIMIT ? OFFSET ?",
+                    SUMMARY_MAPPER, pageArgs.toArray());
+        }
+        long totalElements = total != null ? total : 0;
+        int totalPages = (int) Math.ceil(totalElements / (double) pageSize);
+        return new PageResponse<>(content, totalElements, totalPages, pageNumber, pageSize);
+    }
+
+    private static final RowMapper<SupportTicketSummary> SUMMARY_MAPPER = (rs, rowNum) -> {
+        SupportUserInfo solicitante = new SupportUserInfo(
+                rs.getLong("requester_id"),
+                rs.getString("requester_name"),
+                rs.getString("requester_email"),
+                rs.getString("requester_avatar"));
+        SupportMessageResponse ultimo = null;
+        long lastId = rs.getLong("last_id");
+        if (!rs.wasNull()) {
+            SupportUserInfo sender = new SupportUserInfo(
+                    rs.getLong("sender_id"),
+                    rs.getString("sender_name"),
+                    rs.getString("sender_email"),
+                    rs.getString("sender_avatar"));
+            ultimo = new SupportMessageResponse(lastId, sender, rs.getString("last_contenido"),
+                    toInstant(rs.getTimestamp("last_created_at")));
+        }
+        return new SupportTicketSummary(
+                rs.getLong("id"),
+                rs.getString("asunto"),
+                rs.getString("categoria"),
+                SupportTicketStatus.valueOf(rs.getString("estado")),
+                toInstant(rs.getTimestamp("created_at")),
+                toInstant(rs.getTimestamp("updated_at")),
+                solicitante,
+                ultimo,
+                rs.getLong("total_mensajes"));
+    };
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    private SupportTicketResponse toResponse(SupportTicket ticket, List<SupportMessageResponse> mensajes, boolean hayMasMensajes) {
         SupportUserInfo solicitante = new SupportUserInfo(
                 ticket.getRequester().getId(),
                 ticket.getRequester().getName(),
@@ -164,7 +311,8 @@ public class SupportService {
                 ticket.getCreatedAt(),
                 ticket.getUpdatedAt(),
                 solicitante,
-                mensajes
+                mensajes,
+                hayMasMensajes
         );
     }
 
@@ -183,4 +331,3 @@ public class SupportService {
         );
     }
 }
-
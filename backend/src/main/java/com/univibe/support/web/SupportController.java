@@ -1,5 +1,6 @@
 package com.univibe.support.web;
 
+import com.univibe.common.dto.PageResponse;
 import com.univibe.support.dto.*;
 import com.univibe.support.model.SupportTicketStatus;
 import com.univibe.support.service.SupportService;
@@ -9,8 +10,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/support")
 public class SupportController {
@@ -30,15 +29,22 @@ public class SupportController {
     }
 
     @GetMapping("/tickets/my")
-    public List<SupportTicketResponse> misTickets(Authentication auth) {
+    public PageResponse<SupportTicketSummary> misTickets(@RequestParam(required = false) SupportTicketStatus estado,
+                                                         @RequestParam(required = false) String categoria,
+                                                         @RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(defaultValue = "20") int size,
+                                                         Authentication auth) {
         User requester = resolveUser(auth);
-        return supportService.misTickets(requester);
+        return supportService.misTickets(requester, estado, categoria, page, size);
     }
 
     @GetMapping("/tickets")
     @PreAuthorize("hasRole('ADMIN')")
-    public List<SupportTicketResponse> todosLosTickets() {
-        return supportService.todosLosTickets();
+    public PageResponse<SupportTicketSummary> todosLosTickets(@RequestParam(required = false) SupportTicketStatus estado,
+                                                              @RequestParam(required = false) String categoria,
+                                                              @RequestParam(defaultValue = "0") int page,
+                                                              @RequestParam(defaultValue = "20") int size) {
+        return supportService.todosLosTickets(estado, categoria, page, size);
     }
 
     @GetMapping("/tickets/{ticketId}")
@@ -47,6 +53,16 @@ public class SupportController {
         return supportService.obtenerTicket(ticketId, requester);
     }
 
+    @GetMapping("/tickets/{ticketId}/messages")
+    public SupportMessagePage obtenerMensajes(@PathVariable Long ticketId,
+                                              @RequestParam(required = false) Long beforeId,
+                                              @RequestParam(required = false) Long afterId,
+                                              @RequestParam(defaultValue = "50") int size,
+                                              Authentication auth) {
+        User requester = resolveUser(auth);
+        return supportService.obtenerMensajes(ticketId, beforeId, afterId, size, requester);
+    }
+
     @PostMapping("/tickets/{ticketId}/reply")
     @PreAuthorize("hasRole('ADMIN')")
     public SupportMessageResponse responder(@PathVariable Long ticketId,
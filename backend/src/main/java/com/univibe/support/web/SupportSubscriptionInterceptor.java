@@ -0,0 +1,80 @@
+package com.univibe.support.web;
+
+import com.univibe.support.service.SupportService;
+import com.univibe.user.model.User;
+import com.univibe.user.repo.UserRepository;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.regex.Pattern;
+
+/**
+ * Restringe las suscripciones STOMP a los tickets de soporte: la cola
+ * {@code /topic/support.queue} es solo para administradores y cada
+ * {@code /topic/support.{ticketId}} para el solicitante del ticket y los administradores.
+ * Las suscripciones con comodines se rechazan en cualquier destino.
+ */
+@Component
+public class SupportSubscriptionInterceptor implements ChannelInterceptor {
+
+    private static final Pattern PATTERN_CHARS = Pattern.compile("[*?{]");
+
+    private final SupportService supportService;
+    private final UserRepository userRepository;
+
+    public SupportSubscriptionInterceptor(SupportService supportService, UserRepository userRepository) {
+        this.supportService = supportService;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            return message;
+        }
+        String destination = accessor.getDestination();
+        // El broker simple acepta patrones Ant: /topic/** o /topic/support* recibirían todos los tickets
+        if (destination != null && PATTERN_CHARS.matcher(destination).find()) {
+            throw new AccessDeniedException("No se permiten comodines en el destino");
+        }
+        if (destination == null || !destination.startsWith(SupportService.TICKET_TOPIC_PREFIX)) {
+            return message;
+        }
+
+        Principal principal = accessor.getUser();
+        if (!(principal instanceof Authentication auth)) {
+            throw new AccessDeniedException("Suscripción no autenticada");
+        }
+        boolean isAdmin = auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") || a.getAuthority().equals("ROLE_SERVER"));
+        if (destination.equals(SupportService.QUEUE_TOPIC)) {
+            if (!isAdmin) {
+                throw new AccessDeniedException("Forbidden");
+            }
+            return message;
+        }
+
+        Long ticketId;
+        try {
+            ticketId = Long.parseLong(destination.substring(SupportService.TICKET_TOPIC_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new AccessDeniedException("Destino de soporte inválido");
+        }
+        Long userId = isAdmin ? null : userRepository.findByEmail(auth.getName())
+                .map(User::getId)
+                .orElseThrow(() -> new AccessDeniedException("Forbidden"));
+        if (!supportService.puedeSuscribirse(ticketId, userId, isAdmin)) {
+            throw new AccessDeniedException("Forbidden");
+        }
+        return message;
+    }
+}
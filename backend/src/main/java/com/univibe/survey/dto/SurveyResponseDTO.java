@@ -79,11 +79,13 @@ public class SurveyResponseDTO {
 
     public static class AnswerDTO {
         private final Long id;
+        private final Long questionId;
         private final String answer;
         private final UserSummaryDTO respondent;
 
         public AnswerDTO(SurveyAnswer surveyAnswer) {
             this.id = surveyAnswer.getId();
+            this.questionId = surveyAnswer.getQuestion() != null ? surveyAnswer.getQuestion().getId() : null;
             this.answer = surveyAnswer.getAnswer();
             User respondentUser = surveyAnswer.getRespondent();
             if (respondentUser != null) {
@@ -102,6 +104,10 @@ public class SurveyResponseDTO {
             return id;
         }
 
+        public Long getQuestionId() {
+            return questionId;
+        }
+
         public String getAnswer() {
             return answer;
         }
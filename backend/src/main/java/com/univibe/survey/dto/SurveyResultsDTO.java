@@ -0,0 +1,24 @@
+package com.univibe.survey.dto;
+
+import java.util.List;
+
+/**
+ * Resultados agregados de una encuesta: respuestas por pregunta y el histograma de los
+ * valores más repetidos. {@code otherAnswers} cuenta las respuestas fuera del histograma.
+ */
+public record SurveyResultsDTO(Long surveyId,
+                               String title,
+                               boolean closed,
+                               long respondents,
+                               List<QuestionResult> questions) {
+
+    public record QuestionResult(Long questionId,
+                                 String text,
+                                 long answerCount,
+                                 long otherAnswers,
+                                 List<AnswerBucket> histogram) {
+    }
+
+    public record AnswerBucket(String answer, long count) {
+    }
+}
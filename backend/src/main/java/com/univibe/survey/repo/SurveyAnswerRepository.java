@@ -2,9 +2,15 @@ package com.univibe.survey.repo;
 
 import com.univibe.survey.model.SurveyAnswer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface SurveyAnswerRepository extends JpaRepository<SurveyAnswer, Long> {
     List<SurveyAnswer> findByQuestionId(Long questionId);
+
+    @Query("SELECT a FROM SurveyAnswer a JOIN FETCH a.respondent JOIN FETCH a.question q " +
+           "WHERE q.survey.id = :surveyId ORDER BY q.id, a.id")
+    List<SurveyAnswer> findBySurveyIdWithRespondent(@Param("surveyId") Long surveyId);
 }
@@ -0,0 +1,12 @@
+package com.univibe.survey.repo;
+
+import com.univibe.survey.model.SurveyQuestion;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface SurveyQuestionRepository extends JpaRepository<SurveyQuestion, Long> {
+    @EntityGraph(attributePaths = {"survey", "survey.event"})
+    Optional<SurveyQuestion> findWithSurveyById(Long id);
+}
@@ -5,10 +5,40 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface SurveyRepository extends JpaRepository<Survey, Long> {
+    /**
+     * Encuestas visibles para un usuario: las de eventos en los que está inscrito y las de
+     * grupo (sin evento) compartidas en grupos de los que es miembro o propietario.
+     */
+    String VISIBLE_SURVEY_IDS = """
+            SELECT s.id FROM surveys s
+            JOIN registrations r ON r.event_id = s.event_id
+            WHERE r.user_id = :userId
+            UNION
+            SELECT s.id FROM surveys s
+            JOIN group_surveys gs ON gs.survey_id = s.id
+            JOIN group_members gm ON gm.group_id = gs.group_id
+            WHERE gm.user_id = :userId AND s.event_id IS NULL
+            UNION
+            SELECT s.id FROM surveys s
+            JOIN group_surveys gs ON gs.survey_id = s.id
+            JOIN groups g ON g.id = gs.group_id
+            WHERE g.owner_id = :userId AND s.event_id IS NULL""";
+
+    @Query(value = "SELECT v.id FROM (" + VISIBLE_SURVEY_IDS + ") v ORDER BY v.id DESC",
+           countQuery = "SELECT count(*) FROM (" + VISIBLE_SURVEY_IDS + ") v",
+           nativeQuery = true)
+    Page<Long> findVisibleSurveyIds(@Param("userId") Long userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"questions"})
+    List<Survey> findByIdIn(Collection<Long> ids);
+
     @EntityGraph(attributePaths = {"questions"})
     List<Survey> findByEventId(Long eventId);
 
@@ -0,0 +1,119 @@
+package com.univibe.survey.service;
+
+import com.univibe.survey.dto.SurveyResultsDTO;
+import com.univibe.survey.dto.SurveyResultsDTO.AnswerBucket;
+import com.univibe.survey.dto.SurveyResultsDTO.QuestionResult;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Escritura y agregación de respuestas de encuestas directamente en SQL.
+ * <p>
+ * La unicidad de (pregunta, usuario) la garantiza el índice único
+ * {@code uk_survey_answers_question_respondent}: el INSERT usa ON CONFLICT y un duplicado
+ * no devuelve fila, sin leer antes las respuestas existentes. Los resultados se calculan
+ * con GROUP BY por pregunta y respuesta, limitando el histograma a los valores más frecuentes.
+ */
+@Service
+public class SurveyAnswerService {
+
+    public static final int HISTOGRAM_BUCKETS = 20;
+
+    private static final String INSERT_ANSWER = """
+            INSERT INTO survey_answers (question_id, respondent_id, answer)
+            VALUES (?, ?, ?)
+            ON CONFLICT (question_id, respondent_id) DO NOTHING
+            RETURNING id""";
+
+    private static final String SELECT_HISTOGRAM = """
+            SELECT q.id AS question_id, q.text, h.answer, h.answers, h.total_answers
+            FROM survey_questions q
+            LEFT JOIN LATERAL (
+                SELECT a.answer, count(*) AS answers, sum(count(*)) OVER () AS total_answers
+                FROM survey_answers a
+                WHERE a.question_id = q.id
+                GROUP BY a.answer
+                ORDER BY count(*) DESC, a.answer
+                LIMIT ?
+            ) h ON true
+            WHERE q.survey_id = ?
+            ORDER BY q.id, h.answers DESC, h.answer""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SurveyAnswerService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserta la respuesta y devuelve su id, o vacío si el usuario ya había respondido la pregunta.
+     */
+    @Transactional
+    public Optional<Long> insertAnswer(Long questionId, Long respondentId, String answer) {
+        List<Long> ids = jdbcTemplate.queryForList(INSERT_ANSWER, Long.class, questionId, respondentId, answer);
+        return ids.stream().findFirst();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<SurveyResultsDTO> results(Long surveyId) {
+        List<Map<String, Object>> header = jdbcTemplate.queryForList(
+                "SELECT id, title, closed FROM surveys WHERE id = ?", surveyId);
+        if (header.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<Long, QuestionAccumulator> questions = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_HISTOGRAM, rs -> {
+            long questionId = rs.getLong("question_id");
+            QuestionAccumulator question = questions.get(questionId);
+            if (question == null) {
+                question = new QuestionAccumulator(questionId, rs.getString("text"));
+                questions.put(questionId, question);
+            }
+            long count = rs.getLong("answers");
+            if (!rs.wasNull()) {
+                question.total = rs.getLong("total_answers");
+                question.histogram.add(new AnswerBucket(rs.getString("answer"), count));
+            }
+        }, HISTOGRAM_BUCKETS, surveyId);
+
+        Long respondents = jdbcTemplate.queryForObject(
+                "SELECT count(DISTINCT a.respondent_id) FROM survey_answers a " +
+                "JOIN survey_questions q ON q.id = a.question_id WHERE q.survey_id = ?",
+                Long.class, surveyId);
+
+        Map<String, Object> survey = header.get(0);
+        List<QuestionResult> results = new ArrayList<>(questions.size());
+        for (QuestionAccumulator question : questions.values()) {
+            long inHistogram = question.histogram.stream().mapToLong(AnswerBucket::count).sum();
+            results.add(new QuestionResult(question.id, question.text, question.total,
+                    question.total - inHistogram, question.histogram));
+        }
+        return Optional.of(new SurveyResultsDTO(
+                surveyId,
+                (String) survey.get("title"),
+                Boolean.TRUE.equals(survey.get("closed")),
+                respondents != null ? respondents : 0L,
+                results
+        ));
+    }
+
+    private static final class QuestionAccumulator {
+        private final Long id;
+        private final String text;
+        private final List<AnswerBucket> histogram = new ArrayList<>();
+        private long total;
+
+        private QuestionAccumulator(Long id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+    }
+}
@@ -7,17 +7,18 @@ import java.util.Optional;
 import com.univibe.common.dto.PageResponse;
 import com.univibe.event.model.Event;
 import com.univibe.event.repo.EventRepository;
-import com.univibe.group.model.GroupSurvey;
-import com.univibe.group.repo.GroupSurveyRepository;
 import com.univibe.registration.repo.RegistrationRepository;
 import com.univibe.survey.dto.SurveyResponseDTO;
+import com.univibe.survey.dto.SurveyResultsDTO;
 import com.univibe.survey.model.Survey;
-import com.univibe.survey.model.SurveyAnswer;
 import com.univibe.survey.model.SurveyQuestion;
 import com.univibe.survey.repo.SurveyAnswerRepository;
+import com.univibe.survey.repo.SurveyQuestionRepository;
 import com.univibe.survey.repo.SurveyRepository;
+import com.univibe.survey.service.SurveyAnswerService;
 import com.univibe.user.model.User;
 import com.univibe.user.repo.UserRepository;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -33,15 +34,17 @@ public class SurveyController {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final RegistrationRepository registrationRepository;
-    private final GroupSurveyRepository groupSurveyRepository;
+    private final SurveyQuestionRepository questionRepository;
+    private final SurveyAnswerService surveyAnswerService;
 
-    public SurveyController(SurveyRepository surveyRepository, SurveyAnswerRepository answerRepository, EventRepository eventRepository, UserRepository userRepository, RegistrationRepository registrationRepository, GroupSurveyRepository groupSurveyRepository) {
+    public SurveyController(SurveyRepository surveyRepository, SurveyAnswerRepository answerRepository, EventRepository eventRepository, UserRepository userRepository, RegistrationRepository registrationRepository, SurveyQuestionRepository questionRepository, SurveyAnswerService surveyAnswerService) {
         this.surveyRepository = surveyRepository;
         this.answerRepository = answerRepository;
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.registrationRepository = registrationRepository;
-        this.groupSurveyRepository = groupSurveyRepository;
+        this.questionRepository = questionRepository;
+        this.surveyAnswerService = surveyAnswerService;
     }
 
     @GetMapping
@@ -54,7 +57,6 @@ public class SurveyController {
         String email = (String) auth.getPrincipal();
         User user = userRepository.findByEmail(email).orElseThrow();
         boolean isAdmin = user.getRole().name().equals("ADMIN") || user.getRole().name().equals("SERVER");
-        List<Survey> surveys;
         
         if (eventId.isPresent()) {
             Long eId = eventId.get();
@@ -74,27 +76,15 @@ public class SurveyController {
             var surveyPage = surveyRepository.findAll(PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id")))
                     .map(SurveyResponseDTO::new);
             return PageResponse.from(surveyPage);
-        } else {
-            // Usuarios normales: encuestas de eventos donde están registrados + encuestas de grupos donde son miembros
-            List<Survey> allSurveys = surveyRepository.findAll();
-            List<GroupSurvey> groupSurveys = groupSurveyRepository.findAll();
-            surveys = allSurveys.stream()
-                    .filter(s -> {
-                        // Si tiene evento, verificar registro
-                        if (s.getEvent() != null) {
-                            return registrationRepository.findByUserIdAndEventId(user.getId(), s.getEvent().getId()).isPresent();
-                        }
-                        // Si no tiene evento, es encuesta de grupo - verificar si está compartida en algún grupo del usuario
-                        return groupSurveys.stream()
-                                .anyMatch(gs -> gs.getSurvey().getId().equals(s.getId()) 
-                                        && (gs.getGroup().getOwner().getId().equals(user.getId()) 
-                                            || gs.getGroup().getMembers().stream().anyMatch(m -> m.getId().equals(user.getId()))));
-                    })
-                    .toList();
         }
-        surveys.sort((a, b) -> Long.compare(b.getId(), a.getId()));
-        List<SurveyResponseDTO> dtoList = surveys.stream().map(SurveyResponseDTO::new).toList();
-        return PageResponse.fromList(dtoList, page, size);
+
+        // Usuarios normales: encuestas de eventos donde están registrados + encuestas de grupos donde son miembros
+        Page<Long> idPage = surveyRepository.findVisibleSurveyIds(user.getId(), PageRequest.of(page, size));
+        Map<Long, Survey> surveysById = new HashMap<>();
+        if (!idPage.isEmpty()) {
+            surveyRepository.findByIdIn(idPage.getContent()).forEach(s -> surveysById.put(s.getId(), s));
+        }
+        return PageResponse.from(idPage.map(id -> new SurveyResponseDTO(surveysById.get(id))));
     }
 
     @GetMapping("/{surveyId}")
@@ -119,13 +109,22 @@ public class SurveyController {
 
     @GetMapping("/{surveyId}/answers")
     @PreAuthorize("hasAnyRole('ADMIN','SERVER')")
-    public List<SurveyAnswer> getAnswers(@PathVariable Long surveyId) {
-        Survey survey = surveyRepository.findById(surveyId).orElseThrow();
-        return survey.getQuestions().stream()
-                .flatMap(q -> answerRepository.findByQuestionId(q.getId()).stream())
+    @Transactional(readOnly = true)
+    public List<SurveyResponseDTO.AnswerDTO> getAnswers(@PathVariable Long surveyId) {
+        if (!surveyRepository.existsById(surveyId)) {
+            throw new java.util.NoSuchElementException("Survey not found: " + surveyId);
+        }
+        return answerRepository.findBySurveyIdWithRespondent(surveyId).stream()
+                .map(SurveyResponseDTO.AnswerDTO::new)
                 .toList();
     }
 
+    @GetMapping("/{surveyId}/results")
+    @PreAuthorize("hasAnyRole('ADMIN','SERVER')")
+    public SurveyResultsDTO getResults(@PathVariable Long surveyId) {
+        return surveyAnswerService.results(surveyId).orElseThrow();
+    }
+
     @PostMapping
     @Transactional
     @PreAuthorize("hasAnyRole('ADMIN','SERVER')")
@@ -184,14 +183,9 @@ public class SurveyController {
         String email = (String) auth.getPrincipal();
         User user = userRepository.findByEmail(email).orElseThrow();
         
-        // Buscar la encuesta que contiene la pregunta
-        Survey s = surveyRepository.findAll().stream()
-            .filter(sv -> sv.getQuestions() != null && sv.getQuestions().stream().anyMatch(q -> q.getId() != null && q.getId().equals(questionId)))
-            .findFirst().orElseThrow(() -> new IllegalArgumentException("Question not found: " + questionId));
-        
-        SurveyQuestion question = s.getQuestions().stream()
-            .filter(q -> q.getId() != null && q.getId().equals(questionId))
-            .findFirst().orElseThrow(() -> new IllegalArgumentException("Question not found: " + questionId));
+        SurveyQuestion question = questionRepository.findWithSurveyById(questionId)
+            .orElseThrow(() -> new IllegalArgumentException("Question not found: " + questionId));
+        Survey s = question.getSurvey();
         
         // Verificar que la encuesta no esté cerrada
         if (s.isClosed()) {
@@ -207,24 +201,15 @@ public class SurveyController {
         }
         // Si no tiene evento, es una encuesta de grupo y cualquier miembro puede responder
 
-        // Verificar que no haya respondido ya esta pregunta
-        boolean alreadyAnswered = answerRepository.findByQuestionId(questionId).stream()
-                .anyMatch(a -> a.getRespondent().getId().equals(user.getId()));
-        if (alreadyAnswered) {
-            throw new IllegalStateException("Already answered this question");
-        }
-
-        SurveyAnswer sa = new SurveyAnswer();
-        sa.setQuestion(question);
-        sa.setRespondent(user);
-        sa.setAnswer(answer);
+        // El índice único (question_id, respondent_id) resuelve el duplicado en el propio INSERT
+        Long answerId = surveyAnswerService.insertAnswer(questionId, user.getId(), answer)
+                .orElseThrow(() -> new IllegalStateException("Already answered this question"));
 
-        SurveyAnswer saved = answerRepository.save(sa);
         return Map.of(
-            "id", saved.getId(),
-            "questionId", saved.getQuestion().getId(),
+            "id", answerId,
+            "questionId", questionId,
             "respondentId", user.getId(),
-            "answer", saved.getAnswer()
+            "answer", answer
         );
     }
 
@@ -0,0 +1,12 @@
+package com.univibe.user.dto;
+
+/**
+ * Sugerencia del buscador de usuarios. {@code friend} indica si ya es amigo de quien busca.
+ */
+public record UserSearchResult(
+        Long id,
+        String name,
+        String email,
+        String profilePictureUrl,
+        boolean friend
+) {}
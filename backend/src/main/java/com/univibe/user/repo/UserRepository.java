@@ -4,13 +4,25 @@ import com.univibe.user.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
-    Page<User> findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(String name, String email, Pageable pageable);
-    List<User> findByEmailContainingIgnoreCase(String email);
+
+    // % y _ de la búsqueda se escapan: son texto, no comodines
+    default Page<User> searchByNameOrEmail(String query, Pageable pageable) {
+        String escaped = query.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return searchByLowerPattern("%" + escaped + "%", pageable);
+    }
+
+    // lower(...) LIKE para que apliquen los índices de trigramas de V4 (los derivados usan upper)
+    @Query("SELECT u FROM User u WHERE lower(u.name) LIKE :pattern ESCAPE '\\' " +
+           "OR lower(u.email) LIKE :pattern ESCAPE '\\'")
+    Page<User> searchByLowerPattern(@Param("pattern") String pattern, Pageable pageable);
 }
@@ -0,0 +1,123 @@
+package com.univibe.user.service;
+
+import com.univibe.user.dto.UserSearchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Búsqueda de usuarios para el autocompletado (la caja de "añadir amigo" consulta en cada
+ * tecla).
+ * <p>
+ * Con menos de {@link #MIN_CONTAINS_LENGTH} caracteres solo se buscan prefijos de nombre o
+ * email (índices {@code text_pattern_ops}); a partir de ahí, coincidencias en cualquier
+ * posición, resueltas por los índices GIN de trigramas sobre {@code lower(name)} y
+ * {@code lower(email)}. Los resultados se ordenan con los amigos primero y, dentro de cada
+ * grupo, coincidencia exacta, prefijo, inicio de palabra y resto. Cada consulta corre con un
+ * {@code statement_timeout} propio: si se pasa del presupuesto se devuelve una lista vacía en
+ * lugar de bloquear el hilo.
+ */
+@Service
+public class UserSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchService.class);
+
+    public static final int MIN_CONTAINS_LENGTH = 3;
+    private static final String QUERY_CANCELED = "57014";
+
+    private static final String SEARCH_SQL =
+            "SELECT u.id, u.name, u.email, u.profile_picture_url, " +
+            "EXISTS (SELECT 1 FROM friendships f " +
+            "        WHERE (f.user1_id = ? AND f.user2_id = u.id) OR (f.user1_id = u.id AND f.user2_id = ?)) AS friend, " +
+            "CASE WHEN lower(u.name) = ? OR lower(u.email) = ? THEN 0 " +
+            "     WHEN lower(u.name) LIKE ? ESCAPE '\\' OR lower(u.email) LIKE ? ESCAPE '\\' THEN 1 " +
+            "     WHEN lower(u.name) LIKE ? ESCAPE '\\' THEN 2 " +
+            "     ELSE 3 END AS rank " +
+            "FROM users u " +
+            "WHERE u.id <> ? AND (lower(u.name) LIKE ? ESCAPE '\\' OR lower(u.email) LIKE ? ESCAPE '\\') " +
+            "ORDER BY friend DESC, rank, length(u.name), u.id " +
+            "LIMIT ?";
+
+    private static final RowMapper<UserSearchResult> RESULT_MAPPER = (rs, rowNum) -> new UserSearchResult(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("email"),
+            rs.getString("profile_picture_url"),
+            rs.getBoolean("friend"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final long timeoutMs;
+
+    public UserSearchService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${users.search.default-limit:10}") int defaultLimit,
+                             @Value("${users.search.max-limit:25}") int maxLimit,
+                             @Value("${users.search.timeout-ms:250}") long timeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public List<UserSearchResult> search(Long requesterId, String query, Integer limit) {
+        String q = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (q.isEmpty()) {
+            return List.of();
+        }
+        int size = Math.max(1, Math.min(limit != null ? limit : defaultLimit, maxLimit));
+        String escaped = escapeLike(q);
+        String prefix = escaped + "%";
+        String wordPrefix = "% " + escaped + "%";
+        String filter = q.length() >= MIN_CONTAINS_LENGTH ? "%" + escaped + "%" : prefix;
+        long requester = requesterId != null ? requesterId : -1L;
+
+        try {
+            return transactionTemplate.execute(status -> {
+                jdbcTemplate.execute("SET LOCAL statement_timeout = " + timeoutMs);
+                return jdbcTemplate.query(SEARCH_SQL, RESULT_MAPPER,
+                        requester, requester,
+                        q, q,
+                        prefix, prefix,
+                        wordPrefix,
+                        requester, filter, filter,
+                        size);
+            });
+        } catch (DataAccessException e) {
+            if (isQueryCanceled(e)) {
+                log.warn("User search for '{}' exceeded {} ms", q, timeoutMs);
+                return List.of();
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isQueryCanceled(DataAccessException e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof SQLException sql && QUERY_CANCELED.equals(sql.getSQLState())) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -47,7 +47,7 @@ public class UserController {
     ) {
         return search.filter(StringUtils::hasText)
                 .map(String::trim)
-                .map(query -> PageResponse.from(userRepository.findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(query, query, pageable)))
+                .map(query -> PageResponse.from(userRepository.searchByNameOrEmail(query, pageable)))
                 .orElseGet(() -> PageResponse.from(userRepository.findAll(pageable)));
     }
 
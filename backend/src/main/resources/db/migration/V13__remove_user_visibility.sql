@@ -1,4 +0,0 @@
--- Eliminar columna is_visible si existe (funcionalidad removida)
-ALTER TABLE users DROP COLUMN IF EXISTS is_visible;
-
-
@@ -0,0 +1,463 @@
+-- Esquema base: las tablas de las entidades JPA tal como las dejó ddl-auto=update, junto con lo
+-- que añadían los inicializadores de esquema (visibilidad, búsqueda del catálogo, unicidad de
+-- respuestas). Es idempotente: las bases creadas antes con ddl-auto=update se marcan con baseline
+-- en la versión 0 y también lo ejecutan; conservan sus tablas y reciben lo que les falte (tablas
+-- nuevas, columnas añadidas después e índices).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- ============================================
+-- USUARIOS
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    name VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL CHECK (role IN ('USER', 'ADMIN', 'SERVER')),
+    points INTEGER NOT NULL,
+    profile_picture_url TEXT,
+    created_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_preferences (
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    category VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS user_stats (
+    user_id BIGINT PRIMARY KEY,
+    posts BIGINT NOT NULL,
+    likes_received BIGINT NOT NULL,
+    friends BIGINT NOT NULL,
+    events_attended BIGINT NOT NULL,
+    stories BIGINT NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL
+);
+
+-- ============================================
+-- ARCHIVOS Y STICKERS
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS file_assets (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    uploader_id BIGINT NOT NULL REFERENCES users (id),
+    file_name VARCHAR(255) NOT NULL,
+    content_type VARCHAR(120) NOT NULL,
+    size_in_bytes BIGINT NOT NULL,
+    data BYTEA NOT NULL,
+    preview_base64 TEXT,
+    scope VARCHAR(255) CHECK (scope IN ('EVENT_CHAT', 'GROUP_CHAT', 'PRIVATE_CHAT', 'SUPPORT', 'STICKER', 'OTHER')),
+    scope_id BIGINT,
+    sticker BOOLEAN NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS stickers (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    owner_id BIGINT REFERENCES users (id),
+    file_asset_id BIGINT NOT NULL REFERENCES file_assets (id),
+    nombre VARCHAR(80),
+    global_flag BOOLEAN NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL
+);
+
+-- ============================================
+-- EVENTOS
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    category VARCHAR(255) NOT NULL,
+    faculty VARCHAR(255),
+    career VARCHAR(255),
+    start_time TIMESTAMPTZ,
+    end_time TIMESTAMPTZ,
+    status VARCHAR(255) CHECK (status IN ('PENDING', 'LIVE', 'FINISHED')),
+    visibility VARCHAR(20) NOT NULL DEFAULT 'PUBLIC' CHECK (visibility IN ('PUBLIC', 'PRIVATE')),
+    max_capacity INTEGER,
+    check_in_password VARCHAR(50),
+    created_by_id BIGINT REFERENCES users (id),
+    CONSTRAINT uk_event_title_start UNIQUE (title, start_time)
+);
+
+-- Búsqueda de texto completo del catálogo; la calcula PostgreSQL y no está mapeada en la entidad
+ALTER TABLE events
+    ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('spanish'::regconfig, coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('spanish'::regconfig, coalesce(category, '')), 'B') ||
+        setweight(to_tsvector('spanish'::regconfig, coalesce(faculty, '') || ' ' || coalesce(career, '')), 'C') ||
+        setweight(to_tsvector('spanish'::regconfig, coalesce(description, '')), 'D')
+    ) STORED;
+
+CREATE TABLE IF NOT EXISTS event_tags (
+    event_id BIGINT NOT NULL REFERENCES events (id),
+    tag VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS registrations (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    event_id BIGINT NOT NULL REFERENCES events (id),
+    qr_code VARCHAR(255) NOT NULL,
+    status VARCHAR(255) CHECK (status IN ('REGISTERED', 'CHECKED_IN', 'CANCELLED')),
+    checked_in_at TIMESTAMPTZ,
+    UNIQUE (user_id, event_id)
+);
+
+CREATE TABLE IF NOT EXISTS chat_messages (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id BIGINT NOT NULL REFERENCES events (id),
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    content VARCHAR(2000) NOT NULL,
+    file_url TEXT,
+    file_name VARCHAR(255),
+    file_type VARCHAR(50),
+    file_asset_id BIGINT REFERENCES file_assets (id),
+    sticker_id BIGINT REFERENCES stickers (id),
+    created_at TIMESTAMPTZ NOT NULL
+);
+
+-- ============================================
+-- ENCUESTAS
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS surveys (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    event_id BIGINT REFERENCES events (id),
+    closed BOOLEAN NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS survey_questions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    survey_id BIGINT NOT NULL REFERENCES surveys (id),
+    text VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS survey_answers (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    question_id BIGINT NOT NULL REFERENCES survey_questions (id),
+    respondent_id BIGINT NOT NULL REFERENCES users (id),
+    answer VARCHAR(255) NOT NULL
+);
+
+-- ============================================
+-- GRUPOS
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS groups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    privacy VARCHAR(255) NOT NULL CHECK (privacy IN ('PUBLIC', 'PRIVATE')),
+    owner_id BIGINT NOT NULL REFERENCES users (id),
+    members_can_chat BOOLEAN NOT NULL DEFAULT false
+);
+
+CREATE TABLE IF NOT EXISTS group_members (
+    group_id BIGINT NOT NULL REFERENCES groups (id),
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    PRIMARY KEY (group_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS group_join_requests (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    group_id BIGINT NOT NULL REFERENCES groups (id),
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED')),
+    created_at TIMESTAMPTZ NOT NULL,
+    UNIQUE (group_id, user_id, status)
+);
+
+CREATE TABLE IF NOT EXISTS group_messages (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    group_id BIGINT NOT NULL REFERENCES groups (id),
+    sender_id BIGINT NOT NULL REFERENCES users (id),
+    content TEXT NOT NULL,
+    file_url TEXT,
+    file_name VARCHAR(255),
+    file_type VARCHAR(50),
+    file_asset_id BIGINT REFERENCES file_assets (id),
+    sticker_id BIGINT REFERENCES stickers (id),
+    created_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS group_announcements (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    group_id BIGINT NOT NULL REFERENCES groups (id),
+    sender_id BIGINT NOT NULL REFERENCES users (id),
+    title VARCHAR(255) NOT NULL,
+    content TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS group_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    group_id BIGINT NOT NULL REFERENCES groups (id),
+    event_id BIGINT NOT NULL REFERENCES events (id),
+    shared_by_id BIGINT NOT NULL REFERENCES users (id),
+    created_at TIMESTAMPTZ NOT NULL,
+    UNIQUE (group_id, event_id)
+);
+
+CREATE TABLE IF NOT EXISTS group_surveys (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    group_id BIGINT NOT NULL REFERENCES groups (id),
+    survey_id BIGINT NOT NULL REFERENCES surveys (id),
+    shared_by_id BIGINT NOT NULL REFERENCES users (id),
+    created_at TIMESTAMPTZ NOT NULL,
+    UNIQUE (group_id, survey_id)
+);
+
+-- ============================================
+-- SOCIAL
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS friend_requests (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sender_id BIGINT NOT NULL REFERENCES users (id),
+    receiver_id BIGINT NOT NULL REFERENCES users (id),
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'ACCEPTED', 'REJECTED')),
+    created_at TIMESTAMPTZ NOT NULL,
+    UNIQUE (sender_id, receiver_id)
+);
+
+CREATE TABLE IF NOT EXISTS friendships (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user1_id BIGINT NOT NULL REFERENCES users (id),
+    user2_id BIGINT NOT NULL REFERENCES users (id),
+    created_at TIMESTAMPTZ NOT NULL,
+    UNIQUE (user1_id, user2_id)
+);
+
+CREATE TABLE IF NOT EXISTS private_messages (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sender_id BIGINT NOT NULL REFERENCES users (id),
+    receiver_id BIGINT NOT NULL REFERENCES users (id),
+    content TEXT NOT NULL,
+    mode VARCHAR(30),
+    file_url TEXT,
+    file_name VARCHAR(255),
+    file_type VARCHAR(50),
+    file_asset_id BIGINT REFERENCES file_assets (id),
+    sticker_id BIGINT REFERENCES stickers (id),
+    read_flag BOOLEAN NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS posts (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    content TEXT NOT NULL,
+    media_url TEXT,
+    media_type VARCHAR(50),
+    music_url TEXT,
+    likes_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS post_likes (
+    post_id BIGINT NOT NULL REFERENCES posts (id),
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    PRIMARY KEY (post_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS post_comments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    post_id BIGINT NOT NULL REFERENCES posts (id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    content TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS stories (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    media_url TEXT,
+    media_type VARCHAR(50),
+    music_url TEXT,
+    caption VARCHAR(255),
+    is_active BOOLEAN NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS reports (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type VARCHAR(255) NOT NULL CHECK (type IN ('EVENT', 'PROFILE', 'GROUP', 'POST')),
+    target_id BIGINT NOT NULL,
+    reason VARCHAR(500) NOT NULL,
+    details TEXT,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'REVIEWED', 'RESOLVED', 'DISMISSED')),
+    reported_by_id BIGINT NOT NULL REFERENCES users (id),
+    reviewed_by_id BIGINT REFERENCES users (id),
+    created_at TIMESTAMPTZ NOT NULL,
+    reviewed_at TIMESTAMPTZ
+);
+
+CREATE TABLE IF NOT EXISTS message_reactions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    message_type VARCHAR(30) NOT NULL CHECK (message_type IN ('EVENT_CHAT', 'GROUP_CHAT', 'PRIVATE_CHAT')),
+    message_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    emoji VARCHAR(16) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    UNIQUE (message_type, message_id, user_id, emoji)
+);
+
+CREATE TABLE IF NOT EXISTS message_archive_segments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    context_type VARCHAR(30) NOT NULL CHECK (context_type IN ('EVENT_CHAT', 'GROUP_CHAT', 'PRIVATE_CHAT')),
+    context_id BIGINT NOT NULL,
+    first_message_id BIGINT NOT NULL,
+    last_message_id BIGINT NOT NULL,
+    first_created_at TIMESTAMPTZ NOT NULL,
+    last_created_at TIMESTAMPTZ NOT NULL,
+    message_count INTEGER NOT NULL,
+    payload BYTEA NOT NULL,
+    archived_at TIMESTAMPTZ NOT NULL
+);
+
+-- ============================================
+-- LLAMADAS
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS call_sessions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    context_type VARCHAR(255) NOT NULL CHECK (context_type IN ('PRIVATE', 'GROUP', 'EVENT')),
+    context_id BIGINT NOT NULL,
+    mode VARCHAR(255) NOT NULL CHECK (mode IN ('NORMAL', 'CONFERENCE')),
+    created_by_id BIGINT NOT NULL REFERENCES users (id),
+    activo BOOLEAN NOT NULL,
+    missed BOOLEAN NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    accepted_at TIMESTAMPTZ,
+    ring_deadline TIMESTAMPTZ,
+    ended_at TIMESTAMPTZ,
+    duration_seconds INTEGER
+);
+
+-- ============================================
+-- NOTIFICACIONES Y SOPORTE
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    recipient_id BIGINT NOT NULL REFERENCES users (id),
+    title VARCHAR(255) NOT NULL,
+    message VARCHAR(255) NOT NULL,
+    source_type VARCHAR(40) CHECK (source_type IN ('PRIVATE_MESSAGE', 'CALL', 'ACHIEVEMENT', 'ADMIN')),
+    source_id BIGINT,
+    read_flag BOOLEAN,
+    created_at TIMESTAMPTZ
+);
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    recipient VARCHAR(320) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    html_body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'SENT', 'FAILED')),
+    attempts INTEGER NOT NULL,
+    last_error TEXT,
+    created_at TIMESTAMPTZ NOT NULL,
+    next_attempt_at TIMESTAMPTZ NOT NULL,
+    sent_at TIMESTAMPTZ
+);
+
+CREATE TABLE IF NOT EXISTS support_tickets (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    requester_id BIGINT NOT NULL REFERENCES users (id),
+    asunto VARCHAR(150) NOT NULL,
+    categoria VARCHAR(80),
+    estado VARCHAR(255) NOT NULL CHECK (estado IN ('OPEN', 'IN_PROGRESS', 'CLOSED')),
+    created_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS support_messages (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ticket_id BIGINT NOT NULL REFERENCES support_tickets (id),
+    sender_id BIGINT NOT NULL REFERENCES users (id),
+    contenido TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL
+);
+
+-- ============================================
+-- GAMIFICACIÓN
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS achievements (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code VARCHAR(255) NOT NULL UNIQUE,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(500),
+    category VARCHAR(50),
+    rarity VARCHAR(20),
+    icon VARCHAR(255),
+    max_progress INTEGER,
+    points INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS user_achievements (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    achievement_id BIGINT NOT NULL REFERENCES achievements (id),
+    progress INTEGER,
+    earned_at TIMESTAMPTZ,
+    UNIQUE (user_id, achievement_id)
+);
+
+-- ============================================
+-- BASES CREADAS CON ddl-auto=update
+-- ============================================
+
+-- Ya tenían las tablas, así que los CREATE TABLE de arriba no les añaden nada: aquí reciben las
+-- columnas y restricciones que llegaron después. En una base nueva no cambia nada.
+ALTER TABLE call_sessions ADD COLUMN IF NOT EXISTS ring_deadline TIMESTAMPTZ;
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS likes_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE notifications
+    ADD COLUMN IF NOT EXISTS source_type VARCHAR(40) CHECK (source_type IN ('PRIVATE_MESSAGE', 'CALL', 'ACHIEVEMENT', 'ADMIN')),
+    ADD COLUMN IF NOT EXISTS source_id BIGINT;
+ALTER TABLE events ALTER COLUMN visibility SET DEFAULT 'PUBLIC';
+UPDATE groups SET members_can_chat = false WHERE members_can_chat IS NULL;
+ALTER TABLE groups ALTER COLUMN members_can_chat SET NOT NULL;
+
+-- El índice único de respuestas no admite repetidas: se conserva la primera de cada pregunta
+DELETE FROM survey_answers a
+USING survey_answers b
+WHERE a.question_id = b.question_id AND a.respondent_id = b.respondent_id AND a.id > b.id;
+
+-- ============================================
+-- ÍNDICES DECLARADOS EN LAS ENTIDADES Y EN LOS INICIALIZADORES
+-- ============================================
+
+CREATE INDEX IF NOT EXISTS idx_chat_messages_event_created ON chat_messages (event_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_group_messages_group_created ON group_messages (group_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_message_archive_context ON message_archive_segments (context_type, context_id, first_message_id);
+CREATE INDEX IF NOT EXISTS idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_read_id ON notifications (recipient_id, read_flag, id);
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_source ON notifications (recipient_id, source_type, source_id);
+CREATE INDEX IF NOT EXISTS idx_post_comments_post_id_id ON post_comments (post_id, id);
+CREATE INDEX IF NOT EXISTS idx_reports_status ON reports (status);
+CREATE INDEX IF NOT EXISTS idx_reports_type_target ON reports (type, target_id);
+CREATE INDEX IF NOT EXISTS idx_support_messages_ticket_id ON support_messages (ticket_id, id);
+CREATE INDEX IF NOT EXISTS idx_support_tickets_estado_updated ON support_tickets (estado, updated_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_support_tickets_requester_updated ON support_tickets (requester_id, updated_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_support_tickets_updated ON support_tickets (updated_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_events_search_vector ON events USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_events_title_trgm ON events USING GIN (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_events_visibility_status_start ON events (visibility, status, start_time);
+CREATE INDEX IF NOT EXISTS idx_events_category_lower ON events (lower(category));
+CREATE INDEX IF NOT EXISTS idx_events_created_by ON events (created_by_id);
+CREATE INDEX IF NOT EXISTS idx_group_events_event ON group_events (event_id);
+CREATE INDEX IF NOT EXISTS idx_event_tags_event ON event_tags (event_id);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_survey_answers_question_respondent ON survey_answers (question_id, respondent_id);
+CREATE INDEX IF NOT EXISTS idx_survey_questions_survey ON survey_questions (survey_id);
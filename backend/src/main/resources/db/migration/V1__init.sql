@@ -1,88 +0,0 @@
--- Baseline schema for core tables (simplified). Adjust as needed for production.
-
-CREATE TABLE IF NOT EXISTS users (
-    id BIGSERIAL PRIMARY KEY,
-    name VARCHAR(255) NOT NULL,
-    email VARCHAR(255) NOT NULL UNIQUE,
-    password_hash VARCHAR(255) NOT NULL,
-    role VARCHAR(50) NOT NULL,
-    points INT NOT NULL DEFAULT 0,
-    created_at TIMESTAMP NOT NULL DEFAULT NOW()
-);
-
-CREATE TABLE IF NOT EXISTS events (
-    id BIGSERIAL PRIMARY KEY,
-    title VARCHAR(255) NOT NULL,
-    category VARCHAR(255) NOT NULL,
-    description VARCHAR(1000),
-    faculty VARCHAR(255),
-    career VARCHAR(255),
-    status VARCHAR(50),
-    start_time TIMESTAMP,
-    end_time TIMESTAMP
-);
-
-CREATE TABLE IF NOT EXISTS registrations (
-    id BIGSERIAL PRIMARY KEY,
-    user_id BIGINT NOT NULL REFERENCES users(id),
-    event_id BIGINT NOT NULL REFERENCES events(id),
-    status VARCHAR(50) NOT NULL,
-    qr_code TEXT NOT NULL,
-    checked_in_at TIMESTAMP,
-    CONSTRAINT uk_user_event UNIQUE (user_id, event_id)
-);
-
-CREATE TABLE IF NOT EXISTS achievements (
-    id BIGSERIAL PRIMARY KEY,
-    code VARCHAR(255) UNIQUE NOT NULL,
-    name VARCHAR(255) NOT NULL,
-    description VARCHAR(500)
-);
-
-CREATE TABLE IF NOT EXISTS user_achievements (
-    id BIGSERIAL PRIMARY KEY,
-    user_id BIGINT NOT NULL REFERENCES users(id),
-    achievement_id BIGINT NOT NULL REFERENCES achievements(id),
-    earned_at TIMESTAMP NOT NULL DEFAULT NOW(),
-    CONSTRAINT uk_user_ach UNIQUE (user_id, achievement_id)
-);
-
-CREATE TABLE IF NOT EXISTS groups (
-    id BIGSERIAL PRIMARY KEY,
-    name VARCHAR(255) UNIQUE NOT NULL,
-    owner_id BIGINT NOT NULL REFERENCES users(id)
-);
-
-CREATE TABLE IF NOT EXISTS group_members (
-    group_id BIGINT NOT NULL REFERENCES groups(id),
-    user_id BIGINT NOT NULL REFERENCES users(id),
-    PRIMARY KEY (group_id, user_id)
-);
-
-CREATE TABLE IF NOT EXISTS notifications (
-    id BIGSERIAL PRIMARY KEY,
-    recipient_id BIGINT NOT NULL REFERENCES users(id),
-    title VARCHAR(255) NOT NULL,
-    message TEXT NOT NULL,
-    read_flag BOOLEAN NOT NULL DEFAULT FALSE,
-    created_at TIMESTAMP NOT NULL DEFAULT NOW()
-);
-
-CREATE TABLE IF NOT EXISTS surveys (
-    id BIGSERIAL PRIMARY KEY,
-    event_id BIGINT NOT NULL REFERENCES events(id),
-    title VARCHAR(255) NOT NULL
-);
-
-CREATE TABLE IF NOT EXISTS survey_questions (
-    id BIGSERIAL PRIMARY KEY,
-    survey_id BIGINT NOT NULL REFERENCES surveys(id),
-    text VARCHAR(1000) NOT NULL
-);
-
-CREATE TABLE IF NOT EXISTS survey_answers (
-    id BIGSERIAL PRIMARY KEY,
-    question_id BIGINT NOT NULL REFERENCES survey_questions(id),
-    respondent_id BIGINT NOT NULL REFERENCES users(id),
-    answer TEXT NOT NULL
-);
@@ -1,40 +0,0 @@
-CREATE TABLE IF NOT EXISTS support_tickets (
-    id BIGSERIAL PRIMARY KEY,
-    requester_id BIGINT NOT NULL REFERENCES users(id),
-    asunto VARCHAR(150) NOT NULL,
-    categoria VARCHAR(80),
-    estado VARCHAR(30) NOT NULL DEFAULT 'OPEN',
-    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
-    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
-);
-
-CREATE TABLE IF NOT EXISTS support_messages (
-    id BIGSERIAL PRIMARY KEY,
-    ticket_id BIGINT NOT NULL REFERENCES support_tickets(id) ON DELETE CASCADE,
-    sender_id BIGINT NOT NULL REFERENCES users(id),
-    contenido TEXT NOT NULL,
-    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
-);
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
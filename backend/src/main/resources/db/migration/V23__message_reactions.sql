@@ -1,28 +0,0 @@
-CREATE TABLE IF NOT EXISTS message_reactions (
-    id BIGSERIAL PRIMARY KEY,
-    message_type VARCHAR(30) NOT NULL,
-    message_id BIGINT NOT NULL,
-    emoji VARCHAR(16) NOT NULL,
-    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
-    UNIQUE (message_type, message_id, user_id, emoji)
-);
-
-CREATE INDEX IF NOT EXISTS idx_message_reactions_lookup
-    ON message_reactions (message_type, message_id);
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
@@ -1,40 +0,0 @@
--- Create stories table
-CREATE TABLE IF NOT EXISTS stories (
-    id BIGSERIAL PRIMARY KEY,
-    user_id BIGINT NOT NULL REFERENCES users(id),
-    media_url TEXT,
-    media_type VARCHAR(50),
-    music_url TEXT,
-    caption VARCHAR(255),
-    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
-    expires_at TIMESTAMP NOT NULL,
-    is_active BOOLEAN NOT NULL DEFAULT true
-);
-
--- Create posts table
-CREATE TABLE IF NOT EXISTS posts (
-    id BIGSERIAL PRIMARY KEY,
-    user_id BIGINT NOT NULL REFERENCES users(id),
-    content TEXT NOT NULL,
-    media_url TEXT,
-    media_type VARCHAR(50),
-    music_url TEXT,
-    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
-    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
-);
-
--- Create post_likes table
-CREATE TABLE IF NOT EXISTS post_likes (
-    post_id BIGINT NOT NULL REFERENCES posts(id) ON DELETE CASCADE,
-    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    PRIMARY KEY (post_id, user_id)
-);
-
--- Create indexes
-CREATE INDEX IF NOT EXISTS idx_stories_user ON stories(user_id);
-CREATE INDEX IF NOT EXISTS idx_stories_active ON stories(is_active, expires_at);
-CREATE INDEX IF NOT EXISTS idx_posts_user ON posts(user_id);
-CREATE INDEX IF NOT EXISTS idx_posts_created ON posts(created_at DESC);
-
-
-
@@ -1,15 +0,0 @@
-CREATE TABLE IF NOT EXISTS post_comments (
-    id BIGSERIAL PRIMARY KEY,
-    post_id BIGINT NOT NULL REFERENCES posts(id) ON DELETE CASCADE,
-    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    content TEXT NOT NULL,
-    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
-    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
-);
-
-CREATE INDEX IF NOT EXISTS idx_post_comments_post_id ON post_comments (post_id);
-CREATE INDEX IF NOT EXISTS idx_post_comments_user_id ON post_comments (user_id);
-CREATE INDEX IF NOT EXISTS idx_post_comments_created_at ON post_comments (created_at);
-
-
-
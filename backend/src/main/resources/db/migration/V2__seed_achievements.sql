@@ -1,4 +1,4 @@
--- Seed comprehensive achievement definitions across all categories
+-- Catálogo de logros: idempotente para las bases que se incorporan con baseline y ya tienen algunos
 
 -- ============================================
 -- PARTICIPATION ACHIEVEMENTS (10)
@@ -14,7 +14,8 @@ INSERT INTO achievements (code, name, description, category, rarity, icon, max_p
 ('PARTICIPATION_WEEKEND_WARRIOR', 'Guerrero del Fin de Semana', 'Asiste a 5 eventos en fin de semana', 'PARTICIPATION', 'COMMON', '🎉', 5, 30),
 ('PARTICIPATION_SURVEY_MASTER', 'Maestro de Encuestas', 'Completa 10 encuestas de eventos', 'PARTICIPATION', 'COMMON', '📊', 10, 40),
 ('PARTICIPATION_FEEDBACK_HERO', 'Héroe del Feedback', 'Completa 25 encuestas', 'PARTICIPATION', 'RARE', '💬', 25, 80),
-('PARTICIPATION_CENTURY_CLUB', 'Club del Centenario', 'Asiste a 100 eventos - ¡Leyenda universitaria!', 'PARTICIPATION', 'LEGENDARY', '👑', 100, 500);
+('PARTICIPATION_CENTURY_CLUB', 'Club del Centenario', 'Asiste a 100 eventos - ¡Leyenda universitaria!', 'PARTICIPATION', 'LEGENDARY', '👑', 100, 500)
+ON CONFLICT (code) DO NOTHING;
 
 -- ============================================
 -- PROFILE/COMMUNITY ACHIEVEMENTS (8)
@@ -28,7 +29,8 @@ INSERT INTO achievements (code, name, description, category, rarity, icon, max_p
 ('PROFILE_CELEBRITY', 'Celebridad', 'Alcanza 100 amigos', 'PROFILE', 'EPIC', '🌟', 100, 200),
 ('PROFILE_GROUP_CREATOR', 'Creador de Comunidad', 'Crea tu primer grupo', 'PROFILE', 'COMMON', '👥', 1, 20),
 ('PROFILE_COMMUNITY_LEADER', 'Líder Comunitario', 'Crea 5 grupos activos', 'PROFILE', 'RARE', '👑', 5, 75),
-('PROFILE_COMMUNITY_PILLAR', 'Pilar de la Comunidad', 'Alcanza 50 amigos y crea 10 grupos', 'PROFILE', 'EPIC', '🏛️', 1, 150);
+('PROFILE_COMMUNITY_PILLAR', 'Pilar de la Comunidad', 'Alcanza 50 amigos y crea 10 grupos', 'PROFILE', 'EPIC', '🏛️', 1, 150)
+ON CONFLICT (code) DO NOTHING;
 
 -- ============================================
 -- INTERACTION ACHIEVEMENTS (10)
@@ -44,7 +46,8 @@ INSERT INTO achievements (code, name, description, category, rarity, icon, max_p
 ('INTERACTION_CHATTERBOX', 'Parlanchín', 'Envía 500 mensajes', 'INTERACTION', 'RARE', '🗣️', 500, 150),
 ('INTERACTION_HELPFUL', 'Servicial', 'Recibe 50 likes en tus publicaciones', 'INTERACTION', 'RARE', '🤝', 50, 80),
 ('INTERACTION_COMMENT_KING', 'Rey de Comentarios', 'Comenta 100 veces en publicaciones', 'INTERACTION', 'COMMON', '💭', 100, 60),
-('INTERACTION_INFLUENCER_ELITE', 'Elite Influencer', 'Recibe 1000 likes en total - ¡Eres una estrella!', 'INTERACTION', 'LEGENDARY', '🌠', 1000, 500);
+('INTERACTION_INFLUENCER_ELITE', 'Elite Influencer', 'Recibe 1000 likes en total - ¡Eres una estrella!', 'INTERACTION', 'LEGENDARY', '🌠', 1000, 500)
+ON CONFLICT (code) DO NOTHING;
 
 -- ============================================
 -- CREATIVITY/CONTENT ACHIEVEMENTS (8)
@@ -58,7 +61,8 @@ INSERT INTO achievements (code, name, description, category, rarity, icon, max_p
 ('CREATIVITY_MUSIC_LOVER', 'Amante de la Música', 'Comparte 10 canciones en publicaciones', 'CREATIVITY', 'COMMON', '🎵', 10, 40),
 ('CREATIVITY_DJ', 'DJ Universitario', 'Comparte 50 canciones', 'CREATIVITY', 'RARE', '🎧', 50, 100),
 ('CREATIVITY_TRENDSETTER', 'Creador de Tendencias', 'Crea una publicación que reciba 50+ likes', 'CREATIVITY', 'EPIC', '🚀', 1, 120),
-('CREATIVITY_MULTIMEDIA_MASTER', 'Maestro Multimedia', 'Publica contenido con imagen, música y texto 10 veces', 'CREATIVITY', 'RARE', '🎨', 10, 90);
+('CREATIVITY_MULTIMEDIA_MASTER', 'Maestro Multimedia', 'Publica contenido con imagen, música y texto 10 veces', 'CREATIVITY', 'RARE', '🎨', 10, 90)
+ON CONFLICT (code) DO NOTHING;
 
 -- ============================================
 -- EXPLORATION ACHIEVEMENTS (5)
@@ -69,7 +73,8 @@ INSERT INTO achievements (code, name, description, category, rarity, icon, max_p
 ('EXPLORATION_FEATURE_HUNTER', 'Cazador de Features', 'Usa 10 características diferentes', 'EXPLORATION', 'COMMON', '🔍', 10, 40),
 ('EXPLORATION_EARLY_ADOPTER', 'Adoptador Temprano', 'Únete en el primer mes de lanzamiento', 'EXPLORATION', 'RARE', '🌟', 1, 100),
 ('EXPLORATION_VETERAN', 'Veterano', 'Usa la app por 30 días consecutivos', 'EXPLORATION', 'RARE', '🎖️', 30, 120),
-('EXPLORATION_POWER_USER', 'Usuario Avanzado', 'Usa todas las funciones principales al menos una vez', 'EXPLORATION', 'EPIC', '⚡', 1, 150);
+('EXPLORATION_POWER_USER', 'Usuario Avanzado', 'Usa todas las funciones principales al menos una vez', 'EXPLORATION', 'EPIC', '⚡', 1, 150)
+ON CONFLICT (code) DO NOTHING;
 
 -- ============================================
 -- RARE/LEGENDARY ACHIEVEMENTS (5)
@@ -80,7 +85,8 @@ INSERT INTO achievements (code, name, description, category, rarity, icon, max_p
 ('RARE_POINTS_LEGEND', 'Leyenda de Puntos', 'Acumula 5000 puntos', 'RARE', 'LEGENDARY', '👑', 1, 1000),
 ('RARE_ACHIEVEMENT_HUNTER', 'Cazador de Logros', 'Desbloquea 25 logros', 'RARE', 'EPIC', '🏅', 25, 250),
 ('RARE_COMPLETIONIST', 'Completista', 'Desbloquea todos los logros no ocultos', 'RARE', 'LEGENDARY', '🏆', 1, 500),
-('RARE_ULTIMATE_CHAMPION', 'Campeón Supremo', 'Desbloquea TODOS los logros incluyendo ocultos', 'RARE', 'LEGENDARY', '👑', 1, 1000);
+('RARE_ULTIMATE_CHAMPION', 'Campeón Supremo', 'Desbloquea TODOS los logros incluyendo ocultos', 'RARE', 'LEGENDARY', '👑', 1, 1000)
+ON CONFLICT (code) DO NOTHING;
 
 -- ============================================
 -- HIDDEN/EASTER EGG ACHIEVEMENTS (5)
@@ -91,6 +97,7 @@ INSERT INTO achievements (code, name, description, category, rarity, icon, max_p
 ('HIDDEN_SPEED_DEMON', 'Demonio de Velocidad', 'Haz check-in en un evento en menos de 1 minuto desde el inicio', 'HIDDEN', 'HIDDEN', '⚡', 1, 75),
 ('HIDDEN_SECRET_FINDER', 'Descubridor de Secretos', 'Encuentra la función secreta en la configuración', 'HIDDEN', 'HIDDEN', '🔐', 1, 100),
 ('HIDDEN_LUCKY_NUMBER', 'Número de la Suerte', 'Sé el usuario #777', 'HIDDEN', 'HIDDEN', '🍀', 1, 150),
-('HIDDEN_EASTER_EGG', 'Huevo de Pascua', 'Descubre el easter egg especial', 'HIDDEN', 'HIDDEN', '🥚', 1, 200);
+('HIDDEN_EASTER_EGG', 'Huevo de Pascua', 'Descubre el easter egg especial', 'HIDDEN', 'HIDDEN', '🥚', 1, 200)
+ON CONFLICT (code) DO NOTHING;
 
 -- Note: Total of 51 achievements across all categories
@@ -1,21 +0,0 @@
--- Create chat_messages table to store chat messages
-CREATE TABLE IF NOT EXISTS chat_messages (
-    id BIGSERIAL PRIMARY KEY,
-    event_id BIGINT NOT NULL REFERENCES events(id),
-    user_id BIGINT NOT NULL REFERENCES users(id),
-    content TEXT NOT NULL,
-    file_url TEXT,
-    file_type VARCHAR(50),
-    file_name VARCHAR(255),
-    created_at TIMESTAMP NOT NULL DEFAULT NOW()
-);
-
-CREATE INDEX IF NOT EXISTS idx_chat_messages_event_id ON chat_messages(event_id);
-CREATE INDEX IF NOT EXISTS idx_chat_messages_created_at ON chat_messages(created_at);
-
-
-
-
-
-
-
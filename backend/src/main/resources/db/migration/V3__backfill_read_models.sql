@@ -0,0 +1,20 @@
+-- Rellenos de los modelos de lectura que mantiene la aplicación; no hacen nada en una base nueva
+
+-- Contadores de perfil: UserStatsService siembra la fila si falta, esto evita hacerlo en caliente
+INSERT INTO user_stats (user_id, posts, likes_received, friends, events_attended, stories, updated_at)
+SELECT u.id,
+       (SELECT count(*) FROM posts p WHERE p.user_id = u.id),
+       (SELECT count(*) FROM post_likes pl JOIN posts p ON p.id = pl.post_id WHERE p.user_id = u.id),
+       (SELECT count(*) FROM friendships f WHERE f.user1_id = u.id OR f.user2_id = u.id),
+       (SELECT count(*) FROM registrations r WHERE r.user_id = u.id AND r.status = 'CHECKED_IN'),
+       (SELECT count(*) FROM stories s WHERE s.user_id = u.id),
+       now()
+FROM users u
+ON CONFLICT (user_id) DO NOTHING;
+
+-- Total de likes desnormalizado: la columna se añadió con 0 en las publicaciones anteriores
+UPDATE posts p
+SET likes_count = l.total
+FROM (SELECT post_id, count(*) AS total FROM post_likes GROUP BY post_id) l
+WHERE l.post_id = p.id
+  AND p.likes_count <> l.total;
@@ -0,0 +1,67 @@
+-- Índices secundarios que la cadena anterior de migraciones declaraba y que nunca llegaron a
+-- aplicarse. Se omiten los que ya cubre una restricción única o un índice compuesto.
+
+-- Logros
+CREATE INDEX IF NOT EXISTS idx_user_achievements_achievement ON user_achievements (achievement_id);
+
+-- Amistades: (user1_id, user2_id) ya cubre las búsquedas por user1_id
+CREATE INDEX IF NOT EXISTS idx_friendships_user2 ON friendships (user2_id);
+
+-- Mensajes privados recibidos (lista de conversaciones)
+CREATE INDEX IF NOT EXISTS idx_private_messages_receiver ON private_messages (receiver_id);
+
+-- Candidatos a archivar en los canales de grupo
+CREATE INDEX IF NOT EXISTS idx_group_messages_created_at ON group_messages (created_at);
+
+-- Grupos
+CREATE INDEX IF NOT EXISTS idx_group_members_user ON group_members (user_id, group_id);
+CREATE INDEX IF NOT EXISTS idx_groups_owner ON groups (owner_id);
+CREATE INDEX IF NOT EXISTS idx_group_surveys_survey_id ON group_surveys (survey_id);
+
+-- Archivos, stickers y llamadas
+CREATE INDEX IF NOT EXISTS idx_file_assets_scope ON file_assets (scope, scope_id);
+CREATE INDEX IF NOT EXISTS idx_stickers_owner ON stickers (owner_id);
+CREATE INDEX IF NOT EXISTS idx_call_context ON call_sessions (context_type, context_id) WHERE activo = TRUE;
+CREATE INDEX IF NOT EXISTS idx_call_sessions_ring_deadline ON call_sessions (ring_deadline)
+    WHERE activo = TRUE AND accepted_at IS NULL AND ring_deadline IS NOT NULL;
+
+-- Historias activas y feed global
+CREATE INDEX IF NOT EXISTS idx_stories_active ON stories (is_active, expires_at);
+CREATE INDEX IF NOT EXISTS idx_posts_created ON posts (created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_post_comments_user_id ON post_comments (user_id);
+CREATE INDEX IF NOT EXISTS idx_post_likes_user_post ON post_likes (user_id, post_id);
+
+-- Reportes
+CREATE INDEX IF NOT EXISTS idx_reports_created_at ON reports (created_at DESC);
+
+-- Inscripciones: tramos por evento y agregados por estado
+CREATE INDEX IF NOT EXISTS idx_registrations_event_id ON registrations (event_id, id);
+CREATE INDEX IF NOT EXISTS idx_registrations_event_status ON registrations (event_id, status);
+
+-- Encuestas
+CREATE INDEX IF NOT EXISTS idx_surveys_event ON surveys (event_id);
+CREATE INDEX IF NOT EXISTS idx_survey_answers_respondent ON survey_answers (respondent_id);
+
+-- Búsqueda de usuarios: subcadena con trigramas y prefijo con text_pattern_ops
+CREATE INDEX IF NOT EXISTS idx_users_name_trgm ON users USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_name_prefix ON users (lower(name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_prefix ON users (lower(email) text_pattern_ops);
+
+-- Referencias a archivos y stickers: casi todos los mensajes las tienen a NULL
+CREATE INDEX IF NOT EXISTS idx_chat_messages_file_asset ON chat_messages (file_asset_id) WHERE file_asset_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_group_messages_file_asset ON group_messages (file_asset_id) WHERE file_asset_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_private_messages_file_asset ON private_messages (file_asset_id) WHERE file_asset_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_chat_messages_sticker ON chat_messages (sticker_id) WHERE sticker_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_group_messages_sticker ON group_messages (sticker_id) WHERE sticker_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_private_messages_sticker ON private_messages (sticker_id) WHERE sticker_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_stickers_file_asset ON stickers (file_asset_id);
+
+-- Contenido por autor, para el borrado en cascada de usuarios
+CREATE INDEX IF NOT EXISTS idx_file_assets_uploader ON file_assets (uploader_id);
+CREATE INDEX IF NOT EXISTS idx_chat_messages_user ON chat_messages (user_id);
+CREATE INDEX IF NOT EXISTS idx_group_messages_sender ON group_messages (sender_id);
+CREATE INDEX IF NOT EXISTS idx_message_reactions_user ON message_reactions (user_id);
+
+-- El payload del archivo ya va comprimido: que TOAST no intente comprimirlo otra vez
+ALTER TABLE message_archive_segments ALTER COLUMN payload SET STORAGE EXTERNAL;
@@ -1,54 +0,0 @@
--- Social features: Friends and Private Messages
-
--- Friend requests table
-CREATE TABLE IF NOT EXISTS friend_requests (
-    id BIGSERIAL PRIMARY KEY,
-    sender_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    receiver_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    status VARCHAR(50) NOT NULL DEFAULT 'PENDING', -- PENDING, ACCEPTED, REJECTED
-    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
-    CONSTRAINT uk_friend_request UNIQUE (sender_id, receiver_id),
-    CONSTRAINT chk_no_self_request CHECK (sender_id != receiver_id)
-);
-
-CREATE INDEX IF NOT EXISTS idx_friend_requests_sender ON friend_requests(sender_id);
-CREATE INDEX IF NOT EXISTS idx_friend_requests_receiver ON friend_requests(receiver_id);
-CREATE INDEX IF NOT EXISTS idx_friend_requests_status ON friend_requests(status);
-
--- Friendships table (confirmed friendships)
-CREATE TABLE IF NOT EXISTS friendships (
-    id BIGSERIAL PRIMARY KEY,
-    user1_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    user2_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
-    CONSTRAINT uk_friendship UNIQUE (user1_id, user2_id),
-    CONSTRAINT chk_no_self_friendship CHECK (user1_id != user2_id)
-);
-
-CREATE INDEX IF NOT EXISTS idx_friendships_user1 ON friendships(user1_id);
-CREATE INDEX IF NOT EXISTS idx_friendships_user2 ON friendships(user2_id);
-
--- Private messages table
-CREATE TABLE IF NOT EXISTS private_messages (
-    id BIGSERIAL PRIMARY KEY,
-    sender_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    receiver_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    content TEXT NOT NULL,
-    file_url TEXT,
-    file_type VARCHAR(50),
-    file_name VARCHAR(255),
-    read_flag BOOLEAN NOT NULL DEFAULT FALSE,
-    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
-    CONSTRAINT chk_no_self_message CHECK (sender_id != receiver_id)
-);
-
-CREATE INDEX IF NOT EXISTS idx_private_messages_sender ON private_messages(sender_id);
-CREATE INDEX IF NOT EXISTS idx_private_messages_receiver ON private_messages(receiver_id);
-CREATE INDEX IF NOT EXISTS idx_private_messages_created_at ON private_messages(created_at);
-
-
-
-
-
-
-
@@ -0,0 +1,23 @@
+-- Índices compuestos para las consultas de repositorio más frecuentes: cada uno filtra por la
+-- columna de igualdad y entrega ya el orden que pide la consulta. Los verifica SchemaIndexTest.
+
+-- Conversación privada: cada rama del OR es un rango (sender_id, receiver_id) ordenado por fecha
+CREATE INDEX IF NOT EXISTS idx_private_messages_pair_created ON private_messages (sender_id, receiver_id, created_at);
+
+-- Contadores de no leídos por destinatario y por remitente
+CREATE INDEX IF NOT EXISTS idx_private_messages_unread ON private_messages (receiver_id, sender_id) WHERE read_flag = false;
+
+-- Bandeja de notificaciones, paginada por fecha descendente
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_created ON notifications (recipient_id, created_at DESC);
+
+-- Solicitudes de amistad pendientes recibidas
+CREATE INDEX IF NOT EXISTS idx_friend_requests_receiver_status ON friend_requests (receiver_id, status);
+
+-- Publicaciones de un perfil, de la más reciente a la más antigua
+CREATE INDEX IF NOT EXISTS idx_posts_user_created ON posts (user_id, created_at DESC);
+
+-- Historias vigentes de un usuario
+CREATE INDEX IF NOT EXISTS idx_stories_user_active ON stories (user_id, is_active, expires_at);
+
+-- Anuncios de un grupo, de más reciente a más antiguo
+CREATE INDEX IF NOT EXISTS idx_group_announcements_group_created ON group_announcements (group_id, created_at DESC);
@@ -0,0 +1,12 @@
+-- Check-ins cuyos puntos y eventos de gamificación ya se procesaron. CheckInService reclama las
+-- filas pendientes con UPDATE ... RETURNING en la misma transacción que suma los puntos, así que
+-- un fallo o un reinicio a mitad no pierde ni duplica nada. La entidad Registration no mapea la
+-- columna a propósito: un save de la entidad no puede devolverla a false.
+ALTER TABLE registrations ADD COLUMN IF NOT EXISTS points_awarded BOOLEAN NOT NULL DEFAULT false;
+
+-- Los check-ins anteriores ya recibieron sus puntos con el procesado en memoria
+UPDATE registrations SET points_awarded = true WHERE status = 'CHECKED_IN' AND NOT points_awarded;
+
+-- Solo contiene los pendientes: casi siempre vacío
+CREATE INDEX IF NOT EXISTS idx_registrations_points_pending ON registrations (id)
+    WHERE status = 'CHECKED_IN' AND NOT points_awarded;
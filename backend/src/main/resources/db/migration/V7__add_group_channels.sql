@@ -1,61 +0,0 @@
--- Group channels: messages, announcements, and shared events/surveys
-
--- Group messages table (solo owner/SERVER puede enviar)
-CREATE TABLE IF NOT EXISTS group_messages (
-    id BIGSERIAL PRIMARY KEY,
-    group_id BIGINT NOT NULL REFERENCES groups(id) ON DELETE CASCADE,
-    sender_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    content TEXT NOT NULL,
-    file_url TEXT,
-    file_type VARCHAR(50),
-    file_name VARCHAR(255),
-    created_at TIMESTAMP NOT NULL DEFAULT NOW()
-);
-
-CREATE INDEX IF NOT EXISTS idx_group_messages_group_id ON group_messages(group_id);
-CREATE INDEX IF NOT EXISTS idx_group_messages_created_at ON group_messages(created_at);
-
--- Group announcements table
-CREATE TABLE IF NOT EXISTS group_announcements (
-    id BIGSERIAL PRIMARY KEY,
-    group_id BIGINT NOT NULL REFERENCES groups(id) ON DELETE CASCADE,
-    sender_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    title VARCHAR(255) NOT NULL,
-    content TEXT NOT NULL,
-    created_at TIMESTAMP NOT NULL DEFAULT NOW()
-);
-
-CREATE INDEX IF NOT EXISTS idx_group_announcements_group_id ON group_announcements(group_id);
-
--- Group events (eventos compartidos en grupos)
-CREATE TABLE IF NOT EXISTS group_events (
-    id BIGSERIAL PRIMARY KEY,
-    group_id BIGINT NOT NULL REFERENCES groups(id) ON DELETE CASCADE,
-    event_id BIGINT NOT NULL REFERENCES events(id) ON DELETE CASCADE,
-    shared_by_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
-    CONSTRAINT uk_group_event UNIQUE (group_id, event_id)
-);
-
-CREATE INDEX IF NOT EXISTS idx_group_events_group_id ON group_events(group_id);
-CREATE INDEX IF NOT EXISTS idx_group_events_event_id ON group_events(event_id);
-
--- Group surveys (encuestas compartidas en grupos)
-CREATE TABLE IF NOT EXISTS group_surveys (
-    id BIGSERIAL PRIMARY KEY,
-    group_id BIGINT NOT NULL REFERENCES groups(id) ON DELETE CASCADE,
-    survey_id BIGINT NOT NULL REFERENCES surveys(id) ON DELETE CASCADE,
-    shared_by_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
-    CONSTRAINT uk_group_survey UNIQUE (group_id, survey_id)
-);
-
-CREATE INDEX IF NOT EXISTS idx_group_surveys_group_id ON group_surveys(group_id);
-CREATE INDEX IF NOT EXISTS idx_group_surveys_survey_id ON group_surveys(survey_id);
-
-
-
-
-
-
-
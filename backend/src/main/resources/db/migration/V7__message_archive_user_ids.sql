@@ -0,0 +1,11 @@
+-- Usuarios que aparecen en cada tramo archivado (autores y quienes reaccionaron). El payload va
+-- comprimido y no se puede consultar, así que al borrar un usuario esta columna dice qué tramos
+-- hay que reescribir. Los tramos anteriores quedan en NULL: el primer borrado de usuario los
+-- revisa y la rellena.
+ALTER TABLE message_archive_segments ADD COLUMN IF NOT EXISTS user_ids BIGINT[];
+
+CREATE INDEX IF NOT EXISTS idx_message_archive_user_ids ON message_archive_segments USING gin (user_ids);
+
+-- Un GIN no sirve para buscar IS NULL: los tramos pendientes de revisar tienen su propio índice
+-- parcial, que se vacía a medida que los borrados de usuario rellenan la columna
+CREATE INDEX IF NOT EXISTS idx_message_archive_user_ids_pending ON message_archive_segments (id) WHERE user_ids IS NULL;
@@ -0,0 +1,114 @@
+package com.univibe.call.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Casos límite de la rueda: primer avance, plazos más allá de una vuelta, saltos de varias
+ * vueltas, reprogramación y cancelación. Tick de 100 ms y 8 ranuras (una vuelta = 800 ms).
+ */
+public class TimerWheelTest {
+
+    private static final long BASE = 1_700_000_000_000L;
+
+    private final TimerWheel wheel = new TimerWheel(100, 8);
+
+    @Test
+    public void testFirstAdvanceExpiresPendingDeadlines() {
+        wheel.schedule(1L, BASE + 150);
+        wheel.schedule(2L, BASE + 5_000);
+
+        // Sin avances previos se recorre cada ranura una vez, aunque el plazo caiga en cualquiera
+        assertEquals(List.of(1L), wheel.advance(BASE + 300));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    public void testDeadlineIsNotReturnedBeforeItsTick() {
+        wheel.advance(BASE);
+        wheel.schedule(1L, BASE + 250);
+
+        assertTrue(wheel.advance(BASE + 199).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(BASE + 200));
+        assertTrue(wheel.advance(BASE + 300).isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testDeadlineBeyondOneRevolutionWaitsForItsTick() {
+        wheel.advance(BASE);
+        // 2 400 ms son tres vueltas: comparte ranura con ticks anteriores pero no vence con ellos
+        wheel.schedule(1L, BASE + 2_400);
+
+        for (long now = BASE + 100; now < BASE + 2_400; now += 100) {
+            assertTrue(wheel.advance(now).isEmpty(), "vencido antes de tiempo en " + (now - BASE));
+        }
+        assertEquals(List.of(1L), wheel.advance(BASE + 2_400));
+    }
+
+    @Test
+    public void testJumpOfSeveralRevolutionsExpiresEverythingDue() {
+        wheel.advance(BASE);
+        wheel.schedule(1L, BASE + 100);
+        wheel.schedule(2L, BASE + 700);
+        wheel.schedule(3L, BASE + 1_500);
+        wheel.schedule(4L, BASE + 10_000);
+
+        List<Long> expired = wheel.advance(BASE + 3_000);
+
+        assertEquals(3, expired.size());
+        assertTrue(expired.containsAll(List.of(1L, 2L, 3L)));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(4L), wheel.advance(BASE + 10_000));
+    }
+
+    @Test
+    public void testRescheduleReplacesPreviousDeadline() {
+        wheel.advance(BASE);
+        wheel.schedule(1L, BASE + 200);
+        wheel.schedule(1L, BASE + 600);
+
+        assertEquals(1, wheel.size());
+        assertTrue(wheel.advance(BASE + 500).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(BASE + 600));
+    }
+
+    @Test
+    public void testCancelledDeadlineNeverExpires() {
+        wheel.advance(BASE);
+        wheel.schedule(1L, BASE + 200);
+        wheel.cancel(1L);
+        wheel.cancel(99L);
+
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advance(BASE + 5_000).isEmpty());
+    }
+
+    @Test
+    public void testPastDeadlineExpiresOnNextTick() {
+        wheel.advance(BASE + 1_000);
+        wheel.schedule(1L, BASE);
+
+        // Va al tick siguiente: el mismo tick no lo devuelve, el siguiente sí
+        assertTrue(wheel.advance(BASE + 1_050).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(BASE + 1_100));
+    }
+
+    @Test
+    public void testClockGoingBackwardsExpiresNothing() {
+        wheel.advance(BASE + 1_000);
+        wheel.schedule(1L, BASE + 1_200);
+
+        assertTrue(wheel.advance(BASE).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(BASE + 1_200));
+    }
+
+    @Test
+    public void testInvalidConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel(0, 8));
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel(100, 0));
+    }
+}
@@ -0,0 +1,337 @@
+package com.univibe.call.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.univibe.call.model.CallContextType;
+import com.univibe.call.model.CallMode;
+import com.univibe.call.model.CallSession;
+import com.univibe.call.repo.CallSessionRepository;
+import com.univibe.call.service.CallService;
+import com.univibe.call.service.SignalingRoomManager;
+import com.univibe.user.model.User;
+import com.univibe.user.repo.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Arnés en memoria para la señalización: N peers simulados conectados al handler real por
+ * sesiones loopback. Cada peer reproduce la lógica del cliente web (quién inicia la oferta,
+ * respuesta, candidato ICE) y registra con quién terminó negociando.
+ */
+public class CallSignalingLoopbackTest {
+
+    private static final long CALL_ID = 42L;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void testMeshCallNegotiatesEveryPair() throws Exception {
+        Harness harness = new Harness(CallContextType.GROUP, CallMode.NORMAL, 1L);
+        for (long userId = 1; userId <= 6; userId++) {
+            harness.join(userId);
+        }
+
+        for (Peer peer : harness.peers.values()) {
+            assertEquals(5, peer.connected.size(), "peer " + peer.userId);
+            assertEquals(0, peer.misrouted);
+        }
+        // 6 peers en malla: una negociación por pareja
+        assertEquals(15, harness.offersSent);
+    }
+
+    @Test
+    public void testForwarderCallNegotiatesOnlyWithForwarder() throws Exception {
+        long forwarderId = 11L;
+        Harness harness = new Harness(CallContextType.EVENT, CallMode.CONFERENCE, forwarderId);
+        // El reenviador llega cuando ya hay gente esperando
+        for (long userId = 1; userId <= 30; userId++) {
+            harness.join(userId);
+        }
+
+        Peer forwarder = harness.peers.get(forwarderId);
+        assertEquals(29, forwarder.connected.size());
+        for (Peer peer : harness.peers.values()) {
+            assertEquals(0, peer.misrouted, "peer " + peer.userId);
+            if (peer != forwarder) {
+                assertEquals(Set.of(forwarderId), peer.connected, "peer " + peer.userId);
+                assertEquals(Set.of(forwarderId), peer.joinsSeen, "peer " + peer.userId);
+                assertEquals(forwarderId, peer.lastTopology.get("forwarderId").asLong());
+                assertEquals("FORWARDER", peer.lastTopology.get("mode").asText());
+                assertEquals(1, peer.candidatesReceived, "peer " + peer.userId);
+            }
+        }
+        assertEquals(29, harness.offersSent);
+    }
+
+    @Test
+    public void testForwarderTracksPublishersAndIsolatesSubscribers() throws Exception {
+        long forwarderId = 1L;
+        Harness harness = new Harness(CallContextType.GROUP, CallMode.CONFERENCE, forwarderId);
+        for (long userId = 1; userId <= 4; userId++) {
+            harness.join(userId);
+        }
+
+        harness.send(3L, Map.of("type", "publish"));
+        Peer forwarder = harness.peers.get(forwarderId);
+        assertTrue(forwarder.typesSeen.contains("publish"));
+        for (Peer peer : harness.peers.values()) {
+            List<Long> publishers = new ArrayList<>();
+            peer.lastTopology.get("publishers").forEach(id -> publishers.add(id.asLong()));
+            assertTrue(publishers.containsAll(List.of(forwarderId, 3L)), "peer " + peer.userId);
+        }
+
+        // Un suscriptor no puede negociar directamente con otro suscriptor
+        harness.peers.values().forEach(peer -> peer.typesSeen.clear());
+        harness.send(2L, Map.of("type", "offer", "to", 4L, "offer", Map.of("sdp", "x")));
+        assertFalse(harness.peers.get(4L).typesSeen.contains("offer"));
+
+        // Al irse un suscriptor, solo el reenviador recibe el leave
+        harness.disconnect(3L);
+        assertTrue(forwarder.typesSeen.contains("leave"));
+        assertFalse(harness.peers.get(2L).typesSeen.contains("leave"));
+        assertFalse(forwarder.connected.contains(3L));
+    }
+
+    private static final class Harness {
+        private final CallSignalingHandler handler;
+        private final CallMode mode;
+        private final long creatorId;
+        private final Map<Long, Peer> peers = new LinkedHashMap<>();
+        private final ArrayDeque<Delivery> inFlight = new ArrayDeque<>();
+        private int offersSent;
+
+        private Harness(CallContextType contextType, CallMode mode, long creatorId) {
+            this.mode = mode;
+            this.creatorId = creatorId;
+
+            User creator = new User();
+            creator.setId(creatorId);
+            CallSession callSession = new CallSession();
+            ReflectionTestUtils.setField(callSession, "id", CALL_ID);
+            callSession.setContextType(contextType);
+            callSession.setContextId(7L);
+            callSession.setMode(mode);
+            callSession.setCreatedBy(creator);
+
+            CallSessionRepository callSessionRepository = mock(CallSessionRepository.class);
+            when(callSessionRepository.findById(CALL_ID)).thenReturn(Optional.of(callSession));
+            UserRepository userRepository = mock(UserRepository.class);
+            when(userRepository.findById(anyLong())).thenAnswer(invocation -> {
+                User user = new User();
+                user.setId(invocation.getArgument(0));
+                return Optional.of(user);
+            });
+            CallService callService = mock(CallService.class);
+            when(callService.puedeUnirse(any(), any())).thenReturn(true);
+
+            SignalingRoomManager roomManager = new SignalingRoomManager(1_000, 64 * 1024);
+            this.handler = new CallSignalingHandler(roomManager, callSessionRepository, callService, userRepository, MAPPER);
+        }
+
+        private void join(long userId) throws Exception {
+            Peer peer = new Peer(this, userId);
+            peers.put(userId, peer);
+            handler.afterConnectionEstablished(peer.session);
+            send(userId, Map.of("type", "join", "userId", String.valueOf(userId)));
+        }
+
+        private void disconnect(long userId) throws Exception {
+            Peer peer = peers.remove(userId);
+            peer.session.open = false;
+            handler.afterConnectionClosed(peer.session, CloseStatus.NORMAL);
+            pump();
+        }
+
+        private void send(long userId, Map<String, Object> signal) throws Exception {
+            Map<String, Object> frame = new HashMap<>(signal);
+            frame.put("room", String.valueOf(CALL_ID));
+            frame.putIfAbsent("from", userId);
+            handler.handleMessage(peers.get(userId).session, new TextMessage(MAPPER.writeValueAsString(frame)));
+            pump();
+        }
+
+        // Entrega en orden todo lo pendiente; las respuestas de los peers se encolan detrás
+        private void pump() throws Exception {
+            Delivery delivery;
+            while ((delivery = inFlight.poll()) != null) {
+                if (peers.get(delivery.peer().userId) == delivery.peer()) {
+                    delivery.peer().receive(MAPPER.readTree(delivery.payload()));
+                }
+            }
+        }
+    }
+
+    private record Delivery(Peer peer, String payload) {
+    }
+
+    private static final class Peer {
+        private final Harness harness;
+        private final long userId;
+        private final LoopbackSession session;
+        private final Set<Long> connected = new HashSet<>();
+        private final Set<Long> joinsSeen = new HashSet<>();
+        private final Set<String> typesSeen = new HashSet<>();
+        private JsonNode lastTopology;
+        private int misrouted;
+        private int candidatesReceived;
+
+        private Peer(Harness harness, long userId) {
+            this.harness = harness;
+            this.userId = userId;
+            this.session = new LoopbackSession("session-" + userId, payload -> harness.inFlight.add(new Delivery(this, payload)));
+        }
+
+        private void receive(JsonNode signal) throws Exception {
+            String type = signal.get("type").asText();
+            typesSeen.add(type);
+            if (signal.has("to") && signal.get("to").asLong() != userId) {
+                misrouted++;
+                return;
+            }
+            long from = signal.path("from").asLong();
+            switch (type) {
+                case "join" -> {
+                    long other = signal.get("userId").asLong();
+                    joinsSeen.add(other);
+                    // Misma regla que el cliente web
+                    boolean initiator = harness.mode == CallMode.CONFERENCE ? userId == harness.creatorId : userId > other;
+                    if (initiator && !connected.contains(other)) {
+                        harness.offersSent++;
+                        harness.send(userId, Map.of("type", "offer", "to", other, "offer", Map.of("sdp", "offer-" + userId)));
+                    }
+                }
+                case "offer" -> {
+                    connected.add(from);
+                    harness.send(userId, Map.of("type", "answer", "to", from, "answer", Map.of("sdp", "answer-" + userId)));
+                }
+                case "answer" -> {
+                    connected.add(from);
+                    harness.send(userId, Map.of("type", "candidate", "to", from, "candidate", Map.of("candidate", "host")));
+                }
+                case "candidate" -> candidatesReceived++;
+                case "leave" -> connected.remove(signal.get("userId").asLong());
+                case "topology" -> lastTopology = signal;
+                default -> {
+                }
+            }
+        }
+    }
+
+    private static final class LoopbackSession implements WebSocketSession {
+        private final String id;
+        private final java.util.function.Consumer<String> sink;
+        private volatile boolean open = true;
+
+        private LoopbackSession(String id, java.util.function.Consumer<String> sink) {
+            this.id = id;
+            this.sink = sink;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) {
+            sink.accept(((TextMessage) message).getPayload());
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        @Override
+        public void close(CloseStatus status) {
+            open = false;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public URI getUri() {
+            return URI.create("ws://localhost/call-signal");
+        }
+
+        @Override
+        public HttpHeaders getHandshakeHeaders() {
+            return new HttpHeaders();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return new HashMap<>();
+        }
+
+        @Override
+        public Principal getPrincipal() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public String getAcceptedProtocol() {
+            return null;
+        }
+
+        @Override
+        public void setTextMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getTextMessageSizeLimit() {
+            return 64 * 1024;
+        }
+
+        @Override
+        public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getBinaryMessageSizeLimit() {
+            return 64 * 1024;
+        }
+
+        @Override
+        public List<WebSocketExtension> getExtensions() {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.univibe.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Aplica las migraciones de Flyway sobre un PostgreSQL real y comprueba con EXPLAIN que las
+ * consultas calientes de los repositorios y de los procesos en segundo plano usan el índice
+ * pensado para ellas. Se salta si no hay Docker disponible.
+ * <p>
+ * Los índices de V4 que solo sirven a claves ajenas (borrado en cascada, joins hacia archivos y
+ * stickers) no se comprueban: no tienen una consulta propia que pueda elegir otro plan.
+ */
+public class SchemaIndexTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Datos con la forma real de cada tabla: con tablas vacías el planificador elige el índice más pequeño
+    private static final String[] SEED = {
+            "INSERT INTO users (email, name, password_hash, role, points, created_at) " +
+            "SELECT 'u' || g || '@test.edu', 'Usuario ' || g, 'x', 'USER', 0, now() FROM generate_series(1, 200) g",
+            "INSERT INTO groups (name, privacy, owner_id) SELECT 'Grupo ' || g, 'PUBLIC', 1 FROM generate_series(1, 50) g",
+            "INSERT INTO private_messages (sender_id, receiver_id, content, read_flag, created_at) " +
+            "SELECT 1 + g % 200, 1 + (g * 7) % 200, 'hola', g % 10 <> 0, now() - g * interval '1 minute' " +
+            "FROM generate_series(1, 20000) g",
+            "INSERT INTO notifications (recipient_id, title, message, read_flag, created_at) " +
+            "SELECT 1 + g % 200, 'Aviso', 'Mensaje', g % 3 = 0, now() - g * interval '1 minute' FROM generate_series(1, 20000) g",
+            "INSERT INTO friend_requests (sender_id, receiver_id, status, created_at) " +
+            "SELECT 1 + g % 200, 1 + (g / 200) % 200, (ARRAY['PENDING', 'ACCEPTED', 'REJECTED'])[1 + g % 3], now() " +
+            "FROM generate_series(0, 9999) g",
+            "INSERT INTO posts (user_id, content, likes_count, created_at, updated_at) " +
+            "SELECT 1 + g % 200, 'post', 0, now() - g * interval '1 minute', now() FROM generate_series(1, 10000) g",
+            "INSERT INTO stories (user_id, is_active, created_at, expires_at) " +
+            "SELECT 1 + g % 200, g % 4 = 0, now(), now() + (g % 7 - 3) * interval '1 day' FROM generate_series(1, 10000) g",
+            "INSERT INTO group_announcements (group_id, sender_id, title, content, created_at) " +
+            "SELECT 1 + g % 50, 1, 'Anuncio', 'texto', now() - g * interval '1 minute' FROM generate_series(1, 10000) g",
+            "INSERT INTO group_members (group_id, user_id) SELECT 1 + g % 50, 1 + g / 50 FROM generate_series(0, 9999) g",
+            "INSERT INTO group_messages (group_id, sender_id, content, created_at) " +
+            "SELECT 1 + g % 50, 1 + g % 200, 'hola', now() - g * interval '30 minutes' FROM generate_series(1, 20000) g",
+            "INSERT INTO friendships (user1_id, user2_id, created_at) SELECT 1 + g % 200, 1 + g / 200, now() FROM generate_series(0, 9999) g",
+            "INSERT INTO post_likes (post_id, user_id) SELECT 1 + g % 10000, 1 + g / 100 FROM generate_series(0, 19999) g",
+            "INSERT INTO events (title, category, status, visibility, start_time) " +
+            "SELECT 'Evento ' || g, 'OTHER', 'FINISHED', 'PUBLIC', now() - g * interval '1 day' FROM generate_series(1, 100) g",
+            // Casi todos los check-ins ya procesados: el índice parcial de pendientes es diminuto
+            "INSERT INTO registrations (user_id, event_id, qr_code, status, points_awarded) " +
+            "SELECT 1 + g % 200, 1 + g / 200, 'qr' || g, (ARRAY['REGISTERED', 'CHECKED_IN', 'CANCELLED'])[1 + g % 3], g % 600 <> 1 " +
+            "FROM generate_series(0, 19999) g",
+            "INSERT INTO call_sessions (context_type, context_id, mode, created_by_id, activo, missed, created_at, accepted_at, ring_deadline) " +
+            "SELECT (ARRAY['PRIVATE', 'GROUP', 'EVENT'])[1 + g % 3], 1 + g % 100, 'NORMAL', 1 + g % 200, g % 50 = 0, false, now(), " +
+            "CASE WHEN g % 100 = 0 THEN NULL ELSE now() END, CASE WHEN g % 100 = 0 THEN now() + interval '30 seconds' END " +
+            "FROM generate_series(1, 10000) g",
+            "INSERT INTO file_assets (uploader_id, file_name, content_type, size_in_bytes, data, scope, scope_id, sticker, created_at) " +
+            "SELECT 1 + g % 200, 'f', 'image/png', 1, '\\x00'::bytea, " +
+            "(ARRAY['EVENT_CHAT', 'GROUP_CHAT', 'PRIVATE_CHAT', 'SUPPORT'])[1 + g % 4], 1 + g % 100, false, now() " +
+            "FROM generate_series(1, 10000) g",
+            "INSERT INTO reports (type, target_id, reason, status, reported_by_id, created_at) " +
+            "SELECT 'POST', 1 + g % 10000, 'spam', (ARRAY['PENDING', 'REVIEWED', 'RESOLVED', 'DISMISSED'])[1 + g % 4], " +
+            "1 + g % 200, now() - g * interval '1 minute' FROM generate_series(1, 10000) g",
+            "INSERT INTO message_archive_segments (context_type, context_id, first_message_id, last_message_id, first_created_at, " +
+            "last_created_at, message_count, payload, archived_at, user_ids) " +
+            "SELECT 'GROUP_CHAT', 1 + g % 50, g * 500, g * 500 + 499, now(), now(), 500, '\\x00'::bytea, now(), " +
+            "ARRAY[1 + g % 200, 1 + (g * 7) % 200]::bigint[] FROM generate_series(1, 5000) g"
+    };
+
+    private static PostgreSQLContainer<?> postgres;
+    private static Connection connection;
+
+    @BeforeAll
+    public static void migrate() throws Exception {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker no disponible");
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        Flyway flyway = Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load();
+        flyway.migrate();
+        assertTrue(flyway.info().pending().length == 0);
+
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : SEED) {
+                statement.execute(sql);
+            }
+            statement.execute("ANALYZE");
+            // Con pocas filas un recorrido secuencial siempre gana; aquí interesa qué índice elige
+            statement.execute("SET enable_seqscan = off");
+        }
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        if (connection != null) {
+            connection.close();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    public void testPrivateConversationUsesPairIndex() throws Exception {
+        assertUsesIndex("idx_private_messages_pair_created",
+                "SELECT * FROM private_messages m " +
+                "WHERE (m.sender_id = 1 AND m.receiver_id = 2) OR (m.sender_id = 2 AND m.receiver_id = 1) " +
+                "ORDER BY m.created_at LIMIT 50");
+    }
+
+    @Test
+    public void testUnreadCountsUseUnreadIndex() throws Exception {
+        assertUsesIndex("idx_private_messages_unread",
+                "SELECT count(*) FROM private_messages m WHERE m.receiver_id = 1 AND m.sender_id = 2 AND m.read_flag = false");
+        assertUsesIndex("idx_private_messages_unread",
+                "SELECT count(*) FROM private_messages m WHERE m.receiver_id = 1 AND m.read_flag = false");
+    }
+
+    @Test
+    public void testNotificationInboxUsesRecipientCreatedIndex() throws Exception {
+        assertUsesIndex("idx_notifications_recipient_created",
+                "SELECT * FROM notifications n WHERE n.recipient_id = 1 ORDER BY n.created_at DESC LIMIT 10");
+    }
+
+    @Test
+    public void testPendingFriendRequestsUseReceiverStatusIndex() throws Exception {
+        assertUsesIndex("idx_friend_requests_receiver_status",
+                "SELECT * FROM friend_requests f WHERE f.receiver_id = 1 AND f.status = 'PENDING'");
+    }
+
+    @Test
+    public void testProfilePostsUseUserCreatedIndex() throws Exception {
+        assertUsesIndex("idx_posts_user_created",
+                "SELECT * FROM posts p WHERE p.user_id = 1 ORDER BY p.created_at DESC LIMIT 10");
+    }
+
+    @Test
+    public void testActiveStoriesUseUserActiveIndex() throws Exception {
+        assertUsesIndex("idx_stories_user_active",
+                "SELECT * FROM stories s WHERE s.user_id = 1 AND s.is_active = true AND s.expires_at > now()");
+    }
+
+    @Test
+    public void testGroupAnnouncementsUseGroupCreatedIndex() throws Exception {
+        assertUsesIndex("idx_group_announcements_group_created",
+                "SELECT * FROM group_announcements a WHERE a.group_id = 1 ORDER BY a.created_at DESC LIMIT 20");
+    }
+
+    @Test
+    public void testUserSearchUsesTrigramIndexes() throws Exception {
+        String sql = "SELECT * FROM users u WHERE lower(u.name) LIKE '%rio 12%' ESCAPE '\\' " +
+                "OR lower(u.email) LIKE '%rio 12%' ESCAPE '\\'";
+        assertUsesIndex("idx_users_name_trgm", sql);
+        assertUsesIndex("idx_users_email_trgm", sql);
+    }
+
+    @Test
+    public void testGroupMembershipUsesUserIndex() throws Exception {
+        assertUsesIndex("idx_group_members_user", "SELECT group_id FROM group_members WHERE user_id = 1");
+    }
+
+    @Test
+    public void testGroupArchiveCandidatesUseCreatedAtIndex() throws Exception {
+        assertUsesIndex("idx_group_messages_created_at",
+                "SELECT DISTINCT group_id FROM group_messages WHERE created_at < now() - interval '180 days' LIMIT 50");
+    }
+
+    @Test
+    public void testFriendshipsOfSecondUserUseUser2Index() throws Exception {
+        assertUsesIndex("idx_friendships_user2", "SELECT * FROM friendships f WHERE f.user2_id = 1");
+    }
+
+    @Test
+    public void testLikedPostsUseUserPostIndex() throws Exception {
+        assertUsesIndex("idx_post_likes_user_post",
+                "SELECT post_id FROM post_likes WHERE user_id = 1 AND post_id = ANY('{1,2,3,101,102}'::bigint[])");
+    }
+
+    @Test
+    public void testGlobalFeedUsesCreatedIndex() throws Exception {
+        assertUsesIndex("idx_posts_created", "SELECT * FROM posts p ORDER BY p.created_at DESC LIMIT 20");
+    }
+
+    @Test
+    public void testActiveStoriesUseActiveIndex() throws Exception {
+        assertUsesIndex("idx_stories_active", "SELECT * FROM stories s WHERE s.is_active = true AND s.expires_at > now()");
+    }
+
+    @Test
+    public void testReportQueueUsesCreatedAtIndex() throws Exception {
+        assertUsesIndex("idx_reports_created_at", "SELECT * FROM reports r ORDER BY r.created_at DESC LIMIT 20");
+    }
+
+    @Test
+    public void testAttendeePageUsesEventIdIndex() throws Exception {
+        assertUsesIndex("idx_registrations_event_id",
+                "SELECT r.id, u.name FROM registrations r JOIN users u ON u.id = r.user_id " +
+                "WHERE r.event_id = 1 AND r.id > 50 ORDER BY r.id LIMIT 51");
+    }
+
+    @Test
+    public void testCheckInCountUsesEventStatusIndex() throws Exception {
+        assertUsesIndex("idx_registrations_event_status",
+                "SELECT count(*) FROM registrations WHERE event_id = 1 AND status = 'CHECKED_IN'");
+    }
+
+    @Test
+    public void testPendingCheckInClaimUsesPartialIndex() throws Exception {
+        assertUsesIndex("idx_registrations_points_pending",
+                "SELECT id FROM registrations WHERE status = 'CHECKED_IN' AND NOT points_awarded ORDER BY id LIMIT 500");
+    }
+
+    @Test
+    public void testRingSweepUsesRingDeadlineIndex() throws Exception {
+        assertUsesIndex("idx_call_sessions_ring_deadline",
+                "UPDATE call_sessions SET activo = false, ended_at = now(), missed = true, ring_deadline = NULL " +
+                "WHERE activo = true AND accepted_at IS NULL AND ring_deadline <= now() RETURNING id, created_by_id");
+    }
+
+    @Test
+    public void testActiveCallLookupUsesContextIndex() throws Exception {
+        assertUsesIndex("idx_call_context",
+                "SELECT * FROM call_sessions c WHERE c.context_type = 'GROUP' AND c.context_id = 1 AND c.activo = true");
+    }
+
+    @Test
+    public void testChatFilesByScopeUseScopeIndex() throws Exception {
+        assertUsesIndex("idx_file_assets_scope",
+                "SELECT id FROM file_assets WHERE scope = 'EVENT_CHAT' AND scope_id = ANY('{1,2}'::bigint[])");
+    }
+
+    @Test
+    public void testArchivedSegmentsOfUserUseUserIdsIndexes() throws Exception {
+        String sql = "SELECT id FROM message_archive_segments WHERE user_ids && '{3}'::bigint[] OR user_ids IS NULL ORDER BY id";
+        assertUsesIndex("idx_message_archive_user_ids", sql);
+        assertUsesIndex("idx_message_archive_user_ids_pending", sql);
+    }
+
+    private void assertUsesIndex(String index, String sql) throws Exception {
+        JsonNode plan;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN (FORMAT JSON) " + sql)) {
+            assertTrue(rs.next());
+            plan = MAPPER.readTree(rs.getString(1)).get(0).get("Plan");
+        }
+        List<String> indexes = new ArrayList<>();
+        collectIndexNames(plan, indexes);
+        assertTrue(indexes.contains(index), index + " no aparece en el plan de: " + sql + "\n" + plan.toPrettyString());
+    }
+
+    private void collectIndexNames(JsonNode node, List<String> indexes) {
+        if (node.has("Index Name")) {
+            indexes.add(node.get("Index Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectIndexNames(child, indexes);
+        }
+    }
+}
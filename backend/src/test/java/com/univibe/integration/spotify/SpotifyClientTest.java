@@ -0,0 +1,228 @@
+package com.univibe.integration.spotify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SpotifyClient contra un servidor HTTP local que imita el endpoint de tokens y la Web API.
+ */
+public class SpotifyClientTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private final AtomicInteger apiRequests = new AtomicInteger();
+    private final Set<String> revokedTokens = ConcurrentHashMap.newKeySet();
+    private volatile long tokenDelayMillis;
+    private volatile long apiDelayMillis;
+
+    private ExecutorService executor;
+    private HttpServer server;
+    private MutableClock clock;
+    private SpotifyClient client;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/api/token", this::handleToken);
+        server.createContext("/v1/", this::handleApi);
+        server.start();
+
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        client = new SpotifyClient("id", "secret", base + "/v1", base, 4, 1000, 500, 100, 10, 360, clock);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        client.shutdown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneTokenRequest() {
+        tokenDelayMillis = 300;
+
+        List<Map<String, Object>> results = Flux.merge(IntStream.range(0, 12)
+                        .mapToObj(i -> client.searchTracks("canción " + i, 5))
+                        .toList())
+                .collectList()
+                .block(TIMEOUT);
+
+        assertEquals(12, results.size());
+        assertEquals(1, tokenRequests.get());
+        assertEquals(12, apiRequests.get());
+    }
+
+    @Test
+    public void testTrackMetadataIsCachedUntilTtl() {
+        Map<String, Object> first = client.getTrack("4uLU6hMCjMI75M1A2tKUQC").block(TIMEOUT);
+        Map<String, Object> second = client.getTrack("4uLU6hMCjMI75M1A2tKUQC").block(TIMEOUT);
+
+        assertEquals("4uLU6hMCjMI75M1A2tKUQC", first.get("id"));
+        assertEquals(first, second);
+        assertEquals(1, apiRequests.get());
+
+        clock.advance(Duration.ofMinutes(361));
+        client.getTrack("4uLU6hMCjMI75M1A2tKUQC").block(TIMEOUT);
+        assertEquals(2, apiRequests.get());
+    }
+
+    @Test
+    public void testSearchCacheIgnoresCaseAndSpacesButNotLimit() {
+        client.searchTracks("Bad Bunny", 10).block(TIMEOUT);
+        client.searchTracks("  bad bunny ", 10).block(TIMEOUT);
+        assertEquals(1, apiRequests.get());
+
+        client.searchTracks("bad bunny", 20).block(TIMEOUT);
+        assertEquals(2, apiRequests.get());
+    }
+
+    @Test
+    public void testSearchQueryIsEncoded() {
+        Map<String, Object> result = client.searchTracks("rock & roll + más", 5).block(TIMEOUT);
+        assertEquals("rock & roll + más", result.get("q"));
+    }
+
+    @Test
+    public void testRevokedTokenIsRefreshedAndRequestRetried() {
+        client.getTrack("a1").block(TIMEOUT);
+        revokedTokens.add("token-1");
+
+        Map<String, Object> track = client.getTrack("b2").block(TIMEOUT);
+
+        assertEquals("b2", track.get("id"));
+        assertEquals(2, tokenRequests.get());
+        // La petición rechazada y su reintento con el token nuevo
+        assertEquals(3, apiRequests.get());
+    }
+
+    @Test
+    public void testSlowResponseFailsAfterTimeout() {
+        client.getTrack("a1").block(TIMEOUT);
+        apiDelayMillis = 3000;
+
+        long start = System.nanoTime();
+        Mono<Map<String, Object>> slow = client.getTrack("b2");
+        assertThrows(RuntimeException.class, () -> slow.block(TIMEOUT));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2000);
+    }
+
+    @Test
+    public void testInvalidInputIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> client.getTrack("../me"));
+        assertThrows(IllegalArgumentException.class, () -> client.searchTracks("   ", 10));
+        assertEquals(0, tokenRequests.get());
+    }
+
+    private void handleToken(HttpExchange exchange) throws IOException {
+        String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        if (!"POST".equals(exchange.getRequestMethod()) || !form.contains("grant_type=client_credentials")
+                || exchange.getRequestHeaders().getFirst("Authorization") == null) {
+            respond(exchange, 400, Map.of("error", "invalid_request"));
+            return;
+        }
+        int n = tokenRequests.incrementAndGet();
+        sleep(tokenDelayMillis);
+        respond(exchange, 200, Map.of("access_token", "token-" + n, "token_type", "Bearer", "expires_in", 3600));
+    }
+
+    private void handleApi(HttpExchange exchange) throws IOException {
+        apiRequests.incrementAndGet();
+        String auth = exchange.getRequestHeaders().getFirst("Authorization");
+        if (auth == null || !auth.startsWith("Bearer token-") || revokedTokens.contains(auth.substring(7))) {
+            respond(exchange, 401, Map.of("error", Map.of("status", 401, "message", "The access token expired")));
+            return;
+        }
+        sleep(apiDelayMillis);
+        String path = exchange.getRequestURI().getPath();
+        if (path.startsWith("/v1/tracks/")) {
+            respond(exchange, 200, Map.of("id", path.substring("/v1/tracks/".length()), "name", "Canción"));
+        } else {
+            String query = exchange.getRequestURI().getRawQuery();
+            String q = URLDecoder.decode(query.substring(2, query.indexOf('&')), StandardCharsets.UTF_8);
+            respond(exchange, 200, Map.of("q", q, "tracks", Map.of("items", List.of())));
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        try {
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            // El cliente ya cerró la conexión por timeout
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.univibe.notification.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.univibe.notification.service.MailBatchSender.OutboxEmail;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MailBatchSenderTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private static JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(port);
+        return sender;
+    }
+
+    @Test
+    public void testBatchIsDeliveredOverSmtp() throws Exception {
+        MailBatchSender batchSender = new MailBatchSender(mailSender(greenMail.getSmtp().getPort()));
+
+        Map<Long, Exception> failures = batchSender.send(List.of(
+            new OutboxEmail(1L, "ana@univibe.test", "Registro confirmado", "<p>Hola Ana</p>", 1),
+            new OutboxEmail(2L, "luis@univibe.test", "Registro confirmado", "<p>Hola Luis</p>", 1),
+            new OutboxEmail(3L, "eva@univibe.test", "Nuevo logro", "<p>Hola Eva</p>", 1)
+        ));
+
+        assertTrue(failures.isEmpty(), "No debería haber fallos: " + failures);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(3, received.length);
+        assertEquals(MailBatchSender.FROM, received[0].getFrom()[0].toString());
+        assertEquals("Registro confirmado", received[0].getSubject());
+        assertTrue(GreenMailUtil.getBody(received[2]).contains("Hola Eva"));
+    }
+
+    @Test
+    public void testUnreachableServerFailsEveryEmail() {
+        // Puerto sin servidor SMTP: la conexión falla y cada correo se reporta por su id
+        MailBatchSender batchSender = new MailBatchSender(mailSender(greenMail.getSmtp().getPort() + 1));
+
+        Map<Long, Exception> failures = batchSender.send(List.of(
+            new OutboxEmail(10L, "ana@univibe.test", "Asunto", "<p>1</p>", 1),
+            new OutboxEmail(11L, "luis@univibe.test", "Asunto", "<p>2</p>", 1)
+        ));
+
+        assertEquals(2, failures.size());
+        assertTrue(failures.containsKey(10L));
+        assertTrue(failures.containsKey(11L));
+    }
+
+    @Test
+    public void testTemplateIsRenderedWithoutFormatEscapes() {
+        MailTemplate template = MailTemplate.compile("<h2>{{title}}</h2><div style=\"width: 100%\">{{content}}</div>");
+
+        String html = template.render(Map.of("title", "Hola", "content", "50% de descuento {{no}}"));
+
+        assertEquals("<h2>Hola</h2><div style=\"width: 100%\">50% de descuento {{no}}</div>", html);
+        assertThrows(IllegalArgumentException.class, () -> template.render(Map.of("title", "Sin contenido")));
+    }
+}
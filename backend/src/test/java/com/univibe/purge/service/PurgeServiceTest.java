@@ -0,0 +1,182 @@
+package com.univibe.purge.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.univibe.chat.service.MessageArchiveService;
+import com.univibe.chat.service.MessageResponseMapper;
+import com.univibe.purge.dto.PurgeReport;
+import com.univibe.purge.service.PurgeService.Target;
+import com.univibe.registration.service.CheckInService;
+import com.univibe.registration.service.QrService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Borrados en cascada sobre un PostgreSQL real con las migraciones de Flyway: la simulación
+ * cuenta lo mismo que borra la ejecución, y al borrar se recalculan los contadores de terceros y
+ * se descartan las cachés de check-in y QR. Se salta si no hay Docker disponible.
+ */
+public class PurgeServiceTest {
+
+    // Evento 1 (de la usuaria 1) con chat e inscripciones; evento 2 (de la 2) debe sobrevivir.
+    // La usuaria 4 da like a una publicación de la 2 y está inscrita en el evento 2.
+    private static final String[] SEED = {
+            "INSERT INTO users (id, email, name, password_hash, role, points, created_at) " +
+            "SELECT g, 'u' || g || '@test.edu', 'Usuario ' || g, 'x', 'USER', 0, now() FROM generate_series(1, 4) g",
+            "INSERT INTO events (id, title, category, status, visibility, start_time, created_by_id) VALUES " +
+            "(1, 'Feria', 'OTHER', 'LIVE', 'PUBLIC', now(), 1), (2, 'Charla', 'OTHER', 'PENDING', 'PUBLIC', now(), 2)",
+            "INSERT INTO event_tags (event_id, tag) VALUES (1, 'feria'), (2, 'charla')",
+            "INSERT INTO registrations (user_id, event_id, qr_code, status, points_awarded) VALUES " +
+            "(2, 1, 'qr-2-1', 'CHECKED_IN', true), (3, 1, 'qr-3-1', 'REGISTERED', false), " +
+            "(3, 2, 'qr-3-2', 'CHECKED_IN', true), (4, 2, 'qr-4-2', 'REGISTERED', false)",
+            "INSERT INTO chat_messages (id, event_id, user_id, content, created_at) VALUES " +
+            "(1, 1, 2, 'hola', now()), (2, 1, 3, 'buenas', now()), (3, 2, 3, 'otra', now())",
+            "INSERT INTO message_reactions (message_type, message_id, user_id, emoji, created_at) VALUES " +
+            "('EVENT_CHAT', 1, 3, '👍', now()), ('EVENT_CHAT', 3, 2, '🎉', now())",
+            "INSERT INTO posts (id, user_id, content, likes_count, created_at, updated_at) VALUES (1, 2, 'post', 2, now(), now())",
+            "INSERT INTO post_likes (post_id, user_id) VALUES (1, 3), (1, 4)",
+            "INSERT INTO user_stats (user_id, posts, likes_received, friends, events_attended, stories, updated_at) VALUES " +
+            "(2, 1, 2, 0, 1, 0, now()), (3, 0, 0, 0, 1, 0, now())"
+    };
+
+    private static PostgreSQLContainer<?> postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static DataSourceTransactionManager transactionManager;
+
+    private CheckInService checkInService;
+    private QrService qrService;
+    private PurgeService purgeService;
+
+    @BeforeAll
+    public static void migrate() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker no disponible");
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        for (String sql : SEED) {
+            jdbcTemplate.execute(sql);
+        }
+    }
+
+    @AfterAll
+    public static void stop() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @BeforeEach
+    public void createService() {
+        checkInService = mock(CheckInService.class);
+        qrService = spy(new QrService());
+        MessageArchiveService archiveService = new MessageArchiveService(jdbcTemplate, new ObjectMapper().findAndRegisterModules(),
+                mock(MessageResponseMapper.class), transactionManager, 500);
+        // Lotes de una fila: también se ejercita el troceo de los DELETE
+        purgeService = new PurgeService(jdbcTemplate, archiveService, checkInService, qrService, transactionManager, 1);
+    }
+
+    @Test
+    public void testDryRunCountsWhatTheEventPurgeDeletes() {
+        PurgeReport dryRun = purgeService.purge(Target.EVENT, 1L, true);
+
+        assertTrue(dryRun.dryRun());
+        assertEquals(1, rows("SELECT count(*) FROM events WHERE id = 1"));
+        assertEquals(2, rows("SELECT count(*) FROM registrations WHERE event_id = 1"));
+        assertEquals(1, rows(dryRun, "user_stats"));
+        assertEquals(2, rows(dryRun, "chat_messages"));
+        assertEquals(1, rows(dryRun, "message_reactions"));
+        assertEquals(2, rows(dryRun, "registrations"));
+        verifyNoInteractions(checkInService);
+        verify(qrService, never()).evict(any());
+
+        PurgeReport executed = purgeService.purge(Target.EVENT, 1L, false);
+
+        assertFalse(executed.dryRun());
+        assertEquals(dryRun.totalRows(), executed.totalRows());
+        assertEquals(dryRun.steps(), executed.steps());
+        assertEquals(0, rows("SELECT count(*) FROM events WHERE id = 1"));
+        assertEquals(0, rows("SELECT count(*) FROM registrations WHERE event_id = 1"));
+        assertEquals(0, rows("SELECT count(*) FROM chat_messages WHERE event_id = 1"));
+        assertEquals(0, rows("SELECT count(*) FROM event_tags WHERE event_id = 1"));
+        // El resto sigue intacto y la asistente pierde el evento borrado
+        assertEquals(1, rows("SELECT count(*) FROM events WHERE id = 2"));
+        assertEquals(1, rows("SELECT count(*) FROM message_reactions WHERE message_id = 3"));
+        assertEquals(0, rows("SELECT events_attended FROM user_stats WHERE user_id = 2"));
+        assertEquals(1, rows("SELECT events_attended FROM user_stats WHERE user_id = 3"));
+
+        verify(checkInService).evict(1L);
+        verify(checkInService, never()).evict(2L);
+        Collection<String> payloads = evictedPayloads();
+        assertTrue(payloads.containsAll(List.of("qr-2-1", "qr-3-1")));
+        assertTrue(payloads.contains(qrService.generateEventRegistrationPayload(1L)));
+        assertFalse(payloads.contains("qr-3-2"));
+    }
+
+    @Test
+    public void testUserPurgeRecountsLikesAndEvictsTheirRegistrations() {
+        PurgeReport dryRun = purgeService.purge(Target.USER, 4L, true);
+
+        assertEquals(1, rows(dryRun, "post_likes"));
+        assertEquals(1, rows("SELECT count(*) FROM users WHERE id = 4"));
+        verifyNoInteractions(checkInService);
+
+        PurgeReport executed = purgeService.purge(Target.USER, 4L, false);
+
+        assertEquals(dryRun.totalRows(), executed.totalRows());
+        assertEquals(0, rows("SELECT count(*) FROM users WHERE id = 4"));
+        assertEquals(0, rows("SELECT count(*) FROM registrations WHERE user_id = 4"));
+        assertEquals(1, rows("SELECT likes_count FROM posts WHERE id = 1"));
+        assertEquals(1, rows("SELECT likes_received FROM user_stats WHERE user_id = 2"));
+
+        verify(checkInService).evict(2L);
+        assertTrue(evictedPayloads().contains("qr-4-2"));
+    }
+
+    private static long rows(String sql) {
+        Long value = jdbcTemplate.queryForObject(sql, Long.class);
+        return value != null ? value : 0;
+    }
+
+    private static long rows(PurgeReport report, String table) {
+        return report.steps().stream()
+                .filter(step -> step.table().equals(table))
+                .mapToLong(PurgeReport.Step::rows)
+                .sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<String> evictedPayloads() {
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(qrService).evict(captor.capture());
+        return captor.getValue();
+    }
+}
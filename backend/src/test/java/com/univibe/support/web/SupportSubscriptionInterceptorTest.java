@@ -0,0 +1,55 @@
+package com.univibe.support.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprobaciones que no necesitan consultar tickets: comodines, cola de administradores y
+ * destinos ajenos al soporte.
+ */
+public class SupportSubscriptionInterceptorTest {
+
+    // Sin servicios: ninguno de estos casos debería llegar a consultar la base de datos
+    private final SupportSubscriptionInterceptor interceptor = new SupportSubscriptionInterceptor(null, null);
+
+    @Test
+    public void testPatternSubscriptionsAreRejected() {
+        for (String destination : List.of("/topic/**", "/topic/support*", "/topic/support.?", "/topic/{id}", "/queue/*")) {
+            assertThrows(AccessDeniedException.class,
+                    () -> interceptor.preSend(subscribe(destination, "ROLE_USER"), null), destination);
+        }
+    }
+
+    @Test
+    public void testAdminQueueRequiresAdmin() {
+        assertThrows(AccessDeniedException.class,
+                () -> interceptor.preSend(subscribe("/topic/support.queue", "ROLE_USER"), null));
+        Message<?> message = subscribe("/topic/support.queue", "ROLE_ADMIN");
+        assertSame(message, interceptor.preSend(message, null));
+    }
+
+    @Test
+    public void testOtherDestinationsPassThrough() {
+        Message<?> message = subscribe("/topic/events.42", "ROLE_USER");
+        assertSame(message, interceptor.preSend(message, null));
+    }
+
+    private Message<?> subscribe(String destination, String role) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setUser(new UsernamePasswordAuthenticationToken("user@test.edu", null,
+                List.of(new SimpleGrantedAuthority(role))));
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,72 @@
+#!/bin/bash
+
+# Mide el tiempo hasta la primera petición del backend: desde que se lanza la JVM hasta que
+# /actuator/health responde. Compara el arranque por defecto, el perfil prod, prod con AOT y
+# prod con AOT + archivo CDS (lo mismo que hace la imagen Docker).
+#
+# Necesita el jar compilado con AOT y una base de datos accesible con las variables
+# SPRING_DATASOURCE_* de siempre:
+#   ./mvnw -Paot clean package -DskipTests
+#   ./startup-benchmark.sh [repeticiones]
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${BENCHMARK_PORT:-18080}"
+WORK="target/startup-benchmark"
+JAR=$(ls target/*.jar 2>/dev/null | grep -v -- '-plain' | head -n 1 || true)
+
+if [ -z "$JAR" ] || [ ! -d target/spring-aot ]; then
+    echo "❌ Falta el jar con AOT. Compila antes con: ./mvnw -Paot clean package -DskipTests"
+    exit 1
+fi
+
+echo "📦 Extrayendo $JAR..."
+rm -rf "$WORK"
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK/app" > /dev/null
+APP="$WORK/app/$(basename "$JAR")"
+
+echo "🏋️  Arranque de entrenamiento para el archivo CDS..."
+java -XX:ArchiveClassesAtExit="$WORK/app.jsa" \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=prod \
+    -Dschema.migrate-on-startup=false \
+    -Dspring.jpa.hibernate.ddl-auto=none \
+    -Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false \
+    -Dspring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect \
+    -jar "$APP" > "$WORK/training.log" 2>&1
+
+# Lanza la aplicación RUNS veces con las opciones dadas y muestra mediana y mínimo en ms
+measure() {
+    local name="$1"
+    shift
+    local times=()
+    for i in $(seq "$RUNS"); do
+        local start end pid
+        start=$(date +%s%N)
+        java "$@" -Dserver.port="$PORT" -jar "$APP" > "$WORK/$name-$i.log" 2>&1 &
+        pid=$!
+        # Cuenta como arrancada cuando la salud responde UP (200)
+        until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health"; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "❌ $name no arrancó, revisa $WORK/$name-$i.log"
+                exit 1
+            fi
+            sleep 0.05
+        done
+        end=$(date +%s%N)
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        times+=($(( (end - start) / 1000000 )))
+    done
+    local sorted
+    sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+    printf "   %-14s mediana %6d ms   mínimo %6d ms\n" "$name" "${sorted[$(( RUNS / 2 ))]}" "${sorted[0]}"
+}
+
+echo "⏱️  Tiempo hasta la primera petición ($RUNS arranques por variante):"
+measure "default"
+measure "prod" -Dspring.profiles.active=prod
+measure "prod+aot" -Dspring.profiles.active=prod -Dspring.aot.enabled=true
+measure "prod+aot+cds" -XX:SharedArchiveFile="$WORK/app.jsa" -Dspring.profiles.active=prod -Dspring.aot.enabled=true
@@ -114,7 +114,7 @@ const PrivateChatWindow: React.FC<PrivateChatWindowProps> = ({
         });
 
       // Marcar notificaciones de mensajes de este usuario como leídas
-      markMessageNotificationsAsRead(otherUserName)
+      markMessageNotificationsAsRead(otherUserId)
         .then(() => {
           // Invalidar notificaciones para actualizar la UI
           queryClient.invalidateQueries({ queryKey: ['notifications', user.id] });
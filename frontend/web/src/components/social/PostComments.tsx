@@ -1,5 +1,5 @@
 import { useState } from 'react';
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useInfiniteQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import { getComments, createComment, deleteComment, Comment } from '@/services/postService';
 import { useAuth } from '@/hooks/useAuth';
 import { useToast } from '@/contexts/ToastContext';
@@ -17,9 +17,16 @@ const PostComments: React.FC<PostCommentsProps> = ({ postId }) => {
   const queryClient = useQueryClient();
   const [commentText, setCommentText] = useState('');
 
-  const { data: commentsData, isLoading } = useQuery({
+  const {
+    data: commentsData,
+    isLoading,
+    hasNextPage,
+    fetchNextPage,
+    isFetchingNextPage
+  } = useInfiniteQuery({
     queryKey: ['comments', postId],
-    queryFn: ({ signal }) => getComments(postId, { size: 50 }, signal)
+    queryFn: ({ pageParam, signal }) => getComments(postId, { afterId: pageParam, size: 50 }, signal),
+    getNextPageParam: (lastPage) => (lastPage.hasMore ? lastPage.nextAfterId ?? undefined : undefined)
   });
 
   const createCommentMutation = useMutation({
@@ -51,7 +58,7 @@ const PostComments: React.FC<PostCommentsProps> = ({ postId }) => {
     createCommentMutation.mutate(commentText);
   };
 
-  const comments = commentsData?.content || [];
+  const comments = commentsData?.pages.flatMap((page) => page.content) ?? [];
 
   return (
     <div className="mt-4 pt-4 px-4 pb-4 border-t border-slate-200 dark:border-slate-700 space-y-4">
@@ -122,6 +129,16 @@ const PostComments: React.FC<PostCommentsProps> = ({ postId }) => {
             </div>
           ))
         )}
+        {hasNextPage && (
+          <button
+            type="button"
+            onClick={() => fetchNextPage()}
+            disabled={isFetchingNextPage}
+            className="text-xs font-semibold text-slate-600 dark:text-slate-300 hover:underline"
+          >
+            {isFetchingNextPage ? 'Cargando...' : 'Ver más comentarios'}
+          </button>
+        )}
       </div>
     </div>
   );
@@ -1,7 +1,7 @@
 import { useState } from 'react';
 import Breadcrumbs from '@/components/navigation/Breadcrumbs';
 import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
-import { getReports, updateReportStatus, Report } from '@/services/reportService';
+import { getModerationQueue, updateTargetStatus, ModerationItem, ReportStatus } from '@/services/reportService';
 import { useToast } from '@/contexts/ToastContext';
 import { useAuth } from '@/hooks/useAuth';
 import LoadingOverlay from '@/components/data/LoadingOverlay';
@@ -10,6 +10,8 @@ import StatusBadge from '@/components/data/StatusBadge';
 import { formatDateTime } from '@/utils/formatters';
 import { CheckCircleIcon, XCircleIcon, ClockIcon, FlagIcon } from '@heroicons/react/24/outline';
 
+const PAGE_SIZE = 20;
+
 const statusLabels: Record<string, string> = {
   PENDING: 'Pendiente',
   REVIEWED: 'Revisado',
@@ -24,26 +26,37 @@ const typeLabels: Record<string, string> = {
   POST: 'Publicación'
 };
 
+type TargetStatus = Exclude<ReportStatus, 'PENDING'>;
+
+const itemKey = (item: ModerationItem) => `${item.type}:${item.targetId}`;
+
 const AdminReportsPage = () => {
   const { user } = useAuth();
   const { pushToast } = useToast();
   const queryClient = useQueryClient();
-  const [selectedStatus, setSelectedStatus] = useState<string>('PENDING');
-  const [selectedReport, setSelectedReport] = useState<Report | null>(null);
+  const [selectedStatus, setSelectedStatus] = useState<ReportStatus>('PENDING');
+  const [page, setPage] = useState(0);
+  const [selectedItem, setSelectedItem] = useState<ModerationItem | null>(null);
 
-  const { data: reportsData, isLoading } = useQuery({
-    queryKey: ['reports', { status: selectedStatus }],
-    queryFn: ({ signal }) => getReports({ page: 0, size: 100, status: selectedStatus }, signal),
-    enabled: Boolean(user && user.role === 'ADMIN')
+  const { data: queueData, isLoading } = useQuery({
+    queryKey: ['reports', 'queue', { status: selectedStatus, page }],
+    queryFn: ({ signal }) => getModerationQueue({ page, size: PAGE_SIZE, status: selectedStatus }, signal),
+    enabled: Boolean(user && user.role === 'ADMIN'),
+    keepPreviousData: true
   });
 
+  // Cambia todos los reportes del objetivo que estén en el estado que se está viendo
   const updateStatusMutation = useMutation({
-    mutationFn: ({ reportId, status }: { reportId: number; status: 'REVIEWED' | 'RESOLVED' | 'DISMISSED' }) =>
-      updateReportStatus(reportId, status),
-    onSuccess: () => {
-      pushToast({ type: 'success', title: 'Estado actualizado', description: 'El estado del reporte fue actualizado.' });
+    mutationFn: ({ item, status }: { item: ModerationItem; status: TargetStatus }) =>
+      updateTargetStatus(item.type, item.targetId, status, [item.status]),
+    onSuccess: (result) => {
+      pushToast({
+        type: 'success',
+        title: 'Estado actualizado',
+        description: `${result.updated} reporte(s) marcados como ${statusLabels[result.status].toLowerCase()}.`
+      });
       queryClient.invalidateQueries({ queryKey: ['reports'] });
-      setSelectedReport(null);
+      setSelectedItem(null);
     },
     onError: (error: any) => {
       pushToast({ type: 'error', title: 'Error', description: error.message || 'No se pudo actualizar el estado.' });
@@ -54,7 +67,13 @@ const AdminReportsPage = () => {
     return <EmptyState title="Acceso denegado" description="Solo los administradores pueden ver esta página." />;
   }
 
-  const reports = reportsData?.content || [];
+  const items = queueData?.content || [];
+  const totalPages = queueData?.totalPages ?? 0;
+
+  const changeStatus = (status: ReportStatus) => {
+    setSelectedStatus(status);
+    setPage(0);
+  };
 
   return (
     <div className="space-y-6 animate-fade-in">
@@ -64,13 +83,15 @@ const AdminReportsPage = () => {
         <div className="flex items-center justify-between mb-6">
           <div>
             <h1 className="text-2xl font-bold text-slate-900 dark:text-white">Reportes</h1>
-            <p className="text-sm text-slate-600 dark:text-slate-400">Gestiona los reportes de usuarios</p>
+            <p className="text-sm text-slate-600 dark:text-slate-400">
+              Contenido reportado, agrupado y ordenado por prioridad
+            </p>
           </div>
           <div className="flex gap-2">
-            {['PENDING', 'REVIEWED', 'RESOLVED', 'DISMISSED'].map((status) => (
+            {(['PENDING', 'REVIEWED', 'RESOLVED', 'DISMISSED'] as ReportStatus[]).map((status) => (
               <button
                 key={status}
-                onClick={() => setSelectedStatus(status)}
+                onClick={() => changeStatus(status)}
                 className={`px-4 py-2 rounded-lg text-sm font-medium transition-colors ${
                   selectedStatus === status
                     ? 'bg-primary-600 text-white'
@@ -85,83 +106,111 @@ const AdminReportsPage = () => {
 
         {isLoading ? (
           <LoadingOverlay message="Cargando reportes" />
-        ) : reports.length === 0 ? (
+        ) : items.length === 0 ? (
           <EmptyState
             title="Sin reportes"
             description={`No hay reportes con estado "${statusLabels[selectedStatus]}".`}
           />
         ) : (
           <div className="space-y-3">
-            {reports.map((report) => (
-              <div
-                key={report.id}
-                className="rounded-xl border border-slate-200 dark:border-slate-700 bg-white/80 dark:bg-slate-800/80 p-4 hover:shadow-md transition-shadow cursor-pointer"
-                onClick={() => setSelectedReport(report)}
-              >
-                <div className="flex items-start justify-between gap-4">
-                  <div className="flex-1">
-                    <div className="flex items-center gap-3 mb-2">
-                      <FlagIcon className="h-5 w-5 text-rose-600 dark:text-rose-400" />
-                      <span className="text-sm font-semibold text-slate-700 dark:text-slate-300">
-                        {typeLabels[report.type]} #{report.targetId}
-                      </span>
-                      <StatusBadge status={report.status} />
-                    </div>
-                    <p className="text-sm font-medium text-slate-900 dark:text-white mb-1">
-                      Motivo: {report.reason}
-                    </p>
-                    <p className="text-sm text-slate-600 dark:text-slate-400 line-clamp-2 mb-2">
-                      {report.details}
-                    </p>
-                    <div className="flex items-center gap-4 text-xs text-slate-500 dark:text-slate-400">
-                      <span>Reportado por: {report.reportedBy.name}</span>
-                      <span>{formatDateTime(report.createdAt)}</span>
+            {items.map((item) => {
+              const latest = item.recentReports[0];
+              return (
+                <div
+                  key={itemKey(item)}
+                  className="rounded-xl border border-slate-200 dark:border-slate-700 bg-white/80 dark:bg-slate-800/80 p-4 hover:shadow-md transition-shadow cursor-pointer"
+                  onClick={() => setSelectedItem(item)}
+                >
+                  <div className="flex items-start justify-between gap-4">
+                    <div className="flex-1">
+                      <div className="flex items-center gap-3 mb-2">
+                        <FlagIcon className="h-5 w-5 text-rose-600 dark:text-rose-400" />
+                        <span className="text-sm font-semibold text-slate-700 dark:text-slate-300">
+                          {typeLabels[item.type]} #{item.targetId}
+                        </span>
+                        <StatusBadge status={item.status} />
+                        <span className="rounded-full bg-rose-100 dark:bg-rose-900/30 px-2 py-0.5 text-xs font-semibold text-rose-700 dark:text-rose-300">
+                          {item.reportCount} reporte(s) · {item.reporterCount} persona(s)
+                        </span>
+                      </div>
+                      {latest && (
+                        <>
+                          <p className="text-sm font-medium text-slate-900 dark:text-white mb-1">
+                            Motivo: {latest.reason}
+                          </p>
+                          <p className="text-sm text-slate-600 dark:text-slate-400 line-clamp-2 mb-2">
+                            {latest.details}
+                          </p>
+                        </>
+                      )}
+                      <div className="flex items-center gap-4 text-xs text-slate-500 dark:text-slate-400">
+                        {latest && <span>Último reporte de: {latest.reportedBy.name}</span>}
+                        <span className="flex items-center gap-1">
+                          <ClockIcon className="h-4 w-4" />
+                          {formatDateTime(item.lastReportedAt)}
+                        </span>
+                        <span>Prioridad: {item.priority.toFixed(2)}</span>
+                      </div>
                     </div>
+                    {item.status === 'PENDING' && (
+                      <div className="flex gap-2">
+                        <button
+                          onClick={(e) => {
+                            e.stopPropagation();
+                            updateStatusMutation.mutate({ item, status: 'REVIEWED' });
+                          }}
+                          className="p-2 rounded-lg bg-blue-100 dark:bg-blue-900/30 text-blue-600 dark:text-blue-400 hover:bg-blue-200 dark:hover:bg-blue-900/50 transition-colors"
+                          title="Marcar todos como revisados"
+                        >
+                          <CheckCircleIcon className="h-5 w-5" />
+                        </button>
+                        <button
+                          onClick={(e) => {
+                            e.stopPropagation();
+                            updateStatusMutation.mutate({ item, status: 'DISMISSED' });
+                          }}
+                          className="p-2 rounded-lg bg-slate-100 dark:bg-slate-700 text-slate-600 dark:text-slate-400 hover:bg-slate-200 dark:hover:bg-slate-600 transition-colors"
+                          title="Descartar todos"
+                        >
+                          <XCircleIcon className="h-5 w-5" />
+                        </button>
+                      </div>
+                    )}
                   </div>
-                  {report.status === 'PENDING' && (
-                    <div className="flex gap-2">
-                      <button
-                        onClick={(e) => {
-                          e.stopPropagation();
-                          updateStatusMutation.mutate({ reportId: report.id, status: 'REVIEWED' });
-                        }}
-                        className="p-2 rounded-lg bg-blue-100 dark:bg-blue-900/30 text-blue-600 dark:text-blue-400 hover:bg-blue-200 dark:hover:bg-blue-900/50 transition-colors"
-                        title="Marcar como revisado"
-                      >
-                        <CheckCircleIcon className="h-5 w-5" />
-                      </button>
-                      <button
-                        onClick={(e) => {
-                          e.stopPropagation();
-                          updateStatusMutation.mutate({ reportId: report.id, status: 'DISMISSED' });
-                        }}
-                        className="p-2 rounded-lg bg-slate-100 dark:bg-slate-700 text-slate-600 dark:text-slate-400 hover:bg-slate-200 dark:hover:bg-slate-600 transition-colors"
-                        title="Descartar"
-                      >
-                        <XCircleIcon className="h-5 w-5" />
-                      </button>
-                    </div>
-                  )}
                 </div>
-              </div>
-            ))}
+              );
+            })}
+          </div>
+        )}
+
+        {totalPages > 1 && (
+          <div className="flex items-center justify-between mt-6 text-sm text-slate-600 dark:text-slate-400">
+            <button className="btn-secondary" disabled={page === 0} onClick={() => setPage((p) => Math.max(p - 1, 0))}>
+              Anterior
+            </button>
+            <span>
+              Página {page + 1} de {totalPages}
+            </span>
+            <button className="btn-secondary" disabled={page + 1 >= totalPages} onClick={() => setPage((p) => p + 1)}>
+              Siguiente
+            </button>
           </div>
         )}
       </div>
 
       {/* Modal de detalle */}
-      {selectedReport && (
-        <div className="fixed inset-0 z-50 flex items-center justify-center p-4 bg-black/50 backdrop-blur-sm" onClick={() => setSelectedReport(null)}>
+      {selectedItem && (
+        <div className="fixed inset-0 z-50 flex items-center justify-center p-4 bg-black/50 backdrop-blur-sm" onClick={() => setSelectedItem(null)}>
           <div className="card bg-white dark:bg-slate-900 max-w-2xl w-full max-h-[90vh] overflow-y-auto" onClick={(e) => e.stopPropagation()}>
             <div className="flex items-center justify-between mb-6">
               <div>
                 <h2 className="text-xl font-bold text-slate-900 dark:text-white">Detalle del Reporte</h2>
                 <p className="text-sm text-slate-500 dark:text-slate-400">
-                  {typeLabels[selectedReport.type]} #{selectedReport.targetId}
+                  {typeLabels[selectedItem.type]} #{selectedItem.targetId}
                 </p>
               </div>
               <button
-                onClick={() => setSelectedReport(null)}
+                onClick={() => setSelectedItem(null)}
                 className="p-2 rounded-lg hover:bg-slate-100 dark:hover:bg-slate-800 transition-colors"
               >
                 <XCircleIcon className="h-5 w-5 text-slate-600 dark:text-slate-400" />
@@ -171,43 +220,39 @@ const AdminReportsPage = () => {
             <div className="space-y-4">
               <div>
                 <label className="block text-sm font-semibold text-slate-700 dark:text-slate-300 mb-1">Estado</label>
-                <StatusBadge status={selectedReport.status} />
+                <StatusBadge status={selectedItem.status} />
               </div>
 
               <div>
-                <label className="block text-sm font-semibold text-slate-700 dark:text-slate-300 mb-1">Motivo</label>
-                <p className="text-sm text-slate-900 dark:text-white">{selectedReport.reason}</p>
-              </div>
-
-              <div>
-                <label className="block text-sm font-semibold text-slate-700 dark:text-slate-300 mb-1">Detalles</label>
-                <p className="text-sm text-slate-600 dark:text-slate-400 whitespace-pre-wrap">{selectedReport.details}</p>
-              </div>
-
-              <div>
-                <label className="block text-sm font-semibold text-slate-700 dark:text-slate-300 mb-1">Reportado por</label>
-                <p className="text-sm text-slate-900 dark:text-white">{selectedReport.reportedBy.name} ({selectedReport.reportedBy.email})</p>
+                <label className="block text-sm font-semibold text-slate-700 dark:text-slate-300 mb-1">Reportes</label>
+                <p className="text-sm text-slate-600 dark:text-slate-400">
+                  {selectedItem.reportCount} reporte(s) de {selectedItem.reporterCount} persona(s), entre{' '}
+                  {formatDateTime(selectedItem.firstReportedAt)} y {formatDateTime(selectedItem.lastReportedAt)}
+                </p>
               </div>
 
               <div>
-                <label className="block text-sm font-semibold text-slate-700 dark:text-slate-300 mb-1">Fecha</label>
-                <p className="text-sm text-slate-600 dark:text-slate-400">{formatDateTime(selectedReport.createdAt)}</p>
+                <label className="block text-sm font-semibold text-slate-700 dark:text-slate-300 mb-2">Más recientes</label>
+                <ul className="space-y-3">
+                  {selectedItem.recentReports.map((report) => (
+                    <li key={report.id} className="rounded-lg border border-slate-200 dark:border-slate-700 p-3">
+                      <p className="text-sm font-medium text-slate-900 dark:text-white">{report.reason}</p>
+                      {report.details && (
+                        <p className="text-sm text-slate-600 dark:text-slate-400 whitespace-pre-wrap">{report.details}</p>
+                      )}
+                      <p className="mt-1 text-xs text-slate-500 dark:text-slate-400">
+                        {report.reportedBy.name} ({report.reportedBy.email}) · {formatDateTime(report.createdAt)}
+                      </p>
+                    </li>
+                  ))}
+                </ul>
               </div>
 
-              {selectedReport.reviewedAt && (
-                <div>
-                  <label className="block text-sm font-semibold text-slate-700 dark:text-slate-300 mb-1">Revisado</label>
-                  <p className="text-sm text-slate-600 dark:text-slate-400">
-                    {formatDateTime(selectedReport.reviewedAt)} por {selectedReport.reviewedBy?.name || 'Administrador'}
-                  </p>
-                </div>
-              )}
-
-              {selectedReport.status === 'PENDING' && (
+              {selectedItem.status === 'PENDING' && (
                 <div className="flex gap-3 pt-4 border-t border-slate-200 dark:border-slate-700">
                   <button
                     onClick={() => {
-                      updateStatusMutation.mutate({ reportId: selectedReport.id, status: 'REVIEWED' });
+                      updateStatusMutation.mutate({ item: selectedItem, status: 'REVIEWED' });
                     }}
                     className="flex-1 btn-primary flex items-center justify-center gap-2"
                     disabled={updateStatusMutation.isLoading}
@@ -217,7 +262,7 @@ const AdminReportsPage = () => {
                   </button>
                   <button
                     onClick={() => {
-                      updateStatusMutation.mutate({ reportId: selectedReport.id, status: 'RESOLVED' });
+                      updateStatusMutation.mutate({ item: selectedItem, status: 'RESOLVED' });
                     }}
                     className="flex-1 btn-secondary flex items-center justify-center gap-2"
                     disabled={updateStatusMutation.isLoading}
@@ -227,7 +272,7 @@ const AdminReportsPage = () => {
                   </button>
                   <button
                     onClick={() => {
-                      updateStatusMutation.mutate({ reportId: selectedReport.id, status: 'DISMISSED' });
+                      updateStatusMutation.mutate({ item: selectedItem, status: 'DISMISSED' });
                     }}
                     className="flex-1 px-4 py-2 rounded-xl font-semibold text-slate-700 dark:text-slate-200 bg-slate-100 dark:bg-slate-800 hover:bg-slate-200 dark:hover:bg-slate-700 transition-colors flex items-center justify-center gap-2"
                     disabled={updateStatusMutation.isLoading}
@@ -246,6 +291,3 @@ const AdminReportsPage = () => {
 };
 
 export default AdminReportsPage;
-
-
-
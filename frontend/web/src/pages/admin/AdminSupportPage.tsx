@@ -1,15 +1,17 @@
-import { useState } from 'react';
+import { useEffect, useState } from 'react';
 import Breadcrumbs from '@/components/navigation/Breadcrumbs';
 import { useMutation, useQuery, useQueryClient } from '@tanstack/react-query';
 import {
   getAllSupportTickets,
   getSupportTicket,
+  getSupportTicketMessages,
   replySupportTicket,
   updateSupportTicketStatus,
   SupportMessage,
   SupportTicket,
   SupportTicketStatus
 } from '@/services/supportService';
+import { supportStreamService } from '@/services/supportStreamService';
 import { useToast } from '@/contexts/ToastContext';
 import { useAuth } from '@/hooks/useAuth';
 import EmptyState from '@/components/display/EmptyState';
@@ -26,25 +28,89 @@ const AdminSupportPage = () => {
   const queryClient = useQueryClient();
   const [selectedTicketId, setSelectedTicketId] = useState<number | null>(null);
   const [respuesta, setRespuesta] = useState('');
+  const [estadoFiltro, setEstadoFiltro] = useState<SupportTicketStatus | ''>('');
+  const [page, setPage] = useState(0);
+  const [mensajesAnteriores, setMensajesAnteriores] = useState<SupportMessage[]>([]);
+  const [hayMasAnteriores, setHayMasAnteriores] = useState(false);
 
-  const { data: allTickets = [] } = useQuery({
-    queryKey: ['support', 'all'],
-    queryFn: getAllSupportTickets,
-    enabled: Boolean(user && user.role === 'ADMIN')
+  const { data: ticketsPage } = useQuery({
+    queryKey: ['support', 'all', estadoFiltro, page],
+    queryFn: () => getAllSupportTickets({ estado: estadoFiltro || undefined, page, size: 20 }),
+    enabled: Boolean(user && user.role === 'ADMIN'),
+    keepPreviousData: true
   });
+  const allTickets = ticketsPage?.content ?? [];
+  const totalPages = ticketsPage?.totalPages ?? 0;
 
   const { data: ticketDetalle } = useQuery({
     queryKey: ['support', 'ticket', selectedTicketId],
     queryFn: () => getSupportTicket(selectedTicketId!),
-    enabled: Boolean(selectedTicketId && user && user.role === 'ADMIN')
+    enabled: Boolean(selectedTicketId && user && user.role === 'ADMIN'),
+    onSuccess: (ticket) => {
+      setMensajesAnteriores([]);
+      setHayMasAnteriores(ticket.hayMasMensajes);
+    }
+  });
+
+  const cargarAnteriores = useMutation({
+    mutationFn: () => {
+      const primero = mensajesAnteriores[0] ?? ticketDetalle?.mensajes[0];
+      return getSupportTicketMessages(selectedTicketId!, { beforeId: primero?.id });
+    },
+    onSuccess: (pagina) => {
+      setMensajesAnteriores((prev) => [...pagina.mensajes, ...prev]);
+      setHayMasAnteriores(pagina.hayMas);
+    },
+    onError: () => {
+      pushToast({ type: 'error', title: 'Error', description: 'No se pudieron cargar los mensajes anteriores.' });
+    }
   });
 
+  const seleccionarTicket = (ticketId: number) => {
+    setSelectedTicketId(ticketId);
+    setMensajesAnteriores([]);
+    setHayMasAnteriores(false);
+  };
+
+  // Añade mensajes al hilo en caché sin duplicar los que ya llegaron por otra vía
+  const agregarMensajes = (ticketId: number, nuevos: SupportMessage[]) => {
+    queryClient.setQueryData<SupportTicket>(['support', 'ticket', ticketId], (ticket) => {
+      if (!ticket) return ticket;
+      const ids = new Set(ticket.mensajes.map((msg) => msg.id));
+      const pendientes = nuevos.filter((msg) => !ids.has(msg.id));
+      return pendientes.length ? { ...ticket, mensajes: [...ticket.mensajes, ...pendientes] } : ticket;
+    });
+  };
+
+  useEffect(() => {
+    if (!user || user.role !== 'ADMIN') return;
+    return supportStreamService.subscribeToQueue(() => {
+      queryClient.invalidateQueries({ queryKey: ['support', 'all'] });
+    });
+  }, [user, queryClient]);
+
+  useEffect(() => {
+    if (!selectedTicketId || !user || user.role !== 'ADMIN') return;
+    const ticketId = selectedTicketId;
+    return supportStreamService.subscribeToTicket(ticketId, async (event) => {
+      const ticket = queryClient.getQueryData<SupportTicket>(['support', 'ticket', ticketId]);
+      if (!ticket) return;
+      if (event.tipo === 'STATUS') {
+        queryClient.setQueryData<SupportTicket>(['support', 'ticket', ticketId], { ...ticket, estado: event.estado });
+        return;
+      }
+      // Solo lo posterior al último mensaje que ya tenemos
+      const ultimo = ticket.mensajes[ticket.mensajes.length - 1];
+      const pagina = await getSupportTicketMessages(ticketId, { afterId: ultimo?.id });
+      agregarMensajes(ticketId, pagina.mensajes);
+    });
+  }, [selectedTicketId, user, queryClient]);
+
   const responderTicket = useMutation({
     mutationFn: () => replySupportTicket(selectedTicketId!, respuesta),
-    onSuccess: () => {
+    onSuccess: (mensaje) => {
       setRespuesta('');
-      queryClient.invalidateQueries({ queryKey: ['support', 'ticket', selectedTicketId] });
-      queryClient.invalidateQueries({ queryKey: ['support', 'all'] });
+      agregarMensajes(selectedTicketId!, [mensaje]);
       pushToast({ type: 'success', title: 'Respuesta enviada', description: 'La respuesta fue enviada al usuario.' });
     },
     onError: () => {
@@ -107,6 +173,19 @@ const AdminSupportPage = () => {
               Gestiona las solicitudes de soporte de los usuarios.
             </p>
           </div>
+          <select
+            value={estadoFiltro}
+            onChange={(e) => {
+              setEstadoFiltro(e.target.value as SupportTicketStatus | '');
+              setPage(0);
+            }}
+            className="input-field text-sm max-w-[180px]"
+          >
+            <option value="">Todos los estados</option>
+            <option value="OPEN">Abiertos</option>
+            <option value="IN_PROGRESS">En progreso</option>
+            <option value="CLOSED">Cerrados</option>
+          </select>
         </div>
         <div className="grid lg:grid-cols-3 gap-4">
           <div className="space-y-2">
@@ -117,7 +196,7 @@ const AdminSupportPage = () => {
                 <button
                   key={ticket.id}
                   type="button"
-                  onClick={() => setSelectedTicketId(ticket.id)}
+                  onClick={() => seleccionarTicket(ticket.id)}
                   className={`w-full rounded-2xl border px-4 py-3 text-left transition ${
                     selectedTicketId === ticket.id
                       ? 'border-primary-500 bg-primary-50 dark:bg-primary-500/10'
@@ -141,9 +220,32 @@ const AdminSupportPage = () => {
                   <p className="text-xs text-slate-500 mt-1">
                     {ticket.solicitante.nombre} · {new Date(ticket.updatedAt).toLocaleString()}
                   </p>
+                  {ticket.ultimoMensaje && (
+                    <p className="text-xs text-slate-400 mt-1 truncate">
+                      {ticket.ultimoMensaje.contenido} · {ticket.totalMensajes} mensajes
+                    </p>
+                  )}
                 </button>
               ))
             )}
+            {totalPages > 1 && (
+              <div className="flex items-center justify-between pt-2 text-xs text-slate-500">
+                <button type="button" className="btn-secondary text-xs disabled:opacity-50" disabled={page === 0} onClick={() => setPage((p) => p - 1)}>
+                  Anterior
+                </button>
+                <span>
+                  {page + 1} / {totalPages}
+                </span>
+                <button
+                  type="button"
+                  className="btn-secondary text-xs disabled:opacity-50"
+                  disabled={page + 1 >= totalPages}
+                  onClick={() => setPage((p) => p + 1)}
+                >
+                  Siguiente
+                </button>
+              </div>
+            )}
           </div>
           <div className="lg:col-span-2">
             {selectedTicketId && ticketDetalle ? (
@@ -167,7 +269,17 @@ const AdminSupportPage = () => {
                     <option value="CLOSED">Cerrado</option>
                   </select>
                 </div>
-                {renderMensajes(ticketDetalle.mensajes)}
+                {hayMasAnteriores && (
+                  <button
+                    type="button"
+                    className="text-xs font-semibold text-slate-600 dark:text-slate-300 hover:underline"
+                    onClick={() => cargarAnteriores.mutate()}
+                    disabled={cargarAnteriores.isLoading}
+                  >
+                    {cargarAnteriores.isLoading ? 'Cargando...' : 'Ver mensajes anteriores'}
+                  </button>
+                )}
+                {renderMensajes([...mensajesAnteriores, ...ticketDetalle.mensajes])}
                 {ticketDetalle.estado !== 'CLOSED' && (
                   <div className="space-y-2">
                     <textarea
@@ -1,5 +1,5 @@
 import { useParams, useNavigate } from 'react-router-dom';
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useQuery, useInfiniteQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import React, { useState, useCallback, useEffect, useMemo } from 'react';
 import Breadcrumbs from '@/components/navigation/Breadcrumbs';
 import LoadingOverlay from '@/components/data/LoadingOverlay';
@@ -72,13 +72,36 @@ const EventDetailPage = () => {
   const isAdminOrServer = user && (user.role === 'ADMIN' || user.role === 'SERVER');
   const canViewDetails = Boolean(event && user && (isAdmin || isCreator || isAdminOrServer));
 
-  // Query para registrados
-  const { data: registrationsData } = useQuery({
+  // Query para registrados: por tramos para admin/creador, solo el total para el resto
+  const {
+    data: registrationsData,
+    hasNextPage: hasMoreRegistrations,
+    fetchNextPage: fetchMoreRegistrations,
+    isFetchingNextPage: isFetchingMoreRegistrations,
+    refetch: refetchRegistrations
+  } = useInfiniteQuery({
     queryKey: ['event-registrations', eventId],
-    queryFn: ({ signal }) => fetchEventRegistrations(Number(eventId), signal),
-    enabled: Boolean(eventId && event),
-    refetchInterval: canViewDetails ? 5000 : false
+    queryFn: ({ pageParam, signal }) =>
+      fetchEventRegistrations(Number(eventId), { afterId: pageParam, size: 50 }, signal),
+    getNextPageParam: (lastPage) => (lastPage.hasMore ? lastPage.nextAfterId ?? undefined : undefined),
+    enabled: Boolean(eventId && event)
   });
+  // Sondeo solo del primer tramo (trae el total): refetchInterval volvería a pedir todos los cargados
+  useEffect(() => {
+    if (!canViewDetails) return;
+    const interval = setInterval(() => {
+      if (document.visibilityState === 'visible') {
+        refetchRegistrations({ refetchPage: (_page, index) => index === 0 });
+      }
+    }, 5000);
+    return () => clearInterval(interval);
+  }, [canViewDetails, refetchRegistrations]);
+  const registrations = useMemo<RegisteredUser[]>(
+    () => registrationsData?.pages.flatMap((page) => page.content ?? []) ?? [],
+    [registrationsData]
+  );
+  const registrationsCount = registrationsData?.pages[0]?.count ?? 0;
+  const canListRegistrations = canViewDetails && Boolean(registrationsData?.pages[0]?.content);
 
   // Query para estadísticas (solo creador/admin)
   const { data: stats } = useQuery<EventStats>({
@@ -753,13 +776,13 @@ const EventDetailPage = () => {
           <UserGroupIcon className="h-6 w-6 text-primary-600 dark:text-primary-400" />
           <h2 className="text-xl font-bold text-slate-900 dark:text-white">Participantes</h2>
         </div>
-        {canViewDetails && Array.isArray(registrationsData) ? (
+        {canListRegistrations ? (
           <div className="space-y-2">
-            {registrationsData.length === 0 ? (
+            {registrations.length === 0 ? (
               <p className="text-sm text-slate-500 dark:text-slate-400">Aún no hay participantes registrados.</p>
             ) : (
               <div className="space-y-2">
-                {(registrationsData as RegisteredUser[]).map((reg) => (
+                {registrations.map((reg) => (
                   <div
                     key={reg.id}
                     className="flex items-center justify-between p-3 rounded-lg bg-slate-50 dark:bg-slate-800/50 border border-slate-200 dark:border-slate-700"
@@ -782,11 +805,23 @@ const EventDetailPage = () => {
                 ))}
               </div>
             )}
+            {hasMoreRegistrations && (
+              <button
+                type="button"
+                onClick={() => fetchMoreRegistrations()}
+                disabled={isFetchingMoreRegistrations}
+                className="text-xs font-semibold text-slate-600 dark:text-slate-300 hover:underline"
+              >
+                {isFetchingMoreRegistrations
+                  ? 'Cargando...'
+                  : `Ver más participantes (${registrations.length} de ${registrationsCount})`}
+              </button>
+            )}
           </div>
         ) : (
           <div className="text-center py-4">
             <p className="text-lg font-bold text-slate-900 dark:text-white">
-              {(registrationsData as any)?.count || 0}
+              {registrationsCount}
             </p>
             <p className="text-sm text-slate-500 dark:text-slate-400">personas inscritas</p>
           </div>
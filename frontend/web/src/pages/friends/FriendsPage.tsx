@@ -58,7 +58,7 @@ const FriendsPage = () => {
   const { data: searchResults, isLoading: searchLoading } = useQuery({
     queryKey: ['userSearch', searchEmail],
     queryFn: ({ signal }) => searchUsers(searchEmail, signal),
-    enabled: activeTab === 'search' && searchEmail.length >= 3
+    enabled: activeTab === 'search' && searchEmail.trim().length >= 1
   });
 
   const sendRequestMutation = useMutation({
@@ -342,7 +342,7 @@ const FriendsPage = () => {
               ) : !searchResults || searchResults.length === 0 ? (
                 <EmptyState
                   title="Sin resultados"
-                  description={searchEmail.length < 3 ? 'Escribe al menos 3 caracteres para buscar' : 'No se encontraron usuarios'}
+                  description={!searchEmail.trim() ? 'Escribe un nombre o email para buscar' : 'No se encontraron usuarios'}
                 />
               ) : (
                 <div className="space-y-3">
@@ -352,7 +352,7 @@ const FriendsPage = () => {
                         <Avatar
                           user={{
                             name: result.name,
-                            profilePictureUrl: result.profilePictureUrl
+                            profilePictureUrl: result.profilePictureUrl ?? undefined
                           }}
                           size="md"
                         />
@@ -360,13 +360,17 @@ const FriendsPage = () => {
                           <h3 className="font-semibold text-slate-900 dark:text-white">{result.name}</h3>
                           <p className="text-xs text-slate-500 dark:text-slate-400">{result.email}</p>
                         </div>
-                        <button
-                          onClick={() => sendRequestMutation.mutate(result.id)}
-                          disabled={sendRequestMutation.isLoading}
-                          className="btn-primary text-sm"
-                        >
-                          {sendRequestMutation.isLoading ? 'Enviando...' : 'Agregar'}
-                        </button>
+                        {result.friend ? (
+                          <span className="text-xs font-semibold text-slate-500 dark:text-slate-400">Amigo</span>
+                        ) : (
+                          <button
+                            onClick={() => sendRequestMutation.mutate(result.id)}
+                            disabled={sendRequestMutation.isLoading}
+                            className="btn-primary text-sm"
+                          >
+                            {sendRequestMutation.isLoading ? 'Enviando...' : 'Agregar'}
+                          </button>
+                        )}
                       </div>
                     </div>
                   ))}
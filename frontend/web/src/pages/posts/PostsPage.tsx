@@ -506,7 +506,9 @@ const PostsPage = () => {
                         className="flex items-center gap-2.5 px-5 py-2.5 rounded-2xl bg-slate-100/80 dark:bg-slate-800/80 backdrop-blur-sm text-slate-600 dark:text-slate-400 hover:bg-primary-500/10 hover:text-primary-600 dark:hover:text-primary-400 shadow-md hover:shadow-lg transition-all duration-300 hover:scale-105 active:scale-95"
                       >
                         <ChatBubbleLeftIcon className="h-5 w-5" />
-                        <span className="text-sm font-semibold">Comentar</span>
+                        <span className="text-sm font-semibold">
+                          {post.commentsCount ? `Comentar · ${post.commentsCount}` : 'Comentar'}
+                        </span>
                       </button>
                     </div>
                   </div>
@@ -13,6 +13,7 @@ import {
   SupportMessage,
   SupportTicketStatus
 } from '@/services/supportService';
+import { supportStreamService } from '@/services/supportStreamService';
 import { useToast } from '@/contexts/ToastContext';
 import { shouldUseWhiteText, darkenColor } from '@/utils/colorContrast';
 import { useForm } from 'react-hook-form';
@@ -72,11 +73,27 @@ const SettingsPage = () => {
     }
   }, [user, reset]);
 
-  const { data: myTickets = [], refetch: refetchMy } = useQuery({
+  const { data: myTicketsPage, refetch: refetchMy } = useQuery({
     queryKey: ['support', 'my'],
-    queryFn: getMySupportTickets,
+    queryFn: () => getMySupportTickets({ size: 20 }),
     enabled: !isAdmin
   });
+  const [ticketAbierto, setTicketAbierto] = useState<number | null>(null);
+
+  const { data: ticketDetalle } = useQuery({
+    queryKey: ['support', 'ticket', ticketAbierto],
+    queryFn: () => getSupportTicket(ticketAbierto!),
+    enabled: Boolean(ticketAbierto && !isAdmin)
+  });
+
+  useEffect(() => {
+    if (!ticketAbierto || isAdmin) return;
+    const ticketId = ticketAbierto;
+    return supportStreamService.subscribeToTicket(ticketId, () => {
+      queryClient.invalidateQueries({ queryKey: ['support', 'ticket', ticketId] });
+      queryClient.invalidateQueries({ queryKey: ['support', 'my'] });
+    });
+  }, [ticketAbierto, isAdmin, queryClient]);
 
   const crearTicket = useMutation({
     mutationFn: () => createSupportTicket({ asunto, categoria, mensaje }),
@@ -92,7 +109,7 @@ const SettingsPage = () => {
     }
   });
 
-  const ticketsParaMostrar = myTickets;
+  const ticketsParaMostrar = myTicketsPage?.content ?? [];
 
   const handleSubmit = (event: React.FormEvent) => {
     event.preventDefault();
@@ -126,7 +143,6 @@ const SettingsPage = () => {
   };
 
   const renderMensajes = (mensajes: SupportMessage[] | undefined) => {
-    console.log('[SettingsPage] renderMensajes called with:', mensajes);
     if (!mensajes || mensajes.length === 0) {
       return <p className="text-sm text-slate-500">Aún no hay respuestas.</p>;
     }
@@ -405,7 +421,34 @@ const SettingsPage = () => {
                     {statusLabels[ticket.estado]}
                   </span>
                 </div>
-                {renderMensajes(ticket.mensajes)}
+                {ticketAbierto === ticket.id ? (
+                  <>
+                    {renderMensajes(ticketDetalle?.id === ticket.id ? ticketDetalle.mensajes : undefined)}
+                    <button
+                      type="button"
+                      onClick={() => setTicketAbierto(null)}
+                      className="text-xs font-semibold text-slate-600 dark:text-slate-300 hover:underline"
+                    >
+                      Ocultar conversación
+                    </button>
+                  </>
+                ) : (
+                  <div className="space-y-1">
+                    {ticket.ultimoMensaje && (
+                      <p className="text-sm text-slate-600 dark:text-slate-300 truncate">
+                        <span className="font-semibold">{ticket.ultimoMensaje.sender?.nombre || 'Usuario'}:</span>{' '}
+                        {ticket.ultimoMensaje.contenido}
+                      </p>
+                    )}
+                    <button
+                      type="button"
+                      onClick={() => setTicketAbierto(ticket.id)}
+                      className="text-xs font-semibold text-slate-600 dark:text-slate-300 hover:underline"
+                    >
+                      Ver conversación ({ticket.totalMensajes} mensajes)
+                    </button>
+                  </div>
+                )}
               </div>
             ))
           )}
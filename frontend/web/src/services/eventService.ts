@@ -1,5 +1,5 @@
 import apiClient from './apiClient';
-import { Event, PaginatedResponse } from '@/types';
+import { Event, EventRegistrationsPage, PaginatedResponse } from '@/types';
 
 export type EventFilters = {
   page?: number;
@@ -36,8 +36,14 @@ export const updateEvent = (eventId: number, payload: Partial<Event>, signal?: A
 export const deleteEvent = (eventId: number, signal?: AbortSignal) =>
   apiClient.delete(`/api/events/${eventId}`, { signal }).then((res) => res.data);
 
-export const fetchEventRegistrations = (eventId: number, signal?: AbortSignal) =>
-  apiClient.get(`/api/events/${eventId}/registrations`, { signal }).then((res) => res.data);
+export const fetchEventRegistrations = (
+  eventId: number,
+  params?: { afterId?: number; size?: number },
+  signal?: AbortSignal
+) =>
+  apiClient
+    .get<EventRegistrationsPage>(`/api/events/${eventId}/registrations`, { params, signal })
+    .then((res) => res.data);
 
 export const fetchEventStats = (eventId: number, signal?: AbortSignal) =>
   apiClient.get(`/api/events/${eventId}/stats`, { signal }).then((res) => res.data);
@@ -31,5 +31,18 @@ export const sendNotification = (
 export const markNotificationAsRead = (notificationId: number, signal?: AbortSignal) =>
   apiClient.put(`/api/notifications/${notificationId}/read`, null, { signal }).then((res) => res.data);
 
-export const markMessageNotificationsAsRead = (senderName: string, signal?: AbortSignal) =>
-  apiClient.put(`/api/notifications/mark-message-notifications-read/${encodeURIComponent(senderName)}`, null, { signal }).then((res) => res.data);
+export const markMessageNotificationsAsRead = (senderId: number, signal?: AbortSignal) =>
+  apiClient
+    .put<{ count: number; unreadCount: number }>(`/api/notifications/read-by-source`, null, {
+      params: { sourceType: 'PRIVATE_MESSAGE', sourceId: senderId },
+      signal
+    })
+    .then((res) => res.data);
+
+export const markNotificationsReadUpTo = (notificationId: number, signal?: AbortSignal) =>
+  apiClient
+    .put<{ count: number; unreadCount: number }>(`/api/notifications/read-up-to/${notificationId}`, null, { signal })
+    .then((res) => res.data);
+
+export const fetchUnreadNotificationCount = (signal?: AbortSignal) =>
+  apiClient.get<{ count: number }>('/api/notifications/unread-count', { signal }).then((res) => res.data);
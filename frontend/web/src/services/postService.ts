@@ -9,6 +9,7 @@ export interface Post {
   musicUrl?: string;
   likesCount: number;
   isLiked: boolean;
+  commentsCount?: number;
   createdAt: string;
   user: {
     id: number;
@@ -67,9 +68,15 @@ export const createComment = (postId: number, data: CreateCommentRequest, signal
     .post<Comment>(`/api/posts/${postId}/comments`, data, { signal })
     .then((res) => res.data);
 
-export const getComments = (postId: number, params?: { page?: number; size?: number }, signal?: AbortSignal) =>
+export interface CommentPage {
+  content: Comment[];
+  nextAfterId?: number | null;
+  hasMore: boolean;
+}
+
+export const getComments = (postId: number, params?: { afterId?: number; size?: number }, signal?: AbortSignal) =>
   apiClient
-    .get<PaginatedResponse<Comment>>(`/api/posts/${postId}/comments`, {
+    .get<CommentPage>(`/api/posts/${postId}/comments`, {
       params,
       signal
     })
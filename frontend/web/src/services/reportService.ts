@@ -1,6 +1,8 @@
 import apiClient from './apiClient';
+import { PaginatedResponse } from '@/types';
 
 export type ReportType = 'EVENT' | 'PROFILE' | 'GROUP' | 'POST';
+export type ReportStatus = 'PENDING' | 'REVIEWED' | 'RESOLVED' | 'DISMISSED';
 
 export interface CreateReportRequest {
   type: ReportType;
@@ -20,7 +22,7 @@ export interface Report {
   };
   reason: string;
   details: string;
-  status: 'PENDING' | 'REVIEWED' | 'RESOLVED' | 'DISMISSED';
+  status: ReportStatus;
   createdAt: string;
   reviewedAt?: string;
   reviewedBy?: {
@@ -47,3 +49,44 @@ export const updateReportStatus = (reportId: number, status: 'REVIEWED' | 'RESOL
     .patch<Report>(`/api/reports/${reportId}/status`, { status }, { signal })
     .then((res) => res.data);
 
+
+export interface ModerationItem {
+  type: ReportType;
+  targetId: number;
+  status: ReportStatus;
+  reportCount: number;
+  reporterCount: number;
+  firstReportedAt: string;
+  lastReportedAt: string;
+  priority: number;
+  recentReports: {
+    id: number;
+    reason: string;
+    details?: string;
+    createdAt: string;
+    reportedBy: { id: number; name: string; email: string };
+  }[];
+}
+
+export const getModerationQueue = (
+  params?: { page?: number; size?: number; status?: ReportStatus; type?: ReportType },
+  signal?: AbortSignal
+) =>
+  apiClient
+    .get<PaginatedResponse<ModerationItem>>('/api/reports/queue', { params, signal })
+    .then((res) => res.data);
+
+export const updateTargetStatus = (
+  type: ReportType,
+  targetId: number,
+  status: Exclude<ReportStatus, 'PENDING'>,
+  from?: ReportStatus[],
+  signal?: AbortSignal
+) =>
+  apiClient
+    .patch<{ type: ReportType; targetId: number; status: ReportStatus; updated: number }>(
+      `/api/reports/targets/${type}/${targetId}/status`,
+      { status, from: from?.join(',') },
+      { signal }
+    )
+    .then((res) => res.data);
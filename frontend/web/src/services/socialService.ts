@@ -10,6 +10,10 @@ export interface UserProfile {
   qrCodeBase64: string;
   profilePictureUrl?: string;
   totalLikes?: number;
+  postsCount?: number;
+  friendsCount?: number;
+  eventsAttended?: number;
+  storiesCount?: number;
 }
 
 export interface FriendRequest {
@@ -73,10 +77,18 @@ export const getMyProfile = (signal?: AbortSignal) =>
 export const getUserProfile = (userId: number, signal?: AbortSignal) =>
   apiClient.get<UserProfile>(`/api/social/profile/${userId}`, { signal }).then((res) => res.data);
 
-export const searchUsers = (email: string, signal?: AbortSignal) =>
+export interface UserSearchResult {
+  id: number;
+  name: string;
+  email: string;
+  profilePictureUrl?: string | null;
+  friend: boolean;
+}
+
+export const searchUsers = (query: string, signal?: AbortSignal, limit = 10) =>
   apiClient
-    .get<Array<{ id: number; name: string; email: string; profilePictureUrl?: string }>>('/api/social/search', {
-      params: { email },
+    .get<UserSearchResult[]>('/api/social/search', {
+      params: { q: query, limit },
       signal
     })
     .then((res) => res.data);
@@ -1,4 +1,5 @@
 import apiClient from './apiClient';
+import type { PaginatedResponse } from '../types';
 
 export type SupportTicketStatus = 'OPEN' | 'IN_PROGRESS' | 'CLOSED';
 
@@ -25,6 +26,40 @@ export interface SupportTicket {
   updatedAt: string;
   solicitante: SupportUserInfo;
   mensajes: SupportMessage[];
+  hayMasMensajes: boolean;
+}
+
+export interface SupportTicketSummary {
+  id: number;
+  asunto: string;
+  categoria?: string;
+  estado: SupportTicketStatus;
+  createdAt: string;
+  updatedAt: string;
+  solicitante: SupportUserInfo;
+  ultimoMensaje?: SupportMessage | null;
+  totalMensajes: number;
+}
+
+export interface SupportMessagePage {
+  mensajes: SupportMessage[];
+  hayMas: boolean;
+}
+
+export interface SupportTicketEvent {
+  tipo: 'CREATED' | 'MESSAGE' | 'STATUS';
+  ticketId: number;
+  asunto: string;
+  estado: SupportTicketStatus;
+  updatedAt: string;
+  mensaje?: SupportMessage | null;
+}
+
+export interface SupportInboxParams {
+  estado?: SupportTicketStatus;
+  categoria?: string;
+  page?: number;
+  size?: number;
 }
 
 export interface SupportTicketRequest {
@@ -38,13 +73,13 @@ export const createSupportTicket = async (payload: SupportTicketRequest) => {
   return data;
 };
 
-export const getMySupportTickets = async () => {
-  const { data } = await apiClient.get<SupportTicket[]>('/api/support/tickets/my');
+export const getMySupportTickets = async (params: SupportInboxParams = {}) => {
+  const { data } = await apiClient.get<PaginatedResponse<SupportTicketSummary>>('/api/support/tickets/my', { params });
   return data;
 };
 
-export const getAllSupportTickets = async () => {
-  const { data } = await apiClient.get<SupportTicket[]>('/api/support/tickets');
+export const getAllSupportTickets = async (params: SupportInboxParams = {}) => {
+  const { data } = await apiClient.get<PaginatedResponse<SupportTicketSummary>>('/api/support/tickets', { params });
   return data;
 };
 
@@ -53,6 +88,14 @@ export const getSupportTicket = async (ticketId: number) => {
   return data;
 };
 
+export const getSupportTicketMessages = async (
+  ticketId: number,
+  params: { beforeId?: number; afterId?: number; size?: number } = {}
+) => {
+  const { data } = await apiClient.get<SupportMessagePage>(`/api/support/tickets/${ticketId}/messages`, { params });
+  return data;
+};
+
 export const replySupportTicket = async (ticketId: number, mensaje: string) => {
   const { data } = await apiClient.post<SupportMessage>(`/api/support/tickets/${ticketId}/reply`, { mensaje });
   return data;
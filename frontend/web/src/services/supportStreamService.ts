@@ -0,0 +1,111 @@
+import SockJS from 'sockjs-client';
+import { Client, Message, StompSubscription } from '@stomp/stompjs';
+import { storage, tokenStorageKey } from '@/utils/storage';
+import { SupportTicketEvent } from './supportService';
+
+const getWsBaseUrl = (): string => {
+  // En producción Nginx hace proxy de /ws al backend
+  const isProduction = typeof window !== 'undefined' &&
+    (window.location.hostname !== 'localhost' && window.location.hostname !== '127.0.0.1');
+  if (isProduction) {
+    return window.location.origin;
+  }
+  const envUrl = import.meta.env.VITE_WS_BASE_URL;
+  if (envUrl && envUrl !== '') {
+    // SockJS necesita http:// o https://
+    return envUrl.replace(/^wss?:\/\//, envUrl.startsWith('wss://') ? 'https://' : 'http://');
+  }
+  return 'http://localhost:8080';
+};
+
+const WS_BASE_URL = getWsBaseUrl();
+
+type Listener = (event: SupportTicketEvent) => void;
+
+/**
+ * Suscripciones a /topic/support.{ticketId} y /topic/support.queue sobre una única conexión.
+ * Las suscripciones se rehacen al reconectar.
+ */
+class SupportStreamService {
+  private client: Client | null = null;
+  private listeners: Map<string, Set<Listener>> = new Map();
+  private subscriptions: Map<string, StompSubscription> = new Map();
+
+  subscribeToTicket(ticketId: number, listener: Listener): () => void {
+    return this.subscribe(`/topic/support.${ticketId}`, listener);
+  }
+
+  subscribeToQueue(listener: Listener): () => void {
+    return this.subscribe('/topic/support.queue', listener);
+  }
+
+  private subscribe(destination: string, listener: Listener): () => void {
+    let listeners = this.listeners.get(destination);
+    if (!listeners) {
+      listeners = new Set();
+      this.listeners.set(destination, listeners);
+    }
+    listeners.add(listener);
+    this.ensureConnected();
+    if (this.client?.connected && !this.subscriptions.has(destination)) {
+      this.attach(destination);
+    }
+
+    return () => {
+      const current = this.listeners.get(destination);
+      current?.delete(listener);
+      if (current && current.size === 0) {
+        this.listeners.delete(destination);
+        this.subscriptions.get(destination)?.unsubscribe();
+        this.subscriptions.delete(destination);
+      }
+      if (this.listeners.size === 0) {
+        this.disconnect();
+      }
+    };
+  }
+
+  private ensureConnected() {
+    if (this.client) {
+      return;
+    }
+    const token = storage.get(tokenStorageKey);
+    this.client = new Client({
+      webSocketFactory: () => new SockJS(`${WS_BASE_URL}/ws`) as any,
+      connectHeaders: token ? { Authorization: `Bearer ${token}` } : {},
+      reconnectDelay: 5000,
+      heartbeatIncoming: 4000,
+      heartbeatOutgoing: 4000,
+      onConnect: () => {
+        this.subscriptions.clear();
+        this.listeners.forEach((_, destination) => this.attach(destination));
+      },
+      onStompError: (frame) => {
+        console.error('[SupportStream] STOMP error:', frame.headers['message']);
+      }
+    });
+    this.client.activate();
+  }
+
+  private attach(destination: string) {
+    const subscription = this.client!.subscribe(destination, (message: Message) => {
+      try {
+        const event = JSON.parse(message.body) as SupportTicketEvent;
+        this.listeners.get(destination)?.forEach((listener) => listener(event));
+      } catch (error) {
+        console.error('[SupportStream] Error parsing event:', error);
+      }
+    });
+    this.subscriptions.set(destination, subscription);
+  }
+
+  private disconnect() {
+    if (this.client) {
+      this.client.deactivate();
+      this.client = null;
+      this.subscriptions.clear();
+    }
+  }
+}
+
+export const supportStreamService = new SupportStreamService();
@@ -73,8 +73,12 @@ export interface Notification {
   id: number;
   title: string;
   message: string;
+  sourceType?: 'PRIVATE_MESSAGE' | 'CALL' | 'ACHIEVEMENT' | 'ADMIN' | null;
+  sourceId?: number | null;
   readFlag: boolean;
   createdAt: string;
+  count?: number;
+  unreadCount?: number;
 }
 
 export interface Registration {
@@ -111,6 +115,14 @@ export interface RegisteredUser {
   checkedInAt?: string;
 }
 
+// Admin/server/creador reciben tramos de asistentes; el resto, solo el total
+export interface EventRegistrationsPage {
+  content?: RegisteredUser[];
+  nextAfterId?: number | null;
+  hasMore?: boolean;
+  count: number;
+}
+
 export interface EventStats {
   totalRegistrations: number;
   checkedInCount: number;
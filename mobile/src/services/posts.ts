@@ -29,6 +29,13 @@ export interface Comment {
     createdAt: string;
 }
 
+// Tramo de comentarios en orden cronológico: el siguiente se pide con afterId = nextAfterId
+export interface CommentPage {
+    content: Comment[];
+    nextAfterId?: number | null;
+    hasMore: boolean;
+}
+
 export interface CreatePostRequest {
     content: string;
     mediaUrl?: string;
@@ -62,8 +69,8 @@ export const postService = {
         await apiClient.delete(`/posts/${postId}`);
     },
 
-    async getComments(postId: number, signal?: AbortSignal): Promise<Comment[]> {
-        const response = await apiClient.get(`/posts/${postId}/comments`, { signal });
+    async getComments(postId: number, params: { afterId?: number; size?: number } = {}, signal?: AbortSignal): Promise<CommentPage> {
+        const response = await apiClient.get(`/posts/${postId}/comments`, { params, signal });
         return response.data;
     },
 